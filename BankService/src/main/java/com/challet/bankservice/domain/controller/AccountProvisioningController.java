@@ -0,0 +1,29 @@
+package com.challet.bankservice.domain.controller;
+
+import com.challet.bankservice.domain.dto.request.BulkAccountCreateRequestDTO;
+import com.challet.bankservice.domain.dto.response.BulkAccountCreateResponseDTO;
+import com.challet.bankservice.domain.service.ChalletBankService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ch-bank")
+@Tag(name = "AccountProvisioningController", description = "챌렛 은행 계좌 일괄 개설 controller")
+public class AccountProvisioningController {
+
+    private final ChalletBankService challetBankService;
+
+    @PostMapping("/accounts/bulk")
+    public ResponseEntity<BulkAccountCreateResponseDTO> createAccounts(
+        @RequestBody BulkAccountCreateRequestDTO requestDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(challetBankService.createAccounts(requestDTO.accounts()));
+    }
+}
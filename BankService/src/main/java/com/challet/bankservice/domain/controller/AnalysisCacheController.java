@@ -0,0 +1,26 @@
+package com.challet.bankservice.domain.controller;
+
+import com.challet.bankservice.domain.dto.response.CacheTierStatsDTO;
+import com.challet.bankservice.domain.service.TransactionAnalysisService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ch-bank")
+@Tag(name = "AnalysisCacheController", description = "분석 캐시 계층별 적중 통계 controller")
+public class AnalysisCacheController {
+
+    private final TransactionAnalysisService transactionAnalysisService;
+
+    @GetMapping("/analysis/cache-stats")
+    public ResponseEntity<List<CacheTierStatsDTO>> getCacheStats() {
+        return ResponseEntity.status(HttpStatus.OK).body(transactionAnalysisService.getCacheStats());
+    }
+}
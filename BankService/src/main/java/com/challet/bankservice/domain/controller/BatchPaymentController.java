@@ -0,0 +1,27 @@
+package com.challet.bankservice.domain.controller;
+
+import com.challet.bankservice.domain.dto.request.BatchPaymentRequestDTO;
+import com.challet.bankservice.domain.dto.response.BatchPaymentResponseDTO;
+import com.challet.bankservice.domain.service.ChalletBankService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ch-bank")
+@Tag(name = "BatchPaymentController", description = "챌렛 은행 일괄 결제 controller")
+public class BatchPaymentController {
+
+    private final ChalletBankService challetBankService;
+
+    @PostMapping("/payments/batch")
+    public ResponseEntity<BatchPaymentResponseDTO> batchPayments(
+        @RequestBody BatchPaymentRequestDTO requestDTO) {
+        return ResponseEntity.ok(challetBankService.batchPayments(requestDTO.payments()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.challet.bankservice.domain.controller;
+
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.response.CategoryPercentileResponseDTO;
+import com.challet.bankservice.domain.service.TransactionAnalysisService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ch-bank")
+@Tag(name = "CohortPercentileController", description = "같은 코호트 안에서 카테고리별 결제 금액 위치를 조회하는 controller")
+public class CohortPercentileController {
+
+    private final TransactionAnalysisService transactionAnalysisService;
+
+    @GetMapping("/analysis/category-percentile")
+    public ResponseEntity<List<CategoryPercentileResponseDTO>> getCategoryPercentile(
+        @RequestHeader(value = "Authorization", required = false) String tokenHeader,
+        @RequestParam int year, @RequestParam int month) {
+        List<CategoryPercentileResponseDTO> percentiles = transactionAnalysisService.getCategoryPercentile(
+            tokenHeader, MonthlyTransactionRequestDTO.fromDTO(year, month));
+        return ResponseEntity.status(HttpStatus.OK).body(percentiles);
+    }
+}
@@ -0,0 +1,34 @@
+package com.challet.bankservice.domain.controller;
+
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionTimelineResponseDTO;
+import com.challet.bankservice.domain.service.TransactionAnalysisService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ch-bank")
+@Tag(name = "MonthlyTimelineController", description = "한달 결제 내역을 커서 단위로 나눠 조회하는 controller")
+public class MonthlyTimelineController {
+
+    private final TransactionAnalysisService transactionAnalysisService;
+
+    @GetMapping("/transactions-monthly/timeline")
+    public ResponseEntity<MonthlyTransactionTimelineResponseDTO> getMonthlyTransactionTimeline(
+        @RequestHeader(value = "Authorization", required = false) String tokenHeader,
+        @RequestParam int year, @RequestParam int month,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+        MonthlyTransactionTimelineResponseDTO timeline = transactionAnalysisService.getMonthlyTransactionTimeline(
+            tokenHeader, MonthlyTransactionRequestDTO.fromDTO(year, month), cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(timeline);
+    }
+}
@@ -0,0 +1,34 @@
+package com.challet.bankservice.domain.controller;
+
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTrendResponseDTO;
+import com.challet.bankservice.domain.service.TransactionAnalysisService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ch-bank")
+@Tag(name = "MonthlyTrendController", description = "여러 달의 카테고리별 결제 합계 추이를 조회하는 controller")
+public class MonthlyTrendController {
+
+    private final TransactionAnalysisService transactionAnalysisService;
+
+    // year/month 는 마지막 달, months 는 3, 6, 12 처럼 거슬러 올라갈 달 수 (최대 12)
+    @GetMapping("/analysis/trend")
+    public ResponseEntity<MonthlyTrendResponseDTO> getMonthlyTrend(
+        @RequestHeader(value = "Authorization", required = false) String tokenHeader,
+        @RequestParam int year, @RequestParam int month,
+        @RequestParam(defaultValue = "6") int months) {
+        MonthlyTrendResponseDTO trend = transactionAnalysisService.getMonthlyTrend(tokenHeader,
+            MonthlyTransactionRequestDTO.fromDTO(year, month), months);
+        return ResponseEntity.status(HttpStatus.OK).body(trend);
+    }
+}
@@ -0,0 +1,17 @@
+package com.challet.bankservice.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "계좌 개설 요청 DTO")
+public record AccountCreateRequestDTO(
+
+    @Schema(description = "예금주 이름")
+    String name,
+
+    @Schema(description = "전화번호")
+    String phoneNumber
+) {
+
+}
@@ -11,7 +11,10 @@ public record BankToAnalysisMessageRequestDTO(
     UserInfoMessageRequestDTO userInfo,
 
     @Schema(description = "조회 년도와 달")
-    MonthlyTransactionRequestDTO requestDTO
+    MonthlyTransactionRequestDTO requestDTO,
+
+    @Schema(description = "동기화된 코호트 키 (있으면 전화번호 목록 대신 사용)")
+    String cohortKey
 ) {
 
     public static BankToAnalysisMessageRequestDTO ofRequestMessage(
@@ -24,4 +27,15 @@ public record BankToAnalysisMessageRequestDTO(
             .requestDTO(monthlyTransactionRequestDTO)
             .build();
     }
+
+    // 모든 은행에 구성원이 동기화된 코호트는 전화번호 목록 없이 키만 전달
+    public static BankToAnalysisMessageRequestDTO ofCohortReference(String cohortKey,
+        MonthlyTransactionRequestDTO monthlyTransactionRequestDTO) {
+
+        return BankToAnalysisMessageRequestDTO
+            .builder()
+            .requestDTO(monthlyTransactionRequestDTO)
+            .cohortKey(cohortKey)
+            .build();
+    }
 }
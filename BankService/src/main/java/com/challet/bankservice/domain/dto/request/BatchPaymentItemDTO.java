@@ -0,0 +1,27 @@
+package com.challet.bankservice.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "일괄 결제 항목 DTO")
+public record BatchPaymentItemDTO(
+
+    @Schema(description = "결제 계좌 id")
+    Long accountId,
+
+    @Schema(description = "결제 금액")
+    Long transactionAmount,
+
+    @Schema(description = "결제 장소")
+    String deposit
+) {
+
+    public PaymentRequestDTO toPaymentRequestDTO() {
+        return PaymentRequestDTO
+            .builder()
+            .transactionAmount(transactionAmount)
+            .deposit(deposit)
+            .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.challet.bankservice.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "일괄 결제 요청 DTO")
+public record BatchPaymentRequestDTO(
+
+    @Schema(description = "결제 목록")
+    List<BatchPaymentItemDTO> payments
+) {
+
+}
@@ -0,0 +1,15 @@
+package com.challet.bankservice.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "계좌 일괄 개설 요청 DTO")
+public record BulkAccountCreateRequestDTO(
+
+    @Schema(description = "개설할 계좌 목록")
+    List<AccountCreateRequestDTO> accounts
+) {
+
+}
@@ -0,0 +1,51 @@
+package com.challet.bankservice.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "코호트 구성원 동기화 요청 DTO")
+public record CohortMembershipRequestDTO(
+
+    @Schema(description = "코호트 키 (나이대:성별)")
+    String cohortKey,
+
+    @Schema(description = "구성원 목록 버전")
+    Long version,
+
+    @Schema(description = "전화번호 목록")
+    List<String> phoneNumbers
+) {
+
+    public static String cohortKeyOf(int age, boolean gender) {
+        return age + ":" + gender;
+    }
+
+    // 버전은 정렬된 전화번호 목록의 해시라서 구성원이 바뀌었을 때만 달라짐
+    public static CohortMembershipRequestDTO from(UserInfoMessageRequestDTO cohort) {
+        List<String> phoneNumbers = cohort.phoneNumbers().stream().sorted().toList();
+        return CohortMembershipRequestDTO.builder()
+            .cohortKey(cohortKeyOf(cohort.age(), cohort.gender()))
+            .version(versionOf(phoneNumbers))
+            .phoneNumbers(phoneNumbers)
+            .build();
+    }
+
+    private static long versionOf(List<String> sortedPhoneNumbers) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String phoneNumber : sortedPhoneNumbers) {
+                digest.update(phoneNumber.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
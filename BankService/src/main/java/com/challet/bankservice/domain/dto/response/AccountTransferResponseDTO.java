@@ -31,27 +31,28 @@ public record AccountTransferResponseDTO(
     String depositNumber
 ) {
 
+    // balance 는 출금 거래의 거래 후 잔액 (원장 모드에서는 계좌 행 잔액이 압축 때까지 갱신되지 않음)
     public static AccountTransferResponseDTO fromTransferInfo(Long id ,ChalletBank fromBank,
-        ChalletBank toBank, Long amount, String category) {
+        ChalletBank toBank, Long amount, Long balance, String category) {
         return AccountTransferResponseDTO.builder()
             .id(id)
             .depositAccountName(toBank.getName())
             .myAccountNumber(fromBank.getAccountNumber())
             .category(category)
-            .balance(fromBank.getAccountBalance())
+            .balance(balance)
             .amount(amount*-1)
             .depositNumber(toBank.getAccountNumber())
             .build();
     }
 
     public static AccountTransferResponseDTO fromExternalTransferInfo(Long id ,ChalletBank fromBank,
-        BankTransferRequestDTO toBank, Long amount, String category) {
+        BankTransferRequestDTO toBank, Long amount, Long balance, String category) {
         return AccountTransferResponseDTO.builder()
             .id(id)
             .depositAccountName(toBank.name())
             .myAccountNumber(fromBank.getAccountNumber())
             .category(category)
-            .balance(fromBank.getAccountBalance())
+            .balance(balance)
             .amount(amount*-1)
             .depositNumber(toBank.accountNumber())
             .build();
@@ -0,0 +1,30 @@
+package com.challet.bankservice.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "일괄 결제 결과 DTO")
+public record BatchPaymentResponseDTO(
+
+    @Schema(description = "성공한 결제 수")
+    int successCount,
+
+    @Schema(description = "실패한 결제 수")
+    int failureCount,
+
+    @Schema(description = "요청 순서대로 항목별 결과")
+    List<BatchPaymentResultDTO> results
+) {
+
+    public static BatchPaymentResponseDTO of(List<BatchPaymentResultDTO> results) {
+        int successCount = (int) results.stream().filter(BatchPaymentResultDTO::success).count();
+        return BatchPaymentResponseDTO
+            .builder()
+            .successCount(successCount)
+            .failureCount(results.size() - successCount)
+            .results(results)
+            .build();
+    }
+}
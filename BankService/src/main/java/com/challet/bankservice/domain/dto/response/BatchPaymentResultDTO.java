@@ -0,0 +1,46 @@
+package com.challet.bankservice.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "일괄 결제 항목별 결과 DTO")
+public record BatchPaymentResultDTO(
+
+    @Schema(description = "요청 목록에서의 순서")
+    int index,
+
+    @Schema(description = "결제 계좌 id")
+    Long accountId,
+
+    @Schema(description = "결제 성공 여부")
+    boolean success,
+
+    @Schema(description = "결제 내용, 실패하면 null")
+    PaymentResponseDTO payment,
+
+    @Schema(description = "실패 사유, 성공하면 null")
+    String errorCode
+) {
+
+    public static BatchPaymentResultDTO succeeded(int index, Long accountId,
+        PaymentResponseDTO payment) {
+        return BatchPaymentResultDTO
+            .builder()
+            .index(index)
+            .accountId(accountId)
+            .success(true)
+            .payment(payment)
+            .build();
+    }
+
+    public static BatchPaymentResultDTO failed(int index, Long accountId, String errorCode) {
+        return BatchPaymentResultDTO
+            .builder()
+            .index(index)
+            .accountId(accountId)
+            .success(false)
+            .errorCode(errorCode)
+            .build();
+    }
+}
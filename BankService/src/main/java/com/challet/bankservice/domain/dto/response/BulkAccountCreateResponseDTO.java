@@ -0,0 +1,25 @@
+package com.challet.bankservice.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "계좌 일괄 개설 결과 DTO")
+public record BulkAccountCreateResponseDTO(
+
+    @Schema(description = "개설된 계좌 수")
+    int createdCount,
+
+    @Schema(description = "요청 순서대로 개설된 계좌 번호")
+    List<String> accountNumbers
+) {
+
+    public static BulkAccountCreateResponseDTO of(List<String> accountNumbers) {
+        return BulkAccountCreateResponseDTO
+            .builder()
+            .createdCount(accountNumbers.size())
+            .accountNumbers(accountNumbers)
+            .build();
+    }
+}
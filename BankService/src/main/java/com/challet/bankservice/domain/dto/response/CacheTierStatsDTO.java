@@ -0,0 +1,32 @@
+package com.challet.bankservice.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "캐시 계층별 적중 통계")
+public record CacheTierStatsDTO(
+
+    @Schema(description = "캐시 계층 이름")
+    String tier,
+
+    @Schema(description = "적중 건수")
+    long hits,
+
+    @Schema(description = "실패 건수")
+    long misses,
+
+    @Schema(description = "적중률")
+    double hitRate
+) {
+
+    public static CacheTierStatsDTO of(String tier, long hits, long misses) {
+        long total = hits + misses;
+        return CacheTierStatsDTO.builder()
+            .tier(tier)
+            .hits(hits)
+            .misses(misses)
+            .hitRate(total == 0 ? 0 : (double) hits / total)
+            .build();
+    }
+}
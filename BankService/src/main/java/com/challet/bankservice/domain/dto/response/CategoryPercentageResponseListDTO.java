@@ -19,18 +19,22 @@ public record CategoryPercentageResponseListDTO(
     List<CategoryPercentageResponseDTO> myCategoryList,
 
     @Schema(description = "카테고리 리스트")
-    List<CategoryPercentageResponseDTO> categoryList
+    List<CategoryPercentageResponseDTO> categoryList,
+
+    @Schema(description = "응답 지연으로 통계에서 빠진 은행 목록 (비어 있지 않으면 일부 은행만 반영된 통계)")
+    List<String> degradedBanks
 ) {
 
     public static CategoryPercentageResponseListDTO fromCategoryList(UserInfoMessageRequestDTO userInfo,
         List<CategoryPercentageResponseDTO> myCategoryList,
-        List<CategoryPercentageResponseDTO> categoryList) {
+        List<CategoryPercentageResponseDTO> categoryList, List<String> degradedBanks) {
         return CategoryPercentageResponseListDTO
             .builder()
             .age(userInfo.age())
             .gender(userInfo.gender())
             .myCategoryList(myCategoryList)
             .categoryList(categoryList)
+            .degradedBanks(degradedBanks)
             .build();
     }
 }
@@ -0,0 +1,34 @@
+package com.challet.bankservice.domain.dto.response;
+
+import com.challet.bankservice.domain.entity.Category;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "카테고리별 같은 코호트 안에서의 결제 금액 위치")
+public record CategoryPercentileResponseDTO(
+
+    @Schema(description = "카테고리")
+    Category category,
+
+    @Schema(description = "내 결제 금액")
+    Long myAmount,
+
+    @Schema(description = "나보다 적게 쓴 사람의 비율 (근사값)")
+    double percentile,
+
+    @Schema(description = "비교한 사람 수")
+    long peerCount
+) {
+
+    public static CategoryPercentileResponseDTO of(Category category, long myAmount,
+        double percentile, long peerCount) {
+        return CategoryPercentileResponseDTO
+            .builder()
+            .category(category)
+            .myAmount(myAmount)
+            .percentile(Math.round(percentile * 100.0) / 100.0)
+            .peerCount(peerCount)
+            .build();
+    }
+}
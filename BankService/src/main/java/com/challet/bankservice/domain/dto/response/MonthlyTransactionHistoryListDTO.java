@@ -9,12 +9,21 @@ import lombok.Builder;
 public record MonthlyTransactionHistoryListDTO(
 
     @Schema(description = "한달간의 결제 내역")
-    List<MonthlyTransactionHistoryDTO> monthlyTransactions
+    List<MonthlyTransactionHistoryDTO> monthlyTransactions,
+
+    @Schema(description = "응답 지연으로 결과에서 빠진 은행 목록")
+    List<String> degradedBanks
 ){
     public static MonthlyTransactionHistoryListDTO from(List<MonthlyTransactionHistoryDTO> monthlyTransactions) {
+        return of(monthlyTransactions, List.of());
+    }
+
+    public static MonthlyTransactionHistoryListDTO of(
+        List<MonthlyTransactionHistoryDTO> monthlyTransactions, List<String> degradedBanks) {
         return MonthlyTransactionHistoryListDTO
             .builder()
             .monthlyTransactions(monthlyTransactions)
+            .degradedBanks(degradedBanks)
             .build();
     }
 }
@@ -0,0 +1,35 @@
+package com.challet.bankservice.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "한달 결제 내역 타임라인 페이지")
+public record MonthlyTransactionTimelineResponseDTO(
+
+    @Schema(description = "최신순 결제 내역")
+    List<MonthlyTransactionHistoryDTO> monthlyTransactions,
+
+    @Schema(description = "다음 페이지 커서")
+    String nextCursor,
+
+    @Schema(description = "다음 페이지 존재 여부")
+    boolean hasNext,
+
+    @Schema(description = "응답 지연으로 결과에서 빠진 은행 목록")
+    List<String> degradedBanks
+) {
+
+    public static MonthlyTransactionTimelineResponseDTO of(
+        List<MonthlyTransactionHistoryDTO> monthlyTransactions, String nextCursor,
+        List<String> degradedBanks) {
+        return MonthlyTransactionTimelineResponseDTO
+            .builder()
+            .monthlyTransactions(monthlyTransactions)
+            .nextCursor(nextCursor)
+            .hasNext(nextCursor != null)
+            .degradedBanks(degradedBanks)
+            .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.challet.bankservice.domain.dto.response;
+
+import com.challet.bankservice.domain.entity.Category;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "한달 카테고리별 결제 합계와 입출금 흐름")
+public record MonthlyTrendDTO(
+
+    @Schema(description = "년도")
+    int year,
+
+    @Schema(description = "달")
+    int month,
+
+    @Schema(description = "카테고리별 결제 합계 (음수)")
+    Map<Category, Long> categoryAmounts,
+
+    @Schema(description = "입금 합계")
+    long deposit,
+
+    @Schema(description = "출금 합계 (음수)")
+    long withdrawal,
+
+    @Schema(description = "순흐름 (입금 + 출금)")
+    long netFlow,
+
+    @Schema(description = "응답 지연으로 이 달 결과에서 빠진 은행 목록")
+    List<String> degradedBanks
+) {
+}
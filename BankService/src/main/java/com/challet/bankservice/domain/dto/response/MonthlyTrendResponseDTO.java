@@ -0,0 +1,28 @@
+package com.challet.bankservice.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "여러 달의 카테고리별 결제 합계 추이")
+public record MonthlyTrendResponseDTO(
+
+    @Schema(description = "오래된 달부터 월별 요약")
+    List<MonthlyTrendDTO> months,
+
+    @Schema(description = "한 달이라도 응답이 빠진 은행 목록")
+    List<String> degradedBanks
+) {
+
+    public static MonthlyTrendResponseDTO of(List<MonthlyTrendDTO> months) {
+        return MonthlyTrendResponseDTO
+            .builder()
+            .months(months)
+            .degradedBanks(months.stream()
+                .flatMap(month -> month.degradedBanks().stream())
+                .distinct()
+                .toList())
+            .build();
+    }
+}
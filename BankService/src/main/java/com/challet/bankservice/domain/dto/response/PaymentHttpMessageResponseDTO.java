@@ -1,6 +1,7 @@
 package com.challet.bankservice.domain.dto.response;
 
 import com.challet.bankservice.domain.dto.request.PaymentRequestDTO;
+import com.challet.bankservice.domain.entity.PaymentNotificationOutbox;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 
@@ -8,6 +9,12 @@ import lombok.Builder;
 @Builder
 public record PaymentHttpMessageResponseDTO(
 
+    @Schema(description = "결제 알림 id (같은 알림이 다시 전달되면 같은 값)")
+    Long notificationId,
+
+    @Schema(description = "결제 거래 id (카테고리 정정 알림은 원래 결제와 같은 값)")
+    Long transactionId,
+
     @Schema(description = "유저 전화번호")
     String phoneNumber,
 
@@ -30,4 +37,16 @@ public record PaymentHttpMessageResponseDTO(
             .category(paymentInfo.category())
             .build();
     }
+
+    public static PaymentHttpMessageResponseDTO fromNotification(
+        PaymentNotificationOutbox notification) {
+        return PaymentHttpMessageResponseDTO.builder()
+            .notificationId(notification.getId())
+            .transactionId(notification.getTransactionId())
+            .phoneNumber(notification.getPhoneNumber())
+            .transactionAmount(notification.getTransactionAmount())
+            .deposit(notification.getDeposit())
+            .category(notification.getCategory())
+            .build();
+    }
 }
\ No newline at end of file
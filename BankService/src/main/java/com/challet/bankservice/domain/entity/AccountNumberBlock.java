@@ -0,0 +1,41 @@
+package com.challet.bankservice.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 계좌 번호 일련번호를 블록 단위로 나눠 주기 위한 hi-lo 테이블, 행 하나가 번호 체계 하나
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "account_number_block")
+public class AccountNumberBlock {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    public static AccountNumberBlock create(String name) {
+        return AccountNumberBlock.builder()
+            .name(name)
+            .nextValue(1L)
+            .build();
+    }
+
+    // 블록 시작 번호를 돌려주고 다음 블록 위치로 옮김
+    public long lease(int blockSize) {
+        long start = nextValue;
+        nextValue += blockSize;
+        return start;
+    }
+}
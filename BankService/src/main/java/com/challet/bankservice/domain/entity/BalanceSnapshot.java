@@ -0,0 +1,52 @@
+package com.challet.bankservice.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+// compaction_version 차수까지 압축한 원장을 합친 계좌 잔액, 압축할 때마다 차수가 하나씩 올라감
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "balance_snapshot")
+public class BalanceSnapshot {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "balance", nullable = false)
+    private Long balance;
+
+    @Column(name = "compaction_version", nullable = false)
+    private Long compactionVersion;
+
+    @Column(name = "update_date_time", nullable = false, columnDefinition = "DATETIME")
+    @UpdateTimestamp
+    private LocalDateTime updateDateTime;
+
+    // 원장 모드로 처음 다루는 계좌는 계좌 행의 잔액에서 시작
+    public static BalanceSnapshot initial(Long accountId, long balance) {
+        return BalanceSnapshot.builder()
+            .accountId(accountId)
+            .balance(balance)
+            .compactionVersion(0L)
+            .build();
+    }
+
+    // 이번에 합친 원장의 compacted_version 으로 쓸 새 차수를 돌려줌
+    public long advance(long delta) {
+        this.balance += delta;
+        this.compactionVersion += 1;
+        return compactionVersion;
+    }
+}
@@ -0,0 +1,24 @@
+package com.challet.bankservice.domain.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum BankType {
+    CH_BANK("ch-bank"),
+    KB_BANK("kb-bank"),
+    NH_BANK("nh-bank"),
+    SH_BANK("sh-bank");
+
+    private final String bankName;
+
+    public static BankType fromBankName(String bankName) {
+        for (BankType bank : values()) {
+            if (bank.bankName.equals(bankName)) {
+                return bank;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 은행입니다: " + bankName);
+    }
+}
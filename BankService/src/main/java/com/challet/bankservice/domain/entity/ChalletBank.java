@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
@@ -22,7 +23,10 @@ import org.hibernate.annotations.CreationTimestamp;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "ch_bank")
+// 월별, 카테고리 조회는 전화번호로 계좌를 찾은 뒤 거래 테이블로 들어감
+@Table(name = "ch_bank", indexes = {
+    @Index(name = "idx_ch_bank_phone_number", columnList = "phone_number")
+})
 public class ChalletBank {
 
     @Id
@@ -60,6 +64,20 @@ public class ChalletBank {
         challetBankTransaction.assignTransactionChAccount(this);
     }
 
+    // 잔액은 조건부 UPDATE 로 이미 반영되었으므로 반영 후 잔액으로 맞추기만 함
+    public void addSettledTransaction(ChalletBankTransaction challetBankTransaction,
+        long balanceAfter) {
+        this.accountBalance = balanceAfter;
+        this.challetBankTransactions.add(challetBankTransaction);
+        challetBankTransaction.assignTransactionChAccount(this);
+    }
+
+    // 원장 모드에서는 잔액을 원장에서 관리하므로 거래 내역만 연결 (계좌 행을 다시 쓰지 않음)
+    public void attachTransaction(ChalletBankTransaction challetBankTransaction) {
+        this.challetBankTransactions.add(challetBankTransaction);
+        challetBankTransaction.assignTransactionChAccount(this);
+    }
+
     public static ChalletBank createAccount(String name,String phoneNumber, String accountNumber) {
         return ChalletBank.builder()
             .name(name)
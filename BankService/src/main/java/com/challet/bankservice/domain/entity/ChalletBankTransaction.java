@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -23,7 +24,13 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "ch_transaction")
+// 월별 조회는 [월초, 다음 달 월초) 범위 조건으로 이 인덱스를 탐
+@Table(name = "ch_transaction", indexes = {
+    @Index(name = "idx_ch_transaction_bank_datetime",
+        columnList = "ch_bank_id, transaction_datetime"),
+    @Index(name = "idx_ch_transaction_category_datetime",
+        columnList = "category, transaction_datetime")
+})
 public class ChalletBankTransaction {
 
     @Id
@@ -73,7 +80,25 @@ public class ChalletBankTransaction {
             .build();
     }
 
+    // 상대 은행 입금이 실패한 다른 은행 이체 출금을 같은 금액만큼 되돌려 넣는 내역
+    public static ChalletBankTransaction createTransferReversal(
+        ChalletBankTransaction withdrawalTransaction, long transactionBalance) {
+
+        return ChalletBankTransaction.builder()
+            .transactionAmount(-1 * withdrawalTransaction.getTransactionAmount())
+            .transactionDatetime(LocalDateTime.now())
+            .deposit(withdrawalTransaction.getWithdrawal()) // 입금처
+            .withdrawal(withdrawalTransaction.getDeposit()) // 출금처
+            .transactionBalance(transactionBalance)
+            .category(Category.ETC)
+            .build();
+    }
+
     public void updateCategory(String category) {
         this.category = Category.valueOf(category);
     }
+
+    public void updateDeposit(String deposit) {
+        this.deposit = deposit;
+    }
 }
@@ -0,0 +1,58 @@
+package com.challet.bankservice.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+// 계좌 잔액 변동 한 건, 추가만 하고 지우지 않음 (입금은 양수, 출금은 음수)
+// 압축할 때 스냅샷에 합친 압축 차수만 compacted_version 에 적고, 아직 합치지 않은 원장은 null
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ledger_posting", indexes = {
+    @Index(name = "idx_ledger_posting_account",
+        columnList = "account_id, compacted_version, id"),
+    @Index(name = "idx_ledger_posting_compacted", columnList = "compacted_version, account_id")
+})
+public class LedgerPosting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "compacted_version")
+    private Long compactedVersion;
+
+    @Column(name = "create_date_time", nullable = false, columnDefinition = "DATETIME")
+    @CreationTimestamp
+    private LocalDateTime createDateTime;
+
+    public static LedgerPosting of(Long accountId, long amount, Long transactionId) {
+        return LedgerPosting.builder()
+            .accountId(accountId)
+            .amount(amount)
+            .transactionId(transactionId)
+            .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.AccountNumberBlock;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AccountNumberBlockRepository extends JpaRepository<AccountNumberBlock, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from AccountNumberBlock b where b.name = :name")
+    Optional<AccountNumberBlock> findByNameForUpdate(@Param("name") String name);
+}
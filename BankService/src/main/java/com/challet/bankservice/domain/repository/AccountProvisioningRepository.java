@@ -0,0 +1,104 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.ChalletBank;
+import com.challet.bankservice.global.util.DefaultCategoryTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 계좌 개설용 배치 INSERT 저장소.
+ * IDENTITY 키 엔티티는 JPA 로 저장하면 한 행마다 INSERT 를 보내므로, 계좌·카테고리·매핑을
+ * 각각 JDBC 배치 한 번으로 넣고 생성된 id 는 고유 컬럼으로 한 번에 다시 읽는다.
+ * MySQL 드라이버에 rewriteBatchedStatements=true 를 주면 배치가 다중 행 INSERT 로 바뀐다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountProvisioningRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // 범위 안에 이미 있는 계좌 번호의 검사 숫자 앞부분 (고유 인덱스 범위 조회)
+    public Set<String> findAccountNumberBodiesBetween(String from, String to) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT LEFT(account_number, 15) FROM ch_bank "
+                + "WHERE account_number BETWEEN :from AND :to",
+            new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to), String.class));
+    }
+
+    // 계좌 번호 → 생성된 계좌 id
+    public Map<String, Long> insertAccounts(List<ChalletBank> accounts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] rows = accounts.stream()
+            .map(account -> new MapSqlParameterSource()
+                .addValue("name", account.getName())
+                .addValue("accountNumber", account.getAccountNumber())
+                .addValue("accountBalance", account.getAccountBalance())
+                .addValue("createDateTime", now)
+                .addValue("phoneNumber", account.getPhoneNumber())
+                .addValue("myDataStatus", account.isMyDataStatus()))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO ch_bank (name, account_number, account_balance, create_date_time, "
+                + "phone_number, mydata_status) "
+                + "VALUES (:name, :accountNumber, :accountBalance, :createDateTime, "
+                + ":phoneNumber, :myDataStatus)", rows);
+
+        Map<String, Long> accountIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, account_number FROM ch_bank "
+                + "WHERE account_number IN (:accountNumbers)",
+            new MapSqlParameterSource("accountNumbers",
+                accounts.stream().map(ChalletBank::getAccountNumber).toList()),
+            resultSet -> {
+                accountIds.put(resultSet.getString("account_number"), resultSet.getLong("id"));
+            });
+        return accountIds;
+    }
+
+    // 기본 카테고리를 넣고, 생성된 카테고리 id 로 기본 결제처 매핑을 넣음
+    public void insertDefaultCategories(Collection<Long> accountIds) {
+        List<SqlParameterSource> categories = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            for (String categoryName : DefaultCategoryTemplate.MAPPINGS.keySet()) {
+                categories.add(new MapSqlParameterSource()
+                    .addValue("categoryName", categoryName)
+                    .addValue("accountId", accountId));
+            }
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO category (category_name, ch_bank_id) VALUES (:categoryName, :accountId)",
+            categories.toArray(SqlParameterSource[]::new));
+
+        List<SqlParameterSource> mappings = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, category_name, ch_bank_id FROM category "
+                + "WHERE ch_bank_id IN (:accountIds)",
+            new MapSqlParameterSource("accountIds", accountIds),
+            resultSet -> {
+                List<String> depositNames = DefaultCategoryTemplate.MAPPINGS.getOrDefault(
+                    resultSet.getString("category_name"), List.of());
+                for (String depositName : depositNames) {
+                    mappings.add(new MapSqlParameterSource()
+                        .addValue("depositName", depositName)
+                        .addValue("categoryId", resultSet.getLong("id"))
+                        .addValue("accountId", resultSet.getLong("ch_bank_id")));
+                }
+            });
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO category_mapping (deposit_name, category_id, ch_bank_id) "
+                + "VALUES (:depositName, :categoryId, :accountId)",
+            mappings.toArray(SqlParameterSource[]::new));
+    }
+}
@@ -0,0 +1,16 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.BalanceSnapshot;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BalanceSnapshot s where s.accountId = :accountId")
+    Optional<BalanceSnapshot> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+}
@@ -1,9 +1,13 @@
 package com.challet.bankservice.domain.repository;
 
 import com.challet.bankservice.domain.dto.request.ConfirmPaymentRequestDTO;
+import com.challet.bankservice.domain.entity.CategoryMapping;
+import java.util.List;
 
 public interface CategoryMappingRepositoryCustom {
 
     long updateCategory(Long accountId, Long categoryId, ConfirmPaymentRequestDTO paymentRequestDTO);
 
+    List<CategoryMapping> findAllWithCategoryByAccountId(Long accountId);
+
 }
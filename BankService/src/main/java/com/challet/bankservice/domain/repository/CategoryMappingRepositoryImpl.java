@@ -1,8 +1,11 @@
 package com.challet.bankservice.domain.repository;
 
 import com.challet.bankservice.domain.dto.request.ConfirmPaymentRequestDTO;
+import com.challet.bankservice.domain.entity.CategoryMapping;
 import com.challet.bankservice.domain.entity.QCategoryMapping;
+import com.challet.bankservice.domain.entity.QCategoryT;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -25,4 +28,18 @@ public class CategoryMappingRepositoryImpl implements CategoryMappingRepositoryC
             .execute();
 
     }
+
+    // 카테고리 매처 생성용, 등록 순서대로 카테고리 이름까지 한 번에 읽음
+    @Override
+    public List<CategoryMapping> findAllWithCategoryByAccountId(Long accountId) {
+        QCategoryMapping categoryMapping = QCategoryMapping.categoryMapping;
+        QCategoryT categoryT = QCategoryT.categoryT;
+
+        return query
+            .selectFrom(categoryMapping)
+            .join(categoryMapping.categoryT, categoryT).fetchJoin()
+            .where(categoryMapping.challetBank.id.eq(accountId))
+            .orderBy(categoryMapping.id.asc())
+            .fetch();
+    }
 }
@@ -1,9 +1,11 @@
 package com.challet.bankservice.domain.repository;
 
 import com.challet.bankservice.domain.entity.CategoryT;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CategoryRepository extends JpaRepository<CategoryT, Long>,
     CategoryRepositoryCustom {
 
+    List<CategoryT> findAllByChalletBankId(Long accountId);
 }
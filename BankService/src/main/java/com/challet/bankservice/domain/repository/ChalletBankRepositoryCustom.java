@@ -1,13 +1,15 @@
 package com.challet.bankservice.domain.repository;
 
+import com.challet.bankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
 import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
-import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
 import com.challet.bankservice.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.bankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.bankservice.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.bankservice.domain.dto.response.TransactionResponseDTO;
 import com.challet.bankservice.domain.entity.Category;
 import com.challet.bankservice.domain.entity.ChalletBank;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -21,7 +23,11 @@ public interface ChalletBankRepositoryCustom {
 
     Long findAccountBalanceById(Long accountId);
 
-    ChalletBank findByIdWithLock(Long accountId);
+    boolean debitBalance(Long accountId, long amount);
+
+    boolean creditBalance(Long accountId, long amount);
+
+    void syncBalance(Long accountId, long balance);
 
     boolean isMyDataConnectedByPhoneNumber(String phoneNumber);
 
@@ -30,11 +36,13 @@ public interface ChalletBankRepositoryCustom {
     MonthlyTransactionHistoryListDTO getTransactionByPhoneNumberAndYearMonth(String phoneNumber,
         MonthlyTransactionRequestDTO requestDTO);
 
-    Map<Category, Long> getTransactionByGroupCategory(
-        UserInfoMessageRequestDTO analysisInfo,
-        MonthlyTransactionRequestDTO requestDTO);
+    MonthlyTransactionHistoryListDTO getTransactionPageByPhoneNumberAndYearMonth(String phoneNumber,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size);
+
+    Map<Category, Long> getTransactionByGroupCategory(BankToAnalysisMessageRequestDTO message);
 
-    String getCategoryName(Long accountId, String deposit);
+    List<CohortSpendingDTO> getCohortSpending(BankToAnalysisMessageRequestDTO message);
 
     ChalletBank getAccountByPhoneNumber(String phoneNumber);
 
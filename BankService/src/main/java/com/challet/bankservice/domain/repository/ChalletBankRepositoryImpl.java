@@ -1,25 +1,31 @@
 package com.challet.bankservice.domain.repository;
 
+import com.challet.bankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
 import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
-import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
 import com.challet.bankservice.domain.dto.response.AccountInfoResponseDTO;
 import com.challet.bankservice.domain.dto.response.AccountInfoResponseListDTO;
 import com.challet.bankservice.domain.dto.response.CategoryAmountMonthResponseDTO;
 import com.challet.bankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.bankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.bankservice.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.bankservice.domain.dto.response.TransactionResponseDTO;
 import com.challet.bankservice.domain.entity.Category;
 import com.challet.bankservice.domain.entity.ChalletBank;
-import com.challet.bankservice.domain.entity.QCategoryMapping;
-import com.challet.bankservice.domain.entity.QCategoryT;
 import com.challet.bankservice.domain.entity.QChalletBank;
 import com.challet.bankservice.domain.entity.QChalletBankTransaction;
+import com.challet.bankservice.domain.entity.QCohortMember;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -104,15 +110,40 @@ public class ChalletBankRepositoryImpl implements ChalletBankRepositoryCustom {
             .fetchOne();
     }
 
+    // 잔액이 충분할 때만 한 번의 UPDATE 로 차감 (행 잠금은 이 UPDATE 부터 커밋까지만 유지)
     @Override
-    public ChalletBank findByIdWithLock(Long accountId) {
+    public boolean debitBalance(Long accountId, long amount) {
         QChalletBank challetBank = QChalletBank.challetBank;
 
         return query
-            .selectFrom(challetBank)
+            .update(challetBank)
+            .set(challetBank.accountBalance, challetBank.accountBalance.subtract(amount))
+            .where(challetBank.id.eq(accountId)
+                .and(challetBank.accountBalance.goe(amount)))
+            .execute() == 1;
+    }
+
+    @Override
+    public boolean creditBalance(Long accountId, long amount) {
+        QChalletBank challetBank = QChalletBank.challetBank;
+
+        return query
+            .update(challetBank)
+            .set(challetBank.accountBalance, challetBank.accountBalance.add(amount))
             .where(challetBank.id.eq(accountId))
-            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
-            .fetchOne();
+            .execute() == 1;
+    }
+
+    // 원장 모드에서 압축한 스냅샷 잔액을 계좌 행에 옮겨 적음 (목록 조회용)
+    @Override
+    public void syncBalance(Long accountId, long balance) {
+        QChalletBank challetBank = QChalletBank.challetBank;
+
+        query
+            .update(challetBank)
+            .set(challetBank.accountBalance, balance)
+            .where(challetBank.id.eq(accountId))
+            .execute();
     }
 
     @Override
@@ -141,10 +172,30 @@ public class ChalletBankRepositoryImpl implements ChalletBankRepositoryCustom {
     @Override
     public MonthlyTransactionHistoryListDTO getTransactionByPhoneNumberAndYearMonth(
         String phoneNumber, MonthlyTransactionRequestDTO requestDTO) {
+        List<MonthlyTransactionHistoryDTO> result = monthlyTransactionQuery(phoneNumber, requestDTO)
+            .fetch();
+
+        return MonthlyTransactionHistoryListDTO.from(result);
+    }
+
+    @Override
+    public MonthlyTransactionHistoryListDTO getTransactionPageByPhoneNumberAndYearMonth(
+        String phoneNumber, MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate,
+        Long beforeId, int size) {
+        List<MonthlyTransactionHistoryDTO> result = monthlyTransactionQuery(phoneNumber, requestDTO)
+            .where(before(QChalletBankTransaction.challetBankTransaction, beforeDate, beforeId))
+            .limit(size)
+            .fetch();
+
+        return MonthlyTransactionHistoryListDTO.from(result);
+    }
+
+    private JPAQuery<MonthlyTransactionHistoryDTO> monthlyTransactionQuery(String phoneNumber,
+        MonthlyTransactionRequestDTO requestDTO) {
         QChalletBankTransaction challetBankTransaction = QChalletBankTransaction.challetBankTransaction;
         QChalletBank challetBank = QChalletBank.challetBank;
 
-        List<MonthlyTransactionHistoryDTO> result = query
+        return query
             .select(Projections.constructor(MonthlyTransactionHistoryDTO.class,
                 Expressions.constant("ch-bank"),
                 challetBank.accountNumber,
@@ -154,58 +205,79 @@ public class ChalletBankRepositoryImpl implements ChalletBankRepositoryCustom {
                 challetBankTransaction.withdrawal,
                 challetBankTransaction.transactionBalance,
                 challetBankTransaction.transactionAmount,
-                challetBankTransaction.category))
+                challetBankTransaction.category,
+                challetBankTransaction.id))
             .from(challetBankTransaction)
             .join(challetBankTransaction.challetBank, challetBank)
             .where(challetBank.phoneNumber.eq(phoneNumber)
-                .and(challetBankTransaction.transactionDatetime.year().eq(requestDTO.year()))
-                .and(challetBankTransaction.transactionDatetime.month().eq(requestDTO.month())))
-            .orderBy(challetBankTransaction.transactionDatetime.desc())
-            .fetch();
-
-        return MonthlyTransactionHistoryListDTO.from(result);
+                .and(inMonth(challetBankTransaction.transactionDatetime,
+                    requestDTO.year(), requestDTO.month())))
+            .orderBy(challetBankTransaction.transactionDatetime.desc(),
+                challetBankTransaction.id.desc());
     }
 
     @Override
     public Map<Category, Long> getTransactionByGroupCategory(
-        UserInfoMessageRequestDTO analysisInfo, MonthlyTransactionRequestDTO requestDTO) {
+        BankToAnalysisMessageRequestDTO message) {
         QChalletBankTransaction challetBankTransaction = QChalletBankTransaction.challetBankTransaction;
         QChalletBank challetBank = QChalletBank.challetBank;
 
-        List<String> phoneNumbers = analysisInfo.phoneNumbers();
         Map<Category, Long> categorySums = new HashMap<>();
 
-        for (int i = 0; i < phoneNumbers.size(); i += BATCH_SIZE) {
-            List<String> subListPhoneNumbers = subList(i, phoneNumbers);
-            List<CategoryAmountResponseDTO> results = getCategoryList(requestDTO,
+        for (BooleanExpression members : memberConditions(message, challetBank)) {
+            List<CategoryAmountResponseDTO> results = getCategoryList(message.requestDTO(),
                 challetBankTransaction,
-                challetBank, subListPhoneNumbers);
+                challetBank, members);
             addCategoryList(results, categorySums);
         }
         return categorySums;
     }
 
     @Override
-    public String getCategoryName(Long accountId, String deposit) {
-        QCategoryMapping categoryMapping = QCategoryMapping.categoryMapping;
-        QCategoryT categoryT = QCategoryT.categoryT;
-
-        String categoryName = query.select(categoryT.categoryName)
-            .from(categoryMapping)
-            .join(categoryMapping.categoryT, categoryT)
-            .where(categoryMapping.challetBank.id.eq(accountId)
-                .and(categoryMapping.depositName.eq(deposit)))
-            .fetchFirst();
+    public List<CohortSpendingDTO> getCohortSpending(BankToAnalysisMessageRequestDTO message) {
+        QChalletBankTransaction challetBankTransaction = QChalletBankTransaction.challetBankTransaction;
+        QChalletBank challetBank = QChalletBank.challetBank;
+        MonthlyTransactionRequestDTO requestDTO = message.requestDTO();
+
+        List<CohortSpendingDTO> spendings = new ArrayList<>();
+        for (BooleanExpression members : memberConditions(message, challetBank)) {
+            spendings.addAll(query
+                .select(Projections.constructor(CohortSpendingDTO.class,
+                    challetBank.phoneNumber,
+                    challetBankTransaction.category,
+                    challetBankTransaction.transactionAmount.sum()))
+                .from(challetBankTransaction)
+                .join(challetBankTransaction.challetBank, challetBank)
+                .where(
+                    members
+                        .and(inMonth(challetBankTransaction.transactionDatetime,
+                            requestDTO.year(), requestDTO.month()))
+                        .and(challetBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
+                            Category.SHOPPING, Category.TRANSPORT, Category.ETC))
+                        .and(challetBankTransaction.transactionAmount.lt(0)))
+                .groupBy(challetBank.phoneNumber, challetBankTransaction.category)
+                .fetch());
+        }
+        return spendings;
+    }
 
-        if (categoryName == null) {
-            categoryName = query.select(categoryT.categoryName)
-                .from(categoryMapping)
-                .join(categoryMapping.categoryT, categoryT)
-                .where(categoryMapping.challetBank.id.eq(accountId)
-                    .and(categoryMapping.depositName.contains(deposit)))
-                .fetchFirst();
+    // 동기화된 코호트면 전화번호 목록 대신 코호트 테이블을 서브쿼리로 조회하고, 아니면 기존처럼 배치로 나눔
+    private List<BooleanExpression> memberConditions(BankToAnalysisMessageRequestDTO message,
+        QChalletBank challetBank) {
+        if (message.cohortKey() != null) {
+            QCohortMember cohortMember = QCohortMember.cohortMember;
+            return List.of(challetBank.phoneNumber.in(JPAExpressions
+                .select(cohortMember.phoneNumber)
+                .from(cohortMember)
+                .where(cohortMember.cohortKey.eq(message.cohortKey()))));
+        }
+
+        List<String> phoneNumbers = message.userInfo().phoneNumbers();
+        List<BooleanExpression> conditions = new ArrayList<>();
+        for (int i = 0; i < phoneNumbers.size(); i += BATCH_SIZE) {
+            conditions.add(challetBank.phoneNumber.in(subList(i, phoneNumbers)));
         }
-        return categoryName != null ? categoryName : "ETC";
+        return conditions;
     }
 
     @Override
@@ -225,7 +297,7 @@ public class ChalletBankRepositoryImpl implements ChalletBankRepositoryCustom {
 
     private List<CategoryAmountResponseDTO> getCategoryList(MonthlyTransactionRequestDTO requestDTO,
         QChalletBankTransaction challetBankTransaction, QChalletBank challetBank,
-        List<String> subListPhoneNumbers) {
+        BooleanExpression members) {
         return query
             .select(Projections.constructor(CategoryAmountResponseDTO.class,
                 challetBankTransaction.category,
@@ -234,10 +306,9 @@ public class ChalletBankRepositoryImpl implements ChalletBankRepositoryCustom {
             .from(challetBankTransaction)
             .join(challetBankTransaction.challetBank, challetBank)
             .where(
-                challetBank.phoneNumber.in(subListPhoneNumbers)
-                    .and(challetBankTransaction.transactionDatetime.year().eq(requestDTO.year()))
-                    .and(challetBankTransaction.transactionDatetime.month()
-                        .eq(requestDTO.month()))
+                members
+                    .and(inMonth(challetBankTransaction.transactionDatetime,
+                        requestDTO.year(), requestDTO.month()))
                     .and(challetBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
                         Category.SHOPPING, Category.TRANSPORT, Category.ETC))
                     .and(challetBankTransaction.transactionAmount.lt(0)))
@@ -292,12 +363,30 @@ public class ChalletBankRepositoryImpl implements ChalletBankRepositoryCustom {
             .join(chBankTransaction.challetBank, challetBank)
             .where(
                 challetBank.phoneNumber.eq(phoneNumber)
-                    .and(chBankTransaction.transactionDatetime.year().eq(requestDTO.year()))
-                    .and(chBankTransaction.transactionDatetime.month().eq(requestDTO.month()))
+                    .and(inMonth(chBankTransaction.transactionDatetime,
+                        requestDTO.year(), requestDTO.month()))
                     .and(chBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
                         Category.SHOPPING, Category.TRANSPORT, Category.ETC))
                     .and(chBankTransaction.transactionAmount.lt(0)))
             .groupBy(chBankTransaction.category)
             .fetch();
     }
-}
\ No newline at end of file
+
+    // [월초, 다음 달 월초) 범위 조건, 컬럼을 함수로 감싸지 않아 거래 일시 인덱스를 그대로 탐
+    private static BooleanExpression inMonth(DateTimePath<LocalDateTime> transactionDatetime,
+        int year, int month) {
+        LocalDateTime monthStart = LocalDate.of(year, month, 1).atStartOfDay();
+        return transactionDatetime.goe(monthStart)
+            .and(transactionDatetime.lt(monthStart.plusMonths(1)));
+    }
+
+    // (거래 일시, id) 내림차순에서 커서 위치보다 뒤의 거래만, 커서가 없으면 조건 없음
+    private static BooleanExpression before(QChalletBankTransaction transaction,
+        LocalDateTime beforeDate, Long beforeId) {
+        if (beforeDate == null) {
+            return null;
+        }
+        return transaction.transactionDatetime.lt(beforeDate)
+            .or(transaction.transactionDatetime.eq(beforeDate).and(transaction.id.lt(beforeId)));
+    }
+}
@@ -0,0 +1,10 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.CohortMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CohortMemberRepository extends JpaRepository<CohortMember, Long>,
+    CohortMemberRepositoryCustom {
+
+    boolean existsByCohortKeyAndPhoneNumber(String cohortKey, String phoneNumber);
+}
@@ -0,0 +1,32 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.LedgerPosting;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerPostingRepository extends JpaRepository<LedgerPosting, Long>,
+    LedgerPostingRepositoryCustom {
+
+    // 커밋됐지만 아직 스냅샷에 합치지 않은 원장이 있는 계좌
+    @Query("select distinct p.accountId from LedgerPosting p where p.compactedVersion is null")
+    List<Long> findUncompactedAccountIds(Pageable pageable);
+
+    // 커밋됐지만 아직 스냅샷에 합치지 않은 원장, 커밋 전인 원장은 보이지 않으므로 다음 압축 때 합쳐짐
+    @Query("select p from LedgerPosting p "
+        + "where p.accountId = :accountId and p.compactedVersion is null order by p.id")
+    List<LedgerPosting> findUncompacted(@Param("accountId") Long accountId, Pageable pageable);
+
+    // (afterVersion, toVersion] 차수에 압축한 원장, Redis 를 DB 압축 차수까지 따라잡을 때 씀
+    @Query("select p from LedgerPosting p where p.accountId = :accountId "
+        + "and p.compactedVersion > :afterVersion and p.compactedVersion <= :toVersion")
+    List<LedgerPosting> findCompactedBetween(@Param("accountId") Long accountId,
+        @Param("afterVersion") long afterVersion, @Param("toVersion") long toVersion);
+
+    @Modifying
+    @Query("update LedgerPosting p set p.compactedVersion = :version where p.id in :ids")
+    int markCompacted(@Param("ids") List<Long> ids, @Param("version") long version);
+}
@@ -0,0 +1,8 @@
+package com.challet.bankservice.domain.repository;
+
+import java.util.Map;
+
+public interface LedgerPostingRepositoryCustom {
+
+    void updateTransactionBalances(Map<Long, Long> balancesByTransactionId);
+}
@@ -0,0 +1,31 @@
+package com.challet.bankservice.domain.repository;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class LedgerPostingRepositoryImpl implements LedgerPostingRepositoryCustom {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // 압축할 때 원장 순서로 계산한 거래 후 잔액을 JDBC 배치 한 번으로 거래 내역에 적음
+    @Override
+    public void updateTransactionBalances(Map<Long, Long> balancesByTransactionId) {
+        if (balancesByTransactionId.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] rows = balancesByTransactionId.entrySet().stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("id", entry.getKey())
+                .addValue("transactionBalance", entry.getValue()))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(
+            "UPDATE ch_transaction SET transaction_balance = :transactionBalance WHERE id = :id",
+            rows);
+    }
+}
@@ -0,0 +1,8 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.PaymentNotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PaymentNotificationOutboxRepository extends
+    JpaRepository<PaymentNotificationOutbox, Long>, PaymentNotificationOutboxRepositoryCustom {
+}
@@ -0,0 +1,12 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.PaymentNotificationOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentNotificationOutboxRepositoryCustom {
+
+    List<PaymentNotificationOutbox> findDeliverable(LocalDateTime now, int limit);
+
+    long deleteByIds(List<Long> ids);
+}
@@ -0,0 +1,49 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.PaymentNotificationOutbox;
+import com.challet.bankservice.domain.entity.QPaymentNotificationOutbox;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentNotificationOutboxRepositoryImpl implements
+    PaymentNotificationOutboxRepositoryCustom {
+
+    private final JPAQueryFactory query;
+
+    // 같은 전화번호의 앞선 알림이 재시도를 기다리는 중이면 뒤 알림도 보내지 않음 (전화번호별 순서 유지)
+    @Override
+    public List<PaymentNotificationOutbox> findDeliverable(LocalDateTime now, int limit) {
+        QPaymentNotificationOutbox notification = QPaymentNotificationOutbox.paymentNotificationOutbox;
+        QPaymentNotificationOutbox earlier = new QPaymentNotificationOutbox("earlier");
+
+        return query
+            .selectFrom(notification)
+            .where(notification.nextAttemptAt.loe(now),
+                JPAExpressions
+                    .selectOne()
+                    .from(earlier)
+                    .where(earlier.phoneNumber.eq(notification.phoneNumber),
+                        earlier.id.lt(notification.id),
+                        earlier.nextAttemptAt.gt(now))
+                    .notExists())
+            .orderBy(notification.id.asc())
+            .limit(limit)
+            .fetch();
+    }
+
+    @Override
+    public long deleteByIds(List<Long> ids) {
+        QPaymentNotificationOutbox notification = QPaymentNotificationOutbox.paymentNotificationOutbox;
+
+        return query
+            .delete(notification)
+            .where(notification.id.in(ids))
+            .execute();
+    }
+}
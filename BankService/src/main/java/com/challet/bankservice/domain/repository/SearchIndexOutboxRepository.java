@@ -0,0 +1,8 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.SearchIndexOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SearchIndexOutboxRepository extends JpaRepository<SearchIndexOutbox, Long>,
+    SearchIndexOutboxRepositoryCustom {
+}
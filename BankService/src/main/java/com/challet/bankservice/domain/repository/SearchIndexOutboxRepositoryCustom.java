@@ -0,0 +1,14 @@
+package com.challet.bankservice.domain.repository;
+
+import com.challet.bankservice.domain.entity.SearchIndexOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SearchIndexOutboxRepositoryCustom {
+
+    List<SearchIndexOutbox> findReady(LocalDateTime now, int limit);
+
+    long deleteByIds(List<Long> ids);
+
+    LocalDateTime findOldestCreateDateTime();
+}
@@ -0,0 +1,39 @@
+package com.challet.bankservice.domain.scheduler;
+
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.service.CohortAggregateService;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CohortAggregateScheduler {
+
+    private final CohortAggregateService cohortAggregateService;
+
+    // 매일 새벽 이번 달 코호트 집계를 다시 계산 (1일에는 지난달 마감분도 함께)
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void reconcileCohortAggregates() {
+        LocalDate today = LocalDate.now();
+        if (today.getDayOfMonth() == 1) {
+            reconcile(today.minusMonths(1));
+        }
+        reconcile(today);
+    }
+
+    private void reconcile(LocalDate date) {
+        int reconciled = cohortAggregateService.reconcile(
+            MonthlyTransactionRequestDTO.fromDTO(date.getYear(), date.getMonthValue()));
+        if (reconciled < 0) {
+            log.info("코호트 집계 재계산은 다른 인스턴스에서 수행: {}-{}", date.getYear(),
+                date.getMonthValue());
+            return;
+        }
+        log.info("코호트 집계 재계산 완료: {}-{} {}개", date.getYear(), date.getMonthValue(),
+            reconciled);
+    }
+}
@@ -0,0 +1,30 @@
+package com.challet.bankservice.domain.scheduler;
+
+import com.challet.bankservice.global.ledger.AccountLedger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LedgerCompactionScheduler {
+
+    private final AccountLedger accountLedger;
+
+    // 커밋된 원장을 스냅샷에 합치고 Redis 잔액을 DB 기준으로 다시 맞춤
+    @Scheduled(fixedDelayString = "${ledger.compaction.interval-ms:5000}")
+    public void compact() {
+        if (accountLedger.isEnabled()) {
+            accountLedger.compact();
+        }
+    }
+
+    // 예약을 잡은 인스턴스가 살아 있음을 알리고, 하트비트가 끊긴 인스턴스의 예약을 풂
+    @Scheduled(fixedDelayString = "${ledger.reservation.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        if (accountLedger.isEnabled()) {
+            accountLedger.heartbeat();
+            accountLedger.releaseOrphanedReservations();
+        }
+    }
+}
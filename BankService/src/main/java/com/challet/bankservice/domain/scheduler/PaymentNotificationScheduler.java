@@ -0,0 +1,26 @@
+package com.challet.bankservice.domain.scheduler;
+
+import com.challet.bankservice.domain.service.PaymentNotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentNotificationScheduler {
+
+    // 한 번 실행에서 연속으로 보낼 최대 묶음 수
+    private static final int MAX_ROUNDS = 20;
+
+    private final PaymentNotificationService paymentNotificationService;
+
+    // 결제 직후 알림이 너무 늦지 않도록 짧은 주기로 확인하고, 밀린 알림은 묶음 단위로 이어서 보냄
+    @Scheduled(fixedDelayString = "${payment.notification.poll-interval-ms:300}")
+    public void dispatchPending() {
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            if (paymentNotificationService.dispatchPending() == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -1,22 +1,29 @@
 package com.challet.bankservice.domain.service;
 
+import com.challet.bankservice.domain.dto.request.AccountCreateRequestDTO;
 import com.challet.bankservice.domain.dto.request.AccountTransferRequestDTO;
 import com.challet.bankservice.domain.dto.request.BankSelectionRequestDTO;
+import com.challet.bankservice.domain.dto.request.BatchPaymentItemDTO;
 import com.challet.bankservice.domain.dto.request.ConfirmPaymentRequestDTO;
 import com.challet.bankservice.domain.dto.request.PaymentRequestDTO;
 import com.challet.bankservice.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.bankservice.domain.dto.response.AccountInfoResponseListDTO;
 import com.challet.bankservice.domain.dto.response.AccountTransferResponseDTO;
+import com.challet.bankservice.domain.dto.response.BatchPaymentResponseDTO;
+import com.challet.bankservice.domain.dto.response.BulkAccountCreateResponseDTO;
 import com.challet.bankservice.domain.dto.response.MyDataBankAccountInfoResponseDTO;
 import com.challet.bankservice.domain.dto.response.PaymentResponseDTO;
 import com.challet.bankservice.domain.dto.response.SearchedTransactionResponseDTO;
 import com.challet.bankservice.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.bankservice.domain.dto.response.TransactionResponseListDTO;
+import java.util.List;
 
 public interface ChalletBankService {
 
 	void createAccount(String name, String phoneNumber);
 
+	BulkAccountCreateResponseDTO createAccounts(List<AccountCreateRequestDTO> requests);
+
 	AccountInfoResponseListDTO getAccountsByPhoneNumber(String phoneNumber);
 
 	TransactionResponseListDTO getAccountTransactionList(Long accountId);
@@ -27,9 +34,12 @@ public interface ChalletBankService {
 
 	PaymentResponseDTO qrPayment(Long accountId, PaymentRequestDTO paymentRequestDTO);
 
-    PaymentResponseDTO confirmPaymentInfo(Long accountId, ConfirmPaymentRequestDTO paymentRequestDTO);
+	PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+		PaymentRequestDTO paymentRequestDTO);
+
+	BatchPaymentResponseDTO batchPayments(List<BatchPaymentItemDTO> payments);
 
-    int sendPaymentInfoToChallet(Long accountId, PaymentResponseDTO paymentInfoDTO);
+    PaymentResponseDTO confirmPaymentInfo(Long accountId, ConfirmPaymentRequestDTO paymentRequestDTO);
 
 	MyDataBankAccountInfoResponseDTO connectMyDataBanks(String tokenHeader,
 		BankSelectionRequestDTO bankSelectionRequestDTO);
@@ -41,6 +51,9 @@ public interface ChalletBankService {
 	AccountTransferResponseDTO accountTransfer(Long accountId,
 		AccountTransferRequestDTO accountTransferRequestDTO);
 
+	AccountTransferResponseDTO accountTransfer(Long accountId, String idempotencyKey,
+		AccountTransferRequestDTO accountTransferRequestDTO);
+
 	SearchedTransactionResponseDTO searchTransaction(
 		SearchTransactionRequestDTO searchTransactionRequestDTO);
 }
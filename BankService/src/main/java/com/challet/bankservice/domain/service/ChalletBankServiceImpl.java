@@ -1,16 +1,17 @@
 package com.challet.bankservice.domain.service;
 
-import com.challet.bankservice.domain.dto.redis.MonthlyTransactionRedisListDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.core.env.Environment;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -18,47 +19,71 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.challet.bankservice.domain.dto.request.AccountCreateRequestDTO;
 import com.challet.bankservice.domain.dto.request.AccountTransferRequestDTO;
 import com.challet.bankservice.domain.dto.request.BankSelectionDTO;
 import com.challet.bankservice.domain.dto.request.BankSelectionRequestDTO;
 import com.challet.bankservice.domain.dto.request.BankTransferRequestDTO;
+import com.challet.bankservice.domain.dto.request.BatchPaymentItemDTO;
 import com.challet.bankservice.domain.dto.request.ConfirmPaymentRequestDTO;
 import com.challet.bankservice.domain.dto.request.PaymentRequestDTO;
 import com.challet.bankservice.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.bankservice.domain.dto.response.AccountInfoResponseListDTO;
 import com.challet.bankservice.domain.dto.response.AccountTransferResponseDTO;
 import com.challet.bankservice.domain.dto.response.BankTransferResponseDTO;
+import com.challet.bankservice.domain.dto.response.BatchPaymentResponseDTO;
+import com.challet.bankservice.domain.dto.response.BatchPaymentResultDTO;
+import com.challet.bankservice.domain.dto.response.BulkAccountCreateResponseDTO;
 import com.challet.bankservice.domain.dto.response.MyDataBankAccountInfoResponseDTO;
-import com.challet.bankservice.domain.dto.response.PaymentHttpMessageResponseDTO;
 import com.challet.bankservice.domain.dto.response.PaymentResponseDTO;
 import com.challet.bankservice.domain.dto.response.SearchedTransactionResponseDTO;
 import com.challet.bankservice.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.bankservice.domain.dto.response.TransactionResponseDTO;
 import com.challet.bankservice.domain.dto.response.TransactionResponseListDTO;
 import com.challet.bankservice.domain.elastic.repository.SearchedTransactionRepository;
+import com.challet.bankservice.domain.entity.BankType;
 import com.challet.bankservice.domain.entity.Category;
 import com.challet.bankservice.domain.entity.CategoryMapping;
 import com.challet.bankservice.domain.entity.CategoryT;
 import com.challet.bankservice.domain.entity.ChalletBank;
 import com.challet.bankservice.domain.entity.ChalletBankTransaction;
+import com.challet.bankservice.domain.entity.PaymentNotificationOutbox;
+import com.challet.bankservice.domain.entity.SearchIndexOutbox;
 import com.challet.bankservice.domain.entity.SearchedTransaction;
+import com.challet.bankservice.domain.repository.AccountProvisioningRepository;
 import com.challet.bankservice.domain.repository.CategoryMappingRepository;
 import com.challet.bankservice.domain.repository.CategoryRepository;
 import com.challet.bankservice.domain.repository.ChalletBankRepository;
 import com.challet.bankservice.domain.repository.ChalletBankTransactionRepository;
+import com.challet.bankservice.domain.repository.PaymentNotificationOutboxRepository;
+import com.challet.bankservice.domain.repository.SearchIndexOutboxRepository;
+import com.challet.bankservice.global.cache.AnalysisNearCache;
+import com.challet.bankservice.global.cache.CategoryMatcherCache;
+import com.challet.bankservice.global.cache.MonthlyTransactionCache;
 import com.challet.bankservice.global.client.ChalletFeignClient;
 import com.challet.bankservice.global.client.KbBankFeignClient;
 import com.challet.bankservice.global.client.NhBankFeignClient;
 import com.challet.bankservice.global.client.ShBankFeignClient;
 import com.challet.bankservice.global.exception.CustomException;
 import com.challet.bankservice.global.exception.ExceptionResponse;
+import com.challet.bankservice.global.idempotency.IdempotentExecutor;
+import com.challet.bankservice.global.ledger.AccountLedger;
+import com.challet.bankservice.global.sequencer.AccountNumberAllocator;
+import com.challet.bankservice.global.sequencer.AccountSequencer;
+import com.challet.bankservice.global.sequencer.AccountSequencer.SequencedCommand;
+import com.challet.bankservice.global.util.CategoryMatcher;
 import com.challet.bankservice.global.util.JwtUtil;
 import com.querydsl.core.NonUniqueResultException;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -67,30 +92,92 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ChalletBankServiceImpl implements ChalletBankService {
 
+	// 한 트랜잭션에서 개설할 최대 계좌 수 (계좌 하나에 카테고리 5개, 매핑 30여 개가 함께 들어감)
+	private static final int PROVISIONING_CHUNK_SIZE = 200;
+	// 일괄 결제에서 한 계좌의 결제를 한 트랜잭션에 반영할 최대 건수
+	private static final int PAYMENT_BATCH_CHUNK_SIZE = 500;
+	private static final String INVALID_PAYMENT_ITEM = "INVALID_PAYMENT_ITEM";
+	// 다른 은행 이체를 보낼 수 있는 은행 코드 (KB, NH, SH)
+	private static final Set<String> EXTERNAL_BANK_CODES = Set.of("8083", "8084", "8085");
+
 	private final ChalletBankRepository challetBankRepository;
 	private final ChalletBankTransactionRepository challetBankTransactionRepository;
 	private final CategoryRepository categoryRepository;
 	private final CategoryMappingRepository categoryMappingRepository;
+	private final AccountProvisioningRepository accountProvisioningRepository;
+	private final AccountNumberAllocator accountNumberAllocator;
 	private final SearchedTransactionRepository searchedTransactionRepository;
+	private final SearchIndexOutboxRepository searchIndexOutboxRepository;
+	private final PaymentNotificationOutboxRepository paymentNotificationOutboxRepository;
 	private final Environment env;
 	private final JwtUtil jwtUtil;
 	private final KbBankFeignClient kbBankFeignClient;
 	private final NhBankFeignClient nhBankFeignClient;
 	private final ShBankFeignClient shBankFeignClient;
 	private final ChalletFeignClient challetFeignClient;
-	private final RedisTemplate<String, MonthlyTransactionRedisListDTO> redisTemplate;
-	private final ObjectMapper objectMapper;
+	private final MonthlyTransactionCache monthlyTransactionCache;
+	private final AnalysisNearCache analysisNearCache;
+	private final CategoryMatcherCache categoryMatcherCache;
+	private final CohortAggregateService cohortAggregateService;
+	private final IdempotentExecutor idempotentExecutor;
+	private final AccountLedger accountLedger;
+	private final PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+	private AccountSequencer<PaymentCommand, PaymentResponseDTO> paymentSequencer;
+
+	@PostConstruct
+	void startPaymentSequencer() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		paymentSequencer = new AccountSequencer<>("payment-sequencer",
+			env.getProperty("payment.sequencer.stripes", Integer.class, 16),
+			env.getProperty("payment.sequencer.queue-capacity", Integer.class, 1000),
+			env.getProperty("payment.sequencer.max-batch-size", Integer.class, 50),
+			this::applyPayments);
+	}
+
+	@PreDestroy
+	void stopPaymentSequencer() {
+		paymentSequencer.shutdown();
+	}
 
 	@Override
 	public void createAccount(String name, String phoneNumber) {
+		createAccounts(List.of(AccountCreateRequestDTO.builder()
+			.name(name)
+			.phoneNumber(phoneNumber)
+			.build()));
+	}
+
+	// 묶음마다 계좌, 기본 카테고리, 기본 매핑을 각각 배치 INSERT 한 번으로 한 트랜잭션에 저장
+	@Override
+	public BulkAccountCreateResponseDTO createAccounts(List<AccountCreateRequestDTO> requests) {
+		List<String> accountNumbers = new ArrayList<>(requests.size());
+		for (int from = 0; from < requests.size(); from += PROVISIONING_CHUNK_SIZE) {
+			accountNumbers.addAll(provisionAccounts(
+				requests.subList(from, Math.min(from + PROVISIONING_CHUNK_SIZE, requests.size()))));
+		}
+		return BulkAccountCreateResponseDTO.of(accountNumbers);
+	}
+
+	private List<String> provisionAccounts(List<AccountCreateRequestDTO> requests) {
 		for (int retry = 0; retry < 6; retry++) {
-			String accountNum = createAccountNum();
+			List<String> accountNumbers = accountNumberAllocator.allocate(requests.size());
 			try {
-				ChalletBank challetBank = saveAccount(name, phoneNumber, accountNum);
-				createDefaultCategoriesAndMappingsForAccount(challetBank);
-				return;
+				return transactionTemplate.execute(status -> {
+					List<ChalletBank> accounts = new ArrayList<>(requests.size());
+					for (int i = 0; i < requests.size(); i++) {
+						accounts.add(ChalletBank.createAccount(requests.get(i).name(),
+							requests.get(i).phoneNumber(), accountNumbers.get(i)));
+					}
+					Map<String, Long> accountIds = accountProvisioningRepository.insertAccounts(
+						accounts);
+					accountProvisioningRepository.insertDefaultCategories(accountIds.values());
+					return accountNumbers;
+				});
 			} catch (DataIntegrityViolationException e) {
-				log.warn("중복된 계좌 번호 발견, 다시 생성합니다. 중복 계좌 번호: " + accountNum);
+				// 발급기를 거치지 않고 들어간 계좌 번호와 겹친 경우에만 해당
+				log.warn("중복된 계좌 번호 발견, 다시 발급합니다. 계좌 수: " + requests.size());
 			}
 		}
 		throw new ExceptionResponse(CustomException.NOT_CREATE_USER_ACCOUNT_EXCEPTION);
@@ -98,36 +185,8 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 
 	// 계좌별 기본 카테고리 및 매핑 생성
 	public void createDefaultCategoriesAndMappingsForAccount(ChalletBank challetBank) {
-		Map<String, List<String>> categoryMappingData = new HashMap<>();
-		categoryMappingData.put("DELIVERY", Arrays.asList("배달의민족" , "요기요", "쿠팡이츠", "교촌치킨", "도미노피자", "족발보쌈", "BBQ"));
-		categoryMappingData.put("TRANSPORT", Arrays.asList("택시", "버스", "티머니", "카카오택시", "카카오바이크", "씽씽이", "S-OIL", "현대오일뱅크"));
-		categoryMappingData.put("COFFEE",
-			Arrays.asList("스타벅스", "할리스", "파스쿠치", "투썸플레이스", "이디야", "커피", "카페", "메가커피", "투썸플레이스", "봄봄", "컴포즈커피"));
-		categoryMappingData.put("SHOPPING", Arrays.asList("무신사", "지그재그", "올리브영", "KREAM", "네이버쇼핑", "쿠팡"));
-		categoryMappingData.put("ETC", Collections.emptyList());
-
-		for (Map.Entry<String, List<String>> entry : categoryMappingData.entrySet()) {
-			String categoryName = entry.getKey();
-			List<String> paymentNames = entry.getValue();
-
-			// 카테고리 생성
-			CategoryT category = CategoryT.builder()
-				.categoryName(categoryName)
-				.challetBank(challetBank)
-				.build();
-
-			categoryRepository.save(category);
-
-			// 결제명과 카테고리 매핑 생성
-			for (String paymentName : paymentNames) {
-				CategoryMapping categoryMapping = CategoryMapping.builder()
-					.depositName(paymentName)
-					.challetBank(challetBank)
-					.categoryT(category)
-					.build();
-				categoryMappingRepository.save(categoryMapping);
-			}
-		}
+		transactionTemplate.executeWithoutResult(status -> accountProvisioningRepository
+			.insertDefaultCategories(List.of(challetBank.getId())));
 	}
 
 	@Override
@@ -144,7 +203,7 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 	@Transactional
 	@Override
 	public TransactionResponseListDTO getAccountTransactionList(Long accountId) {
-		Long accountBalance = challetBankRepository.findAccountBalanceById(accountId);
+		Long accountBalance = currentBalance(accountId);
 		List<TransactionResponseDTO> transactionList = challetBankRepository.getTransactionByAccountId(
 			accountId);
 
@@ -167,105 +226,461 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 		}
 	}
 
-	@Transactional
-	protected ChalletBank saveAccount(String name, String phoneNumber, String accountNum) {
-		ChalletBank account = ChalletBank.createAccount(name, phoneNumber, accountNum);
-		return challetBankRepository.save(account);
+	@Override
+	public boolean verifyPassword(String header, String password) {
+		return challetFeignClient.sendSimplePassword(header, password);
+	}
+
+	// 같은 계좌 결제는 한 줄에서 도착 순서대로 처리되고, 몰린 결제는 한 트랜잭션으로 묶여서 반영됨
+	// 요청 스레드는 트랜잭션을 열지 않으므로 기다리는 동안 커넥션을 잡지 않음
+	@Override
+	public PaymentResponseDTO qrPayment(Long accountId,
+		PaymentRequestDTO paymentRequestDTO) {
+		return submitPayment(accountId, new PaymentCommand(paymentRequestDTO, null, null));
+	}
+
+	// 같은 키로 다시 들어온 결제는 계좌를 건드리지 않고 처음 응답을 그대로 돌려줌
+	// 키 기록과 응답 저장은 결제를 반영하는 묶음 트랜잭션에서 함께 커밋됨
+	@Override
+	public PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+		PaymentRequestDTO paymentRequestDTO) {
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			return qrPayment(accountId, paymentRequestDTO);
+		}
+		String recordKey = idempotentExecutor.recordKey("payment", accountId, idempotencyKey);
+		String requestHash = idempotentExecutor.requestHash(paymentRequestDTO);
+		PaymentResponseDTO cached = idempotentExecutor.findCached(recordKey, requestHash,
+			PaymentResponseDTO.class);
+		if (cached != null) {
+			return cached;
+		}
+		return submitPayment(accountId,
+			new PaymentCommand(paymentRequestDTO, recordKey, requestHash));
+	}
+
+	private PaymentResponseDTO submitPayment(Long accountId, PaymentCommand paymentCommand) {
+		try {
+			return paymentSequencer.submit(accountId, paymentCommand).join();
+		} catch (CompletionException e) {
+			// 대기열이 가득 차서 거절된 결제는 처리되지 않았으므로 다시 시도해도 됨
+			if (e.getCause() instanceof RejectedExecutionException) {
+				throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+					"결제 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", e.getCause());
+			}
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	// 계좌별로 모아서 계좌마다 잔액 차감 UPDATE 한 번과 거래 내역, 아웃박스 saveAll 한 번으로 반영
+	// 결과는 요청 순서대로 항목마다 돌려주고, 잔액 부족이나 없는 계좌는 해당 항목만 실패
+	@Override
+	public BatchPaymentResponseDTO batchPayments(List<BatchPaymentItemDTO> payments) {
+		int maxItems = env.getProperty("payment.batch.max-items", Integer.class, 5000);
+		if (payments == null || payments.size() > maxItems) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+				"한 번에 보낼 수 있는 결제는 " + maxItems + "건까지입니다.");
+		}
+
+		BatchPaymentResultDTO[] results = new BatchPaymentResultDTO[payments.size()];
+		Map<Long, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+		for (int i = 0; i < payments.size(); i++) {
+			BatchPaymentItemDTO payment = payments.get(i);
+			if (payment == null || payment.accountId() == null
+				|| payment.transactionAmount() == null || payment.transactionAmount() <= 0) {
+				results[i] = BatchPaymentResultDTO.failed(i,
+					payment == null ? null : payment.accountId(), INVALID_PAYMENT_ITEM);
+				continue;
+			}
+			indexesByAccount.computeIfAbsent(payment.accountId(), id -> new ArrayList<>()).add(i);
+		}
+
+		indexesByAccount.forEach((accountId, indexes) -> {
+			for (int from = 0; from < indexes.size(); from += PAYMENT_BATCH_CHUNK_SIZE) {
+				List<Integer> chunk = indexes.subList(from,
+					Math.min(from + PAYMENT_BATCH_CHUNK_SIZE, indexes.size()));
+				settleBatchChunk(accountId, chunk, payments, results);
+			}
+		});
+		return BatchPaymentResponseDTO.of(Arrays.asList(results));
+	}
+
+	private void settleBatchChunk(Long accountId, List<Integer> chunk,
+		List<BatchPaymentItemDTO> payments, BatchPaymentResultDTO[] results) {
+		List<PaymentRequestDTO> requests = chunk.stream()
+			.map(index -> payments.get(index).toPaymentRequestDTO())
+			.toList();
+		try {
+			List<PaymentItem> items = resolvePaymentItems(accountId, requests);
+			List<PaymentOutcome> outcomes = transactionTemplate.execute(
+				status -> settlePayments(accountId, items));
+			for (int i = 0; i < chunk.size(); i++) {
+				PaymentOutcome outcome = outcomes.get(i);
+				results[chunk.get(i)] = outcome.response() != null
+					? BatchPaymentResultDTO.succeeded(chunk.get(i), accountId, outcome.response())
+					: BatchPaymentResultDTO.failed(chunk.get(i), accountId,
+					outcome.failure() instanceof ExceptionResponse e
+						? String.valueOf(e.getCustomException()) : INVALID_PAYMENT_ITEM);
+			}
+		} catch (ExceptionResponse e) {
+			chunk.forEach(index -> results[index] = BatchPaymentResultDTO.failed(index, accountId,
+				String.valueOf(e.getCustomException())));
+		}
 	}
 
-	private String createAccountNum() {
-		String bankCode = "8082";  // 은행 코드
-		String accountType = "01";  // 계좌 유형
+	// 멱등 키 없이 들어온 결제는 recordKey, requestHash 가 null
+	private record PaymentCommand(PaymentRequestDTO request, String recordKey,
+		String requestHash) {
 
-		// 밀리초 단위 시간에서 마지막 6자리 사용
-		String timePart = generateTimeBasedCode();
+	}
 
-		// 4자리 난수 생성
-		String randomPart = generateRandomNumber(4);
+	// 묶음 트랜잭션 전에 확인한 결제 한 건, 금액이나 결제처가 잘못됐거나 카테고리를 정하지 못하면 failure
+	private record PaymentItem(PaymentRequestDTO request, Category category,
+		RuntimeException failure) {
 
-		return bankCode + accountType + timePart + randomPart;
 	}
 
-	private String generateTimeBasedCode() {
-		long currentTimeInMillis = System.currentTimeMillis();
-		long currentTimeInSeconds = currentTimeInMillis / 1000;
+	// 반영한 결제는 response, 반영하지 않은 결제는 failure 에 사유
+	private record PaymentOutcome(PaymentResponseDTO response, RuntimeException failure) {
+
+	}
 
-		// 초 단위로 변환된 시간에서 마지막 6자리 추출
-		return String.valueOf(currentTimeInSeconds).substring(4);
+	// 커밋된 뒤에 결제마다 응답 (잘못된 결제, 잔액이 모자란 결제, 멱등 키가 맞지 않는 결제만 개별 실패)
+	private void applyPayments(Long accountId,
+		List<SequencedCommand<PaymentCommand, PaymentResponseDTO>> commands) {
+		List<PaymentItem> items = resolvePaymentItems(accountId, commands.stream()
+			.map(command -> command.command().request())
+			.toList());
+		List<Runnable> replies = transactionTemplate.execute(
+			status -> settlePaymentCommands(accountId, commands, items));
+		replies.forEach(Runnable::run);
 	}
 
-	private String generateRandomNumber(int size) {
-		Random random = new Random();
-		StringBuilder sb = new StringBuilder();
-		for (int i = 0; i < size; i++) {
-			sb.append(random.nextInt(10));
+	// 멱등 키는 결제와 같은 트랜잭션에서 기록하고, 이미 처리된 키는 저장된 응답으로 답함
+	// 확인에서 실패한 결제는 키를 기록하지 않고 바로 실패로 답함
+	private List<Runnable> settlePaymentCommands(Long accountId,
+		List<SequencedCommand<PaymentCommand, PaymentResponseDTO>> commands,
+		List<PaymentItem> items) {
+		List<Runnable> replies = new ArrayList<>(commands.size());
+		List<SequencedCommand<PaymentCommand, PaymentResponseDTO>> pending = new ArrayList<>();
+		List<PaymentItem> pendingItems = new ArrayList<>();
+		Map<String, SequencedCommand<PaymentCommand, PaymentResponseDTO>> claimed = new HashMap<>();
+		for (int i = 0; i < commands.size(); i++) {
+			SequencedCommand<PaymentCommand, PaymentResponseDTO> command = commands.get(i);
+			PaymentItem item = items.get(i);
+			if (item.failure() != null) {
+				replies.add(() -> command.result().completeExceptionally(item.failure()));
+				continue;
+			}
+			PaymentCommand payment = command.command();
+			if (payment.recordKey() == null) {
+				pending.add(command);
+				pendingItems.add(item);
+				continue;
+			}
+
+			// 같은 묶음에 같은 요청이 다시 들어오면 먼저 들어온 결제의 결과를 그대로 받음
+			SequencedCommand<PaymentCommand, PaymentResponseDTO> first = claimed.get(
+				payment.recordKey());
+			if (first != null && first.command().requestHash().equals(payment.requestHash())) {
+				first.result().whenComplete((response, e) -> {
+					if (e == null) {
+						command.result().complete(response);
+					} else {
+						command.result().completeExceptionally(e);
+					}
+				});
+				continue;
+			}
+			try {
+				PaymentResponseDTO stored = idempotentExecutor.claim(payment.recordKey(),
+					payment.requestHash(), PaymentResponseDTO.class);
+				if (stored != null) {
+					replies.add(() -> command.result().complete(stored));
+					continue;
+				}
+			} catch (ResponseStatusException e) {
+				replies.add(() -> command.result().completeExceptionally(e));
+				continue;
+			}
+			claimed.put(payment.recordKey(), command);
+			pending.add(command);
+			pendingItems.add(item);
+		}
+		if (pending.isEmpty()) {
+			return replies;
+		}
+
+		List<PaymentOutcome> outcomes = settlePayments(accountId, pendingItems);
+		for (int i = 0; i < pending.size(); i++) {
+			SequencedCommand<PaymentCommand, PaymentResponseDTO> command = pending.get(i);
+			PaymentOutcome outcome = outcomes.get(i);
+			PaymentResponseDTO response = outcome.response();
+			String recordKey = command.command().recordKey();
+			if (response == null) {
+				// 승인되지 않은 결제는 키를 지워서 재시도가 다시 실행되게 함
+				if (recordKey != null) {
+					idempotentExecutor.release(recordKey);
+				}
+				replies.add(() -> command.result().completeExceptionally(outcome.failure()));
+			} else {
+				if (recordKey != null) {
+					idempotentExecutor.complete(recordKey, command.command().requestHash(),
+						response);
+				}
+				replies.add(() -> command.result().complete(response));
+			}
 		}
-		return sb.toString();
+		return replies;
 	}
 
-	@Override
-	public boolean verifyPassword(String header, String password) {
-		return challetFeignClient.sendSimplePassword(header, password);
+	// 금액과 결제처를 확인하고 결제처별 카테고리를 묶음 트랜잭션 밖에서 정함
+	// 카테고리 조회와 매핑 추가는 각자 짧은 트랜잭션으로 돌아서 행 잠금 시간에 포함되지 않고,
+	// 실패해도 묶음 트랜잭션을 롤백 전용으로 만들지 않아 그 결제처의 결제만 실패함
+	private List<PaymentItem> resolvePaymentItems(Long accountId,
+		List<PaymentRequestDTO> requests) {
+		ChalletBank challetBank = getChalletBank(accountId);
+		Map<String, Category> categories = new HashMap<>();
+		Map<String, RuntimeException> failures = new HashMap<>();
+		List<PaymentItem> items = new ArrayList<>(requests.size());
+		for (PaymentRequestDTO request : requests) {
+			if (request == null || request.transactionAmount() == null
+				|| request.transactionAmount() <= 0 || request.deposit() == null
+				|| request.deposit().isBlank()) {
+				items.add(new PaymentItem(request, null, new ResponseStatusException(
+					HttpStatus.BAD_REQUEST, "결제 금액과 결제처를 확인해 주세요.")));
+				continue;
+			}
+			String deposit = request.deposit();
+			if (!categories.containsKey(deposit) && !failures.containsKey(deposit)) {
+				try {
+					categories.put(deposit,
+						Category.valueOf(getCategoryName(challetBank, deposit)));
+				} catch (RuntimeException e) {
+					log.warn("결제처 카테고리를 정하지 못해 해당 결제만 실패 처리합니다: {} {} {}",
+						accountId, deposit, e.getMessage());
+					failures.put(deposit, e);
+				}
+			}
+			items.add(new PaymentItem(request, categories.get(deposit), failures.get(deposit)));
+		}
+		return items;
 	}
 
-	@Transactional
-	@Override
-	public PaymentResponseDTO qrPayment(Long accountId,
-		PaymentRequestDTO paymentRequestDTO) {
+	// 잔액 차감 UPDATE 한 번과 거래 내역 saveAll 한 번으로 결제 묶음을 반영
+	// 확인에서 실패한 결제는 그 사유로, 잔액이 모자란 결제는 NOT_ENOUGH_FUNDS 로 해당 항목만 실패
+	// 원장 모드에서는 결제마다 Redis 에 금액을 예약하고 원장에 추가해서 계좌 행을 잠그지 않음
+	private List<PaymentOutcome> settlePayments(Long accountId, List<PaymentItem> items) {
 		ChalletBank challetBank = getChalletBank(accountId);
+		boolean ledgerMode = accountLedger.isEnabled();
+		List<PaymentRequestDTO> requests = items.stream().map(PaymentItem::request).toList();
+
+		// 현재 잔액으로 도착 순서대로 승인할 결제를 고름
+		boolean[] approved = new boolean[requests.size()];
+		AccountLedger.Reservation[] reservations = new AccountLedger.Reservation[requests.size()];
+		long total = 0;
+		if (ledgerMode) {
+			for (int i = 0; i < requests.size(); i++) {
+				if (items.get(i).failure() == null) {
+					reservations[i] = accountLedger.reserve(accountId,
+						requests.get(i).transactionAmount());
+					approved[i] = reservations[i] != null;
+				}
+			}
+		} else {
+			long available = challetBankRepository.findAccountBalanceById(accountId);
+			for (int i = 0; i < requests.size(); i++) {
+				if (items.get(i).failure() != null) {
+					continue;
+				}
+				long amount = requests.get(i).transactionAmount();
+				if (amount <= available - total) {
+					approved[i] = true;
+					total += amount;
+				}
+			}
+		}
 
-		long transactionBalance = calculateTransactionBalance(challetBank,
-			paymentRequestDTO.transactionAmount());
+		// 그 사이 이체 등으로 잔액이 줄어 묶음 전체를 차감할 수 없으면 한 건씩 차감
+		if (!ledgerMode && total > 0 && !challetBankRepository.debitBalance(accountId, total)) {
+			total = 0;
+			for (int i = 0; i < requests.size(); i++) {
+				if (approved[i]) {
+					long amount = requests.get(i).transactionAmount();
+					approved[i] = challetBankRepository.debitBalance(accountId, amount);
+					total += approved[i] ? amount : 0;
+				}
+			}
+		}
 
-		String categoryName = getCategoryName(challetBank, paymentRequestDTO.deposit());
-		ChalletBankTransaction paymentTransaction = createTransaction(challetBank,
-			paymentRequestDTO, transactionBalance, categoryName);
+		// 차감 후 잔액에서 거꾸로 계산해 결제마다 거래 후 잔액을 매김
+		// 원장 모드에서는 예약할 때 본 커밋된 잔액에서 이 묶음의 앞선 결제까지 빼서 임시로 매기고,
+		// 다른 거래와의 실제 순서는 커밋 뒤에 정해지므로 압축할 때 원장 순서로 계산한 잔액으로 고쳐 적음
+		long balance = ledgerMode
+			? 0
+			: challetBankRepository.findAccountBalanceById(accountId) + total;
+		long ledgerDebited = 0;
+		List<ChalletBankTransaction> paymentTransactions = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			if (!approved[i]) {
+				continue;
+			}
+			PaymentRequestDTO paymentRequestDTO = requests.get(i);
+			if (ledgerMode) {
+				ledgerDebited += paymentRequestDTO.transactionAmount();
+				balance = reservations[i].balance() - ledgerDebited;
+			} else {
+				balance -= paymentRequestDTO.transactionAmount();
+			}
+			ChalletBankTransaction paymentTransaction = createTransaction(challetBank,
+				paymentRequestDTO, balance, items.get(i).category());
+			settleTransaction(challetBank, paymentTransaction, balance);
+			paymentTransactions.add(paymentTransaction);
+		}
 
-		challetBank.addTransaction(paymentTransaction);
-		challetBankTransactionRepository.save(paymentTransaction);
-		searchedTransactionRepository.save(
-			SearchedTransaction.fromAccountIdAndChalletBankTransaction(accountId,
-				paymentTransaction));
+		challetBankTransactionRepository.saveAll(paymentTransactions);
+		if (ledgerMode) {
+			int next = 0;
+			for (int i = 0; i < requests.size(); i++) {
+				if (approved[i]) {
+					ChalletBankTransaction paymentTransaction = paymentTransactions.get(next++);
+					accountLedger.post(accountId, -paymentTransaction.getTransactionAmount(),
+						paymentTransaction.getId(), reservations[i]);
+				}
+			}
+		}
+		searchIndexOutboxRepository.saveAll(paymentTransactions.stream()
+			.map(paymentTransaction -> SearchIndexOutbox.of(accountId, paymentTransaction))
+			.toList());
+		paymentNotificationOutboxRepository.saveAll(paymentTransactions.stream()
+			.map(paymentTransaction -> PaymentNotificationOutbox.of(challetBank.getPhoneNumber(),
+				paymentTransaction))
+			.toList());
+
+		for (ChalletBankTransaction paymentTransaction : paymentTransactions) {
+			cohortAggregateService.recordChBankSpending(challetBank.getPhoneNumber(),
+				paymentTransaction.getTransactionDatetime(), paymentTransaction.getCategory(),
+				paymentTransaction.getTransactionAmount());
+		}
+		updateMonthlyCache(paymentTransactions);
+
+		List<PaymentOutcome> outcomes = new ArrayList<>(requests.size());
+		int next = 0;
+		for (int i = 0; i < requests.size(); i++) {
+			if (approved[i]) {
+				ChalletBankTransaction paymentTransaction = paymentTransactions.get(next++);
+				outcomes.add(new PaymentOutcome(
+					PaymentResponseDTO.fromPaymentResponseDTO(paymentTransaction), null));
+			} else {
+				outcomes.add(new PaymentOutcome(null, items.get(i).failure() != null
+					? items.get(i).failure()
+					: new ExceptionResponse(CustomException.NOT_ENOUGH_FUNDS_EXCEPTION)));
+			}
+		}
+		return outcomes;
+	}
 
-		return PaymentResponseDTO.fromPaymentResponseDTO(paymentTransaction);
+	// 잔액이 부족하면 UPDATE 되는 행이 없음, 반영 후 잔액은 같은 트랜잭션에서 다시 읽음
+	private long debit(Long accountId, long transactionAmount) {
+		debitOrThrow(accountId, transactionAmount);
+		return challetBankRepository.findAccountBalanceById(accountId);
 	}
 
-	private long calculateTransactionBalance(ChalletBank challetBank, long transactionAmount) {
-		long transactionBalance = challetBank.getAccountBalance() - transactionAmount;
-		if (transactionBalance < 0) {
+	// 원장 모드의 출금은 금액 예약으로 승인, 원장 추가는 거래 내역을 저장한 뒤 postDebit 으로 함
+	private AccountLedger.Reservation reserveOrThrow(Long accountId, long transactionAmount) {
+		AccountLedger.Reservation reservation = accountLedger.reserve(accountId,
+			transactionAmount);
+		if (reservation == null) {
 			throw new ExceptionResponse(CustomException.NOT_ENOUGH_FUNDS_EXCEPTION);
 		}
-		return transactionBalance;
+		return reservation;
 	}
 
-	private String getCategoryName(ChalletBank challetBank, String deposit) {
-		String categoryName = challetBankRepository.getCategoryName(challetBank.getId(),
-			deposit);
+	private void postDebit(AccountLedger.Reservation reservation,
+		ChalletBankTransaction transaction) {
+		accountLedger.post(reservation.accountId(), -transaction.getTransactionAmount(),
+			transaction.getId(), reservation);
+	}
+
+	// 원장 모드에서는 계좌 행의 잔액 컬럼을 다시 쓰지 않고 거래 내역만 연결
+	private void settleTransaction(ChalletBank challetBank, ChalletBankTransaction transaction,
+		long balanceAfter) {
+		if (accountLedger.isEnabled()) {
+			challetBank.attachTransaction(transaction);
+		} else {
+			challetBank.addSettledTransaction(transaction, balanceAfter);
+		}
+	}
+
+	private long currentBalance(Long accountId) {
+		return accountLedger.isEnabled()
+			? accountLedger.balance(accountId)
+			: challetBankRepository.findAccountBalanceById(accountId);
+	}
+
+	// 두 계좌 잔액을 항상 id 오름차순으로 조건부 UPDATE 해서 행 잠금 순서를 맞춤
+	// A→B 와 B→A 이체가 동시에 돌아도 서로 상대 잠금을 기다리는 교착 상태가 생기지 않음
+	// 출금 계좌 잔액이 모자라면 예외로 트랜잭션이 롤백되어 먼저 반영한 입금도 함께 취소됨
+	private void transferBalance(Long fromAccountId, Long toAccountId, long transactionAmount) {
+		if (fromAccountId < toAccountId) {
+			debitOrThrow(fromAccountId, transactionAmount);
+			creditOrThrow(toAccountId, transactionAmount);
+		} else {
+			creditOrThrow(toAccountId, transactionAmount);
+			debitOrThrow(fromAccountId, transactionAmount);
+		}
+	}
+
+	private void debitOrThrow(Long accountId, long transactionAmount) {
+		if (!challetBankRepository.debitBalance(accountId, transactionAmount)) {
+			throw new ExceptionResponse(CustomException.NOT_ENOUGH_FUNDS_EXCEPTION);
+		}
+	}
 
-		if (categoryName.equals("ETC")) {
-			CategoryT categoryInfo = categoryRepository.getCategoryInfo(challetBank.getId(),
-				categoryName);
+	private void creditOrThrow(Long accountId, long transactionAmount) {
+		if (!challetBankRepository.creditBalance(accountId, transactionAmount)) {
+			throw new ExceptionResponse(CustomException.ACCOUNT_NOT_FOUND_EXCEPTION);
+		}
+	}
 
+	// 계좌의 매핑으로 만든 매처를 메모리에서 찾음, 매핑이 바뀐 뒤 첫 조회에서만 DB 를 읽음
+	private String getCategoryName(ChalletBank challetBank, String deposit) {
+		CategoryMatcher categoryMatcher = categoryMatcherCache.get(challetBank.getId(),
+			() -> CategoryMatcher.compile(
+				categoryMappingRepository.findAllWithCategoryByAccountId(challetBank.getId()),
+				categoryRepository.findAllByChalletBankId(challetBank.getId())));
+
+		String categoryName = categoryMatcher.match(deposit);
+		if (categoryName != null) {
+			return categoryName;
+		}
+
+		// 처음 보는 결제처만 ETC 로 매핑을 추가 (이미 ETC 로 매핑된 결제처는 다시 추가하지 않음)
+		Long etcCategoryId = categoryMatcher.getCategoryId("ETC");
+		if (etcCategoryId != null) {
 			CategoryMapping newPayment = CategoryMapping
 				.builder()
 				.depositName(deposit)
-				.categoryT(categoryInfo)
+				.categoryT(categoryRepository.getReferenceById(etcCategoryId))
 				.challetBank(challetBank)
 				.build();
 			categoryMappingRepository.save(newPayment);
+			categoryMatcherCache.publishInvalidation(challetBank.getId());
 		}
-		return categoryName;
+		return "ETC";
 	}
 
 	private ChalletBankTransaction createTransaction(ChalletBank challetBank,
-		PaymentRequestDTO paymentRequestDTO, long transactionBalance, String categoryName) {
+		PaymentRequestDTO paymentRequestDTO, long transactionBalance, Category category) {
 		return ChalletBankTransaction.builder()
 			.transactionAmount(-1 * paymentRequestDTO.transactionAmount())
 			.transactionDatetime(LocalDateTime.now())
 			.deposit(paymentRequestDTO.deposit())
 			.withdrawal(challetBank.getAccountNumber())
 			.transactionBalance(transactionBalance)
-			.category(Category.valueOf(categoryName))
+			.category(category)
 			.build();
 	}
 
@@ -293,20 +708,18 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 					.build();
 				categoryMappingRepository.save(newPayment);
 			}
+			categoryMatcherCache.publishInvalidation(accountId);
+			cohortAggregateService.moveChBankSpending(transaction.getChalletBank().getPhoneNumber(),
+				transaction.getTransactionDatetime(), transaction.getCategory(),
+				Category.valueOf(paymentRequestDTO.category()), transaction.getTransactionAmount());
 			transaction.updateCategory(paymentRequestDTO.category());
+			// 챌린지에 반영된 카테고리도 고치도록 같은 거래의 정정 알림을 아웃박스에 기록
+			paymentNotificationOutboxRepository.save(PaymentNotificationOutbox.of(
+				transaction.getChalletBank().getPhoneNumber(), transaction));
 		}
 
-		MonthlyTransactionHistoryDTO newTransaction = MonthlyTransactionHistoryDTO.builder()
-			.bankName(transaction.getChalletBank().getName())
-			.accountNumber(transaction.getChalletBank().getAccountNumber())
-			.balance(transaction.getChalletBank().getAccountBalance())
-			.transactionDate(transaction.getTransactionDatetime())
-			.deposit(transaction.getDeposit())
-			.withdrawal(transaction.getWithdrawal())
-			.transactionBalance(transaction.getTransactionBalance())
-			.transactionAmount(transaction.getTransactionAmount())
-			.category(transaction.getCategory())
-			.build();
+		MonthlyTransactionHistoryDTO newTransaction = toMonthlyTransaction(transaction,
+			currentBalance(transaction.getChalletBank().getId()));
 
 		isRedisDataUpdate(transaction, newTransaction);
 		challetBankTransactionRepository.save(transaction);
@@ -314,51 +727,76 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 		return PaymentResponseDTO.fromPaymentResponseDTO(transaction);
 	}
 
-	private String createRedisKey(int year, int month, String phoneNumber) {
-		return year + "-" + month + "-" + phoneNumber;
-	}
-
 	private void isRedisDataUpdate(ChalletBankTransaction transaction,
 		MonthlyTransactionHistoryDTO newTransaction) {
 		// 1. Redis 키 생성
-		String redisKey = createRedisKey(transaction.getTransactionDatetime().getYear(),
-			transaction.getTransactionDatetime().getMonth().getValue(),
-			transaction.getChalletBank().getPhoneNumber());
+		String monthKey = monthKey(transaction);
 
-		// 2. Redis에서 데이터를 조회(시간타입으로 Object 필요)
-		Object cachedData = redisTemplate.opsForValue().get(redisKey);
-		MonthlyTransactionRedisListDTO transactionData = null;
+		// 2. 커밋된 뒤 챌렛 은행 세그먼트가 적재되어 있을 때만 반영, 이미 있는 거래라 그 자리의 항목만 교체
+		// 3. 모든 인스턴스의 메모리 캐시에서 해당 월 제거
+		updateMonthlyCache(Map.of(monthKey, List.of(newTransaction)));
+	}
 
-		// 3. Redis 데이터가 있으면 업데이트, 없으면 DB에만 저장
-		if (cachedData != null) {
-			transactionData = objectMapper.convertValue(cachedData, MonthlyTransactionRedisListDTO.class);
+	// 새 거래는 거래 후 잔액을 계좌 잔액으로 담아 월 세그먼트에 추가
+	private void updateMonthlyCache(List<ChalletBankTransaction> transactions) {
+		Map<String, List<MonthlyTransactionHistoryDTO>> transactionsByMonth = new LinkedHashMap<>();
+		for (ChalletBankTransaction transaction : transactions) {
+			transactionsByMonth.computeIfAbsent(monthKey(transaction), key -> new ArrayList<>())
+				.add(toMonthlyTransaction(transaction, transaction.getTransactionBalance()));
 		}
+		updateMonthlyCache(transactionsByMonth);
+	}
 
-		// 4. Redis에 데이터가 있고 시간대가 다르다면 업데이트
-		if (transactionData != null && !transactionData.getMonthlyTransactions().get(0)
-			.transactionDate().equals(newTransaction.transactionDate())) {
-			List<MonthlyTransactionHistoryDTO> transactions = transactionData.getMonthlyTransactions();
-			transactions.add(0, newTransaction);
-			redisTemplate.opsForValue().set(redisKey, transactionData);
-		}
+	// 커밋된 뒤에 챌렛 은행 월 세그먼트에 반영 (적재되지 않은 달은 다음 조회에서 DB 로 적재됨)
+	// 롤백된 거래가 세그먼트에 들어가지 않도록 커밋 전에는 건드리지 않고,
+	// 인스턴스 메모리 캐시는 세그먼트를 고친 다음에 비워서 다른 인스턴스가 고쳐진 세그먼트로 다시 채우게 함
+	private void updateMonthlyCache(
+		Map<String, List<MonthlyTransactionHistoryDTO>> transactionsByMonth) {
+		analysisNearCache.publishInvalidationAfter(transactionsByMonth.keySet(),
+			() -> transactionsByMonth.forEach(this::prependSegment));
 	}
 
-	@Transactional
-	@Override
-	public int sendPaymentInfoToChallet(Long accountId, PaymentResponseDTO paymentInfoDTO) {
+	private void prependSegment(String monthKey, List<MonthlyTransactionHistoryDTO> transactions) {
 		try {
-			ChalletBank challetBank = getChalletBank(accountId);
-			PaymentHttpMessageResponseDTO paymentHttpMessageResponseDTO = PaymentHttpMessageResponseDTO
-				.ofPaymentMessage(challetBank.getPhoneNumber(), paymentInfoDTO);
-			challetFeignClient.sendPaymentMessage(paymentHttpMessageResponseDTO);
-			return 1;
-		} catch (Exception e) {
-			return 0;
+			transactions.forEach(transaction -> monthlyTransactionCache.prepend(monthKey,
+				BankType.CH_BANK, transaction));
+		} catch (RuntimeException e) {
+			// 반영하지 못한 세그먼트는 지워서 다음 조회에서 다시 적재, 지우지도 못하면 TTL 로 정리됨
+			log.warn("월 세그먼트 반영 실패: {} {}", monthKey, e.getMessage());
+			try {
+				monthlyTransactionCache.evictSegment(monthKey, BankType.CH_BANK);
+			} catch (RuntimeException evictFailure) {
+				log.warn("월 세그먼트 삭제 실패: {} {}", monthKey, evictFailure.getMessage());
+			}
 		}
 	}
 
+	private static String monthKey(ChalletBankTransaction transaction) {
+		return MonthlyTransactionCache.monthKey(transaction.getTransactionDatetime().getYear(),
+			transaction.getTransactionDatetime().getMonthValue(),
+			transaction.getChalletBank().getPhoneNumber());
+	}
+
+	// DB 에서 적재한 세그먼트와 같은 모양 (은행 이름은 ch-bank)
+	private static MonthlyTransactionHistoryDTO toMonthlyTransaction(
+		ChalletBankTransaction transaction, long balance) {
+		return MonthlyTransactionHistoryDTO.builder()
+			.bankName(BankType.CH_BANK.getBankName())
+			.accountNumber(transaction.getChalletBank().getAccountNumber())
+			.balance(balance)
+			.transactionDate(transaction.getTransactionDatetime())
+			.deposit(transaction.getDeposit())
+			.withdrawal(transaction.getWithdrawal())
+			.transactionBalance(transaction.getTransactionBalance())
+			.transactionAmount(transaction.getTransactionAmount())
+			.category(transaction.getCategory())
+			.transactionId(transaction.getId())
+			.build();
+	}
+
 	private ChalletBank getChalletBank(Long accountId) {
-		return challetBankRepository.findByIdWithLock(accountId);
+		return challetBankRepository.findById(accountId)
+			.orElseThrow(() -> new ExceptionResponse(CustomException.ACCOUNT_NOT_FOUND_EXCEPTION));
 	}
 
 	@Transactional
@@ -477,22 +915,24 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 		}
 	}
 
-	@Transactional
 	@Override
 	public AccountTransferResponseDTO accountTransfer(Long accountId,
 		AccountTransferRequestDTO requestTransactionDTO) {
+		return accountTransfer(accountId, null, requestTransactionDTO);
+	}
 
-		ChalletBank fromBank = challetBankRepository.findByIdWithLock(accountId);
-		long transactionBalance = calculateTransactionBalance(fromBank,
-			requestTransactionDTO.transactionAmount());
-
-		// 만약에 이체은행이 챌렛이라면
-		if (requestTransactionDTO.bankCode().equals("8082")) {
-			return processInternalTransfer(fromBank, requestTransactionDTO, transactionBalance);
-		}
-
+	// 멱등 키 기록과 응답은 이체와 같은 트랜잭션에서 커밋됨
+	// 다른 은행 이체는 출금을 먼저 커밋하고 상대 은행 호출은 트랜잭션 밖에서 함
+	@Override
+	public AccountTransferResponseDTO accountTransfer(Long accountId, String idempotencyKey,
+		AccountTransferRequestDTO requestTransactionDTO) {
 		// 이체은행이 챌렛이 아니라면
-		return processExternalTransfer(fromBank, requestTransactionDTO, transactionBalance);
+		if (!requestTransactionDTO.bankCode().equals("8082")) {
+			return processExternalTransfer(accountId, idempotencyKey, requestTransactionDTO);
+		}
+		return idempotentExecutor.execute("transfer", accountId, idempotencyKey,
+			requestTransactionDTO, AccountTransferResponseDTO.class,
+			() -> processInternalTransfer(getChalletBank(accountId), requestTransactionDTO));
 	}
 
 	@Override
@@ -526,7 +966,7 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 	}
 
 	private AccountTransferResponseDTO processInternalTransfer(ChalletBank fromBank,
-		AccountTransferRequestDTO requestTransactionDTO, long transactionBalance) {
+		AccountTransferRequestDTO requestTransactionDTO) {
 
 		ChalletBank toBank = challetBankRepository.getAccountByAccountNumber(
 			requestTransactionDTO.depositAccountNumber());
@@ -534,78 +974,230 @@ public class ChalletBankServiceImpl implements ChalletBankService {
 		if (toBank == null) {
 			throw new ExceptionResponse(CustomException.ACCOUNT_NOT_FOUND_EXCEPTION);
 		}
-
-		long addMoney = toBank.getAccountBalance() + requestTransactionDTO.transactionAmount();
+		if (toBank.getId().equals(fromBank.getId())) {
+			throw new ExceptionResponse(CustomException.ACCOUNT_NOT_SAME_TRANSACTION_EXCEPTION);
+		}
 
 		//카테고리 확인
 		String categoryName = getCategoryName(fromBank,
 			requestTransactionDTO.depositAccountNumber());
 
+		// 원장 모드에서는 출금 금액만 예약하므로 두 계좌 행 모두 잠그지 않음
+		// 같은 계좌로 동시에 들어온 거래가 같은 잔액을 볼 수 있으므로 두 거래 후 잔액은 임시 값이고,
+		// 압축할 때 원장 순서로 계산한 실제 잔액으로 고쳐 적음
+		long transactionAmount = requestTransactionDTO.transactionAmount();
+		AccountLedger.Reservation reservation = null;
+		long transactionBalance;
+		long addMoney;
+		if (accountLedger.isEnabled()) {
+			reservation = reserveOrThrow(fromBank.getId(), transactionAmount);
+			transactionBalance = reservation.balance() - transactionAmount;
+			addMoney = accountLedger.balance(toBank.getId()) + transactionAmount;
+		} else {
+			transferBalance(fromBank.getId(), toBank.getId(), transactionAmount);
+			transactionBalance = challetBankRepository.findAccountBalanceById(fromBank.getId());
+			addMoney = challetBankRepository.findAccountBalanceById(toBank.getId());
+		}
+
 		ChalletBankTransaction fromTransaction = ChalletBankTransaction.createAccountTransferHistory(
 			fromBank, toBank.getName(), requestTransactionDTO, transactionBalance, true,
 			categoryName);
-		fromBank.addTransaction(fromTransaction);
+		settleTransaction(fromBank, fromTransaction, transactionBalance);
 
 		ChalletBankTransaction toTransaction = ChalletBankTransaction.createAccountTransferHistory(
 			fromBank, toBank.getName(), requestTransactionDTO, addMoney, false, "ETC");
-		toBank.addTransaction(toTransaction);
+		settleTransaction(toBank, toTransaction, addMoney);
 
 		ChalletBankTransaction savedFromTransaction = challetBankTransactionRepository.save(
 			fromTransaction);
 		ChalletBankTransaction savedToTransaction = challetBankTransactionRepository.save(
 			toTransaction);
+		if (reservation != null) {
+			postDebit(reservation, savedFromTransaction);
+			accountLedger.post(toBank.getId(), transactionAmount, savedToTransaction.getId(),
+				null);
+		}
 
-		searchedTransactionRepository.save(
-			SearchedTransaction.fromAccountTransferByFrom(savedFromTransaction));
-		searchedTransactionRepository.save(
-			SearchedTransaction.fromAccountTransferByTo(savedToTransaction));
+		// 검색 색인은 같은 트랜잭션의 아웃박스에 남기고 SearchIndexScheduler 가 모아서 반영
+		searchIndexOutboxRepository.saveAll(List.of(
+			SearchIndexOutbox.of(fromBank.getId(), savedFromTransaction),
+			SearchIndexOutbox.of(toBank.getId(), savedToTransaction)));
+		updateMonthlyCache(List.of(savedFromTransaction, savedToTransaction));
 
 		return AccountTransferResponseDTO.fromTransferInfo(fromTransaction.getId(), fromBank,
-			toBank, requestTransactionDTO.transactionAmount(), categoryName);
+			toBank, transactionAmount, transactionBalance, categoryName);
 	}
 
-	private AccountTransferResponseDTO processExternalTransfer(ChalletBank fromBank,
-		AccountTransferRequestDTO requestTransactionDTO, long transactionBalance) {
+	// 먼저 커밋한 다른 은행 이체 출금, 이미 처리된 멱등 키면 stored 에 저장된 응답
+	private record ExternalTransferDebit(ChalletBank fromBank, Long transactionId,
+		String categoryName, long transactionBalance, AccountTransferResponseDTO stored) {
 
-		BankTransferResponseDTO bankDTO = BankTransferResponseDTO.fromDTO(fromBank,
-			requestTransactionDTO);
+	}
 
-		try {
-			BankTransferRequestDTO toBank = getExternalBankTransferAccount(bankDTO,
-				requestTransactionDTO.bankCode());
+	// 상대 은행을 부르는 동안 트랜잭션과 계좌 행 잠금을 잡지 않도록 세 단계로 나눔
+	// 1. 멱등 키 기록, 출금(원장 모드는 원장 추가), 출금 내역을 먼저 커밋
+	// 2. 트랜잭션 밖에서 상대 은행에 입금 요청, 재시도 때 상대 은행도 한 번만 입금하도록 키를 넘김
+	// 3. 성공하면 입금처 이름과 응답을 기록하고, 실패하면 출금을 되돌리는 내역을 남기고 키를 지움
+	// 1 과 3 사이에 인스턴스가 죽으면 키가 처리 중으로 남아 만료 전까지 같은 키의 재시도는 거절됨
+	private AccountTransferResponseDTO processExternalTransfer(Long accountId,
+		String idempotencyKey, AccountTransferRequestDTO requestTransactionDTO) {
+		// 잘못된 은행 코드는 출금하기 전에 거절
+		if (!EXTERNAL_BANK_CODES.contains(requestTransactionDTO.bankCode())) {
+			throw new ExceptionResponse(CustomException.INVALID_BANK_CODE_EXCEPTION);
+		}
+		boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+		String recordKey = keyed
+			? idempotentExecutor.recordKey("transfer", accountId, idempotencyKey)
+			: null;
+		String requestHash = keyed ? idempotentExecutor.requestHash(requestTransactionDTO) : null;
+		if (keyed) {
+			AccountTransferResponseDTO cached = idempotentExecutor.findCached(recordKey,
+				requestHash, AccountTransferResponseDTO.class);
+			if (cached != null) {
+				return cached;
+			}
+		}
 
-			//카테고리 확인
-			String categoryName = getCategoryName(fromBank,
-				requestTransactionDTO.depositAccountNumber());
+		ExternalTransferDebit debit = transactionTemplate.execute(status -> {
+			if (keyed) {
+				AccountTransferResponseDTO stored = idempotentExecutor.claim(recordKey,
+					requestHash, AccountTransferResponseDTO.class);
+				if (stored != null) {
+					return new ExternalTransferDebit(null, null, null, 0, stored);
+				}
+			}
+			return debitExternalTransfer(accountId, requestTransactionDTO);
+		});
+		if (debit.stored() != null) {
+			return debit.stored();
+		}
 
-			ChalletBankTransaction paymentTransaction = ChalletBankTransaction.createAccountTransferHistory(
-				fromBank, toBank.name(), requestTransactionDTO, transactionBalance, true,
-				categoryName);
-			fromBank.addTransaction(paymentTransaction);
+		BankTransferRequestDTO toBank;
+		try {
+			toBank = getExternalBankTransferAccount(
+				BankTransferResponseDTO.fromDTO(debit.fromBank(), requestTransactionDTO),
+				requestTransactionDTO.bankCode(),
+				keyed ? accountId + ":" + idempotencyKey : null);
+		} catch (Exception e) {
+			try {
+				transactionTemplate.executeWithoutResult(
+					status -> reverseExternalTransfer(accountId, debit, recordKey));
+			} catch (RuntimeException reverseFailure) {
+				log.error("다른 은행 이체 출금을 되돌리지 못했습니다: {} {}", accountId,
+					debit.transactionId(), reverseFailure);
+			}
+			if (e instanceof ExceptionResponse exceptionResponse) {
+				throw exceptionResponse;
+			}
+			throw new ExceptionResponse(CustomException.ACCOUNT_NOT_FOUND_EXCEPTION);
+		}
 
-			ChalletBankTransaction savedFromTransaction = challetBankTransactionRepository.save(
-				paymentTransaction);
-			searchedTransactionRepository.save(
-				SearchedTransaction.fromAccountTransferByFrom(savedFromTransaction));
+		// 입금 후 여기서 커밋에 실패해도 같은 멱등 키로 재시도하면 상대 은행은 한 번만 입금함
+		return transactionTemplate.execute(status -> {
+			ChalletBankTransaction paymentTransaction = challetBankTransactionRepository
+				.findById(debit.transactionId())
+				.orElseThrow(() -> new IllegalStateException(
+					"이체 출금 내역이 없습니다: " + debit.transactionId()));
+			paymentTransaction.updateDeposit(toBank.name());
+
+			// 검색 색인은 같은 트랜잭션의 아웃박스에 남기고 SearchIndexScheduler 가 모아서 반영
+			searchIndexOutboxRepository.save(SearchIndexOutbox.of(accountId, paymentTransaction));
+			updateMonthlyCache(List.of(paymentTransaction));
 
 			/// 외부에서 받을때 name만 받아서 안됌, accountNumber가 필요
 
-			return AccountTransferResponseDTO.fromExternalTransferInfo(paymentTransaction.getId(),
-				fromBank, toBank, requestTransactionDTO.transactionAmount(), categoryName);
-		} catch (Exception e) {
-			throw new ExceptionResponse(CustomException.ACCOUNT_NOT_FOUND_EXCEPTION);
+			AccountTransferResponseDTO response = AccountTransferResponseDTO
+				.fromExternalTransferInfo(paymentTransaction.getId(), debit.fromBank(), toBank,
+					requestTransactionDTO.transactionAmount(), debit.transactionBalance(),
+					debit.categoryName());
+			if (keyed) {
+				idempotentExecutor.complete(recordKey, requestHash, response);
+			}
+			return response;
+		});
+	}
+
+	// 상대 은행이 입금하기 전에 먼저 차감(원장 모드는 예약 후 원장 추가)해서 잔액이 모자란 이체가 입금되지 않게 함
+	// 입금처 이름은 상대 은행 응답으로 받으므로 확정할 때까지 입금 계좌 번호로 적어 둠
+	private ExternalTransferDebit debitExternalTransfer(Long accountId,
+		AccountTransferRequestDTO requestTransactionDTO) {
+		ChalletBank fromBank = getChalletBank(accountId);
+
+		//카테고리 확인
+		String categoryName = getCategoryName(fromBank,
+			requestTransactionDTO.depositAccountNumber());
+
+		AccountLedger.Reservation reservation = null;
+		long transactionBalance;
+		if (accountLedger.isEnabled()) {
+			reservation = reserveOrThrow(accountId, requestTransactionDTO.transactionAmount());
+			// 임시 거래 후 잔액, 압축할 때 원장 순서로 계산한 실제 잔액으로 고쳐 적음
+			transactionBalance = reservation.balance() - requestTransactionDTO.transactionAmount();
+		} else {
+			transactionBalance = debit(accountId, requestTransactionDTO.transactionAmount());
+		}
+
+		ChalletBankTransaction paymentTransaction = ChalletBankTransaction.createAccountTransferHistory(
+			fromBank, requestTransactionDTO.depositAccountNumber(), requestTransactionDTO,
+			transactionBalance, true, categoryName);
+		settleTransaction(fromBank, paymentTransaction, transactionBalance);
+
+		ChalletBankTransaction savedFromTransaction = challetBankTransactionRepository.save(
+			paymentTransaction);
+		if (reservation != null) {
+			postDebit(reservation, savedFromTransaction);
+		}
+		return new ExternalTransferDebit(fromBank, savedFromTransaction.getId(), categoryName,
+			transactionBalance, null);
+	}
+
+	// 상대 은행 입금이 실패한 이체는 같은 금액을 되돌려 넣는 내역을 남기고 멱등 키를 지워서 재시도가 다시 실행되게 함
+	private void reverseExternalTransfer(Long accountId, ExternalTransferDebit debit,
+		String recordKey) {
+		ChalletBank fromBank = getChalletBank(accountId);
+		ChalletBankTransaction paymentTransaction = challetBankTransactionRepository
+			.findById(debit.transactionId())
+			.orElseThrow(() -> new IllegalStateException(
+				"이체 출금 내역이 없습니다: " + debit.transactionId()));
+		long transactionAmount = -paymentTransaction.getTransactionAmount();
+
+		long transactionBalance;
+		if (accountLedger.isEnabled()) {
+			// 임시 거래 후 잔액, 압축할 때 원장 순서로 계산한 실제 잔액으로 고쳐 적음
+			transactionBalance = accountLedger.balance(accountId) + transactionAmount;
+		} else {
+			creditOrThrow(accountId, transactionAmount);
+			transactionBalance = challetBankRepository.findAccountBalanceById(accountId);
+		}
+
+		ChalletBankTransaction reversalTransaction = ChalletBankTransaction.createTransferReversal(
+			paymentTransaction, transactionBalance);
+		settleTransaction(fromBank, reversalTransaction, transactionBalance);
+		ChalletBankTransaction savedReversalTransaction = challetBankTransactionRepository.save(
+			reversalTransaction);
+		if (accountLedger.isEnabled()) {
+			accountLedger.post(accountId, transactionAmount, savedReversalTransaction.getId(),
+				null);
+		}
+
+		searchIndexOutboxRepository.saveAll(List.of(
+			SearchIndexOutbox.of(accountId, paymentTransaction),
+			SearchIndexOutbox.of(accountId, savedReversalTransaction)));
+		updateMonthlyCache(List.of(paymentTransaction, savedReversalTransaction));
+		if (recordKey != null) {
+			idempotentExecutor.release(recordKey);
 		}
 	}
 
 	private BankTransferRequestDTO getExternalBankTransferAccount(BankTransferResponseDTO bankDTO,
-		String bankCode) {
+		String bankCode, String idempotencyKey) {
 		switch (bankCode) {
 			case "8083":
-				return kbBankFeignClient.getTransferAccount(bankDTO);
+				return kbBankFeignClient.getTransferAccount(idempotencyKey, bankDTO);
 			case "8084":
-				return nhBankFeignClient.getTransferAccount(bankDTO);
+				return nhBankFeignClient.getTransferAccount(idempotencyKey, bankDTO);
 			case "8085":
-				return shBankFeignClient.getTransferAccount(bankDTO);
+				return shBankFeignClient.getTransferAccount(idempotencyKey, bankDTO);
 			default:
 				throw new ExceptionResponse(CustomException.INVALID_BANK_CODE_EXCEPTION);
 		}
@@ -0,0 +1,35 @@
+package com.challet.bankservice.domain.service;
+
+import com.challet.bankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
+import com.challet.bankservice.domain.entity.Category;
+import com.challet.bankservice.global.util.SpendingSketch;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface CohortAggregateService {
+
+    UserInfoMessageRequestDTO getUserCohort(String phoneNumber);
+
+    Map<Category, Long> getPeerCategoryAmounts(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO);
+
+    Map<Category, SpendingSketch> getPeerSpendingSketches(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO);
+
+    Map<Category, SpendingSketch> collectPeerSpendingSketches(UserInfoMessageRequestDTO cohort,
+        BankToAnalysisMessageRequestDTO message);
+
+    String getSyncedCohortKey(UserInfoMessageRequestDTO cohort, String phoneNumber);
+
+    void syncMembershipInBackground(UserInfoMessageRequestDTO cohortWithMembers);
+
+    void recordChBankSpending(String phoneNumber, LocalDateTime transactionDatetime,
+        Category category, long transactionAmount);
+
+    void moveChBankSpending(String phoneNumber, LocalDateTime transactionDatetime,
+        Category from, Category to, long transactionAmount);
+
+    int reconcile(MonthlyTransactionRequestDTO requestDTO);
+}
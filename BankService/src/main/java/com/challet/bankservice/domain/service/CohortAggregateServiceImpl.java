@@ -0,0 +1,268 @@
+package com.challet.bankservice.domain.service;
+
+import com.challet.bankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.bankservice.domain.dto.request.CohortMembershipRequestDTO;
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
+import com.challet.bankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.bankservice.domain.dto.response.CohortSpendingDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import com.challet.bankservice.domain.entity.Category;
+import com.challet.bankservice.domain.repository.ChalletBankRepository;
+import com.challet.bankservice.global.cache.CohortAggregateStore;
+import com.challet.bankservice.global.client.ChalletFeignClient;
+import com.challet.bankservice.global.client.KbBankFeignClient;
+import com.challet.bankservice.global.client.NhBankFeignClient;
+import com.challet.bankservice.global.client.ShBankFeignClient;
+import com.challet.bankservice.global.util.SpendingSketch;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Service
+public class CohortAggregateServiceImpl implements CohortAggregateService {
+
+    private final CohortAggregateStore cohortAggregateStore;
+    private final CohortMembershipService cohortMembershipService;
+    private final ChalletBankRepository challetBankRepository;
+    private final ChalletFeignClient challetFeignClient;
+    private final KbBankFeignClient kbBankFeignClient;
+    private final NhBankFeignClient nhBankFeignClient;
+    private final ShBankFeignClient shBankFeignClient;
+    private final ExecutorService executor;
+    private final Set<String> syncingCohorts = ConcurrentHashMap.newKeySet();
+
+    public CohortAggregateServiceImpl(CohortAggregateStore cohortAggregateStore,
+        CohortMembershipService cohortMembershipService,
+        ChalletBankRepository challetBankRepository, ChalletFeignClient challetFeignClient,
+        KbBankFeignClient kbBankFeignClient, NhBankFeignClient nhBankFeignClient,
+        ShBankFeignClient shBankFeignClient,
+        @Qualifier("analysisTaskExecutor") ExecutorService executor) {
+        this.cohortAggregateStore = cohortAggregateStore;
+        this.cohortMembershipService = cohortMembershipService;
+        this.challetBankRepository = challetBankRepository;
+        this.challetFeignClient = challetFeignClient;
+        this.kbBankFeignClient = kbBankFeignClient;
+        this.nhBankFeignClient = nhBankFeignClient;
+        this.shBankFeignClient = shBankFeignClient;
+        this.executor = executor;
+    }
+
+    @Override
+    public UserInfoMessageRequestDTO getUserCohort(String phoneNumber) {
+        UserInfoMessageRequestDTO cached = cohortAggregateStore.getCachedCohort(phoneNumber);
+        if (cached != null) {
+            return cached;
+        }
+        UserInfoMessageRequestDTO cohort = challetFeignClient.getUserCohort(phoneNumber);
+        cohortAggregateStore.cacheCohort(phoneNumber, cohort);
+        return cohort;
+    }
+
+    @Override
+    public Map<Category, Long> getPeerCategoryAmounts(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO) {
+        return cohortAggregateStore.getPeerCategoryAmounts(cohort, requestDTO);
+    }
+
+    @Override
+    public Map<Category, SpendingSketch> getPeerSpendingSketches(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO) {
+        return cohortAggregateStore.getSpendingSketches(cohort, requestDTO);
+    }
+
+    // 아직 재집계되지 않은 코호트는 요청 시점에 은행마다 요약을 받아 병합하고 저장
+    // 원격 호출이 섞여 있으므로 DB 트랜잭션으로 묶지 않음 (챌렛 은행 조회는 자체 트랜잭션)
+    @Override
+    public Map<Category, SpendingSketch> collectPeerSpendingSketches(
+        UserInfoMessageRequestDTO cohort, BankToAnalysisMessageRequestDTO message) {
+        Map<Category, SpendingSketch> sketches = mergeSpendingSketches(message,
+            challetBankRepository.getCohortSpending(message));
+        cohortAggregateStore.replaceSpendingSketches(cohort, message.requestDTO(), sketches);
+        return sketches;
+    }
+
+    // 네 은행 모두 구성원 테이블을 가진 코호트면 키를, 아니면 null (전화번호 목록으로 조회)
+    // 요청한 사용자가 구성원 테이블에 없으면 동기화 이후 구성원이 바뀐 것이므로 null
+    @Override
+    public String getSyncedCohortKey(UserInfoMessageRequestDTO cohort, String phoneNumber) {
+        String cohortKey = CohortMembershipRequestDTO.cohortKeyOf(cohort.age(), cohort.gender());
+        if (cohortAggregateStore.getSyncedMembershipVersion(cohortKey) == null
+            || !cohortMembershipService.isMember(cohortKey, phoneNumber)) {
+            return null;
+        }
+        return cohortKey;
+    }
+
+    // 처음 쓰이거나 구성원이 바뀐 코호트를 야간 재집계 전에 동기화 (같은 코호트는 한 번만 진행)
+    @Override
+    public void syncMembershipInBackground(UserInfoMessageRequestDTO cohortWithMembers) {
+        String cohortKey = CohortMembershipRequestDTO.cohortKeyOf(cohortWithMembers.age(),
+            cohortWithMembers.gender());
+        if (!syncingCohorts.add(cohortKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    syncMembership(cohortWithMembers);
+                } catch (RuntimeException e) {
+                    log.warn("코호트 구성원 동기화 실패: {} {}", cohortKey, e.getMessage());
+                } finally {
+                    syncingCohorts.remove(cohortKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            syncingCohorts.remove(cohortKey);
+        }
+    }
+
+    @Override
+    public void recordChBankSpending(String phoneNumber, LocalDateTime transactionDatetime,
+        Category category, long transactionAmount) {
+        if (transactionAmount >= 0) {
+            return;
+        }
+        afterCommit(() -> applyChBankDelta(phoneNumber, transactionDatetime,
+            Map.of(category, transactionAmount)));
+    }
+
+    @Override
+    public void moveChBankSpending(String phoneNumber, LocalDateTime transactionDatetime,
+        Category from, Category to, long transactionAmount) {
+        if (transactionAmount >= 0 || from == to) {
+            return;
+        }
+        afterCommit(() -> applyChBankDelta(phoneNumber, transactionDatetime,
+            Map.of(from, -transactionAmount, to, transactionAmount)));
+    }
+
+    // 코호트마다 은행별 합계를 다시 계산해 교체, 한 은행이라도 실패하면 기존 집계를 유지
+    // 인스턴스마다 스케줄이 돌므로 오늘 이 달을 먼저 잡은 인스턴스만 수행하고 나머지는 -1
+    // 코호트마다 원격 호출이 여러 번 있으므로 전체를 하나의 DB 트랜잭션으로 묶지 않음
+    @Override
+    public int reconcile(MonthlyTransactionRequestDTO requestDTO) {
+        LocalDate runDate = LocalDate.now();
+        if (!cohortAggregateStore.claimReconcile(requestDTO, runDate)) {
+            return -1;
+        }
+
+        List<UserInfoMessageRequestDTO> cohorts;
+        try {
+            cohorts = challetFeignClient.getAllCohorts();
+        } catch (RuntimeException e) {
+            cohortAggregateStore.releaseReconcile(requestDTO, runDate);
+            throw e;
+        }
+
+        int reconciled = 0;
+        for (UserInfoMessageRequestDTO cohort : cohorts) {
+            try {
+                String cohortKey = syncMembership(cohort);
+                BankToAnalysisMessageRequestDTO message = BankToAnalysisMessageRequestDTO
+                    .ofCohortReference(cohortKey, requestDTO);
+
+                Map<BankType, List<CategoryAmountResponseDTO>> bankTotals = new EnumMap<>(
+                    BankType.class);
+                bankTotals.put(BankType.KB_BANK, kbBankFeignClient.getCohortCategorySpending(message));
+                bankTotals.put(BankType.NH_BANK, nhBankFeignClient.getCohortCategorySpending(message));
+                bankTotals.put(BankType.SH_BANK, shBankFeignClient.getCohortCategorySpending(message));
+                List<CohortSpendingDTO> chBankSpendings = challetBankRepository
+                    .getCohortSpending(message);
+
+                cohortAggregateStore.replace(cohort, requestDTO, bankTotals, chBankSpendings);
+                cohortAggregateStore.replaceSpendingSketches(cohort, requestDTO,
+                    mergeSpendingSketches(message, chBankSpendings));
+                cohortAggregateStore.cacheCohortMembers(cohort);
+                reconciled++;
+            } catch (RuntimeException e) {
+                log.warn("코호트 집계 재계산 실패: {}/{} {}", cohort.age(), cohort.gender(),
+                    e.getMessage());
+            }
+        }
+        return reconciled;
+    }
+
+    // 구성원이 바뀐 코호트만 각 은행의 코호트 테이블에 전송하고, 모두 성공해야 동기화 완료로 기록
+    private String syncMembership(UserInfoMessageRequestDTO cohort) {
+        CohortMembershipRequestDTO membership = CohortMembershipRequestDTO.from(cohort);
+        if (membership.version().equals(
+            cohortAggregateStore.getSyncedMembershipVersion(membership.cohortKey()))) {
+            return membership.cohortKey();
+        }
+
+        cohortMembershipService.syncCohortMembership(membership);
+        kbBankFeignClient.syncCohortMembership(membership);
+        nhBankFeignClient.syncCohortMembership(membership);
+        shBankFeignClient.syncCohortMembership(membership);
+        cohortAggregateStore.markMembershipSynced(membership.cohortKey(), membership.version());
+        return membership.cohortKey();
+    }
+
+    // 내 금액은 네 은행 합계이므로 동료도 전화번호별로 네 은행 합계를 낸 뒤 요약에 넣음
+    // (은행별로 요약하면 여러 은행을 쓰는 사용자가 은행마다 작은 금액으로 따로 들어감)
+    private Map<Category, SpendingSketch> mergeSpendingSketches(
+        BankToAnalysisMessageRequestDTO message, List<CohortSpendingDTO> chBankSpendings) {
+        Map<Category, Map<String, Long>> memberTotals = new EnumMap<>(Category.class);
+        List<List<CohortSpendingDTO>> bankSpendings = List.of(chBankSpendings,
+            kbBankFeignClient.getCohortSpending(message),
+            nhBankFeignClient.getCohortSpending(message),
+            shBankFeignClient.getCohortSpending(message));
+        for (List<CohortSpendingDTO> spendings : bankSpendings) {
+            for (CohortSpendingDTO spending : spendings) {
+                memberTotals.computeIfAbsent(spending.category(), category -> new HashMap<>())
+                    .merge(spending.phoneNumber(), -spending.totalAmount(), Long::sum);
+            }
+        }
+
+        Map<Category, SpendingSketch> sketches = new EnumMap<>(Category.class);
+        memberTotals.forEach((category, totals) -> {
+            SpendingSketch sketch = new SpendingSketch();
+            totals.values().forEach(sketch::add);
+            sketches.put(category, sketch);
+        });
+        return sketches;
+    }
+
+    private void applyChBankDelta(String phoneNumber, LocalDateTime transactionDatetime,
+        Map<Category, Long> deltas) {
+        try {
+            UserInfoMessageRequestDTO cohort = getUserCohort(phoneNumber);
+            MonthlyTransactionRequestDTO requestDTO = MonthlyTransactionRequestDTO.fromDTO(
+                transactionDatetime.getYear(), transactionDatetime.getMonthValue());
+            deltas.forEach((category, amount) -> cohortAggregateStore.applyChBankDelta(cohort,
+                requestDTO, phoneNumber, category, amount));
+        } catch (RuntimeException e) {
+            // 반영에 실패해도 야간 재집계에서 맞춰짐
+            log.warn("코호트 집계 반영 실패: {} {}", phoneNumber, e.getMessage());
+        }
+    }
+
+    // 결제 트랜잭션이 커밋된 뒤 별도 스레드에서 반영 (결제 응답을 늦추지 않음)
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        executor.execute(task);
+                    }
+                });
+            return;
+        }
+        executor.execute(task);
+    }
+}
@@ -0,0 +1,10 @@
+package com.challet.bankservice.domain.service;
+
+import com.challet.bankservice.domain.dto.request.CohortMembershipRequestDTO;
+
+public interface CohortMembershipService {
+
+    void syncCohortMembership(CohortMembershipRequestDTO requestDTO);
+
+    boolean isMember(String cohortKey, String phoneNumber);
+}
@@ -0,0 +1,40 @@
+package com.challet.bankservice.domain.service;
+
+import com.challet.bankservice.domain.dto.request.CohortMembershipRequestDTO;
+import com.challet.bankservice.domain.entity.Cohort;
+import com.challet.bankservice.domain.repository.CohortMemberRepository;
+import com.challet.bankservice.domain.repository.CohortRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class CohortMembershipServiceImpl implements CohortMembershipService {
+
+    private final CohortRepository cohortRepository;
+    private final CohortMemberRepository cohortMemberRepository;
+
+    // 구성원 목록 버전이 같으면 건너뛰고, 바뀌었으면 코호트 구성원을 통째로 교체
+    @Override
+    @Transactional
+    public void syncCohortMembership(CohortMembershipRequestDTO requestDTO) {
+        Cohort cohort = cohortRepository.findById(requestDTO.cohortKey())
+            .orElseGet(() -> Cohort.builder().cohortKey(requestDTO.cohortKey()).build());
+        if (requestDTO.version().equals(cohort.getVersion())) {
+            return;
+        }
+
+        cohortMemberRepository.deleteByCohortKey(requestDTO.cohortKey());
+        cohortMemberRepository.insertMembers(requestDTO.cohortKey(), requestDTO.phoneNumbers());
+        cohort.updateVersion(requestDTO.version());
+        cohortRepository.save(cohort);
+    }
+
+    // (cohort_key, phone_number) 인덱스 조회
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isMember(String cohortKey, String phoneNumber) {
+        return cohortMemberRepository.existsByCohortKeyAndPhoneNumber(cohortKey, phoneNumber);
+    }
+}
@@ -0,0 +1,6 @@
+package com.challet.bankservice.domain.service;
+
+public interface PaymentNotificationService {
+
+    int dispatchPending();
+}
@@ -0,0 +1,155 @@
+package com.challet.bankservice.domain.service;
+
+import com.challet.bankservice.domain.dto.response.PaymentHttpMessageResponseDTO;
+import com.challet.bankservice.domain.entity.PaymentNotificationOutbox;
+import com.challet.bankservice.domain.repository.PaymentNotificationOutboxRepository;
+import com.challet.bankservice.global.client.ChalletFeignClient;
+import feign.FeignException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 아웃박스에 쌓인 결제 알림을 챌렛 서비스에 묶어서 보낸다.
+ * 여러 인스턴스가 동시에 보내면 같은 전화번호의 알림 순서가 섞이므로 Redis 잠금을 잡은 인스턴스만 보내고,
+ * 실패한 알림은 뒤의 같은 전화번호 알림과 함께 미뤄서 순서를 지킨다.
+ * 전달 후 삭제 전에 장애가 나면 다시 보낼 수 있으므로 전달은 최소 한 번이고, 챌렛 서비스가 알림 id 로 중복을 걸러낸다.
+ */
+@Slf4j
+@Service
+public class PaymentNotificationServiceImpl implements PaymentNotificationService {
+
+    private static final String DISPATCH_LOCK_KEY = "payment-notification:dispatcher";
+
+    // 잠금을 잡은 인스턴스의 토큰일 때만 해제
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end "
+            + "return 0",
+        Long.class);
+
+    private final PaymentNotificationOutboxRepository paymentNotificationOutboxRepository;
+    private final ChalletFeignClient challetFeignClient;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration lockTtl;
+
+    public PaymentNotificationServiceImpl(
+        PaymentNotificationOutboxRepository paymentNotificationOutboxRepository,
+        ChalletFeignClient challetFeignClient,
+        StringRedisTemplate stringRedisTemplate,
+        PlatformTransactionManager transactionManager,
+        @Value("${payment.notification.batch-size:200}") int batchSize,
+        @Value("${payment.notification.lock-ttl-ms:30000}") long lockTtlMillis) {
+        this.paymentNotificationOutboxRepository = paymentNotificationOutboxRepository;
+        this.challetFeignClient = challetFeignClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+    }
+
+    // 한 묶음을 보내고 가져온 건수를 반환 (0 이면 보낼 알림이 없거나 다른 인스턴스가 보내는 중)
+    @Override
+    public int dispatchPending() {
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(DISPATCH_LOCK_KEY, token, lockTtl))) {
+                return 0;
+            }
+        } catch (DataAccessException e) {
+            // 잠금 없이 보내면 순서가 섞일 수 있으므로 이번 주기는 건너뜀 (알림은 아웃박스에 남아 있음)
+            log.warn("결제 알림 전송 잠금 획득 실패: {}", e.getMessage());
+            return 0;
+        }
+
+        try {
+            return dispatch();
+        } finally {
+            release(token);
+        }
+    }
+
+    private int dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentNotificationOutbox> pending = paymentNotificationOutboxRepository
+            .findDeliverable(now, batchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<PaymentNotificationOutbox> failed = deliver(pending);
+        List<Long> deliveredIds = pending.stream()
+            .filter(notification -> !failed.contains(notification))
+            .map(PaymentNotificationOutbox::getId)
+            .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deliveredIds.isEmpty()) {
+                paymentNotificationOutboxRepository.deleteByIds(deliveredIds);
+            }
+            failed.forEach(notification -> notification.retryLater(now));
+            paymentNotificationOutboxRepository.saveAll(failed);
+        });
+        return pending.size();
+    }
+
+    // 전달하지 못한 알림을 반환
+    private List<PaymentNotificationOutbox> deliver(List<PaymentNotificationOutbox> notifications) {
+        try {
+            send(notifications);
+            return List.of();
+        } catch (FeignException e) {
+            // 연결 자체가 안 되면 나눠 보내도 마찬가지이므로 묶음 전체를 미룸
+            if (e.status() < 0) {
+                log.warn("결제 알림 전송 실패: {}건 {}", notifications.size(), e.getMessage());
+                return notifications;
+            }
+        }
+
+        // 챌렛 서비스가 묶음을 거절하면 전화번호별로 나눠 다시 보내서 한 사용자의 문제가 다른 알림을 막지 않게 함
+        List<PaymentNotificationOutbox> failed = new ArrayList<>();
+        for (List<PaymentNotificationOutbox> group : notifications.stream()
+            .collect(Collectors.groupingBy(PaymentNotificationOutbox::getPhoneNumber,
+                LinkedHashMap::new, Collectors.toList()))
+            .values()) {
+            try {
+                send(group);
+            } catch (FeignException e) {
+                log.warn("결제 알림 전송 실패: {} {}건 {}", group.get(0).getPhoneNumber(),
+                    group.size(), e.getMessage());
+                failed.addAll(group);
+            }
+        }
+        return failed;
+    }
+
+    private void send(List<PaymentNotificationOutbox> notifications) {
+        challetFeignClient.sendPaymentMessages(notifications.stream()
+            .map(PaymentHttpMessageResponseDTO::fromNotification)
+            .toList());
+    }
+
+    private void release(String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_IF_OWNER, List.of(DISPATCH_LOCK_KEY), token);
+        } catch (DataAccessException e) {
+            // 해제하지 못해도 잠금 만료 시간이 지나면 풀림
+            log.warn("결제 알림 전송 잠금 해제 실패: {}", e.getMessage());
+        }
+    }
+}
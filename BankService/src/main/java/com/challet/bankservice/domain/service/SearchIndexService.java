@@ -0,0 +1,10 @@
+package com.challet.bankservice.domain.service;
+
+import com.challet.bankservice.domain.dto.response.SearchIndexLagDTO;
+
+public interface SearchIndexService {
+
+    int indexPending();
+
+    SearchIndexLagDTO getLag();
+}
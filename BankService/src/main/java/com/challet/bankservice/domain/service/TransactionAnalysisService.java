@@ -1,14 +1,30 @@
 package com.challet.bankservice.domain.service;
 
 import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.response.CacheTierStatsDTO;
 import com.challet.bankservice.domain.dto.response.CategoryPercentageResponseListDTO;
+import com.challet.bankservice.domain.dto.response.CategoryPercentileResponseDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionTimelineResponseDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTrendResponseDTO;
+import java.util.List;
 
 public interface TransactionAnalysisService {
 
     MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO);
 
+    MonthlyTransactionTimelineResponseDTO getMonthlyTransactionTimeline(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, String cursor, int size);
+
+    MonthlyTrendResponseDTO getMonthlyTrend(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, int months);
+
     CategoryPercentageResponseListDTO getTransactionByGroupCategory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO);
+
+    List<CategoryPercentileResponseDTO> getCategoryPercentile(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO);
+
+    List<CacheTierStatsDTO> getCacheStats();
 }
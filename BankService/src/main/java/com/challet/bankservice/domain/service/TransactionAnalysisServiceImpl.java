@@ -1,30 +1,53 @@
 package com.challet.bankservice.domain.service;
 
-import com.challet.bankservice.domain.dto.redis.MonthlyTransactionRedisListDTO;
+import com.challet.bankservice.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.bankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
 import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
+import com.challet.bankservice.domain.dto.response.AnalysisBundleResponseDTO;
+import com.challet.bankservice.domain.dto.response.CacheTierStatsDTO;
 import com.challet.bankservice.domain.dto.response.CategoryPercentageResponseDTO;
 import com.challet.bankservice.domain.dto.response.CategoryPercentageResponseListDTO;
+import com.challet.bankservice.domain.dto.response.CategoryPercentileResponseDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionTimelineResponseDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTrendDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTrendResponseDTO;
+import com.challet.bankservice.domain.entity.BankType;
 import com.challet.bankservice.domain.entity.Category;
 import com.challet.bankservice.domain.repository.ChalletBankRepository;
+import com.challet.bankservice.global.cache.AnalysisNearCache;
+import com.challet.bankservice.global.cache.CacheRefreshScheduler;
+import com.challet.bankservice.global.cache.CohortAggregateStore;
+import com.challet.bankservice.global.cache.MonthlyTransactionCache;
+import com.challet.bankservice.global.cache.SingleFlight;
 import com.challet.bankservice.global.client.ChalletFeignClient;
 import com.challet.bankservice.global.client.KbBankFeignClient;
 import com.challet.bankservice.global.client.NhBankFeignClient;
 import com.challet.bankservice.global.client.ShBankFeignClient;
+import com.challet.bankservice.global.fanout.BankFanOut;
+import com.challet.bankservice.global.fanout.BankFanOutResult;
 import com.challet.bankservice.global.util.JwtUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.challet.bankservice.global.util.MonthlyCategoryAggregator;
+import com.challet.bankservice.global.util.MonthlyTransactionMerger;
+import com.challet.bankservice.global.util.MonthlyTransactionMerger.MergeResult;
+import com.challet.bankservice.global.util.SpendingSketch;
+import com.challet.bankservice.global.util.TimelineCursor;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -37,8 +60,15 @@ public class TransactionAnalysisServiceImpl implements TransactionAnalysisServic
     private final NhBankFeignClient nhBankFeignClient;
     private final ShBankFeignClient shBankFeignClient;
     private final ChalletFeignClient challetFeignClient;
-    private final RedisTemplate<String, MonthlyTransactionRedisListDTO> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final MonthlyTransactionCache monthlyTransactionCache;
+    private final AnalysisNearCache analysisNearCache;
+    private final SingleFlight singleFlight;
+    private final CacheRefreshScheduler cacheRefreshScheduler;
+    private final BankFanOut bankFanOut;
+    private final CohortAggregateService cohortAggregateService;
+
+    private static final int MAX_TIMELINE_PAGE_SIZE = 100;
+    private static final int MAX_TREND_MONTHS = 12;
 
 
     @Override
@@ -49,113 +79,469 @@ public class TransactionAnalysisServiceImpl implements TransactionAnalysisServic
         String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
 
         // Redis 키 생성 (연도-월-전화번호 조합)
-        String redisKey = requestDTO.year() + "-" + requestDTO.month() + "-" + phoneNumber;
-
-        // Redis에서 데이터를 조회
-        Object cachedData = redisTemplate.opsForValue().get(redisKey);
-        MonthlyTransactionRedisListDTO redisHistoryDTO = null;
-
-        // Redis에 데이터가 있으면 해당 데이터를 반환
-        if (cachedData != null) {
-            redisHistoryDTO = objectMapper.convertValue(cachedData,
-                MonthlyTransactionRedisListDTO.class);
-            return MonthlyTransactionHistoryListDTO.from(redisHistoryDTO.getMonthlyTransactions());
-        }
-
-        // 데이터가 없으면 각 은행에서 데이터를 조회
-        MonthlyTransactionHistoryListDTO chMonthlyTransaction = challetBankRepository.getTransactionByPhoneNumberAndYearMonth(
-            phoneNumber, requestDTO);
-        MonthlyTransactionHistoryListDTO kbMonthlyTransaction = kbBankFeignClient.getMonthlyTransactionHistory(
-            tokenHeader, requestDTO.year(), requestDTO.month());
-        MonthlyTransactionHistoryListDTO nhMonthlyTransaction = nhBankFeignClient.getMonthlyTransactionHistory(
-            tokenHeader, requestDTO.year(), requestDTO.month());
-        MonthlyTransactionHistoryListDTO shMonthlyTransaction = shBankFeignClient.getMonthlyTransactionHistory(
-            tokenHeader, requestDTO.year(), requestDTO.month());
-
-        // 각 은행에서 조회한 트랜잭션을 모두 합침
-        List<MonthlyTransactionHistoryDTO> allTransactions = new ArrayList<>();
-        allTransactions.addAll(chMonthlyTransaction.monthlyTransactions());
-        allTransactions.addAll(kbMonthlyTransaction.monthlyTransactions());
-        allTransactions.addAll(nhMonthlyTransaction.monthlyTransactions());
-        allTransactions.addAll(shMonthlyTransaction.monthlyTransactions());
-
-        // 트랜잭션을 날짜 기준으로 내림차순 정렬
-        allTransactions.sort(
-            Comparator.comparing(MonthlyTransactionHistoryDTO::transactionDate).reversed());
-
-        // 정렬된 트랜잭션을 DTO로 변환
-        MonthlyTransactionHistoryListDTO sortedTransactions = MonthlyTransactionHistoryListDTO.from(
-            allTransactions);
-
-        // Redis에 새롭게 조회한 데이터를 저장
-        redisTemplate.opsForValue().set(redisKey, MonthlyTransactionRedisListDTO.builder()
-                .id(redisKey)
-                .monthlyTransactions(sortedTransactions.monthlyTransactions())
-                .build(),
-            10, TimeUnit.MINUTES);
+        String monthKey = MonthlyTransactionCache.monthKey(requestDTO.year(), requestDTO.month(),
+            phoneNumber);
+
+        // 인스턴스 메모리에 있으면 Redis 까지 가지 않음
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> nearCached =
+            analysisNearCache.getMonthlySegments(monthKey);
+        if (nearCached != null) {
+            return MonthlyTransactionHistoryListDTO.from(
+                MonthlyTransactionMerger.mergeAll(nearCached));
+        }
+
+        // 같은 월 키를 동시에 요청하면 한 요청만 은행을 조회하고 나머지는 결과를 함께 받음
+        return singleFlight.execute("monthly:" + monthKey,
+            () -> loadMonthlyTransactionHistory(tokenHeader, phoneNumber, monthKey, requestDTO));
+    }
+
+    private MonthlyTransactionHistoryListDTO loadMonthlyTransactionHistory(String tokenHeader,
+        String phoneNumber, String monthKey, MonthlyTransactionRequestDTO requestDTO) {
+
+        // Redis에 적재된 은행 세그먼트를 조회
+        MonthlyTransactionCache.SegmentLookup lookup = monthlyTransactionCache.lookup(monthKey);
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> sortedSources = lookup.segments();
+
+        // 소프트 만료된 세그먼트는 그대로 응답하고 백그라운드에서 다시 적재
+        // 자주 조회되는 키는 소프트 만료 전에 미리 갱신
+        Set<BankType> refreshBanks = EnumSet.noneOf(BankType.class);
+        refreshBanks.addAll(lookup.staleBanks());
+        if (cacheRefreshScheduler.recordAccess(monthKey)) {
+            refreshBanks.addAll(lookup.expiringBanks());
+        }
+        if (!refreshBanks.isEmpty()) {
+            cacheRefreshScheduler.schedule(monthKey,
+                () -> refreshSegments(tokenHeader, phoneNumber, monthKey, requestDTO,
+                    refreshBanks));
+        }
+
+        // 캐시에 없는 은행만 동시에 조회 (은행별 마감 시간 적용)
+        Map<BankType, Supplier<MonthlyTransactionHistoryListDTO>> calls = monthlyHistoryCalls(
+            tokenHeader, phoneNumber, requestDTO);
+        calls.keySet().removeAll(sortedSources.keySet());
+
+        List<String> degradedBanks = List.of();
+        if (!calls.isEmpty()) {
+            BankFanOutResult<MonthlyTransactionHistoryListDTO> fanOutResult = bankFanOut.fanOut(
+                calls);
+
+            // 응답한 은행의 세그먼트만 적재하고, 빠진 은행은 다음 요청에서 다시 조회
+            toSortedSources(fanOutResult).forEach((bank, transactions) -> {
+                monthlyTransactionCache.putSegment(monthKey, bank, transactions);
+                sortedSources.put(bank, transactions);
+            });
+            degradedBanks = fanOutResult.degradedBankNames();
+        }
+        if (degradedBanks.isEmpty()) {
+            analysisNearCache.putMonthlySegments(monthKey, sortedSources);
+        }
+
+        // 은행별로 이미 최신순 정렬되어 있으므로 다시 정렬하지 않고 병합
+        List<MonthlyTransactionHistoryDTO> allTransactions = MonthlyTransactionMerger.mergeAll(
+            sortedSources);
 
         // 정렬된 트랜잭션 반환
-        return sortedTransactions;
+        return MonthlyTransactionHistoryListDTO.of(allTransactions, degradedBanks);
+    }
+
+    private void refreshSegments(String tokenHeader, String phoneNumber, String monthKey,
+        MonthlyTransactionRequestDTO requestDTO, Set<BankType> banks) {
+        Map<BankType, Supplier<MonthlyTransactionHistoryListDTO>> calls = monthlyHistoryCalls(
+            tokenHeader, phoneNumber, requestDTO);
+        calls.keySet().retainAll(banks);
+
+        // 응답하지 않은 은행은 기존 세그먼트를 하드 만료까지 유지
+        toSortedSources(bankFanOut.fanOut(calls)).forEach(
+            (bank, transactions) -> monthlyTransactionCache.putSegment(monthKey, bank,
+                transactions));
+        analysisNearCache.publishInvalidation(monthKey);
+    }
+
+    @Override
+    public MonthlyTransactionTimelineResponseDTO getMonthlyTransactionTimeline(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, String cursor, int size) {
+        String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
+        TimelineCursor timelineCursor = TimelineCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_TIMELINE_PAGE_SIZE);
+
+        // 은행별로 페이지 크기 + 1 건만 조회 (+1 건은 다음 페이지 존재 여부 확인용)
+        int fetchSize = pageSize + 1;
+
+        // 인스턴스 메모리에 한달 내역이 있으면 은행별로 커서 위치 다음부터 잘라옴
+        String monthKey = MonthlyTransactionCache.monthKey(requestDTO.year(), requestDTO.month(),
+            phoneNumber);
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> nearCached =
+            analysisNearCache.getMonthlySegments(monthKey);
+        if (nearCached != null) {
+            nearCached.replaceAll((bank, transactions) -> MonthlyTransactionMerger.after(
+                transactions, timelineCursor.position(bank), fetchSize));
+            return toTimeline(nearCached, timelineCursor, pageSize, List.of());
+        }
+
+        // 적재된 은행은 캐시 세그먼트에서 커서 위치 다음 fetchSize 건만 읽어옴
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> sortedSources =
+            monthlyTransactionCache.lookupPage(monthKey, timelineCursor, fetchSize);
+
+        // 나머지 은행은 커서 위치보다 앞선 거래만 (거래 일시, id) 키셋으로 조회
+        Map<BankType, Supplier<MonthlyTransactionHistoryListDTO>> calls = new EnumMap<>(
+            BankType.class);
+        calls.put(BankType.CH_BANK, () -> {
+            TimelineCursor.Position position = timelineCursor.position(BankType.CH_BANK);
+            return challetBankRepository.getTransactionPageByPhoneNumberAndYearMonth(phoneNumber,
+                requestDTO, beforeDate(position), beforeId(position), fetchSize);
+        });
+        calls.put(BankType.KB_BANK, () -> {
+            TimelineCursor.Position position = timelineCursor.position(BankType.KB_BANK);
+            return kbBankFeignClient.getMonthlyTransactionHistoryPage(tokenHeader,
+                requestDTO.year(), requestDTO.month(), beforeDate(position), beforeId(position),
+                fetchSize);
+        });
+        calls.put(BankType.NH_BANK, () -> {
+            TimelineCursor.Position position = timelineCursor.position(BankType.NH_BANK);
+            return nhBankFeignClient.getMonthlyTransactionHistoryPage(tokenHeader,
+                requestDTO.year(), requestDTO.month(), beforeDate(position), beforeId(position),
+                fetchSize);
+        });
+        calls.put(BankType.SH_BANK, () -> {
+            TimelineCursor.Position position = timelineCursor.position(BankType.SH_BANK);
+            return shBankFeignClient.getMonthlyTransactionHistoryPage(tokenHeader,
+                requestDTO.year(), requestDTO.month(), beforeDate(position), beforeId(position),
+                fetchSize);
+        });
+        calls.keySet().removeAll(sortedSources.keySet());
+
+        List<String> degradedBanks = List.of();
+        if (!calls.isEmpty()) {
+            BankFanOutResult<MonthlyTransactionHistoryListDTO> fanOutResult = bankFanOut.fanOut(
+                calls);
+            sortedSources.putAll(toSortedSources(fanOutResult));
+            degradedBanks = fanOutResult.degradedBankNames();
+        }
+
+        return toTimeline(sortedSources, timelineCursor, pageSize, degradedBanks);
+    }
+
+    // 최근 months 달의 추이, 캐시된 달은 한 번의 왕복으로 읽고 빠진 달의 빠진 은행만 한꺼번에 조회
+    @Override
+    public MonthlyTrendResponseDTO getMonthlyTrend(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, int months) {
+        String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
+        int monthCount = Math.min(Math.max(months, 1), MAX_TREND_MONTHS);
+
+        // 오래된 달부터, 인스턴스 메모리에 있는 달은 Redis 까지 가지 않음
+        YearMonth lastMonth = YearMonth.of(requestDTO.year(), requestDTO.month());
+        Map<MonthlyTransactionRequestDTO, Map<BankType, List<MonthlyTransactionHistoryDTO>>> sourcesByMonth =
+            new LinkedHashMap<>();
+        List<MonthlyTransactionRequestDTO> uncachedMonths = new ArrayList<>();
+        for (int i = monthCount - 1; i >= 0; i--) {
+            YearMonth yearMonth = lastMonth.minusMonths(i);
+            MonthlyTransactionRequestDTO monthRequest = MonthlyTransactionRequestDTO.fromDTO(
+                yearMonth.getYear(), yearMonth.getMonthValue());
+            Map<BankType, List<MonthlyTransactionHistoryDTO>> nearCached =
+                analysisNearCache.getMonthlySegments(trendMonthKey(monthRequest, phoneNumber));
+            sourcesByMonth.put(monthRequest, nearCached);
+            if (nearCached == null) {
+                uncachedMonths.add(monthRequest);
+            }
+        }
+
+        // 나머지 달의 은행 세그먼트를 한 번의 파이프라인으로 조회하고, 적재되지 않은 은행만 호출 대상으로 남김
+        List<MonthlyTransactionCache.SegmentLookup> lookups = monthlyTransactionCache.lookupAll(
+            uncachedMonths.stream()
+                .map(monthRequest -> trendMonthKey(monthRequest, phoneNumber))
+                .toList());
+        Map<MonthlyTransactionRequestDTO, Map<BankType, Supplier<MonthlyTransactionHistoryListDTO>>> calls =
+            new LinkedHashMap<>();
+        for (int i = 0; i < uncachedMonths.size(); i++) {
+            MonthlyTransactionRequestDTO monthRequest = uncachedMonths.get(i);
+            MonthlyTransactionCache.SegmentLookup lookup = lookups.get(i);
+            sourcesByMonth.put(monthRequest, lookup.segments());
+
+            if (!lookup.staleBanks().isEmpty()) {
+                String monthKey = trendMonthKey(monthRequest, phoneNumber);
+                cacheRefreshScheduler.schedule(monthKey,
+                    () -> refreshSegments(tokenHeader, phoneNumber, monthKey, monthRequest,
+                        lookup.staleBanks()));
+            }
+
+            Map<BankType, Supplier<MonthlyTransactionHistoryListDTO>> monthCalls =
+                monthlyHistoryCalls(tokenHeader, phoneNumber, monthRequest);
+            monthCalls.keySet().removeAll(lookup.segments().keySet());
+            if (!monthCalls.isEmpty()) {
+                calls.put(monthRequest, monthCalls);
+            }
+        }
+
+        // 빠진 달과 은행을 모두 동시에 조회 (열두 달이어도 마감 시간 한 번)
+        Map<MonthlyTransactionRequestDTO, BankFanOutResult<MonthlyTransactionHistoryListDTO>> fanOutResults =
+            calls.isEmpty() ? Map.of() : bankFanOut.fanOutEach(calls);
+
+        List<MonthlyTrendDTO> trend = new ArrayList<>(monthCount);
+        sourcesByMonth.forEach((monthRequest, sortedSources) -> {
+            List<String> degradedBanks = List.of();
+            BankFanOutResult<MonthlyTransactionHistoryListDTO> fanOutResult = fanOutResults.get(
+                monthRequest);
+            if (fanOutResult != null) {
+                String monthKey = trendMonthKey(monthRequest, phoneNumber);
+                toSortedSources(fanOutResult).forEach((bank, transactions) -> {
+                    monthlyTransactionCache.putSegment(monthKey, bank, transactions);
+                    sortedSources.put(bank, transactions);
+                });
+                degradedBanks = fanOutResult.degradedBankNames();
+                if (degradedBanks.isEmpty()) {
+                    analysisNearCache.putMonthlySegments(monthKey, sortedSources);
+                }
+            }
+            trend.add(MonthlyCategoryAggregator.summarize(monthRequest.year(),
+                monthRequest.month(), sortedSources.values(), degradedBanks));
+        });
+        return MonthlyTrendResponseDTO.of(trend);
+    }
+
+    private static String trendMonthKey(MonthlyTransactionRequestDTO monthRequest,
+        String phoneNumber) {
+        return MonthlyTransactionCache.monthKey(monthRequest.year(), monthRequest.month(),
+            phoneNumber);
+    }
+
+    private static LocalDateTime beforeDate(TimelineCursor.Position position) {
+        return position == null ? null : position.transactionDate();
+    }
+
+    private static Long beforeId(TimelineCursor.Position position) {
+        return position == null ? null : position.transactionId();
+    }
+
+    private Map<BankType, Supplier<MonthlyTransactionHistoryListDTO>> monthlyHistoryCalls(
+        String tokenHeader, String phoneNumber, MonthlyTransactionRequestDTO requestDTO) {
+        return new EnumMap<>(Map.of(
+            BankType.CH_BANK, () -> challetBankRepository.getTransactionByPhoneNumberAndYearMonth(
+                phoneNumber, requestDTO),
+            BankType.KB_BANK, () -> kbBankFeignClient.getMonthlyTransactionHistory(
+                tokenHeader, requestDTO.year(), requestDTO.month()),
+            BankType.NH_BANK, () -> nhBankFeignClient.getMonthlyTransactionHistory(
+                tokenHeader, requestDTO.year(), requestDTO.month()),
+            BankType.SH_BANK, () -> shBankFeignClient.getMonthlyTransactionHistory(
+                tokenHeader, requestDTO.year(), requestDTO.month())));
+    }
+
+    private MonthlyTransactionTimelineResponseDTO toTimeline(
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> sortedSources,
+        TimelineCursor timelineCursor, int pageSize, List<String> degradedBanks) {
+        MergeResult<BankType> page = MonthlyTransactionMerger.merge(sortedSources, pageSize);
+
+        // 어느 은행이든 꺼내지 않은 거래가 남아 있으면 다음 페이지가 있음
+        boolean hasNext = sortedSources.entrySet().stream()
+            .anyMatch(entry -> entry.getValue().size() > page.consumed().get(entry.getKey()));
+        String nextCursor = hasNext ? timelineCursor.advance(page.lastConsumed()).encode() : null;
+
+        return MonthlyTransactionTimelineResponseDTO.of(page.transactions(), nextCursor,
+            degradedBanks);
+    }
+
+    private static Map<BankType, List<MonthlyTransactionHistoryDTO>> toSortedSources(
+        BankFanOutResult<MonthlyTransactionHistoryListDTO> fanOutResult) {
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> sortedSources = new EnumMap<>(
+            BankType.class);
+        fanOutResult.results().forEach(
+            (bank, history) -> sortedSources.put(bank, history.monthlyTransactions()));
+        return sortedSources;
     }
 
     @Override
     public CategoryPercentageResponseListDTO getTransactionByGroupCategory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO) {
-        List<CategoryPercentageResponseDTO> myCategoryList = getMyCategoryPercent(tokenHeader,
-            requestDTO);
+        String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
+        String monthKey = MonthlyTransactionCache.monthKey(requestDTO.year(), requestDTO.month(),
+            phoneNumber);
+        CategoryPercentageResponseListDTO nearCached = analysisNearCache.getCategoryBreakdown(
+            monthKey);
+        if (nearCached != null) {
+            return nearCached;
+        }
+
+        return singleFlight.execute("category:" + monthKey,
+            () -> loadCategoryBreakdown(tokenHeader, phoneNumber, monthKey, requestDTO));
+    }
 
-        UserInfoMessageRequestDTO userInfo = challetFeignClient.getUserInfo(tokenHeader);
-        BankToAnalysisMessageRequestDTO message = BankToAnalysisMessageRequestDTO.ofRequestMessage(
+    private CategoryPercentageResponseListDTO loadCategoryBreakdown(String tokenHeader,
+        String phoneNumber, String monthKey, MonthlyTransactionRequestDTO requestDTO) {
+
+        // 코호트 집계는 키 하나만 조회하므로 코호트 크기와 무관
+        UserInfoMessageRequestDTO userInfo = cohortAggregateService.getUserCohort(phoneNumber);
+        Map<Category, Long> totalCategoryAmount = cohortAggregateService.getPeerCategoryAmounts(
             userInfo, requestDTO);
 
-        Map<Category, Long> totalCategoryAmount = getMyDataBankCategoryPayment(requestDTO, userInfo,
-            message);
+        // 아직 재집계되지 않은 코호트는 기존처럼 은행마다 직접 계산
+        // 구성원이 동기화된 코호트면 전화번호 목록 대신 코호트 키만 전달
+        BankToAnalysisMessageRequestDTO groupMessage = null;
+        if (totalCategoryAmount == null) {
+            String cohortKey = cohortAggregateService.getSyncedCohortKey(userInfo, phoneNumber);
+            if (cohortKey != null) {
+                groupMessage = BankToAnalysisMessageRequestDTO.ofCohortReference(cohortKey,
+                    requestDTO);
+            } else {
+                userInfo = challetFeignClient.getUserInfo(tokenHeader);
+                cohortAggregateService.syncMembershipInBackground(userInfo);
+                groupMessage = BankToAnalysisMessageRequestDTO.ofRequestMessage(userInfo,
+                    requestDTO);
+            }
+        }
+
+        // 한달 내역이 캐시에 있는 은행은 원격 조회 없이 내 카테고리 합계를 계산
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> monthlySegments =
+            analysisNearCache.getMonthlySegments(monthKey);
+        if (monthlySegments == null) {
+            monthlySegments = monthlyTransactionCache.lookup(monthKey).segments();
+        }
+
+        // 캐시에 없는 은행의 한달 내역과 코호트 합계만 은행마다 한 번의 요청으로 묶어서 조회
+        BankFanOutResult<AnalysisBundleResponseDTO> bundles = getAnalysisBundles(tokenHeader,
+            phoneNumber, monthKey, requestDTO, groupMessage, monthlySegments);
+
+        List<CategoryPercentageResponseDTO> myCategoryList = calculatePercent(
+            MonthlyCategoryAggregator.sumSpending(monthlySegments.values()));
+        if (groupMessage != null) {
+            totalCategoryAmount = combineBundles(bundles, AnalysisBundleResponseDTO::groupCategory);
+        }
         List<CategoryPercentageResponseDTO> categoryList = calculatePercent(totalCategoryAmount);
 
-        return CategoryPercentageResponseListDTO.fromCategoryList(userInfo, myCategoryList,
-            categoryList);
+        // 빠진 은행이 있으면 내 합계(와 직접 계산한 코호트 합계)가 일부 은행만 반영한 값이므로
+        // 빠진 은행을 응답에 표시하고, 다음 요청에서 다시 계산하도록 캐시하지 않음
+        CategoryPercentageResponseListDTO categoryBreakdown =
+            CategoryPercentageResponseListDTO.fromCategoryList(userInfo, myCategoryList,
+                categoryList, bundles.degradedBankNames());
+        if (!bundles.isDegraded()) {
+            analysisNearCache.putCategoryBreakdown(monthKey, categoryBreakdown);
+        }
+        return categoryBreakdown;
     }
 
-    private List<CategoryPercentageResponseDTO> getMyCategoryPercent(
-        String tokenHeader, MonthlyTransactionRequestDTO requestDTO) {
+    // 코호트 요약은 카테고리마다 고정 크기라 코호트 인원과 무관하게 키 하나만 조회
+    @Override
+    public List<CategoryPercentileResponseDTO> getCategoryPercentile(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO) {
         String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
-        Map<Category, Long> chBankMyCategory = challetBankRepository.getMyTransactionByCategory(
-            phoneNumber, requestDTO);
-
-        Map<Category, Long> kbBankMyCategory = kbBankFeignClient.getMyTransactionCategory(
-            tokenHeader,
-            requestDTO.year(), requestDTO.month());
-        Map<Category, Long> nhBankMyCategory = nhBankFeignClient.getMyTransactionCategory(
-            tokenHeader,
-            requestDTO.year(), requestDTO.month());
-        Map<Category, Long> shBankMyCategory = shBankFeignClient.getMyTransactionCategory(
-            tokenHeader,
-            requestDTO.year(), requestDTO.month());
+        UserInfoMessageRequestDTO cohort = cohortAggregateService.getUserCohort(phoneNumber);
+        Map<Category, SpendingSketch> peerSketches = cohortAggregateService.getPeerSpendingSketches(
+            cohort, requestDTO);
 
-        Map<Category, Long> totalCategoryAmount = new HashMap<>();
-        combineCategoryAmounts(totalCategoryAmount, chBankMyCategory);
-        combineCategoryAmounts(totalCategoryAmount, kbBankMyCategory);
-        combineCategoryAmounts(totalCategoryAmount, nhBankMyCategory);
-        combineCategoryAmounts(totalCategoryAmount, shBankMyCategory);
+        // 아직 재집계되지 않은 코호트는 은행마다 사용자별 합계를 받아 요약
+        if (peerSketches == null) {
+            String cohortKey = cohortAggregateService.getSyncedCohortKey(cohort, phoneNumber);
+            BankToAnalysisMessageRequestDTO groupMessage;
+            if (cohortKey != null) {
+                groupMessage = BankToAnalysisMessageRequestDTO.ofCohortReference(cohortKey,
+                    requestDTO);
+            } else {
+                UserInfoMessageRequestDTO cohortWithMembers = challetFeignClient.getUserInfo(
+                    tokenHeader);
+                cohortAggregateService.syncMembershipInBackground(cohortWithMembers);
+                groupMessage = BankToAnalysisMessageRequestDTO.ofRequestMessage(cohortWithMembers,
+                    requestDTO);
+            }
+            peerSketches = singleFlight.execute(
+                "sketch:" + CohortAggregateStore.cohortKey(cohort.age(), cohort.gender(), requestDTO),
+                () -> cohortAggregateService.collectPeerSpendingSketches(cohort, groupMessage));
+        }
+
+        // 내 카테고리 합계는 캐시된 한달 내역에서 계산
+        Map<Category, Long> myCategoryAmounts = MonthlyCategoryAggregator.sumSpending(
+            List.of(getMonthlyTransactionHistory(tokenHeader, requestDTO).monthlyTransactions()));
 
-        List<CategoryPercentageResponseDTO> myCategoryList = calculatePercent(totalCategoryAmount);
-        return myCategoryList;
+        List<CategoryPercentileResponseDTO> percentiles = new ArrayList<>();
+        for (Map.Entry<Category, Long> entry : myCategoryAmounts.entrySet()) {
+            SpendingSketch peerSketch = peerSketches.get(entry.getKey());
+            if (peerSketch == null || peerSketch.count() == 0) {
+                continue;
+            }
+            long myAmount = -entry.getValue();
+            percentiles.add(CategoryPercentileResponseDTO.of(entry.getKey(), myAmount,
+                peerSketch.percentileOf(myAmount), peerSketch.count()));
+        }
+        return percentiles;
     }
 
-    private Map<Category, Long> getMyDataBankCategoryPayment(
-        MonthlyTransactionRequestDTO requestDTO,
-        UserInfoMessageRequestDTO userInfo, BankToAnalysisMessageRequestDTO message) {
-        Map<Category, Long> chBankCategory = challetBankRepository.getTransactionByGroupCategory(
-            userInfo, requestDTO);
-        Map<Category, Long> kbBankCategory = kbBankFeignClient.getTransactionGroupCategory(message);
-        Map<Category, Long> nhBankCategory = nhBankFeignClient.getTransactionGroupCategory(message);
-        Map<Category, Long> shBankCategory = shBankFeignClient.getTransactionGroupCategory(message);
+    @Override
+    public List<CacheTierStatsDTO> getCacheStats() {
+        List<CacheTierStatsDTO> stats = new ArrayList<>(analysisNearCache.stats());
+        stats.add(monthlyTransactionCache.stats());
+        stats.add(singleFlight.stats());
+        stats.add(cacheRefreshScheduler.stats());
+        return stats;
+    }
+
+    // 캐시에 없는 은행의 한달 내역과 코호트 카테고리 합계를 은행당 한 번에 조회
+    // 받아온 한달 내역은 세그먼트로 적재하고 monthlySegments 에도 추가
+    private BankFanOutResult<AnalysisBundleResponseDTO> getAnalysisBundles(String tokenHeader,
+        String phoneNumber, String monthKey, MonthlyTransactionRequestDTO requestDTO,
+        BankToAnalysisMessageRequestDTO groupMessage,
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> monthlySegments) {
+        Map<BankType, AnalysisBundleRequestDTO> bundleRequests = new EnumMap<>(BankType.class);
+        for (BankType bank : BankType.values()) {
+            boolean includeMonthlyTransactions = !monthlySegments.containsKey(bank);
+            if (!includeMonthlyTransactions && groupMessage == null) {
+                continue;
+            }
+            bundleRequests.put(bank, AnalysisBundleRequestDTO
+                .builder()
+                .requestDTO(requestDTO)
+                .includeMonthlyTransactions(includeMonthlyTransactions)
+                .groupCategoryMessage(groupMessage)
+                .build());
+        }
+
+        Map<BankType, Supplier<AnalysisBundleResponseDTO>> calls = new EnumMap<>(Map.of(
+            BankType.CH_BANK, () -> getChBankAnalysisBundle(phoneNumber,
+                bundleRequests.get(BankType.CH_BANK)),
+            BankType.KB_BANK, () -> kbBankFeignClient.getAnalysisBundle(tokenHeader,
+                bundleRequests.get(BankType.KB_BANK)),
+            BankType.NH_BANK, () -> nhBankFeignClient.getAnalysisBundle(tokenHeader,
+                bundleRequests.get(BankType.NH_BANK)),
+            BankType.SH_BANK, () -> shBankFeignClient.getAnalysisBundle(tokenHeader,
+                bundleRequests.get(BankType.SH_BANK))));
+        calls.keySet().retainAll(bundleRequests.keySet());
+        if (calls.isEmpty()) {
+            return new BankFanOutResult<>(Map.of(), Set.of());
+        }
+        BankFanOutResult<AnalysisBundleResponseDTO> bundles = bankFanOut.fanOut(calls);
 
+        bundles.results().forEach((bank, bundle) -> {
+            if (bundle.monthlyTransactions() != null) {
+                List<MonthlyTransactionHistoryDTO> transactions =
+                    bundle.monthlyTransactions().monthlyTransactions();
+                monthlyTransactionCache.putSegment(monthKey, bank, transactions);
+                monthlySegments.put(bank, transactions);
+            }
+        });
+        return bundles;
+    }
+
+    private AnalysisBundleResponseDTO getChBankAnalysisBundle(String phoneNumber,
+        AnalysisBundleRequestDTO bundleRequest) {
+        return AnalysisBundleResponseDTO
+            .builder()
+            .monthlyTransactions(bundleRequest.includeMonthlyTransactions()
+                ? challetBankRepository.getTransactionByPhoneNumberAndYearMonth(phoneNumber,
+                bundleRequest.requestDTO())
+                : null)
+            .myCategory(bundleRequest.includeMyCategory()
+                ? challetBankRepository.getMyTransactionByCategory(phoneNumber,
+                bundleRequest.requestDTO())
+                : null)
+            .groupCategory(bundleRequest.groupCategoryMessage() != null
+                ? challetBankRepository.getTransactionByGroupCategory(
+                bundleRequest.groupCategoryMessage())
+                : null)
+            .build();
+    }
+
+    private Map<Category, Long> combineBundles(BankFanOutResult<AnalysisBundleResponseDTO> bundles,
+        Function<AnalysisBundleResponseDTO, Map<Category, Long>> categoryOf) {
         Map<Category, Long> totalCategoryAmount = new HashMap<>();
-        combineCategoryAmounts(totalCategoryAmount, chBankCategory);
-        combineCategoryAmounts(totalCategoryAmount, kbBankCategory);
-        combineCategoryAmounts(totalCategoryAmount, nhBankCategory);
-        combineCategoryAmounts(totalCategoryAmount, shBankCategory);
+        for (AnalysisBundleResponseDTO bundle : bundles.results().values()) {
+            combineCategoryAmounts(totalCategoryAmount, categoryOf.apply(bundle));
+        }
         return totalCategoryAmount;
     }
 
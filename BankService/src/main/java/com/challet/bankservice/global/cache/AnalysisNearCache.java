@@ -0,0 +1,122 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.response.CacheTierStatsDTO;
+import com.challet.bankservice.domain.dto.response.CategoryPercentageResponseListDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 분석 결과(은행별 한달 내역, 카테고리 통계)를 Redis 앞단의 인스턴스 메모리에 잠시 보관한다.
+ * 거래가 바뀌면 Redis 채널로 월 키를 알리고, 모든 BankService 인스턴스가 해당 월 항목을 지운다.
+ * Redis 세그먼트도 바뀌는 경우에는 세그먼트를 고친 뒤에 알려서, 다른 인스턴스가 이전 세그먼트로 다시 채우지 않게 한다.
+ */
+@Slf4j
+@Component
+public class AnalysisNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "analysis:month-invalidated";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NearCache<String, Map<BankType, List<MonthlyTransactionHistoryDTO>>> monthlySegments;
+    private final NearCache<String, CategoryPercentageResponseListDTO> categoryBreakdowns;
+
+    public AnalysisNearCache(StringRedisTemplate stringRedisTemplate,
+        @Value("${analysis.near-cache.max-entries:5000}") int maxEntries,
+        @Value("${analysis.near-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.monthlySegments = new NearCache<>("near-monthly-history", maxEntries, ttl);
+        this.categoryBreakdowns = new NearCache<>("near-category", maxEntries, ttl);
+    }
+
+    // 호출한 쪽에서 수정할 수 있도록 복사본 반환
+    public Map<BankType, List<MonthlyTransactionHistoryDTO>> getMonthlySegments(String monthKey) {
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> segments = monthlySegments.get(monthKey);
+        return segments == null ? null : new EnumMap<>(segments);
+    }
+
+    public void putMonthlySegments(String monthKey,
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> segments) {
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> snapshot = new EnumMap<>(BankType.class);
+        segments.forEach((bank, transactions) -> snapshot.put(bank, List.copyOf(transactions)));
+        monthlySegments.put(monthKey, snapshot);
+    }
+
+    public CategoryPercentageResponseListDTO getCategoryBreakdown(String monthKey) {
+        return categoryBreakdowns.get(monthKey);
+    }
+
+    public void putCategoryBreakdown(String monthKey,
+        CategoryPercentageResponseListDTO categoryBreakdown) {
+        categoryBreakdowns.put(monthKey, categoryBreakdown);
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 알림 (커밋 전 데이터가 다시 캐시되는 것을 방지)
+    public void publishInvalidation(String monthKey) {
+        publishInvalidationAfter(List.of(monthKey), () -> {
+        });
+    }
+
+    // Redis 세그먼트를 고치는 update 를 먼저 실행하고 나서 알림
+    // 알림을 받은 인스턴스가 Redis 에서 다시 채울 때 고쳐지기 전 세그먼트를 읽지 않게 함
+    // update 가 실패해도 알림은 보냄 (update 쪽에서 세그먼트를 지우지 못했으면 TTL 로 정리됨)
+    public void publishInvalidationAfter(Collection<String> monthKeys, Runnable update) {
+        Runnable publish = () -> {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                log.warn("분석 캐시 Redis 반영 실패: {} {}", monthKeys, e.getMessage());
+            }
+            monthKeys.forEach(this::invalidateEverywhere);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publish.run();
+                    }
+                });
+            return;
+        }
+        publish.run();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    public List<CacheTierStatsDTO> stats() {
+        return List.of(monthlySegments.stats(), categoryBreakdowns.stats());
+    }
+
+    private void invalidateEverywhere(String monthKey) {
+        // 발행에 실패해도 자기 인스턴스는 바로 비우고, 다른 인스턴스는 TTL 로 정리됨
+        evict(monthKey);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, monthKey);
+        } catch (RuntimeException e) {
+            log.warn("분석 캐시 무효화 발행 실패: {} {}", monthKey, e.getMessage());
+        }
+    }
+
+    private void evict(String monthKey) {
+        monthlySegments.invalidate(monthKey);
+        categoryBreakdowns.invalidate(monthKey);
+    }
+}
@@ -0,0 +1,76 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.response.CacheTierStatsDTO;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 소프트 만료된 캐시를 응답과 별도로 다시 적재한다.
+ * 같은 키는 한 번에 하나만 갱신하고, 실행기 대기열이 차면 건너뛴다 (다음 요청에서 다시 시도).
+ * 최근 조회가 많은 키는 소프트 만료 전에 미리 갱신해서 만료 직후의 첫 요청도 캐시에서 끝나게 한다.
+ */
+@Slf4j
+@Component
+public class CacheRefreshScheduler {
+
+    private final ExecutorService executor;
+    private final int hotThreshold;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final NearCache<String, AtomicInteger> recentAccesses;
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public CacheRefreshScheduler(@Qualifier("cacheRefreshExecutor") ExecutorService executor,
+        @Value("${analysis.refresh.hot-threshold:3}") int hotThreshold,
+        @Value("${analysis.refresh.max-tracked-keys:10000}") int maxTrackedKeys) {
+        this.executor = executor;
+        this.hotThreshold = hotThreshold;
+        this.recentAccesses = new NearCache<>("recent-accesses", maxTrackedKeys,
+            Duration.ofMinutes(10));
+    }
+
+    // 조회 횟수를 세고, 최근 조회가 기준 이상이면 true
+    public boolean recordAccess(String key) {
+        AtomicInteger accesses = recentAccesses.get(key);
+        if (accesses == null) {
+            accesses = new AtomicInteger();
+            recentAccesses.put(key, accesses);
+        }
+        return accesses.incrementAndGet() >= hotThreshold;
+    }
+
+    public void schedule(String key, Runnable refresh) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (RuntimeException e) {
+                    log.warn("캐시 갱신 실패: {} {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+            scheduled.increment();
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            rejected.increment();
+        }
+    }
+
+    // 예약된 갱신 수(hits)와 대기열이 차서 건너뛴 수(misses)
+    public CacheTierStatsDTO stats() {
+        return CacheTierStatsDTO.of("refresh-ahead", scheduled.sum(), rejected.sum());
+    }
+}
@@ -0,0 +1,97 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.global.util.CategoryMatcher;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 계좌별 카테고리 매처를 인스턴스 메모리에 보관한다.
+ * 매핑이 바뀌면 Redis 채널로 계좌 id 를 알리고, 모든 BankService 인스턴스가 해당 매처를 지운다.
+ * 계좌별로 무효화할 때마다 세대 번호를 올려서, 무효화 전에 읽기 시작한 매핑으로 만든 매처는 캐시에 넣지 않는다.
+ * 세대 번호가 계좌별이라 다른 계좌의 무효화가 잦아도 이 계좌의 매처는 계속 캐시된다.
+ */
+@Slf4j
+@Component
+public class CategoryMatcherCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "category-matcher:invalidated";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NearCache<Long, CategoryMatcher> matchers;
+    // 무효화된 적 없는 계좌는 0 세대
+    private final Map<Long, Long> generations = new HashMap<>();
+
+    public CategoryMatcherCache(StringRedisTemplate stringRedisTemplate,
+        @Value("${category.matcher.max-entries:10000}") int maxEntries,
+        @Value("${category.matcher.ttl-minutes:30}") long ttlMinutes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.matchers = new NearCache<>("category-matcher", maxEntries,
+            Duration.ofMinutes(ttlMinutes));
+    }
+
+    public CategoryMatcher get(Long accountId, Supplier<CategoryMatcher> loader) {
+        CategoryMatcher matcher = matchers.get(accountId);
+        if (matcher != null) {
+            return matcher;
+        }
+
+        long loadedGeneration = currentGeneration(accountId);
+        matcher = loader.get();
+        synchronized (this) {
+            if (generations.getOrDefault(accountId, 0L) == loadedGeneration) {
+                matchers.put(accountId, matcher);
+            }
+        }
+        return matcher;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 알림 (커밋 전 매핑으로 매처가 다시 만들어지는 것을 방지)
+    public void publishInvalidation(Long accountId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        invalidateEverywhere(accountId);
+                    }
+                });
+            return;
+        }
+        invalidateEverywhere(accountId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evict(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    private void invalidateEverywhere(Long accountId) {
+        // 발행에 실패해도 자기 인스턴스는 바로 비우고, 다른 인스턴스는 TTL 로 정리됨
+        evict(accountId);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(accountId));
+        } catch (RuntimeException e) {
+            log.warn("카테고리 매처 무효화 발행 실패: {} {}", accountId, e.getMessage());
+        }
+    }
+
+    private synchronized void evict(Long accountId) {
+        generations.merge(accountId, 1L, Long::sum);
+        matchers.invalidate(accountId);
+    }
+
+    private synchronized long currentGeneration(Long accountId) {
+        return generations.getOrDefault(accountId, 0L);
+    }
+}
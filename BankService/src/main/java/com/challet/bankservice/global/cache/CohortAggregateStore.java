@@ -0,0 +1,292 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
+import com.challet.bankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.bankservice.domain.dto.response.CohortSpendingDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import com.challet.bankservice.domain.entity.Category;
+import com.challet.bankservice.global.util.SpendingSketch;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 나이대/성별/월 단위 코호트의 카테고리별 결제 합계와 결제한 사람 수를 Redis 해시로 보관한다.
+ * 해시 필드는 "{은행}:{카테고리}:sum", "{은행}:{카테고리}:count" 이고, 야간 재집계가 통째로 교체한다.
+ * 챌렛 은행은 사용자별 금액을 따로 두어 결제가 들어올 때마다 합계와 사람 수를 바로 반영한다.
+ * KB/NH/SH 몫은 야간 재집계 시점(reconciledAt) 기준이라 최대 하루 늦다. 이 은행들의 QR 결제는 카테고리 없이,
+ * 입금은 양수 금액으로 저장되어 집계 조건에 들지 않으므로 그 사이 바뀌는 값은 재집계 때 함께 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CohortAggregateStore {
+
+    private static final Duration AGGREGATE_TTL = Duration.ofDays(62);
+    private static final Duration MEMBERSHIP_TTL = Duration.ofDays(1);
+    private static final String RECONCILED_AT = "reconciledAt";
+
+    // 재집계가 끝나도 지우지 않고 만료까지 남겨 같은 날 다른 인스턴스가 다시 돌지 않게 함
+    private static final Duration RECONCILE_CLAIM_TTL = Duration.ofHours(20);
+
+    // 재집계된 해시가 있을 때만 반영, 사용자 금액이 0 에서 바뀌거나 0 이 되면 사람 수를 조정
+    private static final RedisScript<Long> APPLY_DELTA_IF_RECONCILED = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+            + "local before = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0') "
+            + "local after = before + tonumber(ARGV[2]) "
+            + "if after == 0 then redis.call('HDEL', KEYS[2], ARGV[1]) "
+            + "else redis.call('HSET', KEYS[2], ARGV[1], after) end "
+            + "redis.call('HINCRBY', KEYS[1], ARGV[3], ARGV[2]) "
+            + "if before == 0 and after ~= 0 then redis.call('HINCRBY', KEYS[1], ARGV[4], 1) "
+            + "elseif before ~= 0 and after == 0 then redis.call('HINCRBY', KEYS[1], ARGV[4], -1) end "
+            + "local ttl = redis.call('PTTL', KEYS[1]) "
+            + "if ttl > 0 then redis.call('PEXPIRE', KEYS[2], ttl) end "
+            + "return 1",
+        Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public static String cohortKey(int age, boolean gender, MonthlyTransactionRequestDTO requestDTO) {
+        return "cohort:" + age + ":" + gender + ":" + requestDTO.year() + "-" + requestDTO.month();
+    }
+
+    // 은행별 평균(합계 / 사람 수)을 더한 값, 아직 재집계되지 않은 코호트면 null
+    public Map<Category, Long> getPeerCategoryAmounts(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO) {
+        Map<Object, Object> fields = stringRedisTemplate.opsForHash()
+            .entries(cohortKey(cohort.age(), cohort.gender(), requestDTO));
+        if (!fields.containsKey(RECONCILED_AT)) {
+            return null;
+        }
+
+        Map<Category, Long> categoryAmounts = new EnumMap<>(Category.class);
+        for (BankType bank : BankType.values()) {
+            for (Category category : Category.values()) {
+                long sum = toLong(fields.get(sumField(bank, category)));
+                long count = toLong(fields.get(countField(bank, category)));
+                if (count > 0) {
+                    categoryAmounts.merge(category, sum / count, Long::sum);
+                }
+            }
+        }
+        return categoryAmounts;
+    }
+
+    // 챌렛 은행 결제 한 건 반영 (재집계 전이면 무시하고 다음 재집계에 포함)
+    public boolean applyChBankDelta(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO, String phoneNumber, Category category,
+        long amount) {
+        String cohortKey = cohortKey(cohort.age(), cohort.gender(), requestDTO);
+        Long applied = stringRedisTemplate.execute(APPLY_DELTA_IF_RECONCILED,
+            List.of(cohortKey, spendersKey(cohortKey, category)), phoneNumber,
+            String.valueOf(amount), sumField(BankType.CH_BANK, category),
+            countField(BankType.CH_BANK, category));
+        return applied != null && applied == 1;
+    }
+
+    // 코호트 한 달 집계를 통째로 교체
+    public void replace(UserInfoMessageRequestDTO cohort, MonthlyTransactionRequestDTO requestDTO,
+        Map<BankType, List<CategoryAmountResponseDTO>> bankTotals,
+        List<CohortSpendingDTO> chBankSpendings) {
+        String cohortKey = cohortKey(cohort.age(), cohort.gender(), requestDTO);
+
+        Map<String, String> fields = new HashMap<>();
+        bankTotals.forEach((bank, totals) -> {
+            for (CategoryAmountResponseDTO total : totals) {
+                fields.put(sumField(bank, total.category()), String.valueOf(total.totalAmount()));
+                fields.put(countField(bank, total.category()), String.valueOf(total.count()));
+            }
+        });
+
+        // 챌렛 은행은 사용자별 금액으로 합계와 사람 수를 만들어 증분 반영과 기준을 맞춤
+        Map<Category, Map<String, String>> spenders = new EnumMap<>(Category.class);
+        Map<Category, long[]> chBankTotals = new EnumMap<>(Category.class);
+        for (CohortSpendingDTO spending : chBankSpendings) {
+            spenders.computeIfAbsent(spending.category(), category -> new HashMap<>())
+                .put(spending.phoneNumber(), String.valueOf(spending.totalAmount()));
+            long[] total = chBankTotals.computeIfAbsent(spending.category(),
+                category -> new long[2]);
+            total[0] += spending.totalAmount();
+            total[1]++;
+        }
+        chBankTotals.forEach((category, total) -> {
+            fields.put(sumField(BankType.CH_BANK, category), String.valueOf(total[0]));
+            fields.put(countField(BankType.CH_BANK, category), String.valueOf(total[1]));
+        });
+        fields.put(RECONCILED_AT, LocalDateTime.now().toString());
+
+        List<String> keys = new ArrayList<>();
+        keys.add(cohortKey);
+        for (Category category : Category.values()) {
+            keys.add(spendersKey(cohortKey, category));
+        }
+
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                redis.multi();
+                redis.delete(keys);
+                redis.opsForHash().putAll(cohortKey, fields);
+                redis.expire(cohortKey, AGGREGATE_TTL);
+                spenders.forEach((category, amounts) -> {
+                    String spendersKey = spendersKey(cohortKey, category);
+                    redis.opsForHash().putAll(spendersKey, amounts);
+                    redis.expire(spendersKey, AGGREGATE_TTL);
+                });
+                return redis.exec();
+            }
+        });
+    }
+
+    // 사용자별 네 은행 합계로 만든 카테고리별 금액 분포 요약, 없으면 null
+    public Map<Category, SpendingSketch> getSpendingSketches(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO) {
+        Map<Object, Object> fields = stringRedisTemplate.opsForHash()
+            .entries(sketchKey(cohortKey(cohort.age(), cohort.gender(), requestDTO)));
+        if (fields.isEmpty()) {
+            return null;
+        }
+
+        Map<Category, SpendingSketch> sketches = new EnumMap<>(Category.class);
+        fields.forEach((category, encoded) -> sketches.put(Category.valueOf(category.toString()),
+            SpendingSketch.decode(encoded.toString())));
+        return sketches;
+    }
+
+    // 카테고리마다 고정 크기 요약 하나씩, 코호트 인원과 무관하게 해시 하나로 교체
+    public void replaceSpendingSketches(UserInfoMessageRequestDTO cohort,
+        MonthlyTransactionRequestDTO requestDTO, Map<Category, SpendingSketch> sketches) {
+        String sketchKey = sketchKey(cohortKey(cohort.age(), cohort.gender(), requestDTO));
+
+        Map<String, String> fields = new HashMap<>();
+        sketches.forEach((category, sketch) -> fields.put(category.name(), sketch.encode()));
+
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                redis.multi();
+                redis.delete(sketchKey);
+                if (!fields.isEmpty()) {
+                    redis.opsForHash().putAll(sketchKey, fields);
+                    redis.expire(sketchKey, AGGREGATE_TTL);
+                }
+                return redis.exec();
+            }
+        });
+    }
+
+    // 사용자 -> 코호트 조회 결과 (전화번호 목록은 비어 있음)
+    public UserInfoMessageRequestDTO getCachedCohort(String phoneNumber) {
+        String cached = stringRedisTemplate.opsForValue().get(membershipKey(phoneNumber));
+        if (cached == null) {
+            return null;
+        }
+        String[] parts = cached.split(":");
+        return UserInfoMessageRequestDTO.builder()
+            .age(Integer.parseInt(parts[0]))
+            .gender(Boolean.parseBoolean(parts[1]))
+            .phoneNumbers(List.of())
+            .build();
+    }
+
+    public void cacheCohort(String phoneNumber, UserInfoMessageRequestDTO cohort) {
+        stringRedisTemplate.opsForValue()
+            .set(membershipKey(phoneNumber), membershipValue(cohort), MEMBERSHIP_TTL);
+    }
+
+    // 재집계 때 코호트 구성원 전체를 한 번의 왕복으로 갱신
+    public void cacheCohortMembers(UserInfoMessageRequestDTO cohort) {
+        String value = membershipValue(cohort);
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                for (String phoneNumber : cohort.phoneNumbers()) {
+                    redis.opsForValue().set(membershipKey(phoneNumber), value, MEMBERSHIP_TTL);
+                }
+                return null;
+            }
+        });
+    }
+
+    // 같은 날 같은 달의 재집계는 먼저 잡은 인스턴스 하나만 수행
+    public boolean claimReconcile(MonthlyTransactionRequestDTO requestDTO, LocalDate runDate) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(
+            reconcileClaimKey(requestDTO, runDate), LocalDateTime.now().toString(),
+            RECONCILE_CLAIM_TTL));
+    }
+
+    // 재집계를 시작하지 못했을 때만 풀어서 다시 실행할 수 있게 함
+    public void releaseReconcile(MonthlyTransactionRequestDTO requestDTO, LocalDate runDate) {
+        stringRedisTemplate.delete(reconcileClaimKey(requestDTO, runDate));
+    }
+
+    // 모든 은행에 동기화된 코호트 구성원 버전, 없으면 null
+    public Long getSyncedMembershipVersion(String cohortKey) {
+        String version = stringRedisTemplate.opsForValue().get(syncedMembershipKey(cohortKey));
+        return version == null ? null : Long.valueOf(version);
+    }
+
+    public void markMembershipSynced(String cohortKey, long version) {
+        stringRedisTemplate.opsForValue()
+            .set(syncedMembershipKey(cohortKey), String.valueOf(version), AGGREGATE_TTL);
+    }
+
+    private static String sumField(BankType bank, Category category) {
+        return bank.getBankName() + ":" + category.name() + ":sum";
+    }
+
+    private static String countField(BankType bank, Category category) {
+        return bank.getBankName() + ":" + category.name() + ":count";
+    }
+
+    private static String spendersKey(String cohortKey, Category category) {
+        return cohortKey + ":spenders:" + BankType.CH_BANK.getBankName() + ":" + category.name();
+    }
+
+    private static String sketchKey(String cohortKey) {
+        return cohortKey + ":sketch";
+    }
+
+    private static String reconcileClaimKey(MonthlyTransactionRequestDTO requestDTO,
+        LocalDate runDate) {
+        return "cohort-reconcile:" + requestDTO.year() + "-" + requestDTO.month() + ":" + runDate;
+    }
+
+    private static String membershipKey(String phoneNumber) {
+        return "cohort-of:" + phoneNumber;
+    }
+
+    private static String syncedMembershipKey(String cohortKey) {
+        return "cohort-members:" + cohortKey;
+    }
+
+    private static String membershipValue(UserInfoMessageRequestDTO cohort) {
+        return cohort.age() + ":" + cohort.gender();
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : Long.parseLong(value.toString());
+    }
+}
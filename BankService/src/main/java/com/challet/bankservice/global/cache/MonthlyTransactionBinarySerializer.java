@@ -0,0 +1,290 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import com.challet.bankservice.domain.entity.Category;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 한달 거래 내역 한 건을 필드 순서가 고정된 바이너리로 직렬화한다.
+ * 은행 이름과 카테고리는 고정 사전 번호로, 숫자로만 된 계좌번호는 정수로, 거래 시각은 epoch millis 로 저장하고
+ * 정수 값은 모두 가변 길이로 기록한다. 첫 바이트(MAGIC)로 JSON 과 구분한다.
+ */
+public class MonthlyTransactionBinarySerializer implements
+    RedisSerializer<MonthlyTransactionHistoryDTO> {
+
+    // JSON 은 항상 '{' 로 시작하므로 겹치지 않는 값 사용
+    private static final byte MAGIC = (byte) 0xB7;
+    private static final byte VERSION = 1;
+
+    private static final BankType[] BANKS = BankType.values();
+    private static final Category[] CATEGORIES = Category.values();
+
+    private static final int BANK_NAME = 1;
+    private static final int ACCOUNT_NUMBER = 1 << 1;
+    private static final int BALANCE = 1 << 2;
+    private static final int TRANSACTION_DATE = 1 << 3;
+    private static final int DEPOSIT = 1 << 4;
+    private static final int WITHDRAWAL = 1 << 5;
+    private static final int TRANSACTION_BALANCE = 1 << 6;
+    private static final int TRANSACTION_AMOUNT = 1 << 7;
+    private static final int CATEGORY = 1 << 8;
+    private static final int TRANSACTION_ID = 1 << 9;
+
+    // 사전에 없는 은행 이름이나 숫자가 아닌 계좌번호는 문자열 그대로 저장
+    private static final int RAW_STRING = 0xFF;
+    private static final int MAX_NUMERIC_ACCOUNT_DIGITS = 18;
+
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] serialize(MonthlyTransactionHistoryDTO transaction) {
+        if (transaction == null) {
+            return null;
+        }
+
+        Writer out = new Writer();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarLong(presence(transaction));
+
+        if (transaction.bankName() != null) {
+            writeBankName(out, transaction.bankName());
+        }
+        if (transaction.accountNumber() != null) {
+            writeAccountNumber(out, transaction.accountNumber());
+        }
+        if (transaction.balance() != null) {
+            out.writeZigZag(transaction.balance());
+        }
+        if (transaction.transactionDate() != null) {
+            LocalDateTime date = transaction.transactionDate();
+            out.writeZigZag(date.toInstant(ZoneOffset.UTC).toEpochMilli());
+            // 밀리초 아래 자리는 대부분 0 이라 1바이트
+            out.writeVarLong(date.getNano() % 1_000_000);
+        }
+        if (transaction.deposit() != null) {
+            out.writeString(transaction.deposit());
+        }
+        if (transaction.withdrawal() != null) {
+            out.writeString(transaction.withdrawal());
+        }
+        if (transaction.transactionBalance() != null) {
+            out.writeZigZag(transaction.transactionBalance());
+        }
+        if (transaction.transactionAmount() != null) {
+            out.writeZigZag(transaction.transactionAmount());
+        }
+        if (transaction.category() != null) {
+            out.writeByte(transaction.category().ordinal());
+        }
+        if (transaction.transactionId() != null) {
+            out.writeVarLong(transaction.transactionId());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public MonthlyTransactionHistoryDTO deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isBinary(bytes)) {
+            throw new SerializationException("바이너리 거래 내역 형식이 아닙니다.");
+        }
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            in.get();
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new SerializationException("지원하지 않는 거래 내역 버전입니다: " + version);
+            }
+            long presence = readVarLong(in);
+
+            MonthlyTransactionHistoryDTO.MonthlyTransactionHistoryDTOBuilder builder =
+                MonthlyTransactionHistoryDTO.builder();
+            if ((presence & BANK_NAME) != 0) {
+                builder.bankName(readBankName(in));
+            }
+            if ((presence & ACCOUNT_NUMBER) != 0) {
+                builder.accountNumber(readAccountNumber(in));
+            }
+            if ((presence & BALANCE) != 0) {
+                builder.balance(readZigZag(in));
+            }
+            if ((presence & TRANSACTION_DATE) != 0) {
+                long epochMillis = readZigZag(in);
+                int nanosOfMilli = (int) readVarLong(in);
+                builder.transactionDate(LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(epochMillis, 1000),
+                    (int) Math.floorMod(epochMillis, 1000) * 1_000_000 + nanosOfMilli,
+                    ZoneOffset.UTC));
+            }
+            if ((presence & DEPOSIT) != 0) {
+                builder.deposit(readString(in));
+            }
+            if ((presence & WITHDRAWAL) != 0) {
+                builder.withdrawal(readString(in));
+            }
+            if ((presence & TRANSACTION_BALANCE) != 0) {
+                builder.transactionBalance(readZigZag(in));
+            }
+            if ((presence & TRANSACTION_AMOUNT) != 0) {
+                builder.transactionAmount(readZigZag(in));
+            }
+            if ((presence & CATEGORY) != 0) {
+                builder.category(CATEGORIES[in.get()]);
+            }
+            if ((presence & TRANSACTION_ID) != 0) {
+                builder.transactionId(readVarLong(in));
+            }
+            return builder.build();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new SerializationException("손상된 거래 내역 데이터입니다.", e);
+        }
+    }
+
+    private static long presence(MonthlyTransactionHistoryDTO transaction) {
+        long presence = 0;
+        presence |= transaction.bankName() != null ? BANK_NAME : 0;
+        presence |= transaction.accountNumber() != null ? ACCOUNT_NUMBER : 0;
+        presence |= transaction.balance() != null ? BALANCE : 0;
+        presence |= transaction.transactionDate() != null ? TRANSACTION_DATE : 0;
+        presence |= transaction.deposit() != null ? DEPOSIT : 0;
+        presence |= transaction.withdrawal() != null ? WITHDRAWAL : 0;
+        presence |= transaction.transactionBalance() != null ? TRANSACTION_BALANCE : 0;
+        presence |= transaction.transactionAmount() != null ? TRANSACTION_AMOUNT : 0;
+        presence |= transaction.category() != null ? CATEGORY : 0;
+        presence |= transaction.transactionId() != null ? TRANSACTION_ID : 0;
+        return presence;
+    }
+
+    private static void writeBankName(Writer out, String bankName) {
+        for (BankType bank : BANKS) {
+            if (bank.getBankName().equals(bankName)) {
+                out.writeByte(bank.ordinal());
+                return;
+            }
+        }
+        out.writeByte(RAW_STRING);
+        out.writeString(bankName);
+    }
+
+    private static String readBankName(ByteBuffer in) {
+        int code = in.get() & 0xFF;
+        return code == RAW_STRING ? readString(in) : BANKS[code].getBankName();
+    }
+
+    // 숫자로만 된 계좌번호는 자릿수 + 정수로 저장 (앞자리 0 보존)
+    private static void writeAccountNumber(Writer out, String accountNumber) {
+        if (isNumeric(accountNumber)) {
+            out.writeByte(accountNumber.length());
+            out.writeVarLong(Long.parseLong(accountNumber));
+            return;
+        }
+        out.writeByte(RAW_STRING);
+        out.writeString(accountNumber);
+    }
+
+    private static String readAccountNumber(ByteBuffer in) {
+        int digits = in.get() & 0xFF;
+        if (digits == RAW_STRING) {
+            return readString(in);
+        }
+        String number = Long.toString(readVarLong(in));
+        return "0".repeat(digits - number.length()) + number;
+    }
+
+    private static boolean isNumeric(String value) {
+        if (value.isEmpty() || value.length() > MAX_NUMERIC_ACCOUNT_DIGITS) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("손상된 거래 내역 데이터입니다.");
+    }
+
+    private static long readZigZag(ByteBuffer in) {
+        long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        return new String(bytes(in, length), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer = new byte[96];
+        private int size;
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.response.CacheTierStatsDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import com.challet.bankservice.global.util.MonthlyTransactionMerger;
+import com.challet.bankservice.global.util.TimelineCursor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 한달 거래 내역 캐시를 은행별 세그먼트(Redis 리스트)로 나누어 관리한다.
+ * 세그먼트는 최신순으로 저장되고, 은행마다 따로 적재/만료되므로 한 은행을 갱신해도 다른 은행 데이터는 유지된다.
+ * 거래가 없는 은행도 적재된 것으로 구분하기 위해 세그먼트와 같은 만료 시간의 적재 표시 키를 함께 둔다.
+ * 세그먼트에 들어 있는 거래 id 는 리스트 위치를 점수로 하는 같은 만료 시간의 Sorted Set 으로 따로 둔다.
+ * 같은 거래가 두 번 들어가지 않고, 이미 있는 거래가 바뀌면 순위로 위치를 찾아 그 자리에서 교체한다.
+ * 만료는 두 단계로, 적재 표시 키의 남은 만료 시간으로 적재 후 경과 시간을 계산한다.
+ * 소프트 만료가 지난 세그먼트는 그대로 응답하면서 백그라운드에서 다시 적재하고, 하드 만료가 지나면 사라진다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyTransactionCache {
+
+    private static final Duration SOFT_TTL = Duration.ofMinutes(10);
+    private static final Duration HARD_TTL = Duration.ofMinutes(30);
+
+    // 소프트 만료 직전 이 시간 안에 들어온 세그먼트는 자주 조회되면 미리 갱신
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(2);
+    private static final byte[] LOADED = {'1'};
+
+    // 적재된 세그먼트에만 반영하고, 새로 생긴 리스트에는 적재 표시 키의 남은 만료 시간을 맞춤
+    // 이미 있는 거래 id 면 순위(리스트 위치)의 항목만 교체 (2), 없으면 맨 앞 점수 - 1 로 추가 (1)
+    // 맨 앞보다 오래된 거래이거나 리스트와 id 수가 맞지 않으면 세그먼트를 지워 다시 적재하게 함 (-1)
+    private static final RedisScript<Long> PREPEND_IF_LOADED = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+            + "if redis.call('LLEN', KEYS[2]) ~= redis.call('ZCARD', KEYS[3]) then "
+            + "redis.call('DEL', KEYS[1], KEYS[2], KEYS[3]) return -1 end "
+            + "local index = redis.call('ZRANK', KEYS[3], ARGV[2]) "
+            + "if index then redis.call('LSET', KEYS[2], index, ARGV[1]) return 2 end "
+            + "local head = redis.call('ZRANGE', KEYS[3], 0, 0, 'WITHSCORES') "
+            + "if head[1] and tonumber(head[1]) > tonumber(ARGV[2]) then "
+            + "redis.call('DEL', KEYS[1], KEYS[2], KEYS[3]) return -1 end "
+            + "local ttl = redis.call('PTTL', KEYS[1]) "
+            + "redis.call('LPUSH', KEYS[2], ARGV[1]) "
+            + "redis.call('ZADD', KEYS[3], head[2] and tonumber(head[2]) - 1 or 0, ARGV[2]) "
+            + "redis.call('PEXPIRE', KEYS[2], ttl) "
+            + "redis.call('PEXPIRE', KEYS[3], ttl) "
+            + "return 1",
+        Long.class);
+
+    private final RedisTemplate<String, MonthlyTransactionHistoryDTO> segmentTemplate;
+    private final RedisSerializer<MonthlyTransactionHistoryDTO> monthlyTransactionSerializer;
+    private final LongAdder segmentHits = new LongAdder();
+    private final LongAdder segmentMisses = new LongAdder();
+
+    public static String monthKey(int year, int month, String phoneNumber) {
+        return year + "-" + month + "-" + phoneNumber;
+    }
+
+    // 적재된 은행의 한달 내역 전체와 은행별 만료 상태
+    public SegmentLookup lookup(String monthKey) {
+        return lookupAll(List.of(monthKey)).get(0);
+    }
+
+    // 여러 달의 세그먼트를 한 번의 왕복으로 조회 (monthKeys 순서대로 반환)
+    public List<SegmentLookup> lookupAll(List<String> monthKeys) {
+        BankType[] banks = BankType.values();
+
+        // 은행별 적재 표시 키의 남은 만료 시간과 세그먼트 조회를 한 번의 왕복으로 처리
+        RedisCallback<Object> lookups = connection -> {
+            for (String monthKey : monthKeys) {
+                for (BankType bank : banks) {
+                    connection.keyCommands().pTtl(rawKey(loadedKey(monthKey, bank)));
+                    connection.listCommands().lRange(rawKey(segmentKey(monthKey, bank)), 0, -1);
+                }
+            }
+            return null;
+        };
+        List<Object> replies = segmentTemplate.executePipelined(lookups,
+            monthlyTransactionSerializer);
+
+        List<SegmentLookup> results = new ArrayList<>(monthKeys.size());
+        for (int m = 0; m < monthKeys.size(); m++) {
+            results.add(toLookup(replies, m * banks.length * 2, banks));
+        }
+        return results;
+    }
+
+    // 타임라인 페이지용, 적재된 은행마다 커서 위치 다음 count 건만 읽음 (커서가 없으면 맨 앞부터)
+    // 커서 거래의 리스트 위치는 id 목록의 순위로 찾고, 커서 거래가 없는 은행은 적재되지 않은 것으로 봄
+    public Map<BankType, List<MonthlyTransactionHistoryDTO>> lookupPage(String monthKey,
+        TimelineCursor cursor, int count) {
+        BankType[] banks = BankType.values();
+        Iterator<Object> ranks = segmentTemplate.executePipelined((RedisCallback<Object>)
+            connection -> {
+                for (BankType bank : banks) {
+                    connection.keyCommands().exists(rawKey(loadedKey(monthKey, bank)));
+                    TimelineCursor.Position position = cursor.position(bank);
+                    if (position != null) {
+                        connection.zSetCommands().zRank(rawKey(orderKey(monthKey, bank)),
+                            rawKey(String.valueOf(position.transactionId())));
+                    }
+                }
+                return null;
+            }).iterator();
+
+        Map<BankType, Long> starts = new EnumMap<>(BankType.class);
+        for (BankType bank : banks) {
+            boolean loaded = Boolean.TRUE.equals(ranks.next());
+            Long rank = cursor.position(bank) == null ? Long.valueOf(-1) : (Long) ranks.next();
+            if (!loaded || rank == null) {
+                segmentMisses.increment();
+                continue;
+            }
+            starts.put(bank, rank + 1);
+        }
+
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> windows = new EnumMap<>(BankType.class);
+        starts.keySet().forEach(bank -> windows.put(bank, new ArrayList<>(count)));
+        while (!starts.isEmpty()) {
+            List<BankType> reading = List.copyOf(starts.keySet());
+            List<Object> ranges = segmentTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    for (BankType bank : reading) {
+                        long start = starts.get(bank);
+                        connection.listCommands().lRange(rawKey(segmentKey(monthKey, bank)),
+                            start, start + count - 1);
+                    }
+                    return null;
+                }, monthlyTransactionSerializer);
+
+            for (int i = 0; i < reading.size(); i++) {
+                BankType bank = reading.get(i);
+                @SuppressWarnings("unchecked")
+                List<MonthlyTransactionHistoryDTO> range =
+                    (List<MonthlyTransactionHistoryDTO>) ranges.get(i);
+                if (range.stream().anyMatch(transaction -> transaction.transactionId() == null)) {
+                    windows.remove(bank);
+                    starts.remove(bank);
+                    segmentMisses.increment();
+                    continue;
+                }
+
+                // 순위를 읽은 뒤 맨 앞에 추가된 거래만큼 밀려 들어온 항목은 커서와 비교해서 걸러내고,
+                // 그만큼 모자라면 세그먼트가 끝날 때까지 다음 구간을 이어서 읽음
+                List<MonthlyTransactionHistoryDTO> window = windows.get(bank);
+                window.addAll(MonthlyTransactionMerger.after(range, cursor.position(bank),
+                    count - window.size()));
+                if (window.size() < count && range.size() == count) {
+                    starts.put(bank, starts.get(bank) + count);
+                } else {
+                    starts.remove(bank);
+                    segmentHits.increment();
+                }
+            }
+        }
+        return windows;
+    }
+
+    private SegmentLookup toLookup(List<Object> replies, int offset, BankType[] banks) {
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> segments = new EnumMap<>(BankType.class);
+        Set<BankType> staleBanks = EnumSet.noneOf(BankType.class);
+        Set<BankType> expiringBanks = EnumSet.noneOf(BankType.class);
+        for (int i = 0; i < banks.length; i++) {
+            long remainingMillis = ((Number) replies.get(offset + i * 2)).longValue();
+            // -2: 적재 표시 키 없음, -1: 만료 시간 없음 (갱신 대상 아님)
+            if (remainingMillis == -2) {
+                segmentMisses.increment();
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            List<MonthlyTransactionHistoryDTO> segment =
+                (List<MonthlyTransactionHistoryDTO>) replies.get(offset + i * 2 + 1);
+            // 거래 id 없이 저장된 이전 형식의 세그먼트는 커서 위치를 찾을 수 없으므로 다시 적재
+            if (segment.stream().anyMatch(transaction -> transaction.transactionId() == null)) {
+                segmentMisses.increment();
+                continue;
+            }
+            segments.put(banks[i], segment);
+            segmentHits.increment();
+
+            if (remainingMillis >= 0) {
+                long ageMillis = HARD_TTL.toMillis() - remainingMillis;
+                if (ageMillis >= SOFT_TTL.toMillis()) {
+                    staleBanks.add(banks[i]);
+                } else if (ageMillis >= SOFT_TTL.minus(REFRESH_AHEAD).toMillis()) {
+                    expiringBanks.add(banks[i]);
+                }
+            }
+        }
+        return new SegmentLookup(segments, staleBanks, expiringBanks);
+    }
+
+    // 한 은행의 세그먼트만 통째로 교체
+    public void putSegment(String monthKey, BankType bank,
+        List<MonthlyTransactionHistoryDTO> transactions) {
+        byte[] segmentKey = rawKey(segmentKey(monthKey, bank));
+        byte[] loadedKey = rawKey(loadedKey(monthKey, bank));
+        byte[] orderKey = rawKey(orderKey(monthKey, bank));
+        byte[][] values = transactions.stream()
+            .map(monthlyTransactionSerializer::serialize)
+            .toArray(byte[][]::new);
+        // 리스트 위치를 점수로 두어 ZRANK 가 곧 리스트 인덱스가 되게 함
+        Set<Tuple> order = new HashSet<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            Long transactionId = transactions.get(i).transactionId();
+            if (transactionId != null) {
+                order.add(Tuple.of(rawKey(transactionId.toString()), (double) i));
+            }
+        }
+
+        segmentTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.multi();
+            connection.keyCommands().del(segmentKey, orderKey);
+            if (values.length > 0) {
+                connection.listCommands().rPush(segmentKey, values);
+                connection.keyCommands().pExpire(segmentKey, HARD_TTL.toMillis());
+            }
+            if (!order.isEmpty()) {
+                connection.zSetCommands().zAdd(orderKey, order);
+                connection.keyCommands().pExpire(orderKey, HARD_TTL.toMillis());
+            }
+            connection.stringCommands().set(loadedKey, LOADED, Expiration.from(HARD_TTL),
+                SetOption.upsert());
+            return connection.exec();
+        });
+    }
+
+    // 적재된 세그먼트 맨 앞에 새 거래 한 건 추가, 이미 있는 거래면 그 자리의 항목만 교체
+    // 중복 확인과 반영을 스크립트 안에서 함께 처리하므로 동시에 같은 거래가 들어와도 한 번만 추가됨
+    public boolean prepend(String monthKey, BankType bank,
+        MonthlyTransactionHistoryDTO transaction) {
+        Long pushed = segmentTemplate.execute(PREPEND_IF_LOADED, RedisSerializer.byteArray(),
+            new GenericToStringSerializer<>(Long.class),
+            List.of(loadedKey(monthKey, bank), segmentKey(monthKey, bank),
+                orderKey(monthKey, bank)),
+            monthlyTransactionSerializer.serialize(transaction),
+            rawKey(String.valueOf(transaction.transactionId())));
+        return pushed != null && pushed > 0;
+    }
+
+    public void evictSegment(String monthKey, BankType bank) {
+        segmentTemplate.delete(List.of(segmentKey(monthKey, bank), loadedKey(monthKey, bank),
+            orderKey(monthKey, bank)));
+    }
+
+    // 은행 세그먼트 단위 적중 통계
+    public CacheTierStatsDTO stats() {
+        return CacheTierStatsDTO.of("redis-segment", segmentHits.sum(), segmentMisses.sum());
+    }
+
+    private static String segmentKey(String monthKey, BankType bank) {
+        return monthKey + ":" + bank.getBankName();
+    }
+
+    private static String loadedKey(String monthKey, BankType bank) {
+        return segmentKey(monthKey, bank) + ":loaded";
+    }
+
+    // 점수가 리스트 위치인 id 목록, 점수가 거래 id 이던 이전 ":ids" 키와는 따로 둠
+    private static String orderKey(String monthKey, BankType bank) {
+        return segmentKey(monthKey, bank) + ":order";
+    }
+
+    private static byte[] rawKey(String key) {
+        return RedisSerializer.string().serialize(key);
+    }
+
+    public record SegmentLookup(
+
+        // 적재된 은행의 세그먼트 (적재되지 않은 은행은 없음)
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> segments,
+
+        // 소프트 만료가 지난 은행
+        Set<BankType> staleBanks,
+
+        // 곧 소프트 만료되는 은행
+        Set<BankType> expiringBanks
+    ) {
+    }
+}
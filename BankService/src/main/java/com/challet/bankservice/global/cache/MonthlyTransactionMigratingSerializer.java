@@ -0,0 +1,33 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 저장은 설정된 형식 하나로 하고, 조회는 바이너리와 JSON 을 모두 읽는다.
+ * 형식을 바꾸는 동안 이미 적재된 세그먼트를 버리지 않고 만료될 때까지 그대로 사용할 수 있다.
+ */
+@RequiredArgsConstructor
+public class MonthlyTransactionMigratingSerializer implements
+    RedisSerializer<MonthlyTransactionHistoryDTO> {
+
+    private final RedisSerializer<MonthlyTransactionHistoryDTO> writeSerializer;
+    private final MonthlyTransactionBinarySerializer binarySerializer;
+    private final RedisSerializer<MonthlyTransactionHistoryDTO> jsonSerializer;
+
+    @Override
+    public byte[] serialize(MonthlyTransactionHistoryDTO transaction) {
+        return writeSerializer.serialize(transaction);
+    }
+
+    @Override
+    public MonthlyTransactionHistoryDTO deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return MonthlyTransactionBinarySerializer.isBinary(bytes)
+            ? binarySerializer.deserialize(bytes)
+            : jsonSerializer.deserialize(bytes);
+    }
+}
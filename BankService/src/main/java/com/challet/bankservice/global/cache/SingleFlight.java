@@ -0,0 +1,145 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.response.CacheTierStatsDTO;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 같은 키의 캐시 적재가 동시에 여러 번 일어나지 않도록 묶는다.
+ * 인스턴스 안에서는 먼저 들어온 요청 하나만 적재하고 나머지는 그 결과를 함께 받는다.
+ * 분산 모드에서는 Redis 잠금을 잡은 인스턴스만 은행을 조회하고, 다른 인스턴스는 잠금이 풀린 뒤
+ * 다시 적재 함수를 실행한다 (적재 함수가 먼저 캐시를 보므로 대부분 캐시에서 끝남).
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    // 잠금을 잡은 요청의 토큰일 때만 해제
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end "
+            + "return 0",
+        Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean distributed;
+    private final Duration lockTtl;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight =
+        new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public SingleFlight(StringRedisTemplate stringRedisTemplate,
+        @Value("${analysis.single-flight.distributed:false}") boolean distributed,
+        @Value("${analysis.single-flight.lock-ttl-ms:3000}") long lockTtlMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.distributed = distributed;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        loads.increment();
+        try {
+            T result = distributed ? loadWithLock(key, loader) : loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // 묶인 요청 수(hits)와 실제 적재 수(misses)
+    public CacheTierStatsDTO stats() {
+        return CacheTierStatsDTO.of("single-flight", coalesced.sum(), loads.sum());
+    }
+
+    private <T> T loadWithLock(String key, Supplier<T> loader) {
+        String lockKey = "single-flight:" + key;
+        String token = UUID.randomUUID().toString();
+
+        Boolean acquired;
+        try {
+            acquired = stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl);
+        } catch (DataAccessException e) {
+            // Redis 를 쓸 수 없으면 인스턴스 안에서만 묶음
+            log.warn("적재 잠금 획득 실패로 바로 조회합니다. {}", e.getMessage());
+            return loader.get();
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                return loader.get();
+            } finally {
+                release(lockKey, token);
+            }
+        }
+
+        awaitRelease(lockKey);
+        return loader.get();
+    }
+
+    // 잠금이 풀리거나 잠금 만료 시간이 지날 때까지 대기
+    private void awaitRelease(String lockKey) {
+        long deadline = System.nanoTime() + lockTtl.toNanos();
+        try {
+            while (Boolean.TRUE.equals(stringRedisTemplate.hasKey(lockKey))
+                && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException e) {
+            log.warn("적재 잠금 확인 실패로 바로 조회합니다. {}", e.getMessage());
+        }
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_IF_OWNER, List.of(lockKey), token);
+        } catch (DataAccessException e) {
+            // 해제하지 못해도 잠금 만료 시간이 지나면 풀림
+            log.warn("적재 잠금 해제 실패: {} {}", lockKey, e.getMessage());
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
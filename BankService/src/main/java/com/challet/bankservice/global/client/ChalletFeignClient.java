@@ -2,11 +2,13 @@ package com.challet.bankservice.global.client;
 
 import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
 import com.challet.bankservice.domain.dto.response.PaymentHttpMessageResponseDTO;
+import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(name = "challet")
 public interface ChalletFeignClient {
@@ -14,6 +16,9 @@ public interface ChalletFeignClient {
     @PostMapping("/api/challet/message/payments")
     void sendPaymentMessage(@RequestBody PaymentHttpMessageResponseDTO dto);
 
+    @PostMapping("/api/challet/message/payments/batch")
+    void sendPaymentMessages(@RequestBody List<PaymentHttpMessageResponseDTO> dtos);
+
     @GetMapping("/api/challet/message/info")
     UserInfoMessageRequestDTO getUserInfo(
         @RequestHeader(value = "Authorization", required = false) String header);
@@ -21,4 +26,10 @@ public interface ChalletFeignClient {
     @PostMapping("/api/challet/message/simple-password")
     boolean sendSimplePassword(@RequestHeader("Authorization") String header,
         @RequestBody String password);
-}
\ No newline at end of file
+
+    @GetMapping("/api/challet/message/cohort")
+    UserInfoMessageRequestDTO getUserCohort(@RequestParam String phoneNumber);
+
+    @GetMapping("/api/challet/message/cohorts")
+    List<UserInfoMessageRequestDTO> getAllCohorts();
+}
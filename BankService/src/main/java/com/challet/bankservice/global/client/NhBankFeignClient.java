@@ -1,15 +1,25 @@
 package com.challet.bankservice.global.client;
 
+import com.challet.bankservice.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.bankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
 import com.challet.bankservice.domain.dto.request.BankTransferRequestDTO;
+import com.challet.bankservice.domain.dto.request.CohortMembershipRequestDTO;
 import com.challet.bankservice.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.bankservice.domain.dto.response.AnalysisBundleResponseDTO;
 import com.challet.bankservice.domain.dto.response.BankTransferResponseDTO;
+import com.challet.bankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.bankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.bankservice.domain.entity.Category;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -29,13 +39,23 @@ public interface NhBankFeignClient {
         @RequestHeader(value = "Authorization", required = false) String tokenHeader);
 
     @PostMapping("/api/nh-bank/account-transfers")
-    BankTransferRequestDTO getTransferAccount(BankTransferResponseDTO responseDTO);
+    BankTransferRequestDTO getTransferAccount(
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+        @RequestBody BankTransferResponseDTO responseDTO);
 
     @GetMapping("/api/nh-bank/transactions-monthly")
     MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(
         @RequestHeader(value = "Authorization", required = false) String tokenHeader,
         @RequestParam int year, @RequestParam int month);
 
+    @GetMapping("/api/nh-bank/transactions-monthly/page")
+    MonthlyTransactionHistoryListDTO getMonthlyTransactionHistoryPage(
+        @RequestHeader(value = "Authorization", required = false) String tokenHeader,
+        @RequestParam int year, @RequestParam int month,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+        LocalDateTime beforeDate,
+        @RequestParam(required = false) Long beforeId, @RequestParam int size);
+
     @PostMapping("/api/nh-bank/transaction-category")
     Map<Category, Long> getTransactionGroupCategory(
         @RequestBody BankToAnalysisMessageRequestDTO message);
@@ -47,4 +67,20 @@ public interface NhBankFeignClient {
 
     @PostMapping("/api/nh-bank/account-name")
     String getAccountInfo(@RequestBody String accountNumber);
+
+    @PostMapping("/api/nh-bank/transaction-category-cohort")
+    List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        @RequestBody BankToAnalysisMessageRequestDTO message);
+
+    @PostMapping("/api/nh-bank/transaction-category-member")
+    List<CohortSpendingDTO> getCohortSpending(
+        @RequestBody BankToAnalysisMessageRequestDTO message);
+
+    @PutMapping("/api/nh-bank/cohorts")
+    void syncCohortMembership(@RequestBody CohortMembershipRequestDTO requestDTO);
+
+    @PostMapping("/api/nh-bank/analysis-bundle")
+    AnalysisBundleResponseDTO getAnalysisBundle(
+        @RequestHeader(value = "Authorization", required = false) String tokenHeader,
+        @RequestBody AnalysisBundleRequestDTO requestDTO);
 }
@@ -0,0 +1,32 @@
+package com.challet.bankservice.global.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AsyncConfig {
+
+    // 은행별 조회를 동시에 보내기 위한 실행기 (I/O 대기 위주라 가상 스레드 사용)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService bankFanOutExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // 커밋 뒤 코호트 집계 반영처럼 응답과 무관한 후속 작업용 실행기
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService analysisTaskExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // 소프트 만료된 캐시의 백그라운드 재적재용 실행기 (대기열이 차면 거절하고 다음 요청에서 다시 시도)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cacheRefreshExecutor() {
+        return new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(200),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -1,6 +1,10 @@
 package com.challet.bankservice.global.config;
 
-import com.challet.bankservice.domain.dto.redis.MonthlyTransactionRedisListDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.global.cache.AnalysisNearCache;
+import com.challet.bankservice.global.cache.CategoryMatcherCache;
+import com.challet.bankservice.global.cache.MonthlyTransactionBinarySerializer;
+import com.challet.bankservice.global.cache.MonthlyTransactionMigratingSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -10,7 +14,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -35,16 +42,43 @@ public class RedisConfig {
         return objectMapper;
     }
 
+    // 은행별 한달 거래 내역 세그먼트는 리스트 원소 하나가 거래 한 건
+    // 저장 형식은 analysis.cache.codec(binary/json)으로 고르고, 조회는 두 형식 모두 허용
     @Bean
-    public RedisTemplate<String, MonthlyTransactionRedisListDTO> redisTemplate(RedisConnectionFactory redisConnectionFactory, ObjectMapper objectMapper) {
-        RedisTemplate<String, MonthlyTransactionRedisListDTO> template = new RedisTemplate<>();
-        template.setConnectionFactory(redisConnectionFactory);
+    public RedisSerializer<MonthlyTransactionHistoryDTO> monthlyTransactionSerializer(
+        ObjectMapper objectMapper, @Value("${analysis.cache.codec:binary}") String codec) {
+        MonthlyTransactionBinarySerializer binarySerializer = new MonthlyTransactionBinarySerializer();
+        RedisSerializer<MonthlyTransactionHistoryDTO> jsonSerializer = new Jackson2JsonRedisSerializer<>(
+            objectMapper, MonthlyTransactionHistoryDTO.class);
 
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        RedisSerializer<MonthlyTransactionHistoryDTO> writeSerializer =
+            "json".equalsIgnoreCase(codec) ? jsonSerializer : binarySerializer;
+        return new MonthlyTransactionMigratingSerializer(writeSerializer, binarySerializer,
+            jsonSerializer);
+    }
 
+    @Bean
+    public RedisTemplate<String, MonthlyTransactionHistoryDTO> monthlyTransactionSegmentTemplate(
+        RedisConnectionFactory redisConnectionFactory,
+        RedisSerializer<MonthlyTransactionHistoryDTO> monthlyTransactionSerializer) {
+        RedisTemplate<String, MonthlyTransactionHistoryDTO> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(serializer);
-
+        template.setValueSerializer(monthlyTransactionSerializer);
         return template;
     }
-}
\ No newline at end of file
+
+    // 다른 인스턴스에서 발행한 분석 캐시, 카테고리 매처 무효화 메시지 수신
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+        RedisConnectionFactory redisConnectionFactory, AnalysisNearCache analysisNearCache,
+        CategoryMatcherCache categoryMatcherCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(analysisNearCache,
+            new ChannelTopic(AnalysisNearCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(categoryMatcherCache,
+            new ChannelTopic(CategoryMatcherCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,90 @@
+package com.challet.bankservice.global.fanout;
+
+import com.challet.bankservice.domain.entity.BankType;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 여러 은행 조회를 동시에 실행하고, 은행별 마감 시간 안에 응답한 결과만 모아서 반환한다.
+ * 응답 시간은 네 은행 응답 시간의 합이 아니라 가장 느린 은행(최대 마감 시간)으로 제한된다.
+ */
+@Slf4j
+@Component
+public class BankFanOut {
+
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public BankFanOut(@Qualifier("bankFanOutExecutor") ExecutorService executor,
+        @Value("${analysis.fan-out.timeout-ms:2000}") long timeoutMillis) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public <T> BankFanOutResult<T> fanOut(Map<BankType, Supplier<T>> calls) {
+        return fanOutEach(Map.of(Boolean.TRUE, calls)).get(Boolean.TRUE);
+    }
+
+    // 여러 묶음(예: 월별 은행 조회)을 한꺼번에 시작하고 같은 마감 시간으로 기다림
+    public <K, T> Map<K, BankFanOutResult<T>> fanOutEach(
+        Map<K, Map<BankType, Supplier<T>>> callsByKey) {
+        // 모든 호출이 동시에 시작되므로 은행마다 같은 시각을 마감으로 사용
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        Map<K, Map<BankType, Future<T>>> futuresByKey = new LinkedHashMap<>();
+        callsByKey.forEach((key, calls) -> {
+            Map<BankType, Future<T>> futures = new EnumMap<>(BankType.class);
+            calls.forEach((bank, call) -> futures.put(bank, executor.submit(call::get)));
+            futuresByKey.put(key, futures);
+        });
+
+        Map<K, BankFanOutResult<T>> resultsByKey = new LinkedHashMap<>();
+        futuresByKey.forEach((key, futures) -> resultsByKey.put(key, collect(futures, deadline)));
+        return resultsByKey;
+    }
+
+    private <T> BankFanOutResult<T> collect(Map<BankType, Future<T>> futures, long deadline) {
+        Map<BankType, T> results = new EnumMap<>(BankType.class);
+        Set<BankType> degradedBanks = EnumSet.noneOf(BankType.class);
+
+        for (Map.Entry<BankType, Future<T>> entry : futures.entrySet()) {
+            BankType bank = entry.getKey();
+            Future<T> future = entry.getValue();
+            try {
+                long remaining = Math.max(deadline - System.nanoTime(), 0);
+                T result = future.get(remaining, TimeUnit.NANOSECONDS);
+                if (result == null) {
+                    degradedBanks.add(bank);
+                    continue;
+                }
+                results.put(bank, result);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                degradedBanks.add(bank);
+                log.warn("{} 응답이 {}ms 안에 오지 않아 제외합니다.", bank.getBankName(), timeoutMillis);
+            } catch (ExecutionException e) {
+                degradedBanks.add(bank);
+                log.warn("{} 조회 실패로 제외합니다. {}", bank.getBankName(),
+                    e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                degradedBanks.add(bank);
+            }
+        }
+        return new BankFanOutResult<>(results, degradedBanks);
+    }
+}
@@ -0,0 +1,26 @@
+package com.challet.bankservice.global.fanout;
+
+import com.challet.bankservice.domain.entity.BankType;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public record BankFanOutResult<T>(
+
+    // 마감 시간 안에 응답한 은행의 결과
+    Map<BankType, T> results,
+
+    // 지연 또는 오류로 결과가 빠진 은행
+    Set<BankType> degradedBanks
+) {
+
+    public boolean isDegraded() {
+        return !degradedBanks.isEmpty();
+    }
+
+    public List<String> degradedBankNames() {
+        return degradedBanks.stream()
+            .map(BankType::getBankName)
+            .toList();
+    }
+}
@@ -0,0 +1,189 @@
+package com.challet.bankservice.global.idempotency;
+
+import com.challet.bankservice.domain.entity.IdempotencyRecord;
+import com.challet.bankservice.domain.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 결제, 이체 요청을 멱등 키(Idempotency-Key) 기준으로 한 번만 처리한다.
+ * 키 기록 INSERT, 처리, 응답 저장을 잔액 변경과 같은 트랜잭션으로 묶어서 응답이 처리 결과와 함께 커밋된다.
+ * 같은 키로 동시에 들어온 요청은 INSERT 에서 먼저 들어온 트랜잭션이 끝나기를 기다렸다가,
+ * 먼저 들어온 요청이 커밋했으면 계좌를 건드리지 않고 저장된 응답을, 롤백했으면 직접 처리한다.
+ * 키에는 요청 내용의 해시를 함께 남겨서 같은 키로 다른 요청을 보내면 거부한다.
+ * Redis 는 커밋된 응답을 읽는 캐시로만 쓰고, 중복 처리 여부는 항상 DB 기록으로 정한다.
+ */
+@Slf4j
+@Component
+public class IdempotentExecutor {
+
+    private static final String REDIS_KEY_PREFIX = "idempotency-response:";
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    public IdempotentExecutor(StringRedisTemplate stringRedisTemplate,
+        IdempotencyRecordRepository idempotencyRecordRepository, ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        @Value("${idempotency.ttl-minutes:60}") long ttlMinutes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    // key 가 없으면 그대로 실행, 키는 scope 와 owner(계좌 등)별로 따로 관리
+    public <T> T execute(String scope, Object owner, String key, Object request,
+        Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+
+        String recordKey = recordKey(scope, owner, key);
+        String requestHash = requestHash(request);
+        T cached = findCached(recordKey, requestHash, responseType);
+        if (cached != null) {
+            return cached;
+        }
+        return transactionTemplate.execute(status -> {
+            T stored = claim(recordKey, requestHash, responseType);
+            if (stored != null) {
+                return stored;
+            }
+            T response = action.get();
+            complete(recordKey, requestHash, response);
+            return response;
+        });
+    }
+
+    public String recordKey(String scope, Object owner, String key) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "멱등 키가 너무 깁니다.");
+        }
+        return scope + ":" + owner + ":" + key;
+    }
+
+    public String requestHash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(write(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 커밋된 응답이 Redis 에 있으면 돌려주고, 없거나 Redis 를 쓸 수 없으면 null
+    public <T> T findCached(String recordKey, String requestHash, Class<T> responseType) {
+        String value;
+        try {
+            value = stringRedisTemplate.opsForValue().get(REDIS_KEY_PREFIX + recordKey);
+        } catch (DataAccessException e) {
+            log.warn("멱등 키 Redis 조회 실패로 DB 에서 확인합니다. {}", e.getMessage());
+            return null;
+        }
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(':');
+        checkRequestHash(value.substring(0, separator), requestHash);
+        return read(value.substring(separator + 1), responseType);
+    }
+
+    // 호출한 트랜잭션 안에서 키를 기록, 처음 들어온 키면 null 이고 이미 처리된 키면 저장된 응답
+    public <T> T claim(String recordKey, String requestHash, Class<T> responseType) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteIfExpired(recordKey, now);
+        if (idempotencyRecordRepository.insertPending(recordKey, requestHash, now.plus(ttl)) > 0) {
+            return null;
+        }
+
+        // 같은 트랜잭션에서 먼저 기록한 키는 아직 응답이 없으므로 처리 중으로 봄
+        IdempotencyRecord record = idempotencyRecordRepository.findByKeyForShare(recordKey)
+            .orElseThrow(IdempotentExecutor::inProgress);
+        checkRequestHash(record.getRequestHash(), requestHash);
+        if (!record.isCompleted()) {
+            throw inProgress();
+        }
+        cache(recordKey, requestHash, record.getResponse());
+        return read(record.getResponse(), responseType);
+    }
+
+    // claim 과 같은 트랜잭션에서 응답을 저장하고, 커밋된 뒤에 Redis 에 캐시
+    public void complete(String recordKey, String requestHash, Object response) {
+        String json = write(response);
+        idempotencyRecordRepository.complete(recordKey, json);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(recordKey, requestHash, json);
+                }
+            });
+    }
+
+    // 처리하지 못한 키를 같은 트랜잭션에서 지워서 재시도가 다시 실행되게 함
+    public void release(String recordKey) {
+        idempotencyRecordRepository.deletePending(recordKey);
+    }
+
+    private void cache(String recordKey, String requestHash, String json) {
+        try {
+            stringRedisTemplate.opsForValue()
+                .set(REDIS_KEY_PREFIX + recordKey, requestHash + ":" + json, ttl);
+        } catch (DataAccessException e) {
+            // DB 에 남은 응답으로 중복을 막으므로 Redis 저장 실패는 넘어감
+            log.warn("멱등 키 응답 Redis 저장 실패: {} {}", recordKey, e.getMessage());
+        }
+    }
+
+    // 해시가 없는 예전 기록은 비교하지 않음
+    private static void checkRequestHash(String storedHash, String requestHash) {
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "같은 멱등 키로 다른 요청을 보냈습니다.");
+        }
+    }
+
+    private static ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "같은 요청을 처리하고 있습니다.");
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등 키 요청, 응답 직렬화 실패", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등 키 응답 역직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package com.challet.bankservice.global.ledger;
+
+import com.challet.bankservice.domain.entity.BalanceSnapshot;
+import com.challet.bankservice.domain.entity.LedgerPosting;
+import com.challet.bankservice.domain.repository.BalanceSnapshotRepository;
+import com.challet.bankservice.domain.repository.ChalletBankRepository;
+import com.challet.bankservice.domain.repository.LedgerPostingRepository;
+import com.challet.bankservice.global.exception.CustomException;
+import com.challet.bankservice.global.exception.ExceptionResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 원장 모드(ledger.enabled)에서 계좌 잔액을 관리한다.
+ * 잔액 변동은 ledger_posting 에 추가만 하고, 계좌 잔액은 스냅샷(balance_snapshot)과 아직 압축하지 않은
+ * 원장의 합이다. 그 합과 처리 중인 출금 예약은 Redis 에 두어 여러 인스턴스가 같은 값을 본다.
+ * 출금은 Redis 스크립트 한 번으로 (잔액 - 예약 합계) 를 확인하고 금액을 예약하므로 계좌 행을 잠그지 않는다.
+ * 예약은 거래가 커밋되거나 롤백될 때 풀리고, 시간이 지났다고 풀리지 않는다. 예약한 인스턴스가 죽어서
+ * 하트비트가 끊긴 경우에만 다른 인스턴스가 그 인스턴스의 예약을 푼다.
+ * 압축은 커밋된 원장 중 아직 합치지 않은 것만 읽어서 스냅샷에 합치고 원장에 압축 차수를 적는다.
+ * 커밋 전인 원장은 보이지 않아 다음 압축 때 합쳐지므로 원장 번호 순서나 빠진 번호에 기대지 않는다.
+ * Redis 는 계좌마다 어느 압축 차수까지 반영했는지 적어 두고, 뒤처졌으면 DB 의 압축 기록으로 따라잡는다.
+ * 거래 시점에는 다른 거래의 커밋 여부를 알 수 없어 거래 후 잔액을 임시로 적고, 압축할 때 다시 적는다.
+ */
+@Slf4j
+@Component
+public class AccountLedger {
+
+    private static final String KEY_PREFIX = "ledger:{";
+    private static final String INSTANCE_PREFIX = "ledger-instance:{";
+    private static final String INSTANCES_KEY = "ledger-instances";
+    private static final String BALANCE = "balance";
+    private static final long NOT_LOADED = -2;
+    private static final long VERSION_CONFLICT = -1;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int COMPACTION_BATCH_SIZE = 10_000;
+
+    // 사용 가능 금액이 충분하면 예약하고 예약할 때의 커밋된 잔액을 반환 (모자라면 -1)
+    private static final RedisScript<Long> RESERVE = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end "
+            + "local reserved = 0 "
+            + "for _, v in ipairs(redis.call('HVALS', KEYS[2])) do "
+            + "reserved = reserved + tonumber(v) end "
+            + "local balance = tonumber(redis.call('HGET', KEYS[1], 'balance')) "
+            + "if balance - reserved < tonumber(ARGV[2]) then return -1 end "
+            + "redis.call('HSET', KEYS[2], ARGV[1], ARGV[2]) "
+            + "return balance",
+        Long.class);
+
+    // 커밋된 원장 한 줄을 잔액에 더하고 예약을 풂
+    // 이미 반영했거나 먼저 압축되어 스냅샷에 들어간 원장(settled)이면 건너뜀
+    // 잔액이 적재되기 전이면 반영 기록만 남겨서 적재할 때 더하게 함
+    private static final RedisScript<Long> APPLY = new DefaultRedisScript<>(
+        "if ARGV[3] ~= '' then redis.call('HDEL', KEYS[2], ARGV[3]) end "
+            + "if redis.call('SREM', KEYS[4], ARGV[1]) == 1 then return 0 end "
+            + "if redis.call('HSETNX', KEYS[3], ARGV[1], ARGV[2]) == 0 then return 0 end "
+            + "if redis.call('EXISTS', KEYS[1]) == 1 then "
+            + "redis.call('HINCRBY', KEYS[1], 'balance', ARGV[2]) end "
+            + "return 1",
+        Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+        "return redis.call('HDEL', KEYS[1], ARGV[1])",
+        Long.class);
+
+    // ARGV[1] 차수부터 ARGV[2] 차수까지 압축한 원장을 반영 (반영한 차수가 ARGV[1] 이 아니면 -1)
+    // 이미 반영한 원장은 반영 기록에서 빼고(잔액 그대로), 아직 반영하지 않은 원장은 잔액에 더하고 settled 에 남김
+    private static final RedisScript<Long> RECONCILE = new DefaultRedisScript<>(
+        "if tonumber(redis.call('GET', KEYS[4]) or '0') ~= tonumber(ARGV[1]) then return -1 end "
+            + "local loaded = redis.call('EXISTS', KEYS[1]) == 1 "
+            + "for i = 3, #ARGV, 2 do "
+            + "if redis.call('HDEL', KEYS[2], ARGV[i]) == 0 then "
+            + "redis.call('SADD', KEYS[3], ARGV[i]) "
+            + "if loaded then redis.call('HINCRBY', KEYS[1], 'balance', ARGV[i + 1]) end "
+            + "end end "
+            + "redis.call('SET', KEYS[4], ARGV[2]) "
+            + "return 1",
+        Long.class);
+
+    // ARGV[2] 차수 스냅샷 잔액에 압축하지 않은 커밋된 원장과 반영 기록을 한 번씩만 더해 잔액을 씀
+    // 잔액이 이미 있으면 0, Redis 가 반영한 차수가 스냅샷 차수와 다르면 -1
+    private static final RedisScript<Long> LOAD = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end "
+            + "if tonumber(redis.call('GET', KEYS[3]) or '0') ~= tonumber(ARGV[2]) "
+            + "then return -1 end "
+            + "for i = 3, #ARGV, 2 do redis.call('HSETNX', KEYS[2], ARGV[i], ARGV[i + 1]) end "
+            + "local balance = tonumber(ARGV[1]) "
+            + "for _, v in ipairs(redis.call('HVALS', KEYS[2])) do "
+            + "balance = balance + tonumber(v) end "
+            + "redis.call('HSET', KEYS[1], 'balance', string.format('%d', balance)) "
+            + "return 1",
+        Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LedgerPostingRepository ledgerPostingRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final ChalletBankRepository challetBankRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final boolean enabled;
+    private final Duration ownerTimeout;
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile boolean registered;
+    // Redis 오류로 풀지 못한 예약, 하트비트 때 다시 풂
+    private final Queue<Reservation> unreleased = new ConcurrentLinkedQueue<>();
+    // DB 압축 차수까지 Redis 를 따라잡지 못한 계좌, compact 안에서만 씀
+    private final Set<Long> lagging = new LinkedHashSet<>();
+
+    public AccountLedger(StringRedisTemplate stringRedisTemplate,
+        LedgerPostingRepository ledgerPostingRepository,
+        BalanceSnapshotRepository balanceSnapshotRepository,
+        ChalletBankRepository challetBankRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${ledger.enabled:false}") boolean enabled,
+        @Value("${ledger.reservation.owner-timeout-ms:30000}") long ownerTimeoutMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ledgerPostingRepository = ledgerPostingRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.challetBankRepository = challetBankRepository;
+        // 적재와 압축은 호출한 거래와 상관없이 최신 커밋을 읽어야 함
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.ownerTimeout = Duration.ofMillis(ownerTimeoutMillis);
+    }
+
+    // balance 는 예약할 때 본 커밋된 잔액 (처리 중인 다른 거래는 들어 있지 않음)
+    public record Reservation(Long accountId, String token, long balance) {
+
+    }
+
+    // 적재할 때 읽은 스냅샷과 그 시점에 압축하지 않은 커밋된 원장
+    private record SnapshotView(long balance, long version, List<LedgerPosting> uncompacted) {
+
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 커밋된 잔액 (예약은 빼지 않음), Redis 에 없으면 스냅샷과 압축하지 않은 원장으로 다시 적재
+    public long balance(Long accountId) {
+        Object balance = stringRedisTemplate.opsForHash().get(stateKey(accountId), BALANCE);
+        if (balance == null) {
+            load(accountId);
+            balance = stringRedisTemplate.opsForHash().get(stateKey(accountId), BALANCE);
+        }
+        if (balance == null) {
+            throw new IllegalStateException("원장 잔액을 불러오지 못했습니다: " + accountId);
+        }
+        return Long.parseLong((String) balance);
+    }
+
+    // 사용 가능 금액이 모자라면 null, 예약은 현재 트랜잭션이 끝날 때 풀림 (커밋된 출금은 반영과 함께 풀림)
+    // 예약하기 전에 이 인스턴스의 예약 목록에 먼저 올려서, 예약 직후 인스턴스가 죽어도 다른 인스턴스가 풀 수 있게 함
+    public Reservation reserve(Long accountId, long amount) {
+        requireTransaction();
+        if (!registered) {
+            heartbeat();
+        }
+        String token = UUID.randomUUID().toString();
+        stringRedisTemplate.opsForSet().add(ownedKey(instanceId), owned(accountId, token));
+
+        long balance;
+        try {
+            balance = runReserve(accountId, token, amount);
+            if (balance == NOT_LOADED) {
+                load(accountId);
+                balance = runReserve(accountId, token, amount);
+            }
+            if (balance == NOT_LOADED) {
+                throw new IllegalStateException("원장 잔액을 불러오지 못했습니다: " + accountId);
+            }
+        } catch (RuntimeException e) {
+            release(new Reservation(accountId, token, 0));
+            throw e;
+        }
+        if (balance < 0) {
+            release(new Reservation(accountId, token, 0));
+            return null;
+        }
+
+        Reservation reservation = new Reservation(accountId, token, balance);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(reservation);
+            }
+        });
+        return reservation;
+    }
+
+    // 현재 트랜잭션에 원장 한 줄을 추가하고, 커밋되면 Redis 잔액에 더하면서 예약을 풂
+    public void post(Long accountId, long amount, Long transactionId, Reservation reservation) {
+        requireTransaction();
+        LedgerPosting posting = ledgerPostingRepository.save(
+            LedgerPosting.of(accountId, amount, transactionId));
+        String token = reservation == null ? "" : reservation.token();
+        // afterCommit 은 afterCompletion 의 예약 해제보다 먼저 불리므로 예약 없이 잔액만 남는 순간이 없음
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(posting, token);
+            }
+        });
+    }
+
+    // 커밋된 원장 중 아직 합치지 않은 것을 계좌별로 스냅샷에 합치고 계좌 행 잔액과 Redis 잔액을 맞춤
+    // 합친 계좌 수 반환
+    public synchronized int compact() {
+        List<Long> accountIds = ledgerPostingRepository.findUncompactedAccountIds(
+            PageRequest.of(0, COMPACTION_BATCH_SIZE));
+        for (Long accountId : accountIds) {
+            createSnapshotIfAbsent(accountId);
+            Long version = snapshotTransaction.execute(status -> balanceSnapshotRepository
+                .findByAccountIdForUpdate(accountId)
+                .map(this::advance)
+                .orElse(null));
+            if (version != null) {
+                lagging.add(accountId);
+            }
+        }
+
+        // 지난번에 Redis 를 따라잡지 못한 계좌도 함께 다시 시도
+        for (Long accountId : List.copyOf(lagging)) {
+            try {
+                catchUp(accountId, currentVersion(accountId));
+                lagging.remove(accountId);
+            } catch (DataAccessException e) {
+                log.warn("원장 Redis 압축 반영 실패, 다음 압축 때 다시 시도합니다: {} {}", accountId,
+                    e.getMessage());
+            }
+        }
+        return accountIds.size();
+    }
+
+    // 스냅샷 행을 잠근 뒤에 읽으므로 그 사이 다른 인스턴스가 합친 원장은 다시 합치지 않음
+    // 원장 번호 순서대로 잔액을 쌓으면서 연결된 거래 내역의 거래 후 잔액을 실제 값으로 고침
+    private long advance(BalanceSnapshot snapshot) {
+        Long accountId = snapshot.getAccountId();
+        List<LedgerPosting> postings = ledgerPostingRepository.findUncompacted(accountId,
+            PageRequest.of(0, COMPACTION_BATCH_SIZE));
+        if (postings.isEmpty()) {
+            return snapshot.getCompactionVersion();
+        }
+
+        long balance = snapshot.getBalance();
+        List<Long> postingIds = new ArrayList<>(postings.size());
+        Map<Long, Long> transactionBalances = new HashMap<>();
+        for (LedgerPosting posting : postings) {
+            balance += posting.getAmount();
+            postingIds.add(posting.getId());
+            if (posting.getTransactionId() != null) {
+                transactionBalances.put(posting.getTransactionId(), balance);
+            }
+        }
+        ledgerPostingRepository.updateTransactionBalances(transactionBalances);
+        long version = snapshot.advance(balance - snapshot.getBalance());
+        ledgerPostingRepository.markCompacted(postingIds, version);
+        challetBankRepository.syncBalance(accountId, snapshot.getBalance());
+        return version;
+    }
+
+    // 이 인스턴스가 살아 있음을 알리고, 풀지 못했던 예약을 다시 풂
+    public void heartbeat() {
+        stringRedisTemplate.opsForValue().set(heartbeatKey(instanceId), "1", ownerTimeout);
+        stringRedisTemplate.opsForSet().add(INSTANCES_KEY, instanceId);
+        registered = true;
+        for (int i = unreleased.size(); i > 0; i--) {
+            Reservation reservation = unreleased.poll();
+            if (reservation == null) {
+                break;
+            }
+            release(reservation);
+        }
+    }
+
+    // 하트비트가 끊긴 인스턴스의 예약을 풂, 그 인스턴스에서 진행 중이던 거래는 커밋하지 못했음
+    public void releaseOrphanedReservations() {
+        Set<String> instances = stringRedisTemplate.opsForSet().members(INSTANCES_KEY);
+        if (instances == null) {
+            return;
+        }
+        for (String instance : instances) {
+            if (instance.equals(instanceId)
+                || Boolean.TRUE.equals(stringRedisTemplate.hasKey(heartbeatKey(instance)))) {
+                continue;
+            }
+            Set<String> owned = stringRedisTemplate.opsForSet().members(ownedKey(instance));
+            if (owned != null) {
+                for (String entry : owned) {
+                    int separator = entry.indexOf(':');
+                    Long accountId = Long.valueOf(entry.substring(0, separator));
+                    stringRedisTemplate.execute(RELEASE, List.of(reservedKey(accountId)),
+                        entry.substring(separator + 1));
+                }
+                log.warn("하트비트가 끊긴 인스턴스 {} 의 원장 예약 {} 건을 풀었습니다.", instance,
+                    owned.size());
+            }
+            stringRedisTemplate.delete(ownedKey(instance));
+            stringRedisTemplate.opsForSet().remove(INSTANCES_KEY, instance);
+        }
+    }
+
+    private long runReserve(Long accountId, String token, long amount) {
+        Long result = stringRedisTemplate.execute(RESERVE,
+            List.of(stateKey(accountId), reservedKey(accountId)),
+            token, String.valueOf(amount));
+        return result == null ? NOT_LOADED : result;
+    }
+
+    private void apply(LedgerPosting posting, String token) {
+        Long accountId = posting.getAccountId();
+        try {
+            stringRedisTemplate.execute(APPLY,
+                List.of(stateKey(accountId), reservedKey(accountId), appliedKey(accountId),
+                    settledKey(accountId)),
+                String.valueOf(posting.getId()), String.valueOf(posting.getAmount()), token);
+        } catch (DataAccessException e) {
+            // 이미 커밋된 원장이므로 압축하면 스냅샷에 들어가고 Redis 잔액에도 더해짐
+            log.warn("원장 Redis 반영 실패: {} {}", posting.getId(), e.getMessage());
+        }
+    }
+
+    private void release(Reservation reservation) {
+        Long accountId = reservation.accountId();
+        try {
+            stringRedisTemplate.execute(RELEASE, List.of(reservedKey(accountId)),
+                reservation.token());
+            stringRedisTemplate.opsForSet().remove(ownedKey(instanceId),
+                owned(accountId, reservation.token()));
+        } catch (DataAccessException e) {
+            log.warn("원장 예약 해제 실패, 하트비트 때 다시 풉니다: {} {}", accountId, e.getMessage());
+            unreleased.add(reservation);
+        }
+    }
+
+    // 스냅샷과 압축하지 않은 원장을 한 트랜잭션에서 읽고, Redis 를 그 스냅샷 차수까지 따라잡은 뒤 잔액을 씀
+    // 그 사이 다른 압축이 끼어들어 차수가 어긋나면 다시 읽음
+    private void load(Long accountId) {
+        createSnapshotIfAbsent(accountId);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            SnapshotView view = snapshotTransaction.execute(status -> {
+                BalanceSnapshot snapshot = balanceSnapshotRepository.findById(accountId)
+                    .orElseThrow(
+                        () -> new ExceptionResponse(CustomException.ACCOUNT_NOT_FOUND_EXCEPTION));
+                return new SnapshotView(snapshot.getBalance(), snapshot.getCompactionVersion(),
+                    ledgerPostingRepository.findUncompacted(accountId, Pageable.unpaged()));
+            });
+            catchUp(accountId, view.version());
+
+            List<String> args = new ArrayList<>(2 + view.uncompacted().size() * 2);
+            args.add(String.valueOf(view.balance()));
+            args.add(String.valueOf(view.version()));
+            addPostings(args, view.uncompacted());
+            Long result = stringRedisTemplate.execute(LOAD,
+                List.of(stateKey(accountId), appliedKey(accountId), versionKey(accountId)),
+                args.toArray());
+            if (result == null || result != VERSION_CONFLICT) {
+                return;
+            }
+        }
+        log.warn("원장 잔액 적재 중 압축이 계속 끼어들어 적재하지 못했습니다: {}", accountId);
+    }
+
+    // Redis 가 반영한 압축 차수를 DB 의 targetVersion 까지 올림, 다른 인스턴스가 먼저 올렸으면 그대로 둠
+    private void catchUp(Long accountId, long targetVersion) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String applied = stringRedisTemplate.opsForValue().get(versionKey(accountId));
+            long appliedVersion = applied == null ? 0 : Long.parseLong(applied);
+            if (appliedVersion >= targetVersion) {
+                return;
+            }
+
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(appliedVersion));
+            args.add(String.valueOf(targetVersion));
+            addPostings(args, ledgerPostingRepository.findCompactedBetween(accountId,
+                appliedVersion, targetVersion));
+            Long result = stringRedisTemplate.execute(RECONCILE,
+                List.of(stateKey(accountId), appliedKey(accountId), settledKey(accountId),
+                    versionKey(accountId)),
+                args.toArray());
+            if (result == null || result != VERSION_CONFLICT) {
+                return;
+            }
+        }
+    }
+
+    private long currentVersion(Long accountId) {
+        return balanceSnapshotRepository.findById(accountId)
+            .map(BalanceSnapshot::getCompactionVersion)
+            .orElse(0L);
+    }
+
+    // 원장 모드로 처음 다루는 계좌는 계좌 행의 잔액으로 스냅샷을 만듦
+    private void createSnapshotIfAbsent(Long accountId) {
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                if (balanceSnapshotRepository.existsById(accountId)) {
+                    return;
+                }
+                Long balance = challetBankRepository.findAccountBalanceById(accountId);
+                if (balance == null) {
+                    throw new ExceptionResponse(CustomException.ACCOUNT_NOT_FOUND_EXCEPTION);
+                }
+                balanceSnapshotRepository.saveAndFlush(
+                    BalanceSnapshot.initial(accountId, balance));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 만듦
+        }
+    }
+
+    private static void addPostings(List<String> args, List<LedgerPosting> postings) {
+        for (LedgerPosting posting : postings) {
+            args.add(String.valueOf(posting.getId()));
+            args.add(String.valueOf(posting.getAmount()));
+        }
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("원장 반영은 트랜잭션 안에서 해야 합니다.");
+        }
+    }
+
+    // 계좌별 키는 같은 해시 슬롯에 두어 스크립트 하나로 다룰 수 있게 함
+    private static String stateKey(Long accountId) {
+        return KEY_PREFIX + accountId + "}";
+    }
+
+    private static String reservedKey(Long accountId) {
+        return stateKey(accountId) + ":reserved";
+    }
+
+    private static String appliedKey(Long accountId) {
+        return stateKey(accountId) + ":applied";
+    }
+
+    // 먼저 압축되어 스냅샷에 들어갔지만 아직 커밋 후 반영(APPLY)이 오지 않은 원장
+    private static String settledKey(Long accountId) {
+        return stateKey(accountId) + ":settled";
+    }
+
+    // Redis 가 반영한 압축 차수
+    private static String versionKey(Long accountId) {
+        return stateKey(accountId) + ":version";
+    }
+
+    private static String heartbeatKey(String instance) {
+        return INSTANCE_PREFIX + instance + "}";
+    }
+
+    // 인스턴스가 잡고 있는 예약 목록 ("계좌id:토큰")
+    private static String ownedKey(String instance) {
+        return heartbeatKey(instance) + ":reservations";
+    }
+
+    private static String owned(Long accountId, String token) {
+        return accountId + ":" + token;
+    }
+}
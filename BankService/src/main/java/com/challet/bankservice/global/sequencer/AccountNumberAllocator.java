@@ -0,0 +1,125 @@
+package com.challet.bankservice.global.sequencer;
+
+import com.challet.bankservice.domain.entity.AccountNumberBlock;
+import com.challet.bankservice.domain.repository.AccountNumberBlockRepository;
+import com.challet.bankservice.domain.repository.AccountProvisioningRepository;
+import com.challet.bankservice.global.exception.CustomException;
+import com.challet.bankservice.global.exception.ExceptionResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 챌렛 은행 계좌 번호 발급기. 계좌 번호는 은행 코드(8082) + 계좌 유형(01) + 9자리 일련번호 + Luhn 검사 숫자.
+ * 일련번호는 account_number_block 행을 잠그고 블록 단위로 빌려 와 메모리에서 나눠 주므로,
+ * 인스턴스가 여러 개여도 서로 다른 블록을 쓰고 발급할 때마다 DB 를 보지 않는다.
+ * 블록을 빌릴 때 예전 방식(시각+난수)으로 만든 계좌 번호와 겹치는 일련번호를 미리 걸러서
+ * 계좌 INSERT 가 고유 인덱스에 걸려 롤백되는 일이 없게 한다.
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+
+    private static final String BLOCK_NAME = "ch-bank-account";
+    private static final String PREFIX = "808201";
+    private static final long MAX_SERIAL = 999_999_999L;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final AccountNumberBlockRepository accountNumberBlockRepository;
+    private final AccountProvisioningRepository accountProvisioningRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int blockSize;
+
+    // 현재 블록에서 다음에 줄 일련번호와 블록 끝 (끝은 포함하지 않음)
+    private long next;
+    private long limit;
+    // 현재 블록 안에서 이미 쓰인 검사 숫자 앞 15자리
+    private Set<String> taken = Set.of();
+
+    public AccountNumberAllocator(AccountNumberBlockRepository accountNumberBlockRepository,
+        AccountProvisioningRepository accountProvisioningRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${account.number.block-size:1000}") int blockSize) {
+        this.accountNumberBlockRepository = accountNumberBlockRepository;
+        this.accountProvisioningRepository = accountProvisioningRepository;
+        // 호출한 쪽 트랜잭션과 상관없이 블록 행 잠금을 바로 풀도록 따로 커밋
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public synchronized List<String> allocate(int count) {
+        List<String> accountNumbers = new ArrayList<>(count);
+        while (accountNumbers.size() < count) {
+            if (next >= limit) {
+                leaseBlock();
+            }
+            String body = bodyOf(next++);
+            if (!taken.contains(body)) {
+                accountNumbers.add(body + checkDigit(body));
+            }
+        }
+        return accountNumbers;
+    }
+
+    private void leaseBlock() {
+        long start = leaseStart();
+        if (start + blockSize - 1 > MAX_SERIAL) {
+            log.error("계좌 번호 일련번호가 모두 소진되었습니다.");
+            throw new ExceptionResponse(CustomException.NOT_CREATE_USER_ACCOUNT_EXCEPTION);
+        }
+        next = start;
+        limit = start + blockSize;
+        taken = accountProvisioningRepository.findAccountNumberBodiesBetween(
+            bodyOf(start) + "0", bodyOf(limit - 1) + "9");
+    }
+
+    // 처음 빌릴 때 여러 인스턴스가 동시에 행을 만들면 한 곳만 성공하므로 다시 시도
+    private long leaseStart() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return leaseTransaction.execute(status -> accountNumberBlockRepository
+                    .findByNameForUpdate(BLOCK_NAME)
+                    .orElseGet(() -> accountNumberBlockRepository.save(
+                        AccountNumberBlock.create(BLOCK_NAME)))
+                    .lease(blockSize));
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("계좌 번호 블록 임대 충돌, 다시 시도합니다. {}", e.getMessage());
+            }
+        }
+    }
+
+    private static String bodyOf(long serial) {
+        return PREFIX + String.format("%09d", serial);
+    }
+
+    // Luhn 검사 숫자, 한 자리 오타와 이웃한 두 자리가 바뀐 경우를 대부분 잡아냄
+    static int checkDigit(String body) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = body.length() - 1; i >= 0; i--) {
+            int digit = body.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,114 @@
+package com.challet.bankservice.global.sequencer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌 번호로 나눈 줄(stripe)마다 작업 스레드 하나가 명령을 순서대로 처리한다.
+ * 같은 계좌의 명령은 항상 같은 줄로 가므로 도착 순서가 보장되고, 작업 스레드는 대기 중인 명령을
+ * 한 번에 꺼내 계좌별로 묶어서 처리하므로 몰리는 계좌일수록 한 트랜잭션에 많은 명령이 들어간다.
+ * 일부러 기다리며 묶지는 않아서 한가할 때는 명령 하나씩 바로 처리된다.
+ */
+@Slf4j
+public class AccountSequencer<C, R> {
+
+    private final String name;
+    private final int maxBatchSize;
+    private final BatchHandler<C, R> handler;
+    private final List<BlockingQueue<Entry<C, R>>> stripes;
+    private final List<Thread> workers;
+
+    public AccountSequencer(String name, int stripeCount, int queueCapacity, int maxBatchSize,
+        BatchHandler<C, R> handler) {
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.handler = handler;
+        this.stripes = new ArrayList<>(stripeCount);
+        this.workers = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            BlockingQueue<Entry<C, R>> queue = new LinkedBlockingQueue<>(queueCapacity);
+            stripes.add(queue);
+            workers.add(Thread.ofPlatform()
+                .name(name + "-" + i)
+                .daemon(true)
+                .start(() -> drain(queue)));
+        }
+    }
+
+    // 줄이 가득 차면 기다리지 않고 거절 (요청 스레드와 커넥션이 같이 쌓이지 않게 함)
+    public CompletableFuture<R> submit(Long accountId, C command) {
+        SequencedCommand<C, R> sequenced = new SequencedCommand<>(command,
+            new CompletableFuture<>());
+        BlockingQueue<Entry<C, R>> stripe = stripes.get(
+            Math.floorMod(Long.hashCode(accountId), stripes.size()));
+        if (!stripe.offer(new Entry<>(accountId, sequenced))) {
+            sequenced.result().completeExceptionally(
+                new RejectedExecutionException(name + " 대기열이 가득 찼습니다."));
+        }
+        return sequenced.result();
+    }
+
+    public void shutdown() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void drain(BlockingQueue<Entry<C, R>> queue) {
+        List<Entry<C, R>> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+
+            // 계좌별로 도착 순서를 유지한 채 묶음
+            Map<Long, List<SequencedCommand<C, R>>> byAccount = new LinkedHashMap<>();
+            for (Entry<C, R> entry : batch) {
+                byAccount.computeIfAbsent(entry.accountId(), accountId -> new ArrayList<>())
+                    .add(entry.command());
+            }
+            byAccount.forEach(this::apply);
+            batch.clear();
+        }
+
+        // 종료 시 남은 명령은 처리하지 않고 실패로 응답
+        List<Entry<C, R>> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(entry -> entry.command().result().completeExceptionally(
+            new RejectedExecutionException(name + " 이(가) 종료되었습니다.")));
+    }
+
+    private void apply(Long accountId, List<SequencedCommand<C, R>> commands) {
+        try {
+            handler.apply(accountId, commands);
+        } catch (RuntimeException e) {
+            log.warn("{} 계좌 {} 명령 {}건 처리 실패: {}", name, accountId, commands.size(),
+                e.getMessage());
+            commands.forEach(command -> command.result().completeExceptionally(e));
+        }
+    }
+
+    // 한 계좌의 명령 묶음을 처리하고 명령마다 결과를 완료해야 함 (예외를 던지면 전부 실패 처리)
+    @FunctionalInterface
+    public interface BatchHandler<C, R> {
+
+        void apply(Long accountId, List<SequencedCommand<C, R>> commands);
+    }
+
+    public record SequencedCommand<C, R>(C command, CompletableFuture<R> result) {
+
+    }
+
+    private record Entry<C, R>(Long accountId, SequencedCommand<C, R> command) {
+
+    }
+}
@@ -0,0 +1,77 @@
+package com.challet.bankservice.global.util;
+
+import com.challet.bankservice.domain.entity.CategoryMapping;
+import com.challet.bankservice.domain.entity.CategoryT;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 계좌 하나의 결제처-카테고리 매핑을 메모리에서 찾도록 미리 만들어 둔 매처.
+ * 저장소 조회와 같은 규칙으로, 결제처 이름이 그대로 등록되어 있으면 그 카테고리를,
+ * 없으면 결제처 이름을 포함하는 매핑 중 가장 먼저 등록된 매핑의 카테고리를 돌려준다.
+ * 포함 검색은 등록 순서대로 훑으므로 만드는 비용과 메모리가 매핑 이름 길이의 합에 비례한다.
+ * 만든 뒤에는 바꾸지 않으므로 여러 스레드가 함께 읽어도 된다.
+ */
+public final class CategoryMatcher {
+
+    private final Map<String, String> exactMappings;
+    private final List<Mapping> orderedMappings;
+    private final Map<String, Long> categoryIds;
+
+    private CategoryMatcher(Map<String, String> exactMappings, List<Mapping> orderedMappings,
+        Map<String, Long> categoryIds) {
+        this.exactMappings = exactMappings;
+        this.orderedMappings = orderedMappings;
+        this.categoryIds = categoryIds;
+    }
+
+    // mappings 는 등록 순서(id 오름차순)로, 카테고리를 함께 읽어 둔 상태여야 함
+    public static CategoryMatcher compile(List<CategoryMapping> mappings,
+        List<CategoryT> categories) {
+        Map<String, String> exactMappings = new HashMap<>();
+        List<Mapping> orderedMappings = new ArrayList<>(mappings.size());
+
+        for (CategoryMapping mapping : mappings) {
+            String depositName = mapping.getDepositName();
+            String categoryName = mapping.getCategoryT().getCategoryName();
+            if (depositName == null) {
+                continue;
+            }
+            // 같은 이름이 다시 등록되면 먼저 등록된 매핑이 항상 이기므로 한 번만 둠
+            if (exactMappings.putIfAbsent(depositName, categoryName) == null) {
+                orderedMappings.add(new Mapping(depositName, categoryName));
+            }
+        }
+
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (CategoryT category : categories) {
+            categoryIds.putIfAbsent(category.getCategoryName(), category.getId());
+        }
+        return new CategoryMatcher(exactMappings, List.copyOf(orderedMappings), categoryIds);
+    }
+
+    // 일치하는 매핑이 없으면 null
+    public String match(String deposit) {
+        String categoryName = exactMappings.get(deposit);
+        if (categoryName != null) {
+            return categoryName;
+        }
+
+        for (Mapping mapping : orderedMappings) {
+            if (mapping.depositName().contains(deposit)) {
+                return mapping.categoryName();
+            }
+        }
+        return null;
+    }
+
+    public Long getCategoryId(String categoryName) {
+        return categoryIds.get(categoryName);
+    }
+
+    private record Mapping(String depositName, String categoryName) {
+
+    }
+}
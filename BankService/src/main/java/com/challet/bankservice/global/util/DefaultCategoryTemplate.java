@@ -0,0 +1,32 @@
+package com.challet.bankservice.global.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 계좌를 개설할 때 함께 만드는 기본 카테고리와 카테고리별 기본 결제처 목록.
+ * 모든 계좌가 같은 내용을 쓰므로 한 번만 만들어 두고 읽기만 한다.
+ */
+public final class DefaultCategoryTemplate {
+
+    // 카테고리 이름 → 기본 결제처 목록 (등록 순서 유지)
+    public static final Map<String, List<String>> MAPPINGS;
+
+    static {
+        Map<String, List<String>> mappings = new LinkedHashMap<>();
+        mappings.put("DELIVERY", List.of("배달의민족", "요기요", "쿠팡이츠", "교촌치킨", "도미노피자", "족발보쌈", "BBQ"));
+        mappings.put("TRANSPORT",
+            List.of("택시", "버스", "티머니", "카카오택시", "카카오바이크", "씽씽이", "S-OIL", "현대오일뱅크"));
+        mappings.put("COFFEE",
+            List.of("스타벅스", "할리스", "파스쿠치", "투썸플레이스", "이디야", "커피", "카페", "메가커피", "봄봄",
+                "컴포즈커피"));
+        mappings.put("SHOPPING", List.of("무신사", "지그재그", "올리브영", "KREAM", "네이버쇼핑", "쿠팡"));
+        mappings.put("ETC", List.of());
+        MAPPINGS = Collections.unmodifiableMap(mappings);
+    }
+
+    private DefaultCategoryTemplate() {
+    }
+}
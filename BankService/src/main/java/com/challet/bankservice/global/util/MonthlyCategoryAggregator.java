@@ -0,0 +1,78 @@
+package com.challet.bankservice.global.util;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.dto.response.MonthlyTrendDTO;
+import com.challet.bankservice.domain.entity.Category;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캐시된 한달 거래 내역에서 카테고리별 결제 합계를 계산한다.
+ * 은행 저장소의 카테고리 합계 쿼리와 같은 기준(카테고리가 있는 출금 거래)으로, 목록을 한 번만 훑는다.
+ */
+public final class MonthlyCategoryAggregator {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private MonthlyCategoryAggregator() {
+    }
+
+    // 결제 금액은 음수 그대로 더함 (원격 조회 결과와 같은 부호)
+    public static Map<Category, Long> sumSpending(
+        Collection<List<MonthlyTransactionHistoryDTO>> sources) {
+        long[] sums = new long[CATEGORIES.length];
+        boolean[] present = new boolean[CATEGORIES.length];
+
+        for (List<MonthlyTransactionHistoryDTO> transactions : sources) {
+            for (MonthlyTransactionHistoryDTO transaction : transactions) {
+                Long amount = transaction.transactionAmount();
+                if (transaction.category() == null || amount == null || amount >= 0) {
+                    continue;
+                }
+                int index = transaction.category().ordinal();
+                sums[index] += amount;
+                present[index] = true;
+            }
+        }
+
+        Map<Category, Long> categorySums = new EnumMap<>(Category.class);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (present[i]) {
+                categorySums.put(CATEGORIES[i], sums[i]);
+            }
+        }
+        return categorySums;
+    }
+
+    // 추이 조회용 한달 요약, 카테고리 합계와 입출금 합계를 한 번에 계산
+    public static MonthlyTrendDTO summarize(int year, int month,
+        Collection<List<MonthlyTransactionHistoryDTO>> sources, List<String> degradedBanks) {
+        long deposit = 0;
+        long withdrawal = 0;
+        for (List<MonthlyTransactionHistoryDTO> transactions : sources) {
+            for (MonthlyTransactionHistoryDTO transaction : transactions) {
+                Long amount = transaction.transactionAmount();
+                if (amount == null) {
+                    continue;
+                }
+                if (amount > 0) {
+                    deposit += amount;
+                } else {
+                    withdrawal += amount;
+                }
+            }
+        }
+
+        return MonthlyTrendDTO.builder()
+            .year(year)
+            .month(month)
+            .categoryAmounts(sumSpending(sources))
+            .deposit(deposit)
+            .withdrawal(withdrawal)
+            .netFlow(deposit + withdrawal)
+            .degradedBanks(degradedBanks)
+            .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.challet.bankservice.global.util;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * (거래일시, 거래 id) 내림차순으로 정렬된 은행별 거래 목록을 힙으로 병합한다.
+ * 전체를 합쳐 다시 정렬하지 않고, 필요한 건수만큼만 꺼낸다.
+ */
+public final class MonthlyTransactionMerger {
+
+    // 같은 시각의 거래는 id 가 큰 쪽이 먼저 (은행 쿼리의 정렬 순서와 같음)
+    private static final Comparator<MonthlyTransactionHistoryDTO> LATEST_FIRST = Comparator.comparing(
+            MonthlyTransactionHistoryDTO::transactionDate)
+        .thenComparing(MonthlyTransactionHistoryDTO::transactionId,
+            Comparator.nullsFirst(Comparator.naturalOrder()))
+        .reversed();
+
+    private MonthlyTransactionMerger() {
+    }
+
+    public static <K> List<MonthlyTransactionHistoryDTO> mergeAll(
+        Map<K, List<MonthlyTransactionHistoryDTO>> sortedSources) {
+        return merge(sortedSources, Integer.MAX_VALUE).transactions();
+    }
+
+    public static <K> MergeResult<K> merge(Map<K, List<MonthlyTransactionHistoryDTO>> sortedSources,
+        int limit) {
+        PriorityQueue<SourceCursor<K>> heap = new PriorityQueue<>(
+            Math.max(sortedSources.size(), 1),
+            (left, right) -> LATEST_FIRST.compare(left.current(), right.current()));
+        Map<K, Integer> consumed = new LinkedHashMap<>();
+        Map<K, MonthlyTransactionHistoryDTO> lastConsumed = new LinkedHashMap<>();
+
+        int total = 0;
+        for (Map.Entry<K, List<MonthlyTransactionHistoryDTO>> entry : sortedSources.entrySet()) {
+            consumed.put(entry.getKey(), 0);
+            if (!entry.getValue().isEmpty()) {
+                heap.add(new SourceCursor<>(entry.getKey(), entry.getValue()));
+                total += entry.getValue().size();
+            }
+        }
+
+        List<MonthlyTransactionHistoryDTO> merged = new ArrayList<>(Math.min(limit, total));
+        while (merged.size() < limit && !heap.isEmpty()) {
+            SourceCursor<K> top = heap.poll();
+            merged.add(top.current());
+            consumed.merge(top.key, 1, Integer::sum);
+            lastConsumed.put(top.key, top.current());
+            if (top.advance()) {
+                heap.add(top);
+            }
+        }
+        return new MergeResult<>(merged, consumed, lastConsumed);
+    }
+
+    // 정렬된 목록에서 커서 위치 바로 다음 거래부터 size 건 (위치가 없으면 처음부터)
+    public static List<MonthlyTransactionHistoryDTO> after(
+        List<MonthlyTransactionHistoryDTO> sortedTransactions, TimelineCursor.Position position,
+        int size) {
+        int from = 0;
+        if (position != null) {
+            MonthlyTransactionHistoryDTO probe = MonthlyTransactionHistoryDTO.builder()
+                .transactionDate(position.transactionDate())
+                .transactionId(position.transactionId())
+                .build();
+            // probe 보다 뒤에 오는 첫 위치를 이진 탐색
+            int high = sortedTransactions.size();
+            while (from < high) {
+                int mid = (from + high) >>> 1;
+                if (LATEST_FIRST.compare(sortedTransactions.get(mid), probe) <= 0) {
+                    from = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        return sortedTransactions.subList(from,
+            (int) Math.min((long) from + size, sortedTransactions.size()));
+    }
+
+    public record MergeResult<K>(
+
+        // 병합된 거래 내역 (최신순)
+        List<MonthlyTransactionHistoryDTO> transactions,
+
+        // 은행별로 꺼낸 건수
+        Map<K, Integer> consumed,
+
+        // 은행별로 마지막으로 꺼낸 거래 (꺼내지 않은 은행은 없음)
+        Map<K, MonthlyTransactionHistoryDTO> lastConsumed
+    ) {
+
+    }
+
+    private static final class SourceCursor<K> {
+
+        private final K key;
+        private final List<MonthlyTransactionHistoryDTO> transactions;
+        private int index;
+
+        private SourceCursor(K key, List<MonthlyTransactionHistoryDTO> transactions) {
+            this.key = key;
+            this.transactions = transactions;
+        }
+
+        private MonthlyTransactionHistoryDTO current() {
+            return transactions.get(index);
+        }
+
+        private boolean advance() {
+            return ++index < transactions.size();
+        }
+    }
+}
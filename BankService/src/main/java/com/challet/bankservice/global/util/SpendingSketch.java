@@ -0,0 +1,102 @@
+package com.challet.bankservice.global.util;
+
+/**
+ * 사용자별 한달 결제 금액 분포를 고정 크기 로그 버킷 히스토그램으로 요약한다.
+ * 버킷 i 는 [GAMMA^i, GAMMA^(i+1)) 원 구간이라 금액 크기와 관계없이 상대 오차가 약 9% 이내이고,
+ * 같은 버킷 배열끼리 더하기만 하면 병합되므로 서로 겹치지 않는 사용자 묶음의 요약을 그대로 합칠 수 있다.
+ */
+public final class SpendingSketch {
+
+    public static final int BUCKET_COUNT = 128;
+
+    // 1.18^128 ≈ 16억 원까지 구분, 그 이상은 마지막 버킷
+    private static final double LOG_GAMMA = Math.log(1.18);
+
+    private final long[] buckets;
+    private long count;
+
+    public SpendingSketch() {
+        this.buckets = new long[BUCKET_COUNT];
+    }
+
+    public static SpendingSketch of(long[] buckets) {
+        if (buckets.length != BUCKET_COUNT) {
+            throw new IllegalArgumentException("버킷 수가 맞지 않습니다: " + buckets.length);
+        }
+        SpendingSketch sketch = new SpendingSketch();
+        sketch.merge(buckets);
+        return sketch;
+    }
+
+    // 결제 금액(양수) 한 건 추가
+    public void add(long amount) {
+        buckets[indexOf(amount)]++;
+        count++;
+    }
+
+    public void merge(SpendingSketch other) {
+        merge(other.buckets);
+    }
+
+    private void merge(long[] other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] += other[i];
+            count += other[i];
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long[] buckets() {
+        return buckets.clone();
+    }
+
+    // amount 보다 적게 쓴 사람의 비율 (0~100), 같은 버킷 안에서는 절반으로 계산
+    public double percentileOf(long amount) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = indexOf(amount);
+        long below = 0;
+        for (int i = 0; i < index; i++) {
+            below += buckets[i];
+        }
+        return (below + buckets[index] / 2.0) * 100.0 / count;
+    }
+
+    // 0 이 아닌 버킷만 "인덱스:개수" 로 이어 붙인 문자열 (Redis 저장용)
+    public String encode() {
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (buckets[i] == 0) {
+                continue;
+            }
+            if (!encoded.isEmpty()) {
+                encoded.append(',');
+            }
+            encoded.append(i).append(':').append(buckets[i]);
+        }
+        return encoded.toString();
+    }
+
+    public static SpendingSketch decode(String encoded) {
+        long[] buckets = new long[BUCKET_COUNT];
+        if (!encoded.isEmpty()) {
+            for (String entry : encoded.split(",")) {
+                int separator = entry.indexOf(':');
+                buckets[Integer.parseInt(entry, 0, separator, 10)] = Long.parseLong(
+                    entry.substring(separator + 1));
+            }
+        }
+        return of(buckets);
+    }
+
+    static int indexOf(long amount) {
+        if (amount <= 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKET_COUNT - 1, Math.floor(Math.log(amount) / LOG_GAMMA));
+    }
+}
@@ -0,0 +1,96 @@
+package com.challet.bankservice.global.util;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 타임라인 페이지 커서. 은행별로 마지막으로 내려준 거래의 (거래 일시, 거래 id) 를 담아
+ * 다음 페이지는 그보다 앞선 거래부터 읽는다. 같은 시각의 거래는 id 로 구분하고,
+ * 이번 달에 새 거래가 생겨도 다음 페이지 위치가 밀리지 않는다.
+ */
+public record TimelineCursor(Position[] positions) {
+
+    private static final String NOT_STARTED = "-";
+
+    // 은행 안에서 마지막으로 내려준 거래 위치
+    public record Position(LocalDateTime transactionDate, long transactionId) {
+
+    }
+
+    public static TimelineCursor first() {
+        return new TimelineCursor(new Position[BankType.values().length]);
+    }
+
+    public static TimelineCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor),
+                StandardCharsets.UTF_8);
+            String[] entries = decoded.split(",", -1);
+            if (entries.length != BankType.values().length) {
+                throw invalid(null);
+            }
+            Position[] positions = new Position[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                positions[i] = decodePosition(entries[i]);
+            }
+            return new TimelineCursor(positions);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalid(e);
+        }
+    }
+
+    private static Position decodePosition(String entry) {
+        if (entry.equals(NOT_STARTED)) {
+            return null;
+        }
+        int separator = entry.lastIndexOf('|');
+        if (separator < 0) {
+            throw invalid(null);
+        }
+        long transactionId = Long.parseLong(entry.substring(separator + 1));
+        if (transactionId <= 0) {
+            throw invalid(null);
+        }
+        return new Position(LocalDateTime.parse(entry.substring(0, separator)), transactionId);
+    }
+
+    private static ResponseStatusException invalid(Exception cause) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 타임라인 커서입니다.",
+            cause);
+    }
+
+    // null 이면 그 은행은 처음부터
+    public Position position(BankType bank) {
+        return positions[bank.ordinal()];
+    }
+
+    // 이번 페이지에서 은행별로 마지막으로 꺼낸 거래로 위치를 옮김 (꺼내지 않은 은행은 그대로)
+    public TimelineCursor advance(Map<BankType, MonthlyTransactionHistoryDTO> lastConsumed) {
+        Position[] next = positions.clone();
+        lastConsumed.forEach((bank, transaction) -> next[bank.ordinal()] = new Position(
+            transaction.transactionDate(), transaction.transactionId()));
+        return new TimelineCursor(next);
+    }
+
+    public String encode() {
+        String joined = Arrays.stream(positions)
+            .map(position -> position == null
+                ? NOT_STARTED
+                : position.transactionDate() + "|" + position.transactionId())
+            .collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+}
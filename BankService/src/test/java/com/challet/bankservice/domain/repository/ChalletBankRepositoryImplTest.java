@@ -0,0 +1,278 @@
+package com.challet.bankservice.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.challet.bankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.bankservice.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.bankservice.domain.dto.request.UserInfoMessageRequestDTO;
+import com.challet.bankservice.domain.entity.Category;
+import com.challet.bankservice.global.config.QueryDslConfig;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// QueryDSL 이 실제로 만든 월별 조회 SQL 을 데이터를 채운 MySQL 에서 EXPLAIN 해서 전체 스캔이 없는지 확인
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryDslConfig.class, ChalletBankRepositoryImplTest.QueryRecorderConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ChalletBankRepositoryImplTest {
+
+    private static final int ACCOUNT_COUNT = 2_000;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 30;
+    private static final String COHORT_KEY = "20-true";
+    private static final MonthlyTransactionRequestDTO OCTOBER =
+        MonthlyTransactionRequestDTO.fromDTO(2024, 10);
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    // 컨텍스트와 스키마를 테스트 사이에 재사용하므로 데이터는 한 번만 채움
+    private static boolean seeded;
+
+    @Autowired
+    private ChalletBankRepository challetBankRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ch_bank (name, account_number, account_balance, "
+                + "create_date_time, phone_number, mydata_status) VALUES (?, ?, ?, ?, ?, ?)",
+            IntStream.range(0, ACCOUNT_COUNT)
+                .mapToObj(i -> new Object[]{"사용자" + i, String.format("99990000%08d", i),
+                    1_000_000L, Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)),
+                    phoneNumber(i), false})
+                .toList());
+
+        // 계좌마다 9월, 10월, 11월에 걸쳐 거래를 나눠 넣음
+        List<Long> accountIds = jdbcTemplate.queryForList("SELECT id FROM ch_bank", Long.class);
+        Category[] categories = Category.values();
+        List<Object[]> transactions = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            for (int i = 0; i < TRANSACTIONS_PER_ACCOUNT; i++) {
+                LocalDateTime transactionDatetime = LocalDateTime.of(2024, 9, 1, 9, 0)
+                    .plusDays(i * 3L).plusMinutes(accountId % 600);
+                transactions.add(new Object[]{accountId, -1_000L * (i + 1),
+                    Timestamp.valueOf(transactionDatetime), "가맹점" + i, "출금" + accountId,
+                    1_000_000L - 1_000L * (i + 1), categories[i % categories.length].name()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ch_transaction (ch_bank_id, transaction_amount, "
+            + "transaction_datetime, deposit, withdrawal, transaction_balance, category) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)", transactions);
+
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO cohort_member (cohort_key, phone_number) VALUES (?, ?)",
+            IntStream.range(0, ACCOUNT_COUNT).filter(i -> i % 10 == 0)
+                .mapToObj(i -> new Object[]{COHORT_KEY, phoneNumber(i)})
+                .toList());
+
+        // 옵티마이저가 실제 데이터 분포로 계획을 세우도록 통계 갱신
+        jdbcTemplate.queryForList("ANALYZE TABLE ch_bank, ch_transaction, cohort_member");
+        seeded = true;
+    }
+
+    @Test
+    @DisplayName("월별 거래 내역 조회는 전체 스캔 없이 인덱스를 탄다")
+    void getTransactionByPhoneNumberAndYearMonth_noFullScan() {
+        List<CapturedQuery> queries = queryRecorder.record(() ->
+            challetBankRepository.getTransactionByPhoneNumberAndYearMonth(phoneNumber(7),
+                OCTOBER));
+
+        assertNoFullScan(queries);
+    }
+
+    @Test
+    @DisplayName("커서로 이어 읽는 월별 거래 내역 조회는 전체 스캔 없이 인덱스를 탄다")
+    void getTransactionPageByPhoneNumberAndYearMonth_noFullScan() {
+        List<CapturedQuery> queries = queryRecorder.record(() ->
+            challetBankRepository.getTransactionPageByPhoneNumberAndYearMonth(phoneNumber(7),
+                OCTOBER, LocalDateTime.of(2024, 10, 15, 12, 0), 100L, 20));
+
+        assertNoFullScan(queries);
+    }
+
+    @Test
+    @DisplayName("내 카테고리별 월 지출 조회는 전체 스캔 없이 인덱스를 탄다")
+    void getMyTransactionByCategory_noFullScan() {
+        List<CapturedQuery> queries = queryRecorder.record(() ->
+            challetBankRepository.getMyTransactionByCategory(phoneNumber(7), OCTOBER));
+
+        assertNoFullScan(queries);
+    }
+
+    @Test
+    @DisplayName("전화번호 목록으로 묶은 카테고리 평균, 코호트 지출 조회는 전체 스캔 없이 인덱스를 탄다")
+    void phoneNumberGroupQueries_noFullScan() {
+        UserInfoMessageRequestDTO userInfo = UserInfoMessageRequestDTO.builder()
+            .age(20)
+            .gender(true)
+            .phoneNumbers(IntStream.range(0, 50).mapToObj(i -> phoneNumber(i * 40)).toList())
+            .build();
+        BankToAnalysisMessageRequestDTO message =
+            BankToAnalysisMessageRequestDTO.ofRequestMessage(userInfo, OCTOBER);
+
+        List<CapturedQuery> queries = queryRecorder.record(() -> {
+            challetBankRepository.getTransactionByGroupCategory(message);
+            challetBankRepository.getCohortSpending(message);
+        });
+
+        assertNoFullScan(queries);
+    }
+
+    @Test
+    @DisplayName("코호트 키로 묶은 카테고리 평균, 코호트 지출 조회는 전체 스캔 없이 인덱스를 탄다")
+    void cohortKeyQueries_noFullScan() {
+        BankToAnalysisMessageRequestDTO message =
+            BankToAnalysisMessageRequestDTO.ofCohortReference(COHORT_KEY, OCTOBER);
+
+        List<CapturedQuery> queries = queryRecorder.record(() -> {
+            challetBankRepository.getTransactionByGroupCategory(message);
+            challetBankRepository.getCohortSpending(message);
+        });
+
+        assertNoFullScan(queries);
+    }
+
+    // 잡힌 쿼리를 같은 파라미터로 EXPLAIN 해서 type=ALL 인 테이블이 없는지 확인
+    private void assertNoFullScan(List<CapturedQuery> queries) {
+        assertThat(queries).isNotEmpty();
+        for (CapturedQuery captured : queries) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "EXPLAIN " + captured.sql(), captured.parameters().toArray());
+            assertThat(plan)
+                .as(captured.sql())
+                .isNotEmpty()
+                .allSatisfy(row -> assertThat(row.get("type")).isNotEqualTo("ALL"));
+        }
+    }
+
+    private static String phoneNumber(int index) {
+        return String.format("0109%07d", index);
+    }
+
+    record CapturedQuery(String sql, List<Object> parameters) {
+
+    }
+
+    // record 로 감싼 구간에서 실행된 SELECT 의 SQL 과 바인딩된 값을 모음
+    static class QueryRecorder {
+
+        private final List<CapturedQuery> captured = new ArrayList<>();
+        private volatile boolean recording;
+
+        synchronized List<CapturedQuery> record(Runnable action) {
+            captured.clear();
+            recording = true;
+            try {
+                action.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(captured);
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                method.getName().equals("getConnection")
+                    ? wrap((Connection) result) : result);
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                recording && method.getName().equals("prepareStatement")
+                    && ((String) args[0]).trim().toLowerCase().startsWith("select")
+                    ? wrap((PreparedStatement) result, (String) args[0]) : result);
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("executeQuery") || name.equals("execute")) {
+                    captured.add(new CapturedQuery(sql, new ArrayList<>(parameters.values())));
+                }
+                return result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterInvocation afterInvocation) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return afterInvocation.apply(method, args, result);
+                });
+        }
+
+        private interface AfterInvocation {
+
+            Object apply(Method method, Object[] args, Object result);
+        }
+    }
+
+    @TestConfiguration
+    static class QueryRecorderConfig {
+
+        @Bean
+        QueryRecorder queryRecorder() {
+            return new QueryRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor(QueryRecorder queryRecorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                        ? queryRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
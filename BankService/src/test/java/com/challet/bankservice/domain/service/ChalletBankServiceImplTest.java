@@ -1,123 +1,375 @@
-//package com.challet.bankservice.domain.service;
-//
-//import static org.junit.jupiter.api.Assertions.assertThrows;
-//
-//import com.challet.bankservice.domain.dto.request.PaymentRequestDTO;
-//import com.challet.bankservice.domain.entity.ChalletBank;
-//import com.challet.bankservice.domain.repository.ChalletBankRepository;
-//import com.challet.bankservice.global.exception.CustomException;
-//import com.challet.bankservice.global.exception.ExceptionResponse;
-//import java.util.concurrent.CountDownLatch;
-//import java.util.concurrent.ExecutorService;
-//import java.util.concurrent.Executors;
-//import org.assertj.core.api.Assertions;
-//import org.junit.jupiter.api.AfterEach;
-//import org.junit.jupiter.api.BeforeEach;
-//import org.junit.jupiter.api.DisplayName;
-//import org.junit.jupiter.api.Test;
-//import org.springframework.beans.factory.annotation.Autowired;
-//import org.springframework.boot.test.context.SpringBootTest;
-//
-//@SpringBootTest
-//class ChalletBankServiceImplTest {
-//
-//    @Autowired
-//    private ChalletBankService challetBankService;
-//    @Autowired
-//    private ChalletBankServiceImpl challetBankServiceImpl;
-//
-//    @Autowired
-//    private ChalletBankRepository challetBankRepository;
-//
-//    private ChalletBank testAccount;
-//
-//    @BeforeEach
-//    public void before() {
-//        // 테스트 시작 전에 계좌를 생성하고 저장
-//        testAccount = ChalletBank.builder()
-//            .accountBalance(100L)
-//            .phoneNumber("01012345678")
-//            .accountNumber("9999999999998723")
-//            .build();
-//
-//        ChalletBank test = challetBankRepository.save(testAccount);
-//        challetBankServiceImpl.createDefaultCategoriesAndMappingsForAccount(test);
-//    }
-//
-//    @AfterEach
-//    public void after() {
-//        testAccount = challetBankRepository.findById(testAccount.getId()).orElse(null);
-//        if (testAccount != null) {
-//            challetBankRepository.delete(testAccount);
-//        }
-//    }
-//
-//
-//    @Test
-//    @DisplayName("동시에 100개의 결제시 동시성 테스트")
-//    void qrPayment_simultaneous() throws InterruptedException {
-//        // 자동 생성된 ID 확인
-//        Long accountId = testAccount.getId();
-//
-//        PaymentRequestDTO paymentRequestDTO = PaymentRequestDTO
-//            .builder()
-//            .transactionAmount(1L)
-//            .accountNumber("01012345678")
-//            .deposit("할리스")
-//            .build();
-//
-//        int threadCount = 100;
-//        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
-//        ExecutorService executorService = Executors.newFixedThreadPool(32);
-//
-//        for (int i = 0; i < threadCount; i++) {
-//            executorService.submit(() -> {
-//                try {
-//                    challetBankService.qrPayment(accountId, paymentRequestDTO);
-//                } finally {
-//                    countDownLatch.countDown();
-//                }
-//            });
-//        }
-//
-//        countDownLatch.await();
-//
-//        // 테스트 후 상태 확인
-//        ChalletBank updatedChalletBank = challetBankRepository.findById(accountId).orElseThrow();
-//        Long updatedAccountBalance = updatedChalletBank.getAccountBalance();
-//
-//        Assertions.assertThat(updatedAccountBalance).isEqualTo(0);
-//    }
-//
-//    @Test
-//    @DisplayName("결제 금액이 잔액보다 많을 경우 예외 발생 테스트")
-//    void payment_insufficient_balance() {
-//        // 자동 생성된 ID 확인
-//        Long accountId = testAccount.getId();
-//
-//        // 결제 금액이 잔액보다 큼 (잔액 100보다 큰 금액 설정)
-//        PaymentRequestDTO paymentRequestDTO = PaymentRequestDTO
-//            .builder()
-//            .transactionAmount(1000L)
-//            .accountNumber("01012345678")
-//            .deposit("test1")
-//            .build();
-//
-//
-//        // 예외가 발생하는지 확인
-//        Exception exception = assertThrows(ExceptionResponse.class, () -> {
-//            challetBankService.qrPayment(accountId, paymentRequestDTO);
-//        });
-//
-//        // 예외 메시지 확인
-//        Assertions.assertThat(((ExceptionResponse) exception).getCustomException())
-//            .isEqualTo(CustomException.NOT_ENOUGH_FUNDS_EXCEPTION);
-//
-//        // 계좌 잔액이 변하지 않았는지 확인 (잔액이 부족하여 트랜잭션이 실패했으므로 잔액이 100으로 유지되어야 함)
-//        ChalletBank updatedChalletBank = challetBankRepository.findById(accountId).orElseThrow();
-//        Long updatedAccountBalance = updatedChalletBank.getAccountBalance();
-//
-//        Assertions.assertThat(updatedAccountBalance).isEqualTo(100);
-//    }
-//
-//}
+package com.challet.bankservice.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.challet.bankservice.domain.dto.request.AccountCreateRequestDTO;
+import com.challet.bankservice.domain.dto.request.AccountTransferRequestDTO;
+import com.challet.bankservice.domain.dto.request.BatchPaymentItemDTO;
+import com.challet.bankservice.domain.dto.request.PaymentRequestDTO;
+import com.challet.bankservice.domain.dto.response.BatchPaymentResponseDTO;
+import com.challet.bankservice.domain.entity.ChalletBank;
+import com.challet.bankservice.domain.repository.ChalletBankRepository;
+import com.challet.bankservice.global.exception.CustomException;
+import com.challet.bankservice.global.exception.ExceptionResponse;
+import com.challet.bankservice.global.util.DefaultCategoryTemplate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 실제 DB 가 필요하므로 -Dbenchmark=true 로 실행할 때만 수행
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ChalletBankServiceImplTest {
+
+    @Autowired
+    private ChalletBankService challetBankService;
+    @Autowired
+    private ChalletBankServiceImpl challetBankServiceImpl;
+
+    @Autowired
+    private ChalletBankRepository challetBankRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ChalletBank testAccount;
+
+    @BeforeEach
+    public void before() {
+        // 테스트 시작 전에 계좌를 생성하고 저장
+        testAccount = ChalletBank.builder()
+            .accountBalance(100L)
+            .phoneNumber("01012345678")
+            .accountNumber("9999999999998723")
+            .build();
+
+        ChalletBank test = challetBankRepository.save(testAccount);
+        challetBankServiceImpl.createDefaultCategoriesAndMappingsForAccount(test);
+    }
+
+    @AfterEach
+    public void after() {
+        testAccount = challetBankRepository.findById(testAccount.getId()).orElse(null);
+        if (testAccount != null) {
+            challetBankRepository.delete(testAccount);
+        }
+    }
+
+
+    @Test
+    @DisplayName("한 계좌에 동시에 100개의 결제시 잔액 경합 벤치마크")
+    void qrPayment_simultaneous() throws InterruptedException {
+        // 자동 생성된 ID 확인
+        Long accountId = testAccount.getId();
+
+        PaymentRequestDTO paymentRequestDTO = PaymentRequestDTO
+            .builder()
+            .transactionAmount(1L)
+            .accountNumber("01012345678")
+            .deposit("할리스")
+            .build();
+
+        int threadCount = 100;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    challetBankService.qrPayment(accountId, paymentRequestDTO);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 같은 시점에 결제를 시작하도록 맞춘 뒤 걸린 시간 측정
+        long startedAt = System.nanoTime();
+        startLatch.countDown();
+        countDownLatch.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executorService.shutdown();
+
+        System.out.printf("결제 %d건 / %dms (%.1f건/초), 실패 %d건%n", threadCount, elapsedMillis,
+            threadCount * 1000.0 / Math.max(elapsedMillis, 1), failures.get());
+
+        // 테스트 후 상태 확인
+        ChalletBank updatedChalletBank = challetBankRepository.findById(accountId).orElseThrow();
+        Long updatedAccountBalance = updatedChalletBank.getAccountBalance();
+
+        Assertions.assertThat(failures.get()).isZero();
+        Assertions.assertThat(updatedAccountBalance).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("잔액보다 많은 동시 결제는 잔액만큼만 성공")
+    void qrPayment_simultaneous_overdraw() throws InterruptedException {
+        Long accountId = testAccount.getId();
+
+        PaymentRequestDTO paymentRequestDTO = PaymentRequestDTO
+            .builder()
+            .transactionAmount(1L)
+            .accountNumber("01012345678")
+            .deposit("할리스")
+            .build();
+
+        int threadCount = 150;
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        AtomicInteger insufficient = new AtomicInteger();
+
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    challetBankService.qrPayment(accountId, paymentRequestDTO);
+                } catch (ExceptionResponse e) {
+                    insufficient.incrementAndGet();
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        countDownLatch.await();
+        executorService.shutdown();
+
+        ChalletBank updatedChalletBank = challetBankRepository.findById(accountId).orElseThrow();
+        Assertions.assertThat(updatedChalletBank.getAccountBalance()).isEqualTo(0);
+        Assertions.assertThat(insufficient.get()).isEqualTo(threadCount - 100);
+    }
+
+    @Test
+    @DisplayName("같은 멱등 키로 동시에 재시도한 결제는 한 번만 반영되고 같은 응답을 받음")
+    void qrPayment_duplicate_idempotency_key() throws InterruptedException {
+        Long accountId = testAccount.getId();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        PaymentRequestDTO paymentRequestDTO = PaymentRequestDTO
+            .builder()
+            .transactionAmount(10L)
+            .accountNumber("01012345678")
+            .deposit("할리스")
+            .build();
+
+        int threadCount = 20;
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        Set<Long> transactionIds = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    transactionIds.add(challetBankService.qrPayment(accountId, idempotencyKey,
+                        paymentRequestDTO).transactionId());
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        countDownLatch.await();
+        executorService.shutdown();
+
+        ChalletBank updatedChalletBank = challetBankRepository.findById(accountId).orElseThrow();
+        Assertions.assertThat(updatedChalletBank.getAccountBalance()).isEqualTo(90);
+        Assertions.assertThat(transactionIds).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("일괄 결제는 잔액만큼만 성공하고 항목별 결과를 요청 순서대로 돌려줌")
+    void batchPayments_per_item_results() {
+        Long accountId = testAccount.getId();
+        int paymentCount = 150;
+        List<BatchPaymentItemDTO> payments = IntStream.range(0, paymentCount)
+            .mapToObj(i -> BatchPaymentItemDTO.builder()
+                .accountId(accountId)
+                .transactionAmount(1L)
+                .deposit("할리스")
+                .build())
+            .toList();
+
+        long startedAt = System.nanoTime();
+        BatchPaymentResponseDTO response = challetBankService.batchPayments(payments);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        System.out.printf("일괄 결제 %d건 / %dms (%.1f건/초)%n", paymentCount, elapsedMillis,
+            paymentCount * 1000.0 / Math.max(elapsedMillis, 1));
+
+        Assertions.assertThat(response.successCount()).isEqualTo(100);
+        Assertions.assertThat(response.failureCount()).isEqualTo(paymentCount - 100);
+        Assertions.assertThat(response.results().get(0).success()).isTrue();
+        Assertions.assertThat(response.results().get(paymentCount - 1).success()).isFalse();
+        Assertions.assertThat(challetBankRepository.findAccountBalanceById(accountId)).isZero();
+    }
+
+    @Test
+    @DisplayName("일괄 결제에 결제처가 없는 항목이 섞여도 그 항목만 실패하고 나머지는 반영됨")
+    void batchPayments_invalid_item_isolated() {
+        Long accountId = testAccount.getId();
+        List<BatchPaymentItemDTO> payments = IntStream.range(0, 10)
+            .mapToObj(i -> BatchPaymentItemDTO.builder()
+                .accountId(accountId)
+                .transactionAmount(1L)
+                .deposit(i == 3 ? null : "할리스")
+                .build())
+            .toList();
+
+        BatchPaymentResponseDTO response = challetBankService.batchPayments(payments);
+
+        Assertions.assertThat(response.successCount()).isEqualTo(9);
+        Assertions.assertThat(response.results().get(3).success()).isFalse();
+        Assertions.assertThat(challetBankRepository.findAccountBalanceById(accountId))
+            .isEqualTo(91);
+    }
+
+    @Test
+    @DisplayName("두 계좌 사이 양방향 동시 이체 벤치마크 (교착 상태 없이 잔액 합계 유지)")
+    void accountTransfer_bidirectional_simultaneous() throws InterruptedException {
+        ChalletBank otherAccount = challetBankRepository.save(ChalletBank.builder()
+            .accountBalance(100L)
+            .phoneNumber("01087654321")
+            .accountNumber("9999999999997725")
+            .build());
+        challetBankServiceImpl.createDefaultCategoriesAndMappingsForAccount(otherAccount);
+
+        try {
+            int threadCount = 200;
+            CountDownLatch startLatch = new CountDownLatch(1);
+            CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+            ExecutorService executorService = Executors.newFixedThreadPool(32);
+            AtomicInteger failures = new AtomicInteger();
+
+            // 절반은 A→B, 절반은 B→A 로 1원씩 이체
+            for (int i = 0; i < threadCount; i++) {
+                boolean forward = i % 2 == 0;
+                Long fromAccountId = forward ? testAccount.getId() : otherAccount.getId();
+                AccountTransferRequestDTO requestDTO = AccountTransferRequestDTO.builder()
+                    .bankCode("8082")
+                    .depositAccountNumber(forward ? otherAccount.getAccountNumber()
+                        : testAccount.getAccountNumber())
+                    .transactionAmount(1L)
+                    .build();
+                executorService.submit(() -> {
+                    try {
+                        startLatch.await();
+                        challetBankService.accountTransfer(fromAccountId, requestDTO);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        countDownLatch.countDown();
+                    }
+                });
+            }
+
+            long startedAt = System.nanoTime();
+            startLatch.countDown();
+            countDownLatch.await();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            executorService.shutdown();
+
+            System.out.printf("양방향 이체 %d건 / %dms (%.1f건/초), 실패 %d건%n", threadCount,
+                elapsedMillis, threadCount * 1000.0 / Math.max(elapsedMillis, 1), failures.get());
+
+            Assertions.assertThat(failures.get()).isZero();
+            Assertions.assertThat(challetBankRepository.findAccountBalanceById(testAccount.getId()))
+                .isEqualTo(100);
+            Assertions.assertThat(challetBankRepository.findAccountBalanceById(otherAccount.getId()))
+                .isEqualTo(100);
+        } finally {
+            challetBankRepository.findById(otherAccount.getId())
+                .ifPresent(challetBankRepository::delete);
+        }
+    }
+
+    @Test
+    @DisplayName("결제 금액이 잔액보다 많을 경우 예외 발생 테스트")
+    void payment_insufficient_balance() {
+        // 자동 생성된 ID 확인
+        Long accountId = testAccount.getId();
+
+        // 결제 금액이 잔액보다 큼 (잔액 100보다 큰 금액 설정)
+        PaymentRequestDTO paymentRequestDTO = PaymentRequestDTO
+            .builder()
+            .transactionAmount(1000L)
+            .accountNumber("01012345678")
+            .deposit("test1")
+            .build();
+
+
+        // 예외가 발생하는지 확인
+        Exception exception = assertThrows(ExceptionResponse.class, () -> {
+            challetBankService.qrPayment(accountId, paymentRequestDTO);
+        });
+
+        // 예외 메시지 확인
+        Assertions.assertThat(((ExceptionResponse) exception).getCustomException())
+            .isEqualTo(CustomException.NOT_ENOUGH_FUNDS_EXCEPTION);
+
+        // 계좌 잔액이 변하지 않았는지 확인 (잔액이 부족하여 트랜잭션이 실패했으므로 잔액이 100으로 유지되어야 함)
+        ChalletBank updatedChalletBank = challetBankRepository.findById(accountId).orElseThrow();
+        Long updatedAccountBalance = updatedChalletBank.getAccountBalance();
+
+        Assertions.assertThat(updatedAccountBalance).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("계좌 개설 처리량 벤치마크 (한 건씩 개설 vs 일괄 개설)")
+    void createAccounts_throughput() {
+        int accountCount = 500;
+        List<AccountCreateRequestDTO> requests = IntStream.range(0, accountCount)
+            .mapToObj(i -> AccountCreateRequestDTO.builder()
+                .name("벤치마크" + i)
+                .phoneNumber(String.format("0109%07d", i))
+                .build())
+            .toList();
+
+        try {
+            long startedAt = System.nanoTime();
+            requests.forEach(request -> challetBankService.createAccount(request.name(),
+                request.phoneNumber()));
+            long singleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            startedAt = System.nanoTime();
+            int created = challetBankService.createAccounts(requests).createdCount();
+            long bulkMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            System.out.printf("한 건씩 %d계좌 / %dms (%.1f계좌/초)%n", accountCount, singleMillis,
+                accountCount * 1000.0 / Math.max(singleMillis, 1));
+            System.out.printf("일괄 %d계좌 / %dms (%.1f계좌/초)%n", accountCount, bulkMillis,
+                accountCount * 1000.0 / Math.max(bulkMillis, 1));
+
+            Assertions.assertThat(created).isEqualTo(accountCount);
+            Assertions.assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM category_mapping m JOIN ch_bank b ON m.ch_bank_id = b.id "
+                    + "WHERE b.phone_number LIKE '0109%'", Long.class))
+                .isEqualTo(2L * accountCount * DefaultCategoryTemplate.MAPPINGS.values().stream()
+                    .mapToInt(List::size).sum());
+        } finally {
+            String accounts = "SELECT id FROM ch_bank WHERE phone_number LIKE '0109%'";
+            jdbcTemplate.update("DELETE FROM category_mapping WHERE ch_bank_id IN (" + accounts + ")");
+            jdbcTemplate.update("DELETE FROM category WHERE ch_bank_id IN (" + accounts + ")");
+            jdbcTemplate.update("DELETE FROM ch_bank WHERE phone_number LIKE '0109%'");
+        }
+    }
+}
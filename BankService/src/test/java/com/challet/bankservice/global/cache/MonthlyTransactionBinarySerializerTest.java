@@ -0,0 +1,84 @@
+package com.challet.bankservice.global.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.Category;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class MonthlyTransactionBinarySerializerTest {
+
+    private final MonthlyTransactionBinarySerializer serializer =
+        new MonthlyTransactionBinarySerializer();
+
+    @Test
+    @DisplayName("모든 필드가 채워진 거래는 그대로 복원된다")
+    void roundTrip_allFields() {
+        MonthlyTransactionHistoryDTO transaction = MonthlyTransactionHistoryDTO.builder()
+            .bankName("kb-bank")
+            .accountNumber("0083010078382")
+            .balance(1_250_000L)
+            .transactionDate(LocalDateTime.of(2024, 10, 31, 23, 59, 59, 123_456_789))
+            .deposit("스타벅스 역삼점")
+            .withdrawal("김챌렛")
+            .transactionBalance(1_245_500L)
+            .transactionAmount(-4_500L)
+            .category(Category.COFFEE)
+            .transactionId(9_876_543_210L)
+            .build();
+
+        byte[] bytes = serializer.serialize(transaction);
+
+        assertThat(MonthlyTransactionBinarySerializer.isBinary(bytes)).isTrue();
+        assertThat(serializer.deserialize(bytes)).isEqualTo(transaction);
+    }
+
+    @Test
+    @DisplayName("사전에 없는 은행 이름과 숫자가 아닌 계좌번호는 문자열로 복원된다")
+    void roundTrip_rawStrings() {
+        MonthlyTransactionHistoryDTO transaction = MonthlyTransactionHistoryDTO.builder()
+            .bankName("other-bank")
+            .accountNumber("123-456-789")
+            .transactionDate(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1_000_000))
+            .transactionAmount(Long.MIN_VALUE)
+            .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(transaction)))
+            .isEqualTo(transaction);
+    }
+
+    @Test
+    @DisplayName("비어 있는 필드는 비어 있는 채로 복원된다")
+    void roundTrip_nullFields() {
+        MonthlyTransactionHistoryDTO transaction = MonthlyTransactionHistoryDTO.builder().build();
+
+        assertThat(serializer.deserialize(serializer.serialize(transaction)))
+            .isEqualTo(transaction);
+    }
+
+    @Test
+    @DisplayName("잘린 데이터는 SerializationException 으로 거부된다")
+    void deserialize_truncated() {
+        byte[] bytes = serializer.serialize(MonthlyTransactionHistoryDTO.builder()
+            .deposit("스타벅스 역삼점")
+            .transactionId(1L)
+            .build());
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThatThrownBy(() -> serializer.deserialize(truncated))
+            .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    @DisplayName("바이너리 형식이 아닌 데이터는 거부된다")
+    void deserialize_notBinary() {
+        assertThatThrownBy(() -> serializer.deserialize("{}".getBytes()))
+            .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,162 @@
+package com.challet.bankservice.global.cache;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import com.challet.bankservice.domain.entity.Category;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+/**
+ * 한달 거래 내역 캐시 직렬화 비교.
+ * legacy* : 기존 방식 (GenericJackson2JsonRedisSerializer 로 목록 통째 저장 + objectMapper.convertValue)
+ * json*   : 세그먼트 원소 단위 JSON
+ * binary* : 세그먼트 원소 단위 바이너리
+ * JMH 로 오래 돌기 때문에 -Dbenchmark=true 로 실행할 때만 수행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class MonthlyTransactionCodecBenchmarkTest {
+
+    private static final String[] DEPOSITS = {"스타벅스", "배달의민족", "카카오택시", "무신사", "편의점"};
+
+    @Param({"50", "300"})
+    private int transactionCount;
+
+    private List<MonthlyTransactionHistoryDTO> transactions;
+
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer legacySerializer;
+    private Jackson2JsonRedisSerializer<MonthlyTransactionHistoryDTO> jsonSerializer;
+    private MonthlyTransactionBinarySerializer binarySerializer;
+
+    private byte[] legacyBytes;
+    private byte[][] jsonBytes;
+    private byte[][] binaryBytes;
+
+    @Test
+    @DisplayName("한달 거래 내역 직렬화 벤치마크 (목록 통째 JSON vs 원소 단위 JSON vs 바이너리)")
+    void codecs() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MonthlyTransactionCodecBenchmarkTest.class.getSimpleName())
+            .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        legacySerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper,
+            MonthlyTransactionHistoryDTO.class);
+        binarySerializer = new MonthlyTransactionBinarySerializer();
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 10, 31, 23, 0);
+        transactions = new ArrayList<>();
+        for (int i = 0; i < transactionCount; i++) {
+            long amount = -(random.nextInt(100) + 1) * 100L;
+            transactions.add(MonthlyTransactionHistoryDTO.builder()
+                .bankName(BankType.values()[i % BankType.values().length].getBankName())
+                .accountNumber("80830100783824" + (i % 3))
+                .balance(1_000_000L + amount * i)
+                .transactionDate(start.minusMinutes(i * 97L))
+                .deposit(DEPOSITS[random.nextInt(DEPOSITS.length)])
+                .withdrawal("김챌렛")
+                .transactionBalance(1_000_000L + amount * i)
+                .transactionAmount(amount)
+                .category(Category.values()[random.nextInt(Category.values().length)])
+                .transactionId(100_000L - i)
+                .build());
+        }
+
+        legacyBytes = legacySerializer.serialize(transactions);
+        jsonBytes = transactions.stream().map(jsonSerializer::serialize).toArray(byte[][]::new);
+        binaryBytes = transactions.stream().map(binarySerializer::serialize)
+            .toArray(byte[][]::new);
+
+        System.out.printf("%n[%d건] legacy=%dB json=%dB binary=%dB%n", transactionCount,
+            legacyBytes.length, totalLength(jsonBytes), totalLength(binaryBytes));
+    }
+
+    @Benchmark
+    public byte[] legacyEncode() {
+        return legacySerializer.serialize(transactions);
+    }
+
+    @Benchmark
+    public List<MonthlyTransactionHistoryDTO> legacyDecode() {
+        Object cachedData = legacySerializer.deserialize(legacyBytes);
+        return objectMapper.convertValue(cachedData,
+            new TypeReference<List<MonthlyTransactionHistoryDTO>>() {
+            });
+    }
+
+    @Benchmark
+    public void jsonEncode(Blackhole blackhole) {
+        for (MonthlyTransactionHistoryDTO transaction : transactions) {
+            blackhole.consume(jsonSerializer.serialize(transaction));
+        }
+    }
+
+    @Benchmark
+    public void jsonDecode(Blackhole blackhole) {
+        for (byte[] bytes : jsonBytes) {
+            blackhole.consume(jsonSerializer.deserialize(bytes));
+        }
+    }
+
+    @Benchmark
+    public void binaryEncode(Blackhole blackhole) {
+        for (MonthlyTransactionHistoryDTO transaction : transactions) {
+            blackhole.consume(binarySerializer.serialize(transaction));
+        }
+    }
+
+    @Benchmark
+    public void binaryDecode(Blackhole blackhole) {
+        for (byte[] bytes : binaryBytes) {
+            blackhole.consume(binarySerializer.deserialize(bytes));
+        }
+    }
+
+    private static long totalLength(byte[][] values) {
+        long total = 0;
+        for (byte[] value : values) {
+            total += value.length;
+        }
+        return total;
+    }
+}
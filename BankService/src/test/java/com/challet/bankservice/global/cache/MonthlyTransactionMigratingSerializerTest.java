@@ -0,0 +1,79 @@
+package com.challet.bankservice.global.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.Category;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+class MonthlyTransactionMigratingSerializerTest {
+
+    private static final MonthlyTransactionHistoryDTO TRANSACTION =
+        MonthlyTransactionHistoryDTO.builder()
+            .bankName("ch-bank")
+            .accountNumber("9999999999998723")
+            .balance(100_000L)
+            .transactionDate(LocalDateTime.of(2024, 10, 1, 12, 30))
+            .deposit("배달의민족")
+            .withdrawal("9999999999998723")
+            .transactionBalance(82_000L)
+            .transactionAmount(-18_000L)
+            .category(Category.DELIVERY)
+            .transactionId(42L)
+            .build();
+
+    private final MonthlyTransactionBinarySerializer binarySerializer =
+        new MonthlyTransactionBinarySerializer();
+    private final RedisSerializer<MonthlyTransactionHistoryDTO> jsonSerializer = jsonSerializer();
+
+    @Test
+    @DisplayName("JSON 으로 저장하도록 설정해도 바이너리로 저장된 거래를 읽는다")
+    void jsonWriter_readsBinary() {
+        MonthlyTransactionMigratingSerializer serializer = new MonthlyTransactionMigratingSerializer(
+            jsonSerializer, binarySerializer, jsonSerializer);
+
+        assertThat(serializer.deserialize(binarySerializer.serialize(TRANSACTION)))
+            .isEqualTo(TRANSACTION);
+        assertThat(MonthlyTransactionBinarySerializer.isBinary(serializer.serialize(TRANSACTION)))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("바이너리로 저장하도록 설정해도 JSON 으로 저장된 거래를 읽는다")
+    void binaryWriter_readsJson() {
+        MonthlyTransactionMigratingSerializer serializer = new MonthlyTransactionMigratingSerializer(
+            binarySerializer, binarySerializer, jsonSerializer);
+
+        assertThat(serializer.deserialize(jsonSerializer.serialize(TRANSACTION)))
+            .isEqualTo(TRANSACTION);
+        assertThat(MonthlyTransactionBinarySerializer.isBinary(serializer.serialize(TRANSACTION)))
+            .isTrue();
+        assertThat(serializer.deserialize(serializer.serialize(TRANSACTION)))
+            .isEqualTo(TRANSACTION);
+    }
+
+    @Test
+    @DisplayName("비어 있는 값은 null 로 읽는다")
+    void emptyBytes() {
+        MonthlyTransactionMigratingSerializer serializer = new MonthlyTransactionMigratingSerializer(
+            binarySerializer, binarySerializer, jsonSerializer);
+
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    // RedisConfig 의 ObjectMapper 설정과 같게 구성
+    private static RedisSerializer<MonthlyTransactionHistoryDTO> jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new Jackson2JsonRedisSerializer<>(objectMapper, MonthlyTransactionHistoryDTO.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.challet.bankservice.global.sequencer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AccountNumberAllocatorTest {
+
+    @Test
+    @DisplayName("Luhn 검사 숫자는 알려진 예시와 같다")
+    void checkDigit_knownValues() {
+        assertThat(AccountNumberAllocator.checkDigit("7992739871")).isEqualTo(3);
+        assertThat(AccountNumberAllocator.checkDigit("808201000000000")).isEqualTo(3);
+        assertThat(AccountNumberAllocator.checkDigit("0")).isZero();
+    }
+
+    @Test
+    @DisplayName("검사 숫자를 붙인 번호는 한 자리 오타와 이웃한 두 자리 바뀜을 잡아낸다")
+    void checkDigit_detectsTypos() {
+        String body = "808201000012345";
+        String accountNumber = body + AccountNumberAllocator.checkDigit(body);
+        assertThat(isValid(accountNumber)).isTrue();
+
+        for (int i = 0; i < body.length(); i++) {
+            for (char digit = '0'; digit <= '9'; digit++) {
+                if (digit == accountNumber.charAt(i)) {
+                    continue;
+                }
+                String typo = accountNumber.substring(0, i) + digit
+                    + accountNumber.substring(i + 1);
+                assertThat(isValid(typo)).as(typo).isFalse();
+            }
+        }
+
+        String swapped = "808201000012354" + accountNumber.charAt(body.length());
+        assertThat(isValid(swapped)).isFalse();
+    }
+
+    private static boolean isValid(String accountNumber) {
+        String body = accountNumber.substring(0, accountNumber.length() - 1);
+        return AccountNumberAllocator.checkDigit(body)
+            == accountNumber.charAt(accountNumber.length() - 1) - '0';
+    }
+}
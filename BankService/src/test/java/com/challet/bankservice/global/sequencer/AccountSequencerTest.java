@@ -0,0 +1,125 @@
+package com.challet.bankservice.global.sequencer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.challet.bankservice.global.sequencer.AccountSequencer.SequencedCommand;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AccountSequencerTest {
+
+    private AccountSequencer<Integer, Integer> sequencer;
+
+    @AfterEach
+    void shutdown() {
+        if (sequencer != null) {
+            sequencer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 계좌의 명령은 도착 순서대로 처리된다")
+    void sameAccount_keepsArrivalOrder() {
+        List<Integer> applied = new CopyOnWriteArrayList<>();
+        sequencer = new AccountSequencer<>("test", 4, 1_000, 16,
+            (accountId, commands) -> commands.forEach(command -> {
+                applied.add(command.command());
+                command.result().complete(command.command());
+            }));
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            results.add(sequencer.submit(7L, i));
+        }
+        results.forEach(CompletableFuture::join);
+
+        assertThat(applied).hasSize(500).isSorted();
+    }
+
+    @Test
+    @DisplayName("작업 스레드가 바쁜 동안 쌓인 명령은 계좌별로 묶여 한 번에 처리된다")
+    void queuedCommands_areBatchedPerAccount() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        sequencer = new AccountSequencer<>("test", 1, 1_000, 16, (accountId, commands) -> {
+            batches.add(commands.stream().map(SequencedCommand::command).toList());
+            if (commands.get(0).command() == 0) {
+                firstStarted.countDown();
+                awaitQuietly(releaseFirst);
+            }
+            commands.forEach(command -> command.result().complete(command.command()));
+        });
+
+        CompletableFuture<Integer> first = sequencer.submit(1L, 0);
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        queued.add(sequencer.submit(1L, 1));
+        queued.add(sequencer.submit(2L, 100));
+        queued.add(sequencer.submit(1L, 2));
+        queued.add(sequencer.submit(1L, 3));
+        releaseFirst.countDown();
+
+        first.join();
+        queued.forEach(CompletableFuture::join);
+
+        assertThat(batches).containsExactly(List.of(0), List.of(1, 2, 3), List.of(100));
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 거절된다")
+    void fullQueue_rejects() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        sequencer = new AccountSequencer<>("test", 1, 1, 16, (accountId, commands) -> {
+            firstStarted.countDown();
+            awaitQuietly(releaseFirst);
+            commands.forEach(command -> command.result().complete(command.command()));
+        });
+
+        CompletableFuture<Integer> running = sequencer.submit(1L, 0);
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> queued = sequencer.submit(1L, 1);
+        CompletableFuture<Integer> rejected = sequencer.submit(1L, 2);
+
+        assertThatThrownBy(rejected::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+
+        releaseFirst.countDown();
+        assertThat(running.join()).isEqualTo(0);
+        assertThat(queued.join()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("묶음 처리 중 예외가 나면 그 묶음의 명령이 모두 실패한다")
+    void handlerFailure_failsWholeBatch() {
+        sequencer = new AccountSequencer<>("test", 1, 10, 16, (accountId, commands) -> {
+            throw new IllegalStateException("boom");
+        });
+
+        CompletableFuture<Integer> result = sequencer.submit(1L, 0);
+
+        assertThatThrownBy(result::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.challet.bankservice.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.challet.bankservice.domain.entity.CategoryMapping;
+import com.challet.bankservice.domain.entity.CategoryT;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CategoryMatcherTest {
+
+    private static final CategoryT DELIVERY = category(1L, "DELIVERY");
+    private static final CategoryT COFFEE = category(2L, "COFFEE");
+    private static final CategoryT ETC = category(3L, "ETC");
+
+    // 등록 순서(id 오름차순)
+    private final CategoryMatcher matcher = CategoryMatcher.compile(List.of(
+            mapping(1L, "배민 스타벅스", DELIVERY),
+            mapping(2L, "스타벅스", COFFEE),
+            mapping(3L, "스타벅스", ETC),
+            mapping(4L, null, ETC)),
+        List.of(DELIVERY, COFFEE, ETC));
+
+    @Test
+    @DisplayName("그대로 등록된 이름이 포함 매핑보다 우선하고, 같은 이름은 먼저 등록된 매핑을 쓴다")
+    void match_exactFirst() {
+        assertThat(matcher.match("스타벅스")).isEqualTo("COFFEE");
+    }
+
+    @Test
+    @DisplayName("그대로 등록된 이름이 없으면 결제처 이름을 포함하는 매핑 중 먼저 등록된 매핑을 쓴다")
+    void match_containsEarliest() {
+        assertThat(matcher.match("스타")).isEqualTo("DELIVERY");
+        assertThat(matcher.match("벅스")).isEqualTo("DELIVERY");
+        assertThat(matcher.match("배민")).isEqualTo("DELIVERY");
+    }
+
+    @Test
+    @DisplayName("포함하는 매핑이 없으면 null")
+    void match_none() {
+        assertThat(matcher.match("이디야")).isNull();
+        assertThat(matcher.match("스타벅스 역삼점")).isNull();
+    }
+
+    @Test
+    @DisplayName("카테고리 이름으로 id 를 찾는다")
+    void getCategoryId() {
+        assertThat(matcher.getCategoryId("COFFEE")).isEqualTo(2L);
+        assertThat(matcher.getCategoryId("SHOPPING")).isNull();
+    }
+
+    private static CategoryT category(Long id, String categoryName) {
+        return CategoryT.builder().id(id).categoryName(categoryName).build();
+    }
+
+    private static CategoryMapping mapping(Long id, String depositName, CategoryT category) {
+        return CategoryMapping.builder().id(id).depositName(depositName).categoryT(category)
+            .build();
+    }
+}
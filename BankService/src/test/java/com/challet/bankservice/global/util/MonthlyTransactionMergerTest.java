@@ -0,0 +1,107 @@
+package com.challet.bankservice.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import com.challet.bankservice.global.util.MonthlyTransactionMerger.MergeResult;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MonthlyTransactionMergerTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 10, 15, 12, 0);
+
+    @Test
+    @DisplayName("은행별 목록을 거래일시, 같은 시각이면 거래 id 내림차순으로 병합한다")
+    void mergeAll_latestFirst() {
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> sources = new LinkedHashMap<>();
+        sources.put(BankType.KB_BANK, List.of(
+            transaction("kb-bank", NOON.plusHours(2), 11),
+            transaction("kb-bank", NOON, 10)));
+        sources.put(BankType.NH_BANK, List.of(
+            transaction("nh-bank", NOON.plusHours(1), 5),
+            transaction("nh-bank", NOON, 12),
+            transaction("nh-bank", NOON.minusDays(1), 3)));
+        sources.put(BankType.SH_BANK, List.of());
+
+        List<MonthlyTransactionHistoryDTO> merged = MonthlyTransactionMerger.mergeAll(sources);
+
+        assertThat(merged).extracting(MonthlyTransactionHistoryDTO::transactionId)
+            .containsExactly(11L, 5L, 12L, 10L, 3L);
+    }
+
+    @Test
+    @DisplayName("limit 만큼만 꺼내고 은행별로 꺼낸 건수와 마지막 거래를 돌려준다")
+    void merge_limit() {
+        Map<BankType, List<MonthlyTransactionHistoryDTO>> sources = new LinkedHashMap<>();
+        sources.put(BankType.KB_BANK, List.of(
+            transaction("kb-bank", NOON.plusHours(2), 11),
+            transaction("kb-bank", NOON, 10)));
+        sources.put(BankType.NH_BANK, List.of(
+            transaction("nh-bank", NOON.plusHours(1), 5)));
+        sources.put(BankType.SH_BANK, List.of(
+            transaction("sh-bank", NOON.minusHours(1), 7)));
+
+        MergeResult<BankType> result = MonthlyTransactionMerger.merge(sources, 2);
+
+        assertThat(result.transactions()).extracting(MonthlyTransactionHistoryDTO::transactionId)
+            .containsExactly(11L, 5L);
+        assertThat(result.consumed()).containsExactly(Map.entry(BankType.KB_BANK, 1),
+            Map.entry(BankType.NH_BANK, 1), Map.entry(BankType.SH_BANK, 0));
+        assertThat(result.lastConsumed()).containsOnlyKeys(BankType.KB_BANK, BankType.NH_BANK);
+        assertThat(result.lastConsumed().get(BankType.KB_BANK).transactionId()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("after 는 커서 위치 바로 다음 거래부터 size 건을 돌려준다")
+    void after_position() {
+        List<MonthlyTransactionHistoryDTO> sorted = List.of(
+            transaction("kb-bank", NOON.plusHours(1), 9),
+            transaction("kb-bank", NOON, 8),
+            transaction("kb-bank", NOON, 6),
+            transaction("kb-bank", NOON.minusHours(1), 7),
+            transaction("kb-bank", NOON.minusHours(2), 2));
+
+        assertThat(ids(MonthlyTransactionMerger.after(sorted, null, 2)))
+            .containsExactly(9L, 8L);
+        assertThat(ids(MonthlyTransactionMerger.after(sorted,
+            new TimelineCursor.Position(NOON, 8), 2)))
+            .containsExactly(6L, 7L);
+        assertThat(ids(MonthlyTransactionMerger.after(sorted,
+            new TimelineCursor.Position(NOON, 6), 10)))
+            .containsExactly(7L, 2L);
+    }
+
+    @Test
+    @DisplayName("after 는 목록에 없는 위치도 순서상 다음 거래부터 돌려준다")
+    void after_missingPosition() {
+        List<MonthlyTransactionHistoryDTO> sorted = List.of(
+            transaction("kb-bank", NOON.plusHours(1), 9),
+            transaction("kb-bank", NOON, 6),
+            transaction("kb-bank", NOON.minusHours(1), 7));
+
+        assertThat(ids(MonthlyTransactionMerger.after(sorted,
+            new TimelineCursor.Position(NOON, 8), 10)))
+            .containsExactly(6L, 7L);
+        assertThat(MonthlyTransactionMerger.after(sorted,
+            new TimelineCursor.Position(NOON.minusDays(1), 1), 10)).isEmpty();
+    }
+
+    private static List<Long> ids(List<MonthlyTransactionHistoryDTO> transactions) {
+        return transactions.stream().map(MonthlyTransactionHistoryDTO::transactionId).toList();
+    }
+
+    private static MonthlyTransactionHistoryDTO transaction(String bankName,
+        LocalDateTime transactionDate, long transactionId) {
+        return MonthlyTransactionHistoryDTO.builder()
+            .bankName(bankName)
+            .transactionDate(transactionDate)
+            .transactionId(transactionId)
+            .build();
+    }
+}
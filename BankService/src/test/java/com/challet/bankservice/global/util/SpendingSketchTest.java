@@ -0,0 +1,79 @@
+package com.challet.bankservice.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SpendingSketchTest {
+
+    @Test
+    @DisplayName("백분위는 더 적게 쓴 사람 수에 같은 구간 사람의 절반을 더해 계산한다")
+    void percentileOf() {
+        SpendingSketch sketch = sketchOf(100, 1_000, 10_000, 100_000);
+
+        assertThat(sketch.count()).isEqualTo(4);
+        assertThat(sketch.percentileOf(10_000)).isCloseTo(62.5, within(1e-9));
+        assertThat(sketch.percentileOf(50)).isZero();
+        assertThat(sketch.percentileOf(1_000_000)).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("비어 있는 요약의 백분위는 0 이다")
+    void percentileOf_empty() {
+        assertThat(new SpendingSketch().percentileOf(1_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("나눠 만든 요약을 병합하면 한 번에 만든 요약과 같다")
+    void merge_equalsSingleSketch() {
+        SpendingSketch left = sketchOf(4_500, 12_000, 12_500);
+        SpendingSketch right = sketchOf(300, 87_000, 1_500_000_000_000L);
+
+        left.merge(right);
+
+        SpendingSketch whole = sketchOf(4_500, 12_000, 12_500, 300, 87_000,
+            1_500_000_000_000L);
+        assertThat(left.buckets()).isEqualTo(whole.buckets());
+        assertThat(left.count()).isEqualTo(6);
+        assertThat(left.percentileOf(12_000)).isEqualTo(whole.percentileOf(12_000));
+    }
+
+    @Test
+    @DisplayName("0 이하와 아주 큰 금액은 양 끝 구간에 들어간다")
+    void indexOf_bounds() {
+        assertThat(SpendingSketch.indexOf(0)).isZero();
+        assertThat(SpendingSketch.indexOf(1)).isZero();
+        assertThat(SpendingSketch.indexOf(Long.MAX_VALUE))
+            .isEqualTo(SpendingSketch.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    @DisplayName("인코딩한 요약은 그대로 복원된다")
+    void encode_roundTrip() {
+        SpendingSketch sketch = sketchOf(100, 100, 5_000, 77_000);
+
+        SpendingSketch decoded = SpendingSketch.decode(sketch.encode());
+
+        assertThat(decoded.buckets()).isEqualTo(sketch.buckets());
+        assertThat(decoded.count()).isEqualTo(4);
+        assertThat(SpendingSketch.decode("").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("버킷 수가 다른 배열은 거부된다")
+    void of_wrongLength() {
+        assertThatThrownBy(() -> SpendingSketch.of(new long[3]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SpendingSketch sketchOf(long... amounts) {
+        SpendingSketch sketch = new SpendingSketch();
+        for (long amount : amounts) {
+            sketch.add(amount);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,100 @@
+package com.challet.bankservice.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.challet.bankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
+import com.challet.bankservice.domain.entity.BankType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class TimelineCursorTest {
+
+    @Test
+    @DisplayName("비어 있는 커서는 모든 은행을 처음부터 읽는다")
+    void decode_blank() {
+        TimelineCursor cursor = TimelineCursor.decode(null);
+
+        for (BankType bank : BankType.values()) {
+            assertThat(cursor.position(bank)).isNull();
+        }
+        assertThat(TimelineCursor.decode(cursor.encode()).position(BankType.KB_BANK)).isNull();
+    }
+
+    @Test
+    @DisplayName("advance 로 옮긴 위치는 인코딩 후에도 그대로 복원된다")
+    void advance_roundTrip() {
+        LocalDateTime kbDate = LocalDateTime.of(2024, 10, 15, 12, 30, 5, 123_000_000);
+        LocalDateTime shDate = LocalDateTime.of(2024, 10, 1, 0, 0);
+        TimelineCursor cursor = TimelineCursor.first().advance(Map.of(
+            BankType.KB_BANK, transaction(kbDate, 42),
+            BankType.SH_BANK, transaction(shDate, 7)));
+
+        TimelineCursor decoded = TimelineCursor.decode(cursor.encode());
+
+        assertThat(decoded.position(BankType.KB_BANK))
+            .isEqualTo(new TimelineCursor.Position(kbDate, 42));
+        assertThat(decoded.position(BankType.SH_BANK))
+            .isEqualTo(new TimelineCursor.Position(shDate, 7));
+        assertThat(decoded.position(BankType.CH_BANK)).isNull();
+        assertThat(decoded.position(BankType.NH_BANK)).isNull();
+    }
+
+    @Test
+    @DisplayName("advance 는 꺼내지 않은 은행의 위치를 유지한다")
+    void advance_keepsUntouchedBanks() {
+        LocalDateTime date = LocalDateTime.of(2024, 10, 15, 12, 0);
+        TimelineCursor cursor = TimelineCursor.first()
+            .advance(Map.of(BankType.NH_BANK, transaction(date, 3)))
+            .advance(Map.of(BankType.CH_BANK, transaction(date, 9)));
+
+        assertThat(cursor.position(BankType.NH_BANK))
+            .isEqualTo(new TimelineCursor.Position(date, 3));
+        assertThat(cursor.position(BankType.CH_BANK))
+            .isEqualTo(new TimelineCursor.Position(date, 9));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "-,-,-",
+        "-,-,-,-,-",
+        "-,2024-10-15T12:00|0,-,-",
+        "-,2024-10-15T12:00|-3,-,-",
+        "-,2024-10-15T12:00,-,-",
+        "-,2024-13-15T12:00|3,-,-",
+        "-,2024-10-15T12:00|abc,-,-"
+    })
+    @DisplayName("형식이 맞지 않는 커서는 400 으로 거부된다")
+    void decode_invalid(String raw) {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> TimelineCursor.decode(cursor))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("Base64 가 아닌 커서는 400 으로 거부된다")
+    void decode_notBase64() {
+        assertThatThrownBy(() -> TimelineCursor.decode("!!not-base64!!"))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static MonthlyTransactionHistoryDTO transaction(LocalDateTime transactionDate,
+        long transactionId) {
+        return MonthlyTransactionHistoryDTO.builder()
+            .transactionDate(transactionDate)
+            .transactionId(transactionId)
+            .build();
+    }
+}
@@ -6,6 +6,7 @@ import com.challet.challetservice.domain.service.AuthService;
 import com.challet.challetservice.domain.service.ChallengeService;
 import com.challet.challetservice.domain.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -35,6 +37,13 @@ public class ChallengeMessageController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/payments/batch")
+    public ResponseEntity<?> getPaymentMessages(
+        @RequestBody List<PaymentHttpMessageRequestDTO> paymentNotifications) {
+        challengeService.handlePayments(paymentNotifications);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/info")
     public ResponseEntity<UserInfoMessageResponseDTO> getUserInfo(
         @RequestHeader(value = "Authorization", required = false) String header) {
@@ -42,6 +51,17 @@ public class ChallengeMessageController {
         return ResponseEntity.status(HttpStatus.OK).body(userInfoMessage);
     }
 
+    @GetMapping("/cohort")
+    public ResponseEntity<UserInfoMessageResponseDTO> getUserCohort(
+        @RequestParam String phoneNumber) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.getUserCohort(phoneNumber));
+    }
+
+    @GetMapping("/cohorts")
+    public ResponseEntity<List<UserInfoMessageResponseDTO>> getAllCohorts() {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.getAllCohorts());
+    }
+
     @PostMapping("/simple-password")
     public boolean sendSimplePassword(@RequestHeader("Authorization") String token,
         @RequestBody String password) {
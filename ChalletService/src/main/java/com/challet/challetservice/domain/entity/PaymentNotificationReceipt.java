@@ -0,0 +1,44 @@
+package com.challet.challetservice.domain.entity;
+
+import com.challet.challetservice.domain.request.PaymentHttpMessageRequestDTO;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 반영한 ch-bank 결제 알림 (아웃박스 id), 다시 전달된 알림을 한 번만 반영하는 데 씀
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "payment_notification_receipt", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payment_notification_receipt_notification_id",
+        columnNames = "notification_id")
+})
+public class PaymentNotificationReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    public static PaymentNotificationReceipt of(PaymentHttpMessageRequestDTO paymentNotification) {
+        return PaymentNotificationReceipt.builder()
+            .notificationId(paymentNotification.notificationId())
+            .transactionId(paymentNotification.transactionId())
+            .build();
+    }
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +28,10 @@ import lombok.NoArgsConstructor;
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "shared_transaction")
+@Table(name = "shared_transaction", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_shared_transaction_payment",
+        columnNames = {"payment_transaction_id", "user_challenge_id"})
+})
 public class SharedTransaction {
 
     @Id
@@ -47,6 +51,10 @@ public class SharedTransaction {
     @Column(name = "transaction_datetime", nullable = false, columnDefinition = "DATETIME")
     private LocalDateTime transactionDateTime;
 
+    // 결제 알림으로 등록된 경우의 ch-bank 거래 id (직접 등록한 내역은 null)
+    @Column(name = "payment_transaction_id")
+    private Long paymentTransactionId;
+
     @Column(name = "content", nullable = true, columnDefinition = "TEXT")
     private String content;
 
@@ -81,6 +89,7 @@ public class SharedTransaction {
             .deposit(paymentNotification.deposit())
             .transactionAmount(-paymentNotification.transactionAmount())
             .transactionDateTime(LocalDateTime.now())
+            .paymentTransactionId(paymentNotification.transactionId())
             .build();
 
         userChallenge.getSharedTransactions().add(sharedTransaction);
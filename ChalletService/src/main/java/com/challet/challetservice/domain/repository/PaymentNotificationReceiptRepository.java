@@ -0,0 +1,14 @@
+package com.challet.challetservice.domain.repository;
+
+import com.challet.challetservice.domain.entity.PaymentNotificationReceipt;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentNotificationReceiptRepository extends
+    JpaRepository<PaymentNotificationReceipt, Long> {
+
+    List<PaymentNotificationReceipt> findAllByNotificationIdIn(Collection<Long> notificationIds);
+}
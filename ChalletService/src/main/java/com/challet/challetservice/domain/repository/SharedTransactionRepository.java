@@ -1,10 +1,13 @@
 package com.challet.challetservice.domain.repository;
 
 import com.challet.challetservice.domain.entity.SharedTransaction;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SharedTransactionRepository extends JpaRepository<SharedTransaction, Long>,  SharedTransactionRepositoryCustom {
 
+    List<SharedTransaction> findAllByPaymentTransactionIdIn(Collection<Long> paymentTransactionIds);
 }
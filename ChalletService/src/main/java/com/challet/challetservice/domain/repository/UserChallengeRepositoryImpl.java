@@ -4,10 +4,12 @@ import com.challet.challetservice.domain.entity.Category;
 import com.challet.challetservice.domain.entity.Challenge;
 import com.challet.challetservice.domain.entity.ChallengeStatus;
 import com.challet.challetservice.domain.entity.QChallenge;
+import com.challet.challetservice.domain.entity.QUser;
 import com.challet.challetservice.domain.entity.QUserChallenge;
 import com.challet.challetservice.domain.entity.User;
 import com.challet.challetservice.domain.entity.UserChallenge;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -33,4 +35,21 @@ public class UserChallengeRepositoryImpl implements UserChallengeRepositoryCusto
             .fetch();
 
     }
+
+    // 결제 알림 묶음 처리용, 사용자와 챌린지를 함께 읽어서 건마다 추가 조회하지 않음
+    @Override
+    public List<UserChallenge> getProgressingChallengesByPhoneNumbers(
+        Collection<String> phoneNumbers) {
+        QUserChallenge qUserChallenge = QUserChallenge.userChallenge;
+        QChallenge qChallenge = QChallenge.challenge;
+        QUser qUser = QUser.user;
+
+        return queryFactory
+            .selectFrom(qUserChallenge)
+            .join(qUserChallenge.user, qUser).fetchJoin()
+            .join(qUserChallenge.challenge, qChallenge).fetchJoin()
+            .where(qUser.phoneNumber.in(phoneNumbers)
+                .and(qChallenge.status.eq(ChallengeStatus.PROGRESSING)))
+            .fetch();
+    }
 }
@@ -1,8 +1,13 @@
 package com.challet.challetservice.domain.repository;
 
 import com.challet.challetservice.domain.dto.response.UserInfoMessageResponseDTO;
+import java.util.List;
 
 public interface UserRepositoryCustom {
 
     UserInfoMessageResponseDTO getUserInfoMessage(String phoneNumber);
+
+    UserInfoMessageResponseDTO getUserCohort(String phoneNumber);
+
+    List<UserInfoMessageResponseDTO> getAllCohorts();
 }
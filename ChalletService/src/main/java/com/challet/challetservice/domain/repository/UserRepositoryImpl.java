@@ -3,8 +3,14 @@ package com.challet.challetservice.domain.repository;
 import com.challet.challetservice.domain.dto.response.UserInfoMessageResponseDTO;
 import com.challet.challetservice.domain.entity.QUser;
 import com.challet.challetservice.domain.entity.User;
+import com.challet.challetservice.global.exception.CustomException;
+import com.challet.challetservice.global.exception.ExceptionResponse;
+import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -37,4 +43,48 @@ public class UserRepositoryImpl implements UserRepositoryCustom {
 
         return UserInfoMessageResponseDTO.from(userInfo, gender, lowerBound);
     }
+
+    // 전화번호 목록 없이 나이대와 성별만 조회
+    @Override
+    public UserInfoMessageResponseDTO getUserCohort(String phoneNumber) {
+        QUser user = QUser.user;
+
+        Tuple foundUser = queryFactory
+            .select(user.gender, user.age)
+            .from(user)
+            .where(user.phoneNumber.eq(phoneNumber))
+            .fetchOne();
+
+        if (foundUser == null) {
+            throw new ExceptionResponse(CustomException.NOT_FOUND_USER_EXCEPTION);
+        }
+        return UserInfoMessageResponseDTO.from(List.of(), foundUser.get(user.gender),
+            (foundUser.get(user.age) / 10) * 10);
+    }
+
+    // 나이대, 성별별 전화번호 목록 (코호트 집계 재계산용)
+    @Override
+    public List<UserInfoMessageResponseDTO> getAllCohorts() {
+        QUser user = QUser.user;
+
+        List<Tuple> users = queryFactory
+            .select(user.phoneNumber, user.gender, user.age)
+            .from(user)
+            .fetch();
+
+        Map<String, List<String>> phoneNumbersByCohort = new HashMap<>();
+        for (Tuple foundUser : users) {
+            String cohort = (foundUser.get(user.age) / 10) * 10 + ":" + foundUser.get(user.gender);
+            phoneNumbersByCohort.computeIfAbsent(cohort, key -> new ArrayList<>())
+                .add(foundUser.get(user.phoneNumber));
+        }
+
+        return phoneNumbersByCohort.entrySet().stream()
+            .map(entry -> {
+                String[] cohort = entry.getKey().split(":");
+                return UserInfoMessageResponseDTO.from(entry.getValue(),
+                    Boolean.parseBoolean(cohort[1]), Integer.parseInt(cohort[0]));
+            })
+            .toList();
+    }
 }
@@ -7,6 +7,12 @@ import lombok.Builder;
 @Builder
 public record PaymentHttpMessageRequestDTO(
 
+    @Schema(description = "결제 알림 id (같은 알림이 다시 오면 같은 값)")
+    Long notificationId,
+
+    @Schema(description = "ch-bank 거래 id (카테고리 정정 알림은 처음 알림과 같은 값)")
+    Long transactionId,
+
     @Schema(description = "유저 전화번호")
     String phoneNumber,
 
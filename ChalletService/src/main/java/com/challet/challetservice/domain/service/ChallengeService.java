@@ -12,6 +12,7 @@ import com.challet.challetservice.domain.dto.response.SharedTransactionRegisterR
 import com.challet.challetservice.domain.dto.response.SharedTransactionUpdateResponseDTO;
 import com.challet.challetservice.domain.dto.response.SpendingAmountResponseDTO;
 import com.challet.challetservice.domain.request.PaymentHttpMessageRequestDTO;
+import java.util.List;
 
 public interface ChallengeService {
 
@@ -37,5 +38,7 @@ public interface ChallengeService {
 
     void handlePayment(PaymentHttpMessageRequestDTO paymentNotification);
 
+    void handlePayments(List<PaymentHttpMessageRequestDTO> paymentNotifications);
+
     SharedTransactionUpdateResponseDTO updateTransaction(String header, Long challengeId,Long transactionId, SharedTransactionUpdateRequestDTO request);
 }
@@ -15,12 +15,14 @@ import com.challet.challetservice.domain.dto.response.SpendingAmountResponseDTO;
 import com.challet.challetservice.domain.elasticsearch.repository.SearchedChallengeRepository;
 import com.challet.challetservice.domain.entity.Challenge;
 import com.challet.challetservice.domain.entity.ChallengeStatus;
+import com.challet.challetservice.domain.entity.PaymentNotificationReceipt;
 import com.challet.challetservice.domain.entity.SearchedChallenge;
 import com.challet.challetservice.domain.entity.SharedTransaction;
 import com.challet.challetservice.domain.entity.User;
 import com.challet.challetservice.domain.entity.UserChallenge;
 import com.challet.challetservice.domain.repository.ChallengeRepository;
 import com.challet.challetservice.domain.repository.ChallengeRepositoryImpl;
+import com.challet.challetservice.domain.repository.PaymentNotificationReceiptRepository;
 import com.challet.challetservice.domain.repository.SharedTransactionRepository;
 import com.challet.challetservice.domain.repository.SharedTransactionRepositoryImpl;
 import com.challet.challetservice.domain.repository.UserChallengeRepository;
@@ -39,9 +41,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 
@@ -63,6 +73,7 @@ public class ChallengeServiceImpl implements ChallengeService {
 	private final SharedTransactionRepositoryImpl sharedTransactionRepositoryImpl;
 	private final SimpMessagingTemplate messagingTemplate;
 	private final UserChallengeRepositoryImpl userChallengeRepositoryImpl;
+	private final PaymentNotificationReceiptRepository paymentNotificationReceiptRepository;
 	private final SearchedChallengeRepository searchedChallengeRepository;
 
 	@Override
@@ -330,18 +341,127 @@ public class ChallengeServiceImpl implements ChallengeService {
 		List<UserChallenge> userChallenges = userChallengeRepositoryImpl.getChallengeByPaymentCategory(
 			paymentNotification.category(), user);
 
+		List<SharedTransaction> sharedTransactions = new ArrayList<>();
 		for (UserChallenge userChallenge : userChallenges) {
 
 			SharedTransaction savedSharedTransaction = sharedTransactionRepository.save(
 				SharedTransaction.fromPayment(paymentNotification, userChallenge));
 			userChallenge.addSpendingAmount(-paymentNotification.transactionAmount());
+			sharedTransactions.add(savedSharedTransaction);
+		}
+		sendAfterCommit(sharedTransactions);
+	}
 
-			SharedTransactionRegisterResponseDTO registerResponseDTO = SharedTransactionRegisterResponseDTO.fromSharedTransaction(
-				savedSharedTransaction, user);
-			messagingTemplate.convertAndSend(
-				"/topic/challenges/" + userChallenge.getChallenge().getId()
-					+ "/shared-transactions", registerResponseDTO);
+	// ch-bank 가 모아 보낸 결제 알림을 한 트랜잭션으로 반영, 순서는 보낸 순서 그대로 처리
+	// 가입하지 않은 사용자의 결제는 묶음 전체를 실패시키지 않도록 건너뜀
+	// 전달은 최소 한 번이므로 이미 반영한 알림 id 는 건너뛰고, 알림 id 고유 제약으로 동시에 온 중복도 막음
+	// 같은 거래의 카테고리 정정 알림은 카테고리가 맞지 않게 된 챌린지에서 빼고 맞는 챌린지에 더함
+	@Override
+	@Transactional
+	public void handlePayments(List<PaymentHttpMessageRequestDTO> paymentNotifications) {
+		Set<Long> appliedIds = paymentNotificationReceiptRepository
+			.findAllByNotificationIdIn(paymentNotifications.stream()
+				.map(PaymentHttpMessageRequestDTO::notificationId)
+				.filter(Objects::nonNull)
+				.toList())
+			.stream()
+			.map(PaymentNotificationReceipt::getNotificationId)
+			.collect(Collectors.toSet());
+		List<PaymentHttpMessageRequestDTO> pending = paymentNotifications.stream()
+			.filter(paymentNotification -> paymentNotification.notificationId() == null
+				|| appliedIds.add(paymentNotification.notificationId()))
+			.toList();
+		if (pending.isEmpty()) {
+			return;
 		}
+
+		Map<String, List<UserChallenge>> userChallengesByPhoneNumber = userChallengeRepositoryImpl
+			.getProgressingChallengesByPhoneNumbers(pending.stream()
+				.map(PaymentHttpMessageRequestDTO::phoneNumber)
+				.collect(Collectors.toSet()))
+			.stream()
+			.collect(Collectors.groupingBy(
+				userChallenge -> userChallenge.getUser().getPhoneNumber()));
+		Map<Long, List<SharedTransaction>> registeredByTransactionId = sharedTransactionRepository
+			.findAllByPaymentTransactionIdIn(pending.stream()
+				.map(PaymentHttpMessageRequestDTO::transactionId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet()))
+			.stream()
+			.collect(Collectors.groupingBy(SharedTransaction::getPaymentTransactionId,
+				Collectors.toCollection(ArrayList::new)));
+
+		List<SharedTransaction> sharedTransactions = new ArrayList<>();
+		List<SharedTransaction> withdrawn = new ArrayList<>();
+		for (PaymentHttpMessageRequestDTO paymentNotification : pending) {
+			List<SharedTransaction> registered = paymentNotification.transactionId() == null
+				? new ArrayList<>()
+				: registeredByTransactionId.computeIfAbsent(paymentNotification.transactionId(),
+					transactionId -> new ArrayList<>());
+
+			// 정정으로 카테고리가 맞지 않게 된 챌린지에서는 등록했던 내역과 지출을 되돌림
+			for (Iterator<SharedTransaction> iterator = registered.iterator(); iterator.hasNext(); ) {
+				SharedTransaction sharedTransaction = iterator.next();
+				UserChallenge userChallenge = sharedTransaction.getUserChallenge();
+				if (matchesCategory(userChallenge, paymentNotification)) {
+					continue;
+				}
+				userChallenge.addSpendingAmount(-sharedTransaction.getTransactionAmount());
+				userChallenge.getSharedTransactions().remove(sharedTransaction);
+				withdrawn.add(sharedTransaction);
+				iterator.remove();
+			}
+
+			for (UserChallenge userChallenge : userChallengesByPhoneNumber.getOrDefault(
+				paymentNotification.phoneNumber(), List.of())) {
+				if (!matchesCategory(userChallenge, paymentNotification)
+					|| registered.stream().anyMatch(
+					sharedTransaction -> sharedTransaction.getUserChallenge() == userChallenge)) {
+					continue;
+				}
+				SharedTransaction sharedTransaction = SharedTransaction.fromPayment(
+					paymentNotification, userChallenge);
+				sharedTransactions.add(sharedTransaction);
+				registered.add(sharedTransaction);
+				userChallenge.addSpendingAmount(-paymentNotification.transactionAmount());
+			}
+		}
+		sharedTransactionRepository.deleteAll(withdrawn);
+		sharedTransactionRepository.saveAll(sharedTransactions);
+		paymentNotificationReceiptRepository.saveAll(pending.stream()
+			.filter(paymentNotification -> paymentNotification.notificationId() != null)
+			.map(PaymentNotificationReceipt::of)
+			.toList());
+
+		sendAfterCommit(sharedTransactions);
+	}
+
+	private static boolean matchesCategory(UserChallenge userChallenge,
+		PaymentHttpMessageRequestDTO paymentNotification) {
+		return userChallenge.getChallenge().getCategory().name()
+			.equals(paymentNotification.category());
+	}
+
+	// 구독자가 롤백된 내역을 보지 않도록 커밋된 뒤에 전송 (메시지는 트랜잭션 안에서 만들어 둠)
+	private void sendAfterCommit(List<SharedTransaction> sharedTransactions) {
+		if (sharedTransactions.isEmpty()) {
+			return;
+		}
+		List<Map.Entry<String, SharedTransactionRegisterResponseDTO>> messages = sharedTransactions
+			.stream()
+			.map(sharedTransaction -> Map.entry(
+				"/topic/challenges/" + sharedTransaction.getUserChallenge().getChallenge().getId()
+					+ "/shared-transactions",
+				SharedTransactionRegisterResponseDTO.fromSharedTransaction(sharedTransaction,
+					sharedTransaction.getUserChallenge().getUser())))
+			.toList();
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				messages.forEach(message -> messagingTemplate.convertAndSend(message.getKey(),
+					message.getValue()));
+			}
+		});
 	}
 
 	@Override
@@ -7,6 +7,7 @@ import com.challet.challetservice.domain.dto.response.RewardDetailResponseDTO;
 import com.challet.challetservice.domain.dto.response.UserInfoMessageResponseDTO;
 import com.challet.challetservice.domain.dto.response.UserInfoResponseDTO;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
 
 public interface UserService {
 
@@ -22,5 +23,9 @@ public interface UserService {
 
     UserInfoMessageResponseDTO getUserInfoMessage(String header);
 
+    UserInfoMessageResponseDTO getUserCohort(String phoneNumber);
+
+    List<UserInfoMessageResponseDTO> getAllCohorts();
+
     void logout(String header, HttpServletResponse response);
 }
@@ -106,6 +106,16 @@ public class UserServiceImpl implements UserService {
         return userRepository.getUserInfoMessage(phoneNumber);
     }
 
+    @Override
+    public UserInfoMessageResponseDTO getUserCohort(String phoneNumber) {
+        return userRepository.getUserCohort(phoneNumber);
+    }
+
+    @Override
+    public List<UserInfoMessageResponseDTO> getAllCohorts() {
+        return userRepository.getAllCohorts();
+    }
+
     @Override
     @Transactional
     public void logout(String header, HttpServletResponse response) {
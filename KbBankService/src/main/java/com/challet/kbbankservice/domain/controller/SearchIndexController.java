@@ -0,0 +1,25 @@
+package com.challet.kbbankservice.domain.controller;
+
+import com.challet.kbbankservice.domain.dto.response.SearchIndexLagDTO;
+import com.challet.kbbankservice.domain.service.SearchIndexService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/kb-bank")
+@Tag(name = "SearchIndexController", description = "거래 내역 검색 색인 지연 조회 controller")
+public class SearchIndexController {
+
+    private final SearchIndexService searchIndexService;
+
+    @GetMapping("/search-index/lag")
+    public ResponseEntity<SearchIndexLagDTO> getLag() {
+        return ResponseEntity.status(HttpStatus.OK).body(searchIndexService.getLag());
+    }
+}
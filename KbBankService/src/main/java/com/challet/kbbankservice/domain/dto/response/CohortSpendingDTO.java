@@ -0,0 +1,20 @@
+package com.challet.kbbankservice.domain.dto.response;
+
+import com.challet.kbbankservice.domain.entity.Category;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "사용자별 카테고리 결제 합계")
+public record CohortSpendingDTO(
+
+    @Schema(description = "전화번호")
+    String phoneNumber,
+
+    @Schema(description = "카테고리")
+    Category category,
+
+    @Schema(description = "합계")
+    Long totalAmount
+) {
+}
@@ -0,0 +1,16 @@
+package com.challet.kbbankservice.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "검색 색인 대기 현황")
+public record SearchIndexLagDTO(
+
+    @Schema(description = "색인을 기다리는 거래 수")
+    long pending,
+
+    @Schema(description = "가장 오래 기다린 거래의 대기 시간 (밀리초)")
+    long oldestAgeMillis
+) {
+}
@@ -0,0 +1,66 @@
+package com.challet.kbbankservice.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+// 거래 내역과 같은 트랜잭션에 기록되고, 검색 색인이 끝나면 삭제됨
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "search_index_outbox", indexes = {
+    @Index(name = "idx_search_index_outbox_next_attempt", columnList = "next_attempt_at, id")
+})
+public class SearchIndexOutbox {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "create_date_time", nullable = false, columnDefinition = "DATETIME")
+    @CreationTimestamp
+    private LocalDateTime createDateTime;
+
+    public static SearchIndexOutbox of(Long accountId, KbBankTransaction transaction) {
+        return SearchIndexOutbox.builder()
+            .transactionId(transaction.getId())
+            .accountId(accountId)
+            .attempts(0)
+            .nextAttemptAt(LocalDateTime.now())
+            .build();
+    }
+
+    // 실패할 때마다 대기 시간을 두 배로 늘림 (최대 5분)
+    public void retryLater(LocalDateTime now) {
+        this.attempts++;
+        long backoffSeconds = Math.min(1L << Math.min(attempts, 20), MAX_BACKOFF.toSeconds());
+        this.nextAttemptAt = now.plusSeconds(backoffSeconds);
+    }
+}
@@ -0,0 +1,8 @@
+package com.challet.kbbankservice.domain.repository;
+
+import com.challet.kbbankservice.domain.entity.CohortMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CohortMemberRepository extends JpaRepository<CohortMember, Long>,
+    CohortMemberRepositoryCustom {
+}
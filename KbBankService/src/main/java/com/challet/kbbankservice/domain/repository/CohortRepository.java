@@ -0,0 +1,7 @@
+package com.challet.kbbankservice.domain.repository;
+
+import com.challet.kbbankservice.domain.entity.Cohort;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CohortRepository extends JpaRepository<Cohort, String> {
+}
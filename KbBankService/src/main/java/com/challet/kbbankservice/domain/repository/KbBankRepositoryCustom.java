@@ -3,11 +3,14 @@ package com.challet.kbbankservice.domain.repository;
 import com.challet.kbbankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.kbbankservice.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.kbbankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.kbbankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.kbbankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.kbbankservice.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.TransactionResponseDTO;
 import com.challet.kbbankservice.domain.entity.Category;
 import com.challet.kbbankservice.domain.entity.KbBank;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,8 +32,18 @@ public interface KbBankRepositoryCustom {
     MonthlyTransactionHistoryListDTO getTransactionByPhoneNumberAndYearMonth(String phoneNumber,
         MonthlyTransactionRequestDTO requestDTO);
 
+    MonthlyTransactionHistoryListDTO getTransactionPageByPhoneNumberAndYearMonth(String phoneNumber,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size);
+
     Map<Category, Long> getTransactionByGroupCategory(BankToAnalysisMessageRequestDTO requestDTO);
 
+    List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    List<CohortSpendingDTO> getCohortSpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
     Map<Category, Long> getMyTransactionByCategory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO);
 }
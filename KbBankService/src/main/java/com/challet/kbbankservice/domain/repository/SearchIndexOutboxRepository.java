@@ -0,0 +1,8 @@
+package com.challet.kbbankservice.domain.repository;
+
+import com.challet.kbbankservice.domain.entity.SearchIndexOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SearchIndexOutboxRepository extends JpaRepository<SearchIndexOutbox, Long>,
+    SearchIndexOutboxRepositoryCustom {
+}
@@ -0,0 +1,53 @@
+package com.challet.kbbankservice.domain.repository;
+
+import com.challet.kbbankservice.domain.entity.QSearchIndexOutbox;
+import com.challet.kbbankservice.domain.entity.SearchIndexOutbox;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.LockOptions;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SearchIndexOutboxRepositoryImpl implements SearchIndexOutboxRepositoryCustom {
+
+    private final JPAQueryFactory query;
+
+    // 다른 인스턴스가 잡은 행은 건너뛰어서 같은 거래를 동시에 색인하지 않음
+    @Override
+    public List<SearchIndexOutbox> findReady(LocalDateTime now, int limit) {
+        QSearchIndexOutbox searchIndexOutbox = QSearchIndexOutbox.searchIndexOutbox;
+
+        return query
+            .selectFrom(searchIndexOutbox)
+            .where(searchIndexOutbox.nextAttemptAt.loe(now))
+            .orderBy(searchIndexOutbox.id.asc())
+            .limit(limit)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+            .fetch();
+    }
+
+    @Override
+    public long deleteByIds(List<Long> ids) {
+        QSearchIndexOutbox searchIndexOutbox = QSearchIndexOutbox.searchIndexOutbox;
+
+        return query
+            .delete(searchIndexOutbox)
+            .where(searchIndexOutbox.id.in(ids))
+            .execute();
+    }
+
+    @Override
+    public LocalDateTime findOldestCreateDateTime() {
+        QSearchIndexOutbox searchIndexOutbox = QSearchIndexOutbox.searchIndexOutbox;
+
+        return query
+            .select(searchIndexOutbox.createDateTime.min())
+            .from(searchIndexOutbox)
+            .fetchOne();
+    }
+}
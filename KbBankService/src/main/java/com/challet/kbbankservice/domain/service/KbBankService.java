@@ -1,18 +1,25 @@
 package com.challet.kbbankservice.domain.service;
 
 import com.challet.kbbankservice.domain.dto.request.AccountTransferRequestDTO;
+import com.challet.kbbankservice.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.kbbankservice.domain.dto.request.CohortMembershipRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.PaymentRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.kbbankservice.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.kbbankservice.domain.dto.response.AnalysisBundleResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.BankTransferResponseDTO;
+import com.challet.kbbankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.kbbankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.kbbankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.kbbankservice.domain.dto.response.PaymentResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.SearchedTransactionResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.TransactionResponseListDTO;
 import com.challet.kbbankservice.domain.entity.Category;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 public interface KbBankService {
@@ -29,15 +36,36 @@ public interface KbBankService {
 
     BankTransferResponseDTO addFundsToAccount(AccountTransferRequestDTO requestDTO);
 
+    BankTransferResponseDTO addFundsToAccount(String idempotencyKey,
+        AccountTransferRequestDTO requestDTO);
+
     MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO);
 
+    MonthlyTransactionHistoryListDTO getMonthlyTransactionHistoryPage(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size);
+
     Map<Category, Long> getTransactionByGroupCategory(BankToAnalysisMessageRequestDTO requestDTO);
 
+    List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    List<CohortSpendingDTO> getCohortSpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    void syncCohortMembership(CohortMembershipRequestDTO requestDTO);
+
+    AnalysisBundleResponseDTO getAnalysisBundle(String tokenHeader,
+        AnalysisBundleRequestDTO requestDTO);
+
     SearchedTransactionResponseDTO searchTransaction(SearchTransactionRequestDTO searchTransactionRequestDTO);
 
     PaymentResponseDTO qrPayment(Long accountId, PaymentRequestDTO paymentRequestDTO);
 
+    PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+        PaymentRequestDTO paymentRequestDTO);
+
     Map<Category, Long> getMyTransactionByCategory(String phoneNumber,
         MonthlyTransactionRequestDTO requestDTO);
 }
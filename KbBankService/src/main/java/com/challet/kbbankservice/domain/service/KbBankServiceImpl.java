@@ -1,12 +1,17 @@
 package com.challet.kbbankservice.domain.service;
 
 import com.challet.kbbankservice.domain.dto.request.AccountTransferRequestDTO;
+import com.challet.kbbankservice.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.kbbankservice.domain.dto.request.CohortMembershipRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.PaymentRequestDTO;
 import com.challet.kbbankservice.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.kbbankservice.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.kbbankservice.domain.dto.response.AnalysisBundleResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.BankTransferResponseDTO;
+import com.challet.kbbankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.kbbankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.kbbankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.kbbankservice.domain.dto.response.PaymentResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.SearchedTransactionResponseDTO;
@@ -15,13 +20,19 @@ import com.challet.kbbankservice.domain.dto.response.TransactionResponseDTO;
 import com.challet.kbbankservice.domain.dto.response.TransactionResponseListDTO;
 import com.challet.kbbankservice.domain.elasticsearch.repository.SearchedTransactionRepository;
 import com.challet.kbbankservice.domain.entity.Category;
+import com.challet.kbbankservice.domain.entity.Cohort;
 import com.challet.kbbankservice.domain.entity.KbBank;
 import com.challet.kbbankservice.domain.entity.KbBankTransaction;
+import com.challet.kbbankservice.domain.entity.SearchIndexOutbox;
 import com.challet.kbbankservice.domain.entity.SearchedTransaction;
+import com.challet.kbbankservice.domain.repository.CohortMemberRepository;
+import com.challet.kbbankservice.domain.repository.CohortRepository;
 import com.challet.kbbankservice.domain.repository.KbBankRepository;
 import com.challet.kbbankservice.domain.repository.KbBankTransactionRepository;
+import com.challet.kbbankservice.domain.repository.SearchIndexOutboxRepository;
 import com.challet.kbbankservice.global.exception.CustomException;
 import com.challet.kbbankservice.global.exception.ExceptionResponse;
+import com.challet.kbbankservice.global.idempotency.IdempotentExecutor;
 import com.challet.kbbankservice.global.util.JwtUtil;
 import com.querydsl.core.NonUniqueResultException;
 import java.time.LocalDateTime;
@@ -42,8 +53,12 @@ public class KbBankServiceImpl implements KbBankService {
 
     private final KbBankRepository kbBankRepository;
     private final SearchedTransactionRepository searchedTransactionRepository;
+    private final SearchIndexOutboxRepository searchIndexOutboxRepository;
     private final JwtUtil jwtUtil;
     private final KbBankTransactionRepository kbBankTransactionRepository;
+    private final CohortRepository cohortRepository;
+    private final CohortMemberRepository cohortMemberRepository;
+    private final IdempotentExecutor idempotentExecutor;
 
     @Override
     public AccountInfoResponseListDTO getAccountsByPhoneNumber(String tokenHeader) {
@@ -105,7 +120,7 @@ public class KbBankServiceImpl implements KbBankService {
 
         kbBank.addTransaction(transaction);
         KbBankTransaction savedToTransaction = kbBankTransactionRepository.save(transaction);
-        searchedTransactionRepository.save(SearchedTransaction.fromAccountTransferByTo(savedToTransaction));
+        searchIndexOutboxRepository.save(SearchIndexOutbox.of(kbBank.getId(), savedToTransaction));
         try{
             BankTransferResponseDTO bankTransferResponseDTO = BankTransferResponseDTO.fromBankTransferResponseDTO(
                 kbBank);
@@ -115,6 +130,15 @@ public class KbBankServiceImpl implements KbBankService {
         }
     }
 
+    // 챌렛 은행이 같은 키로 이체를 재시도해도 입금은 한 번만 반영
+    @Override
+    public BankTransferResponseDTO addFundsToAccount(String idempotencyKey,
+        AccountTransferRequestDTO requestDTO) {
+        return idempotentExecutor.execute("transfer", requestDTO.depositAccountNumber(),
+            idempotencyKey, requestDTO, BankTransferResponseDTO.class,
+            () -> addFundsToAccount(requestDTO));
+    }
+
     @Override
     public MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO) {
@@ -122,12 +146,73 @@ public class KbBankServiceImpl implements KbBankService {
         return kbBankRepository.getTransactionByPhoneNumberAndYearMonth(phoneNumber, requestDTO);
     }
 
+    @Override
+    public MonthlyTransactionHistoryListDTO getMonthlyTransactionHistoryPage(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size) {
+        String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
+        return kbBankRepository.getTransactionPageByPhoneNumberAndYearMonth(phoneNumber, requestDTO,
+            beforeDate, beforeId, size);
+    }
+
     @Override
     public Map<Category, Long> getTransactionByGroupCategory(
         BankToAnalysisMessageRequestDTO requestDTO) {
         return kbBankRepository.getTransactionByGroupCategory(requestDTO);
     }
 
+    @Override
+    public List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO) {
+        return kbBankRepository.getCohortCategorySpending(requestDTO);
+    }
+
+    // 분석 화면에 필요한 항목을 한 번의 요청, 하나의 DB 세션으로 조회 (JWT 도 한 번만 해석)
+    @Transactional(readOnly = true)
+    @Override
+    public AnalysisBundleResponseDTO getAnalysisBundle(String tokenHeader,
+        AnalysisBundleRequestDTO requestDTO) {
+        String phoneNumber = requestDTO.includeMonthlyTransactions() || requestDTO.includeMyCategory()
+            ? jwtUtil.getLoginUserPhoneNumber(tokenHeader) : null;
+
+        return AnalysisBundleResponseDTO
+            .builder()
+            .monthlyTransactions(requestDTO.includeMonthlyTransactions()
+                ? kbBankRepository.getTransactionByPhoneNumberAndYearMonth(phoneNumber,
+                requestDTO.requestDTO())
+                : null)
+            .myCategory(requestDTO.includeMyCategory()
+                ? kbBankRepository.getMyTransactionByCategory(phoneNumber, requestDTO.requestDTO())
+                : null)
+            .groupCategory(requestDTO.groupCategoryMessage() != null
+                ? kbBankRepository.getTransactionByGroupCategory(requestDTO.groupCategoryMessage())
+                : null)
+            .build();
+    }
+
+    @Override
+    public List<CohortSpendingDTO> getCohortSpending(
+        BankToAnalysisMessageRequestDTO requestDTO) {
+        return kbBankRepository.getCohortSpending(requestDTO);
+    }
+
+
+    // 구성원 목록 버전이 같으면 건너뛰고, 바뀌었으면 코호트 구성원을 통째로 교체
+    @Transactional
+    @Override
+    public void syncCohortMembership(CohortMembershipRequestDTO requestDTO) {
+        Cohort cohort = cohortRepository.findById(requestDTO.cohortKey())
+            .orElseGet(() -> Cohort.builder().cohortKey(requestDTO.cohortKey()).build());
+        if (requestDTO.version().equals(cohort.getVersion())) {
+            return;
+        }
+
+        cohortMemberRepository.deleteByCohortKey(requestDTO.cohortKey());
+        cohortMemberRepository.insertMembers(requestDTO.cohortKey(), requestDTO.phoneNumbers());
+        cohort.updateVersion(requestDTO.version());
+        cohortRepository.save(cohort);
+    }
+
     @Override
     public SearchedTransactionResponseDTO searchTransaction(
         final SearchTransactionRequestDTO searchTransactionRequestDTO) {
@@ -175,11 +260,20 @@ public class KbBankServiceImpl implements KbBankService {
         kbBankTransactionRepository.save(paymentTransaction);
 
 
-        searchedTransactionRepository.save(SearchedTransaction.fromAccountIdAndKbBankTransaction(accountId, paymentTransaction));
+        searchIndexOutboxRepository.save(SearchIndexOutbox.of(accountId, paymentTransaction));
 
         return PaymentResponseDTO.fromPaymentResponseDTO(paymentTransaction);
     }
 
+    // 같은 키로 다시 들어온 결제는 계좌를 건드리지 않고 처음 응답을 그대로 돌려줌
+    @Override
+    public PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+        PaymentRequestDTO paymentRequestDTO) {
+        return idempotentExecutor.execute("payment", accountId, idempotencyKey,
+            paymentRequestDTO, PaymentResponseDTO.class,
+            () -> qrPayment(accountId, paymentRequestDTO));
+    }
+
     private long calculateTransactionBalance(KbBank kbBank, long transactionAmount) {
         long transactionBalance = kbBank.getAccountBalance() - transactionAmount;
         if (transactionBalance < 0) {
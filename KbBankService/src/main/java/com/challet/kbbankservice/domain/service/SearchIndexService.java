@@ -0,0 +1,10 @@
+package com.challet.kbbankservice.domain.service;
+
+import com.challet.kbbankservice.domain.dto.response.SearchIndexLagDTO;
+
+public interface SearchIndexService {
+
+    int indexPending();
+
+    SearchIndexLagDTO getLag();
+}
@@ -0,0 +1,80 @@
+package com.challet.nhbankservicedemo.domain.controller;
+
+import com.challet.nhbankservicedemo.domain.dto.request.AnalysisBundleRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.request.CohortMembershipRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.request.MonthlyTransactionRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.AnalysisBundleResponseDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CohortSpendingDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.MonthlyTransactionHistoryListDTO;
+import com.challet.nhbankservicedemo.domain.service.NhBankService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/nh-bank")
+@Tag(name = "NhBankAnalysisController", description = "ch-bank 분석 서비스에서 호출하는 controller")
+public class NhBankAnalysisController {
+
+    private final NhBankService nhBankService;
+
+    @GetMapping("/transactions-monthly/page")
+    public ResponseEntity<MonthlyTransactionHistoryListDTO> getMonthlyTransactionHistoryPage(
+        @RequestHeader(value = "Authorization", required = false) String tokenHeader,
+        @RequestParam int year, @RequestParam int month,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+        LocalDateTime beforeDate,
+        @RequestParam(required = false) Long beforeId, @RequestParam int size) {
+        MonthlyTransactionHistoryListDTO monthlyTransactions = nhBankService.getMonthlyTransactionHistoryPage(
+            tokenHeader, MonthlyTransactionRequestDTO.fromDTO(year, month), beforeDate, beforeId,
+            size);
+        return ResponseEntity.status(HttpStatus.OK).body(monthlyTransactions);
+    }
+
+    @PostMapping("/transaction-category-cohort")
+    public ResponseEntity<List<CategoryAmountResponseDTO>> getCohortCategorySpending(
+        @RequestBody BankToAnalysisMessageRequestDTO message) {
+        List<CategoryAmountResponseDTO> categorySpending = nhBankService.getCohortCategorySpending(
+            message);
+        return ResponseEntity.status(HttpStatus.OK).body(categorySpending);
+    }
+
+    @PostMapping("/transaction-category-member")
+    public ResponseEntity<List<CohortSpendingDTO>> getCohortSpending(
+        @RequestBody BankToAnalysisMessageRequestDTO message) {
+        List<CohortSpendingDTO> spendings = nhBankService.getCohortSpending(message);
+        return ResponseEntity.status(HttpStatus.OK).body(spendings);
+    }
+
+    @PutMapping("/cohorts")
+    public ResponseEntity<Void> syncCohortMembership(
+        @RequestBody CohortMembershipRequestDTO requestDTO) {
+        nhBankService.syncCohortMembership(requestDTO);
+        return ResponseEntity.status(HttpStatus.OK).build();
+    }
+
+    @PostMapping("/analysis-bundle")
+    public ResponseEntity<AnalysisBundleResponseDTO> getAnalysisBundle(
+        @RequestHeader(value = "Authorization", required = false) String tokenHeader,
+        @RequestBody AnalysisBundleRequestDTO requestDTO) {
+        AnalysisBundleResponseDTO bundle = nhBankService.getAnalysisBundle(tokenHeader,
+            requestDTO);
+        return ResponseEntity.status(HttpStatus.OK).body(bundle);
+    }
+}
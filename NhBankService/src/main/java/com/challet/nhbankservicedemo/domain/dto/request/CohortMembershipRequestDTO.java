@@ -0,0 +1,20 @@
+package com.challet.nhbankservicedemo.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "코호트 구성원 동기화 요청 DTO")
+public record CohortMembershipRequestDTO(
+
+    @Schema(description = "코호트 키 (나이대:성별)")
+    String cohortKey,
+
+    @Schema(description = "구성원 목록 버전")
+    Long version,
+
+    @Schema(description = "전화번호 목록")
+    List<String> phoneNumbers
+) {
+}
@@ -34,7 +34,10 @@ public record MonthlyTransactionHistoryDTO(
     Long transactionAmount,
 
     @Schema(description = "카테고리")
-    Category category
+    Category category,
+
+    @Schema(description = "거래 id")
+    Long transactionId
 ){
 
 }
\ No newline at end of file
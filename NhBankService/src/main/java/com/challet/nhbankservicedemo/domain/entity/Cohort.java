@@ -0,0 +1,35 @@
+package com.challet.nhbankservicedemo.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "cohort")
+public class Cohort {
+
+    @Id
+    @Column(name = "cohort_key")
+    private String cohortKey;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "synced_date_time", nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime syncedDateTime;
+
+    public void updateVersion(Long version) {
+        this.version = version;
+        this.syncedDateTime = LocalDateTime.now();
+    }
+}
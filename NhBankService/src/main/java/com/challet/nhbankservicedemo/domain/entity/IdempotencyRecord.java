@@ -0,0 +1,47 @@
+package com.challet.nhbankservicedemo.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+// 멱등 키별 처리 결과, response 가 null 이면 아직 처리 중
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_record", indexes = {
+    @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 191)
+    private String idempotencyKey;
+
+    // 요청 내용의 SHA-256, 같은 키로 다른 요청이 오면 거부하는 데 씀
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    @Column(name = "response", columnDefinition = "TEXT")
+    private String response;
+
+    @Column(name = "expires_at", nullable = false, columnDefinition = "DATETIME")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "create_date_time", nullable = false, columnDefinition = "DATETIME")
+    @CreationTimestamp
+    private LocalDateTime createDateTime;
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
@@ -21,7 +22,10 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "nh_bank")
+// 월별, 카테고리 조회는 전화번호로 계좌를 찾은 뒤 거래 테이블로 들어감
+@Table(name = "nh_bank", indexes = {
+    @Index(name = "idx_nh_bank_phone_number", columnList = "phone_number")
+})
 public class NhBank {
 
     @Id
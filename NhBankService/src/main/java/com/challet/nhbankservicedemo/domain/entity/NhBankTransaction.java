@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -23,7 +24,13 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "nh_transaction")
+// 월별 조회는 [월초, 다음 달 월초) 범위 조건으로 이 인덱스를 탐
+@Table(name = "nh_transaction", indexes = {
+    @Index(name = "idx_nh_transaction_bank_datetime",
+        columnList = "nh_bank_id, transaction_datetime"),
+    @Index(name = "idx_nh_transaction_category_datetime",
+        columnList = "category, transaction_datetime")
+})
 public class NhBankTransaction {
 
     @Id
@@ -0,0 +1,8 @@
+package com.challet.nhbankservicedemo.domain.repository;
+
+import com.challet.nhbankservicedemo.domain.entity.CohortMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CohortMemberRepository extends JpaRepository<CohortMember, Long>,
+    CohortMemberRepositoryCustom {
+}
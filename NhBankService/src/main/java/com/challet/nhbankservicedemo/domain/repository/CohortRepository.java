@@ -0,0 +1,7 @@
+package com.challet.nhbankservicedemo.domain.repository;
+
+import com.challet.nhbankservicedemo.domain.entity.Cohort;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CohortRepository extends JpaRepository<Cohort, String> {
+}
@@ -0,0 +1,40 @@
+package com.challet.nhbankservicedemo.domain.repository;
+
+import com.challet.nhbankservicedemo.domain.entity.IdempotencyRecord;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 같은 키가 이미 있으면 0, 같은 키를 넣은 트랜잭션이 진행 중이면 그 트랜잭션이 끝날 때까지 대기
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_record "
+        + "(idempotency_key, request_hash, expires_at, create_date_time) "
+        + "VALUES (:key, :requestHash, :expiresAt, NOW())",
+        nativeQuery = true)
+    int insertPending(@Param("key") String key, @Param("requestHash") String requestHash,
+        @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.response = :response where r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("response") String response);
+
+    // 스냅샷이 아닌 커밋된 최신 행을 읽음
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select r from IdempotencyRecord r where r.idempotencyKey = :key")
+    Optional<IdempotencyRecord> findByKeyForShare(@Param("key") String key);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
@@ -3,11 +3,14 @@ package com.challet.nhbankservicedemo.domain.repository;
 import com.challet.nhbankservicedemo.domain.dto.request.BankToAnalysisMessageRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CohortSpendingDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.TransactionResponseDTO;
 import com.challet.nhbankservicedemo.domain.entity.Category;
 import com.challet.nhbankservicedemo.domain.entity.NhBank;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,8 +32,18 @@ public interface NhBankRepositoryCustom {
     MonthlyTransactionHistoryListDTO getTransactionByPhoneNumberAndYearMonth(String phoneNumber,
         MonthlyTransactionRequestDTO requestDTO);
 
+    MonthlyTransactionHistoryListDTO getTransactionPageByPhoneNumberAndYearMonth(String phoneNumber,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size);
+
     Map<Category, Long> getTransactionByGroupCategory(BankToAnalysisMessageRequestDTO requestDTO);
 
+    List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    List<CohortSpendingDTO> getCohortSpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
     Map<Category, Long> getMyTransactionByCategory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO);
 }
\ No newline at end of file
@@ -6,17 +6,27 @@ import com.challet.nhbankservicedemo.domain.dto.response.AccountInfoResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.AccountInfoResponseListDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.CategoryAmountMonthResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CohortSpendingDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.MonthlyTransactionHistoryDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.TransactionResponseDTO;
 import com.challet.nhbankservicedemo.domain.entity.Category;
 import com.challet.nhbankservicedemo.domain.entity.NhBank;
+import com.challet.nhbankservicedemo.domain.entity.QCohortMember;
 import com.challet.nhbankservicedemo.domain.entity.QNhBank;
 import com.challet.nhbankservicedemo.domain.entity.QNhBankTransaction;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -124,10 +134,30 @@ public class NhBankRepositoryImpl implements NhBankRepositoryCustom {
     @Override
     public MonthlyTransactionHistoryListDTO getTransactionByPhoneNumberAndYearMonth(
         String phoneNumber, MonthlyTransactionRequestDTO requestDTO) {
+        List<MonthlyTransactionHistoryDTO> result = monthlyTransactionQuery(phoneNumber, requestDTO)
+            .fetch();
+
+        return MonthlyTransactionHistoryListDTO.from(result);
+    }
+
+    @Override
+    public MonthlyTransactionHistoryListDTO getTransactionPageByPhoneNumberAndYearMonth(
+        String phoneNumber, MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate,
+        Long beforeId, int size) {
+        List<MonthlyTransactionHistoryDTO> result = monthlyTransactionQuery(phoneNumber, requestDTO)
+            .where(before(QNhBankTransaction.nhBankTransaction, beforeDate, beforeId))
+            .limit(size)
+            .fetch();
+
+        return MonthlyTransactionHistoryListDTO.from(result);
+    }
+
+    private JPAQuery<MonthlyTransactionHistoryDTO> monthlyTransactionQuery(String phoneNumber,
+        MonthlyTransactionRequestDTO requestDTO) {
         QNhBankTransaction nhBankTransaction = QNhBankTransaction.nhBankTransaction;
         QNhBank nhbank = QNhBank.nhBank;
 
-        List<MonthlyTransactionHistoryDTO> result = query
+        return query
             .select(Projections.constructor(MonthlyTransactionHistoryDTO.class,
                 Expressions.constant("nh-bank"),
                 nhbank.accountNumber,
@@ -137,17 +167,15 @@ public class NhBankRepositoryImpl implements NhBankRepositoryCustom {
                 nhBankTransaction.withdrawal,
                 nhBankTransaction.transactionBalance,
                 nhBankTransaction.transactionAmount,
-                nhBankTransaction.category))
+                nhBankTransaction.category,
+                nhBankTransaction.id))
             .from(nhBankTransaction)
             .join(nhBankTransaction.nhBank, nhbank)
             .where(nhbank.phoneNumber.eq(phoneNumber)
                 .and(nhbank.myDataStatus.isTrue())
-                .and(nhBankTransaction.transactionDatetime.year().eq(requestDTO.year()))
-                .and(nhBankTransaction.transactionDatetime.month().eq(requestDTO.month())))
-            .orderBy(nhBankTransaction.transactionDatetime.desc())
-            .fetch();
-
-        return MonthlyTransactionHistoryListDTO.from(result);
+                .and(inMonth(nhBankTransaction.transactionDatetime,
+                    requestDTO.year(), requestDTO.month())))
+            .orderBy(nhBankTransaction.transactionDatetime.desc(), nhBankTransaction.id.desc());
     }
 
     @Override
@@ -156,18 +184,88 @@ public class NhBankRepositoryImpl implements NhBankRepositoryCustom {
         QNhBankTransaction nhBankTransaction = QNhBankTransaction.nhBankTransaction;
         QNhBank nhbank = QNhBank.nhBank;
 
-        List<String> phoneNumbers = requestDTO.getUserInfo();
         Map<Category, Long> categorySums = new HashMap<>();
 
-        for (int i = 0; i < phoneNumbers.size(); i += BATCH_SIZE) {
-            List<String> subListPhoneNumbers = subList(i, phoneNumbers);
+        for (BooleanExpression members : memberConditions(requestDTO, nhbank)) {
             List<CategoryAmountResponseDTO> results = getCategoryList(requestDTO, nhBankTransaction,
-                nhbank, subListPhoneNumbers);
+                nhbank, members);
             addCategoryList(results, categorySums);
         }
         return categorySums;
     }
 
+    // 배치마다 전화번호가 겹치지 않으므로 배치 결과의 합계와 사용자 수를 그대로 더함
+    @Override
+    public List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO) {
+        QNhBankTransaction nhBankTransaction = QNhBankTransaction.nhBankTransaction;
+        QNhBank nhbank = QNhBank.nhBank;
+
+        Map<Category, CategoryAmountResponseDTO> categorySpending = new EnumMap<>(Category.class);
+
+        for (BooleanExpression members : memberConditions(requestDTO, nhbank)) {
+            List<CategoryAmountResponseDTO> results = getCategoryList(requestDTO, nhBankTransaction,
+                nhbank, members);
+            for (CategoryAmountResponseDTO result : results) {
+                categorySpending.merge(result.category(), result,
+                    (total, batch) -> CategoryAmountResponseDTO.builder()
+                        .category(total.category())
+                        .totalAmount(total.totalAmount() + batch.totalAmount())
+                        .count(total.count() + batch.count())
+                        .build());
+            }
+        }
+        return new ArrayList<>(categorySpending.values());
+    }
+
+    // 사용자별 카테고리 합계 (여러 은행을 쓰는 사용자는 챌렛 은행에서 전화번호로 합산해 요약)
+    @Override
+    public List<CohortSpendingDTO> getCohortSpending(BankToAnalysisMessageRequestDTO requestDTO) {
+        QNhBankTransaction nhBankTransaction = QNhBankTransaction.nhBankTransaction;
+        QNhBank nhBank = QNhBank.nhBank;
+
+        List<CohortSpendingDTO> spendings = new ArrayList<>();
+        for (BooleanExpression members : memberConditions(requestDTO, nhBank)) {
+            spendings.addAll(query
+                .select(Projections.constructor(CohortSpendingDTO.class,
+                    nhBank.phoneNumber,
+                    nhBankTransaction.category,
+                    nhBankTransaction.transactionAmount.sum()))
+                .from(nhBankTransaction)
+                .join(nhBankTransaction.nhBank, nhBank)
+                .where(
+                    members
+                        .and(nhBank.myDataStatus.isTrue())
+                        .and(inMonth(nhBankTransaction.transactionDatetime,
+                            requestDTO.getYear(), requestDTO.getMonth()))
+                        .and(nhBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
+                            Category.SHOPPING, Category.TRANSPORT, Category.ETC))
+                        .and(nhBankTransaction.transactionAmount.lt(0)))
+                .groupBy(nhBank.phoneNumber, nhBankTransaction.category)
+                .fetch());
+        }
+        return spendings;
+    }
+
+    // 동기화된 코호트면 전화번호 목록 대신 코호트 테이블을 서브쿼리로 조회하고, 아니면 기존처럼 배치로 나눔
+    private List<BooleanExpression> memberConditions(BankToAnalysisMessageRequestDTO requestDTO,
+        QNhBank nhbank) {
+        if (requestDTO.cohortKey() != null) {
+            QCohortMember cohortMember = QCohortMember.cohortMember;
+            return List.of(nhbank.phoneNumber.in(JPAExpressions
+                .select(cohortMember.phoneNumber)
+                .from(cohortMember)
+                .where(cohortMember.cohortKey.eq(requestDTO.cohortKey()))));
+        }
+
+        List<String> phoneNumbers = requestDTO.getUserInfo();
+        List<BooleanExpression> conditions = new ArrayList<>();
+        for (int i = 0; i < phoneNumbers.size(); i += BATCH_SIZE) {
+            conditions.add(nhbank.phoneNumber.in(subList(i, phoneNumbers)));
+        }
+        return conditions;
+    }
+
     private List<String> subList(int start, List<String> phoneNumbers) {
         int end = Math.min(start + BATCH_SIZE, phoneNumbers.size());
         return phoneNumbers.subList(start, end);
@@ -175,7 +273,7 @@ public class NhBankRepositoryImpl implements NhBankRepositoryCustom {
 
     private List<CategoryAmountResponseDTO> getCategoryList(
         BankToAnalysisMessageRequestDTO requestDTO,
-        QNhBankTransaction nhBankTransaction, QNhBank nhbank, List<String> subListPhoneNumbers) {
+        QNhBankTransaction nhBankTransaction, QNhBank nhbank, BooleanExpression members) {
         return query
             .select(Projections.constructor(CategoryAmountResponseDTO.class,
                 nhBankTransaction.category,
@@ -183,10 +281,10 @@ public class NhBankRepositoryImpl implements NhBankRepositoryCustom {
                 nhbank.phoneNumber.countDistinct()))
             .from(nhBankTransaction)
             .join(nhBankTransaction.nhBank, nhbank)
-            .where(nhbank.phoneNumber.in(subListPhoneNumbers)
+            .where(members
                 .and(nhbank.myDataStatus.isTrue())
-                .and(nhBankTransaction.transactionDatetime.year().eq(requestDTO.getYear()))
-                .and(nhBankTransaction.transactionDatetime.month().eq(requestDTO.getMonth()))
+                .and(inMonth(nhBankTransaction.transactionDatetime,
+                    requestDTO.getYear(), requestDTO.getMonth()))
                 .and(nhBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
                     Category.SHOPPING, Category.TRANSPORT, Category.ETC))
                 .and(nhBankTransaction.transactionAmount.lt(0)))
@@ -232,12 +330,30 @@ public class NhBankRepositoryImpl implements NhBankRepositoryCustom {
             .where(
                 nhBank.phoneNumber.eq(phoneNumber)
                     .and(nhBank.myDataStatus.isTrue())
-                    .and(nhBankTransaction.transactionDatetime.year().eq(requestDTO.year()))
-                    .and(nhBankTransaction.transactionDatetime.month().eq(requestDTO.month()))
+                    .and(inMonth(nhBankTransaction.transactionDatetime,
+                        requestDTO.year(), requestDTO.month()))
                     .and(nhBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
                         Category.SHOPPING, Category.TRANSPORT, Category.ETC))
                     .and(nhBankTransaction.transactionAmount.lt(0)))
             .groupBy(nhBankTransaction.category)
             .fetch();
     }
-}
\ No newline at end of file
+
+    // [월초, 다음 달 월초) 범위 조건, 컬럼을 함수로 감싸지 않아 거래 일시 인덱스를 그대로 탐
+    private static BooleanExpression inMonth(DateTimePath<LocalDateTime> transactionDatetime,
+        int year, int month) {
+        LocalDateTime monthStart = LocalDate.of(year, month, 1).atStartOfDay();
+        return transactionDatetime.goe(monthStart)
+            .and(transactionDatetime.lt(monthStart.plusMonths(1)));
+    }
+
+    // (거래 일시, id) 내림차순에서 커서 위치보다 뒤의 거래만, 커서가 없으면 조건 없음
+    private static BooleanExpression before(QNhBankTransaction transaction,
+        LocalDateTime beforeDate, Long beforeId) {
+        if (beforeDate == null) {
+            return null;
+        }
+        return transaction.transactionDatetime.lt(beforeDate)
+            .or(transaction.transactionDatetime.eq(beforeDate).and(transaction.id.lt(beforeId)));
+    }
+}
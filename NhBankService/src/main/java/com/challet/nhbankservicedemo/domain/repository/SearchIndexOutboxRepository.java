@@ -0,0 +1,8 @@
+package com.challet.nhbankservicedemo.domain.repository;
+
+import com.challet.nhbankservicedemo.domain.entity.SearchIndexOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SearchIndexOutboxRepository extends JpaRepository<SearchIndexOutbox, Long>,
+    SearchIndexOutboxRepositoryCustom {
+}
@@ -0,0 +1,22 @@
+package com.challet.nhbankservicedemo.domain.scheduler;
+
+import com.challet.nhbankservicedemo.domain.repository.IdempotencyRecordRepository;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyRecordScheduler {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    // 보관 기간이 지난 멱등 키 기록 정리
+    @Transactional
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+    }
+}
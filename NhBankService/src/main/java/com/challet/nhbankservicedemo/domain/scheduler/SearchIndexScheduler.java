@@ -0,0 +1,43 @@
+package com.challet.nhbankservicedemo.domain.scheduler;
+
+import com.challet.nhbankservicedemo.domain.dto.response.SearchIndexLagDTO;
+import com.challet.nhbankservicedemo.domain.service.SearchIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class SearchIndexScheduler {
+
+    // 한 번 실행에서 연속으로 처리할 최대 묶음 수 (밀린 거래가 많아도 다른 작업을 막지 않게 함)
+    private static final int MAX_ROUNDS = 20;
+
+    private final SearchIndexService searchIndexService;
+    private final long lagWarnMillis;
+
+    public SearchIndexScheduler(SearchIndexService searchIndexService,
+        @Value("${search.index.lag-warn-ms:60000}") long lagWarnMillis) {
+        this.searchIndexService = searchIndexService;
+        this.lagWarnMillis = lagWarnMillis;
+    }
+
+    // 묶음 크기만큼 쌓이거나 주기가 돌아오면 색인
+    @Scheduled(fixedDelayString = "${search.index.poll-interval-ms:500}")
+    public void indexPending() {
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            if (searchIndexService.indexPending() == 0) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void reportLag() {
+        SearchIndexLagDTO lag = searchIndexService.getLag();
+        if (lag.oldestAgeMillis() >= lagWarnMillis) {
+            log.warn("검색 색인 지연: 대기 {}건, 최대 {}ms", lag.pending(), lag.oldestAgeMillis());
+        }
+    }
+}
@@ -1,19 +1,26 @@
 package com.challet.nhbankservicedemo.domain.service;
 
 import com.challet.nhbankservicedemo.domain.dto.request.AccountTransferRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.request.CohortMembershipRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.PaymentRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.AnalysisBundleResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.BankTransferResponseDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CategoryAmountResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.CategoryAmountResponseListDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CohortSpendingDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.PaymentResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.SearchedTransactionResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.TransactionResponseListDTO;
 import com.challet.nhbankservicedemo.domain.entity.Category;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 public interface NhBankService {
@@ -30,16 +37,37 @@ public interface NhBankService {
 
     BankTransferResponseDTO addFundsToAccount(AccountTransferRequestDTO requestDTO);
 
+    BankTransferResponseDTO addFundsToAccount(String idempotencyKey,
+        AccountTransferRequestDTO requestDTO);
+
     MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO);
 
+    MonthlyTransactionHistoryListDTO getMonthlyTransactionHistoryPage(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size);
+
     Map<Category, Long> getTransactionByGroupCategory(BankToAnalysisMessageRequestDTO requestDTO);
 
+    List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    List<CohortSpendingDTO> getCohortSpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    void syncCohortMembership(CohortMembershipRequestDTO requestDTO);
+
+    AnalysisBundleResponseDTO getAnalysisBundle(String tokenHeader,
+        AnalysisBundleRequestDTO requestDTO);
+
     SearchedTransactionResponseDTO searchTransaction(
         SearchTransactionRequestDTO searchTransactionRequestDTO);
 
     PaymentResponseDTO qrPayment(Long accountId, PaymentRequestDTO paymentRequestDTO);
 
+    PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+        PaymentRequestDTO paymentRequestDTO);
+
     Map<Category, Long> getMyTransactionByCategory(String phoneNumber,
         MonthlyTransactionRequestDTO requestDTO);
 }
@@ -1,12 +1,17 @@
 package com.challet.nhbankservicedemo.domain.service;
 
 import com.challet.nhbankservicedemo.domain.dto.request.AccountTransferRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.nhbankservicedemo.domain.dto.request.CohortMembershipRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.PaymentRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.AnalysisBundleResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.BankTransferResponseDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.nhbankservicedemo.domain.dto.response.CohortSpendingDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.PaymentResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.SearchedTransactionResponseDTO;
@@ -15,13 +20,19 @@ import com.challet.nhbankservicedemo.domain.dto.response.TransactionResponseDTO;
 import com.challet.nhbankservicedemo.domain.dto.response.TransactionResponseListDTO;
 import com.challet.nhbankservicedemo.domain.elasticsearch.repository.SearchedTransactionRepository;
 import com.challet.nhbankservicedemo.domain.entity.Category;
+import com.challet.nhbankservicedemo.domain.entity.Cohort;
 import com.challet.nhbankservicedemo.domain.entity.NhBank;
 import com.challet.nhbankservicedemo.domain.entity.NhBankTransaction;
+import com.challet.nhbankservicedemo.domain.entity.SearchIndexOutbox;
 import com.challet.nhbankservicedemo.domain.entity.SearchedTransaction;
+import com.challet.nhbankservicedemo.domain.repository.CohortMemberRepository;
+import com.challet.nhbankservicedemo.domain.repository.CohortRepository;
 import com.challet.nhbankservicedemo.domain.repository.NhBankRepository;
 import com.challet.nhbankservicedemo.domain.repository.NhBankTransactionRepository;
+import com.challet.nhbankservicedemo.domain.repository.SearchIndexOutboxRepository;
 import com.challet.nhbankservicedemo.global.exception.CustomException;
 import com.challet.nhbankservicedemo.global.exception.ExceptionResponse;
+import com.challet.nhbankservicedemo.global.idempotency.IdempotentExecutor;
 import com.challet.nhbankservicedemo.global.util.JwtUtil;
 import com.querydsl.core.NonUniqueResultException;
 import jakarta.transaction.Transactional;
@@ -45,7 +56,11 @@ public class NhBankServiceImpl implements NhBankService {
     private final NhBankRepository nhBankRepository;
     private final NhBankTransactionRepository nhBankTransactionRepository;
     private final SearchedTransactionRepository searchedTransactionRepository;
+    private final SearchIndexOutboxRepository searchIndexOutboxRepository;
     private final JwtUtil jwtUtil;
+    private final CohortRepository cohortRepository;
+    private final CohortMemberRepository cohortMemberRepository;
+    private final IdempotentExecutor idempotentExecutor;
 
     @Override
     public AccountInfoResponseListDTO getAccountsByPhoneNumber(String tokenHeader) {
@@ -107,11 +122,20 @@ public class NhBankServiceImpl implements NhBankService {
 
         nhBank.addTransaction(transaction);
         NhBankTransaction savedToTransaction = nhBankTransactionRepository.save(transaction);
-        searchedTransactionRepository.save(SearchedTransaction.fromAccountTransferByTo(savedToTransaction));
+        searchIndexOutboxRepository.save(SearchIndexOutbox.of(nhBank.getId(), savedToTransaction));
 
         return BankTransferResponseDTO.fromBankTransferResponseDTO(nhBank);
     }
 
+    // 챌렛 은행이 같은 키로 이체를 재시도해도 입금은 한 번만 반영
+    @Override
+    public BankTransferResponseDTO addFundsToAccount(String idempotencyKey,
+        AccountTransferRequestDTO requestDTO) {
+        return idempotentExecutor.execute("transfer", requestDTO.depositAccountNumber(),
+            idempotencyKey, requestDTO, BankTransferResponseDTO.class,
+            () -> addFundsToAccount(requestDTO));
+    }
+
     @Override
     public MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO) {
@@ -122,12 +146,73 @@ public class NhBankServiceImpl implements NhBankService {
         return transactions;
     }
 
+    @Override
+    public MonthlyTransactionHistoryListDTO getMonthlyTransactionHistoryPage(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size) {
+        String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
+        return nhBankRepository.getTransactionPageByPhoneNumberAndYearMonth(phoneNumber, requestDTO,
+            beforeDate, beforeId, size);
+    }
+
     @Override
     public Map<Category, Long> getTransactionByGroupCategory(
         BankToAnalysisMessageRequestDTO requestDTO) {
         return nhBankRepository.getTransactionByGroupCategory(requestDTO);
     }
 
+    @Override
+    public List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO) {
+        return nhBankRepository.getCohortCategorySpending(requestDTO);
+    }
+
+    // 분석 화면에 필요한 항목을 한 번의 요청, 하나의 DB 세션으로 조회 (JWT 도 한 번만 해석)
+    @Transactional(readOnly = true)
+    @Override
+    public AnalysisBundleResponseDTO getAnalysisBundle(String tokenHeader,
+        AnalysisBundleRequestDTO requestDTO) {
+        String phoneNumber = requestDTO.includeMonthlyTransactions() || requestDTO.includeMyCategory()
+            ? jwtUtil.getLoginUserPhoneNumber(tokenHeader) : null;
+
+        return AnalysisBundleResponseDTO
+            .builder()
+            .monthlyTransactions(requestDTO.includeMonthlyTransactions()
+                ? nhBankRepository.getTransactionByPhoneNumberAndYearMonth(phoneNumber,
+                requestDTO.requestDTO())
+                : null)
+            .myCategory(requestDTO.includeMyCategory()
+                ? nhBankRepository.getMyTransactionByCategory(phoneNumber, requestDTO.requestDTO())
+                : null)
+            .groupCategory(requestDTO.groupCategoryMessage() != null
+                ? nhBankRepository.getTransactionByGroupCategory(requestDTO.groupCategoryMessage())
+                : null)
+            .build();
+    }
+
+    @Override
+    public List<CohortSpendingDTO> getCohortSpending(
+        BankToAnalysisMessageRequestDTO requestDTO) {
+        return nhBankRepository.getCohortSpending(requestDTO);
+    }
+
+
+    // 구성원 목록 버전이 같으면 건너뛰고, 바뀌었으면 코호트 구성원을 통째로 교체
+    @Transactional
+    @Override
+    public void syncCohortMembership(CohortMembershipRequestDTO requestDTO) {
+        Cohort cohort = cohortRepository.findById(requestDTO.cohortKey())
+            .orElseGet(() -> Cohort.builder().cohortKey(requestDTO.cohortKey()).build());
+        if (requestDTO.version().equals(cohort.getVersion())) {
+            return;
+        }
+
+        cohortMemberRepository.deleteByCohortKey(requestDTO.cohortKey());
+        cohortMemberRepository.insertMembers(requestDTO.cohortKey(), requestDTO.phoneNumbers());
+        cohort.updateVersion(requestDTO.version());
+        cohortRepository.save(cohort);
+    }
+
     @Override
     public SearchedTransactionResponseDTO searchTransaction(
         final SearchTransactionRequestDTO searchTransactionRequestDTO) {
@@ -175,11 +260,20 @@ public class NhBankServiceImpl implements NhBankService {
         nhBankTransactionRepository.save(paymentTransaction);
 
 
-        searchedTransactionRepository.save(SearchedTransaction.fromAccountIdAndNhBankTransaction(accountId, paymentTransaction));
+        searchIndexOutboxRepository.save(SearchIndexOutbox.of(accountId, paymentTransaction));
 
         return PaymentResponseDTO.fromPaymentResponseDTO(paymentTransaction);
     }
 
+    // 같은 키로 다시 들어온 결제는 계좌를 건드리지 않고 처음 응답을 그대로 돌려줌
+    @Override
+    public PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+        PaymentRequestDTO paymentRequestDTO) {
+        return idempotentExecutor.execute("payment", accountId, idempotencyKey,
+            paymentRequestDTO, PaymentResponseDTO.class,
+            () -> qrPayment(accountId, paymentRequestDTO));
+    }
+
     private long calculateTransactionBalance(NhBank kbBank, long transactionAmount) {
         long transactionBalance = kbBank.getAccountBalance() - transactionAmount;
         if (transactionBalance < 0) {
@@ -0,0 +1,10 @@
+package com.challet.nhbankservicedemo.domain.service;
+
+import com.challet.nhbankservicedemo.domain.dto.response.SearchIndexLagDTO;
+
+public interface SearchIndexService {
+
+    int indexPending();
+
+    SearchIndexLagDTO getLag();
+}
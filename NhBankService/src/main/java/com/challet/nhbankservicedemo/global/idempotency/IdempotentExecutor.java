@@ -0,0 +1,116 @@
+package com.challet.nhbankservicedemo.global.idempotency;
+
+import com.challet.nhbankservicedemo.domain.entity.IdempotencyRecord;
+import com.challet.nhbankservicedemo.domain.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 결제, 입금 요청을 멱등 키(Idempotency-Key) 기준으로 한 번만 처리한다.
+ * 키 기록 INSERT, 처리, 응답 저장을 한 트랜잭션으로 묶어서 응답이 처리 결과와 함께 커밋된다.
+ * 같은 키로 동시에 들어온 요청은 INSERT 에서 먼저 들어온 트랜잭션이 끝나기를 기다렸다가,
+ * 먼저 들어온 요청이 커밋했으면 계좌를 건드리지 않고 저장된 응답을, 롤백했으면 직접 처리한다.
+ * 키에는 요청 내용의 해시를 함께 남겨서 같은 키로 다른 요청을 보내면 거부한다.
+ */
+@Component
+public class IdempotentExecutor {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    public IdempotentExecutor(IdempotencyRecordRepository idempotencyRecordRepository,
+        ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+        @Value("${idempotency.ttl-minutes:60}") long ttlMinutes) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    // key 가 없으면 그대로 실행, 키는 scope 와 owner(계좌 등)별로 따로 관리
+    public <T> T execute(String scope, Object owner, String key, Object request,
+        Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "멱등 키가 너무 깁니다.");
+        }
+
+        String recordKey = scope + ":" + owner + ":" + key;
+        String requestHash = requestHash(request);
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            idempotencyRecordRepository.deleteIfExpired(recordKey, now);
+            if (idempotencyRecordRepository.insertPending(recordKey, requestHash,
+                now.plus(ttl)) == 0) {
+                return read(recordKey, requestHash, responseType);
+            }
+            T response = action.get();
+            idempotencyRecordRepository.complete(recordKey, write(response));
+            return response;
+        });
+    }
+
+    // 이미 기록된 키는 요청 해시가 같을 때만 저장된 응답을 돌려줌
+    // 같은 트랜잭션에서 먼저 기록한 키는 아직 응답이 없으므로 처리 중으로 봄
+    private <T> T read(String recordKey, String requestHash, Class<T> responseType) {
+        IdempotencyRecord record = idempotencyRecordRepository.findByKeyForShare(recordKey)
+            .orElseThrow(IdempotentExecutor::inProgress);
+        checkRequestHash(record.getRequestHash(), requestHash);
+        if (!record.isCompleted()) {
+            throw inProgress();
+        }
+        try {
+            return objectMapper.readValue(record.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등 키 응답 역직렬화 실패", e);
+        }
+    }
+
+    private String requestHash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(write(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 해시가 없는 예전 기록은 비교하지 않음
+    private static void checkRequestHash(String storedHash, String requestHash) {
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "같은 멱등 키로 다른 요청을 보냈습니다.");
+        }
+    }
+
+    private static ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "같은 요청을 처리하고 있습니다.");
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등 키 요청, 응답 직렬화 실패", e);
+        }
+    }
+}
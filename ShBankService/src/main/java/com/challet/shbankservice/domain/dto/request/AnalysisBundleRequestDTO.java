@@ -0,0 +1,22 @@
+package com.challet.shbankservice.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "분석 화면 묶음 조회 요청 DTO")
+public record AnalysisBundleRequestDTO(
+
+    @Schema(description = "조회 년도와 달")
+    MonthlyTransactionRequestDTO requestDTO,
+
+    @Schema(description = "한달 결제 내역 포함 여부")
+    boolean includeMonthlyTransactions,
+
+    @Schema(description = "내 카테고리별 합계 포함 여부")
+    boolean includeMyCategory,
+
+    @Schema(description = "코호트 카테고리별 합계 조회 정보 (없으면 제외)")
+    BankToAnalysisMessageRequestDTO groupCategoryMessage
+) {
+}
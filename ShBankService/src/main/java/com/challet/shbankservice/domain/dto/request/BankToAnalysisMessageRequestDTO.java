@@ -12,7 +12,10 @@ public record BankToAnalysisMessageRequestDTO(
     UserInfoMessageRequestDTO userInfo,
 
     @Schema(description = "조회 년도와 달")
-    MonthlyTransactionRequestDTO requestDTO
+    MonthlyTransactionRequestDTO requestDTO,
+
+    @Schema(description = "동기화된 코호트 키 (있으면 전화번호 목록 대신 사용)")
+    String cohortKey
 ){
     public List<String> getUserInfo() {
         return userInfo.phoneNumbers();
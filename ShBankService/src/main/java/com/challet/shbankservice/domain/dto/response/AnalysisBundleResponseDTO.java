@@ -0,0 +1,21 @@
+package com.challet.shbankservice.domain.dto.response;
+
+import com.challet.shbankservice.domain.entity.Category;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "분석 화면 묶음 조회 응답 DTO (요청하지 않은 항목은 null)")
+public record AnalysisBundleResponseDTO(
+
+    @Schema(description = "한달 결제 내역")
+    MonthlyTransactionHistoryListDTO monthlyTransactions,
+
+    @Schema(description = "내 카테고리별 합계")
+    Map<Category, Long> myCategory,
+
+    @Schema(description = "코호트 카테고리별 합계")
+    Map<Category, Long> groupCategory
+) {
+}
@@ -0,0 +1,41 @@
+package com.challet.shbankservice.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "cohort_member", indexes = {
+    @Index(name = "idx_cohort_member_key_phone", columnList = "cohort_key, phone_number")
+})
+public class CohortMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cohort_key", nullable = false)
+    private String cohortKey;
+
+    @Column(name = "phone_number", nullable = false)
+    private String phoneNumber;
+
+    public static CohortMember of(String cohortKey, String phoneNumber) {
+        return CohortMember.builder()
+            .cohortKey(cohortKey)
+            .phoneNumber(phoneNumber)
+            .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.challet.shbankservice.domain.repository;
+
+import java.util.List;
+
+public interface CohortMemberRepositoryCustom {
+
+    long deleteByCohortKey(String cohortKey);
+
+    void insertMembers(String cohortKey, List<String> phoneNumbers);
+}
@@ -0,0 +1,40 @@
+package com.challet.shbankservice.domain.repository;
+
+import com.challet.shbankservice.domain.entity.QCohortMember;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CohortMemberRepositoryImpl implements CohortMemberRepositoryCustom {
+
+    private final JPAQueryFactory query;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public long deleteByCohortKey(String cohortKey) {
+        QCohortMember cohortMember = QCohortMember.cohortMember;
+        return query
+            .delete(cohortMember)
+            .where(cohortMember.cohortKey.eq(cohortKey))
+            .execute();
+    }
+
+    // IDENTITY 키라 saveAll 은 구성원마다 INSERT 를 보내므로 JDBC 배치 한 번으로 넣음
+    @Override
+    public void insertMembers(String cohortKey, List<String> phoneNumbers) {
+        SqlParameterSource[] rows = phoneNumbers.stream()
+            .map(phoneNumber -> new MapSqlParameterSource()
+                .addValue("cohortKey", cohortKey)
+                .addValue("phoneNumber", phoneNumber))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO cohort_member (cohort_key, phone_number) "
+                + "VALUES (:cohortKey, :phoneNumber)", rows);
+    }
+}
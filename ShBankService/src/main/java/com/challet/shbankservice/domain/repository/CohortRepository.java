@@ -0,0 +1,7 @@
+package com.challet.shbankservice.domain.repository;
+
+import com.challet.shbankservice.domain.entity.Cohort;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CohortRepository extends JpaRepository<Cohort, String> {
+}
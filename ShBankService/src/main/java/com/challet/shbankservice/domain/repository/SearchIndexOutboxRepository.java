@@ -0,0 +1,8 @@
+package com.challet.shbankservice.domain.repository;
+
+import com.challet.shbankservice.domain.entity.SearchIndexOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SearchIndexOutboxRepository extends JpaRepository<SearchIndexOutbox, Long>,
+    SearchIndexOutboxRepositoryCustom {
+}
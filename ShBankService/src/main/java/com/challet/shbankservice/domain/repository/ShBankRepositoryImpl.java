@@ -6,17 +6,27 @@ import com.challet.shbankservice.domain.dto.response.AccountInfoResponseDTO;
 import com.challet.shbankservice.domain.dto.response.AccountInfoResponseListDTO;
 import com.challet.shbankservice.domain.dto.response.CategoryAmountMonthResponseDTO;
 import com.challet.shbankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.shbankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.shbankservice.domain.dto.response.MonthlyTransactionHistoryDTO;
 import com.challet.shbankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.shbankservice.domain.dto.response.TransactionDetailResponseDTO;
 import com.challet.shbankservice.domain.dto.response.TransactionResponseDTO;
 import com.challet.shbankservice.domain.entity.Category;
+import com.challet.shbankservice.domain.entity.QCohortMember;
 import com.challet.shbankservice.domain.entity.QShBank;
 import com.challet.shbankservice.domain.entity.QShBankTransaction;
 import com.challet.shbankservice.domain.entity.ShBank;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -125,10 +135,30 @@ public class ShBankRepositoryImpl implements ShBankRepositoryCustom {
     @Override
     public MonthlyTransactionHistoryListDTO getTransactionByPhoneNumberAndYearMonth(
         String phoneNumber, MonthlyTransactionRequestDTO requestDTO) {
+        List<MonthlyTransactionHistoryDTO> result = monthlyTransactionQuery(phoneNumber, requestDTO)
+            .fetch();
+
+        return MonthlyTransactionHistoryListDTO.from(result);
+    }
+
+    @Override
+    public MonthlyTransactionHistoryListDTO getTransactionPageByPhoneNumberAndYearMonth(
+        String phoneNumber, MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate,
+        Long beforeId, int size) {
+        List<MonthlyTransactionHistoryDTO> result = monthlyTransactionQuery(phoneNumber, requestDTO)
+            .where(before(QShBankTransaction.shBankTransaction, beforeDate, beforeId))
+            .limit(size)
+            .fetch();
+
+        return MonthlyTransactionHistoryListDTO.from(result);
+    }
+
+    private JPAQuery<MonthlyTransactionHistoryDTO> monthlyTransactionQuery(String phoneNumber,
+        MonthlyTransactionRequestDTO requestDTO) {
         QShBankTransaction shBankTransaction = QShBankTransaction.shBankTransaction;
         QShBank shbank = QShBank.shBank;
 
-        List<MonthlyTransactionHistoryDTO> result = query
+        return query
             .select(Projections.constructor(MonthlyTransactionHistoryDTO.class,
                 Expressions.constant("sh-bank"),
                 shbank.accountNumber,
@@ -138,17 +168,15 @@ public class ShBankRepositoryImpl implements ShBankRepositoryCustom {
                 shBankTransaction.withdrawal,
                 shBankTransaction.transactionBalance,
                 shBankTransaction.transactionAmount,
-                shBankTransaction.category))
+                shBankTransaction.category,
+                shBankTransaction.id))
             .from(shBankTransaction)
             .join(shBankTransaction.shBank, shbank)
             .where(shbank.phoneNumber.eq(phoneNumber)
                 .and(shbank.myDataStatus.isTrue())
-                .and(shBankTransaction.transactionDatetime.year().eq(requestDTO.year()))
-                .and(shBankTransaction.transactionDatetime.month().eq(requestDTO.month())))
-            .orderBy(shBankTransaction.transactionDatetime.desc())
-            .fetch();
-
-        return MonthlyTransactionHistoryListDTO.from(result);
+                .and(inMonth(shBankTransaction.transactionDatetime,
+                    requestDTO.year(), requestDTO.month())))
+            .orderBy(shBankTransaction.transactionDatetime.desc(), shBankTransaction.id.desc());
     }
 
     @Override
@@ -157,27 +185,95 @@ public class ShBankRepositoryImpl implements ShBankRepositoryCustom {
         QShBankTransaction shBankTransaction = QShBankTransaction.shBankTransaction;
         QShBank shBank = QShBank.shBank;
 
-        List<String> phoneNumbers = requestDTO.getUserInfo();
         Map<Category, Long> categorySums = new HashMap<>();
 
-        for(int i=0; i<phoneNumbers.size(); i+=BATCH_SIZE) {
-            List<String> subListPhoneNumbers = subList(i, phoneNumbers);
-
+        for (BooleanExpression members : memberConditions(requestDTO, shBank)) {
             List<CategoryAmountResponseDTO> results = getCategoryList(requestDTO, shBankTransaction,
-                shBank, subListPhoneNumbers);
-
+                shBank, members);
             addCategoryList(results, categorySums);
         }
         return categorySums;
     }
 
+    // 배치마다 전화번호가 겹치지 않으므로 배치 결과의 합계와 사용자 수를 그대로 더함
+    @Override
+    public List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO) {
+        QShBankTransaction shBankTransaction = QShBankTransaction.shBankTransaction;
+        QShBank shBank = QShBank.shBank;
+
+        Map<Category, CategoryAmountResponseDTO> categorySpending = new EnumMap<>(Category.class);
+
+        for (BooleanExpression members : memberConditions(requestDTO, shBank)) {
+            List<CategoryAmountResponseDTO> results = getCategoryList(requestDTO, shBankTransaction,
+                shBank, members);
+            for (CategoryAmountResponseDTO result : results) {
+                categorySpending.merge(result.category(), result,
+                    (total, batch) -> CategoryAmountResponseDTO.builder()
+                        .category(total.category())
+                        .totalAmount(total.totalAmount() + batch.totalAmount())
+                        .count(total.count() + batch.count())
+                        .build());
+            }
+        }
+        return new ArrayList<>(categorySpending.values());
+    }
+
+    // 사용자별 카테고리 합계 (여러 은행을 쓰는 사용자는 챌렛 은행에서 전화번호로 합산해 요약)
+    @Override
+    public List<CohortSpendingDTO> getCohortSpending(BankToAnalysisMessageRequestDTO requestDTO) {
+        QShBankTransaction shBankTransaction = QShBankTransaction.shBankTransaction;
+        QShBank shBank = QShBank.shBank;
+
+        List<CohortSpendingDTO> spendings = new ArrayList<>();
+        for (BooleanExpression members : memberConditions(requestDTO, shBank)) {
+            spendings.addAll(query
+                .select(Projections.constructor(CohortSpendingDTO.class,
+                    shBank.phoneNumber,
+                    shBankTransaction.category,
+                    shBankTransaction.transactionAmount.sum()))
+                .from(shBankTransaction)
+                .join(shBankTransaction.shBank, shBank)
+                .where(
+                    members
+                        .and(shBank.myDataStatus.isTrue())
+                        .and(inMonth(shBankTransaction.transactionDatetime,
+                            requestDTO.getYear(), requestDTO.getMonth()))
+                        .and(shBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
+                            Category.SHOPPING, Category.TRANSPORT, Category.ETC))
+                        .and(shBankTransaction.transactionAmount.lt(0)))
+                .groupBy(shBank.phoneNumber, shBankTransaction.category)
+                .fetch());
+        }
+        return spendings;
+    }
+
+    // 동기화된 코호트면 전화번호 목록 대신 코호트 테이블을 서브쿼리로 조회하고, 아니면 기존처럼 배치로 나눔
+    private List<BooleanExpression> memberConditions(BankToAnalysisMessageRequestDTO requestDTO,
+        QShBank shBank) {
+        if (requestDTO.cohortKey() != null) {
+            QCohortMember cohortMember = QCohortMember.cohortMember;
+            return List.of(shBank.phoneNumber.in(JPAExpressions
+                .select(cohortMember.phoneNumber)
+                .from(cohortMember)
+                .where(cohortMember.cohortKey.eq(requestDTO.cohortKey()))));
+        }
+
+        List<String> phoneNumbers = requestDTO.getUserInfo();
+        List<BooleanExpression> conditions = new ArrayList<>();
+        for (int i = 0; i < phoneNumbers.size(); i += BATCH_SIZE) {
+            conditions.add(shBank.phoneNumber.in(subList(i, phoneNumbers)));
+        }
+        return conditions;
+    }
+
     private List<String> subList(int i, List<String> phoneNumbers){
         int end = Math.min(i + BATCH_SIZE, phoneNumbers.size());
         return phoneNumbers.subList(i, end);
     }
 
     private List<CategoryAmountResponseDTO> getCategoryList(BankToAnalysisMessageRequestDTO requestDTO,
-        QShBankTransaction shBankTransaction, QShBank shBank, List<String> subListPhoneNumbers) {
+        QShBankTransaction shBankTransaction, QShBank shBank, BooleanExpression members) {
         return query
             .select(Projections.constructor(CategoryAmountResponseDTO.class,
                 shBankTransaction.category,
@@ -186,10 +282,10 @@ public class ShBankRepositoryImpl implements ShBankRepositoryCustom {
             .from(shBankTransaction)
             .join(shBankTransaction.shBank, shBank)
             .where(
-                shBank.phoneNumber.in(subListPhoneNumbers)
+                members
                     .and(shBank.myDataStatus.isTrue())
-                    .and(shBankTransaction.transactionDatetime.year().eq(requestDTO.getYear()))
-                    .and(shBankTransaction.transactionDatetime.month().eq(requestDTO.getMonth()))
+                    .and(inMonth(shBankTransaction.transactionDatetime,
+                        requestDTO.getYear(), requestDTO.getMonth()))
                     .and(shBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
                         Category.SHOPPING, Category.TRANSPORT, Category.ETC))
                     .and(shBankTransaction.transactionAmount.lt(0)))
@@ -234,12 +330,30 @@ public class ShBankRepositoryImpl implements ShBankRepositoryCustom {
             .where(
                 shBank.phoneNumber.eq(phoneNumber)
                     .and(shBank.myDataStatus.isTrue())
-                    .and(shBankTransaction.transactionDatetime.year().eq(requestDTO.year()))
-                    .and(shBankTransaction.transactionDatetime.month().eq(requestDTO.month()))
+                    .and(inMonth(shBankTransaction.transactionDatetime,
+                        requestDTO.year(), requestDTO.month()))
                     .and(shBankTransaction.category.in(Category.COFFEE, Category.DELIVERY,
                         Category.SHOPPING, Category.TRANSPORT, Category.ETC))
                     .and(shBankTransaction.transactionAmount.lt(0)))
             .groupBy(shBankTransaction.category)
             .fetch();
     }
+
+    // [월초, 다음 달 월초) 범위 조건, 컬럼을 함수로 감싸지 않아 거래 일시 인덱스를 그대로 탐
+    private static BooleanExpression inMonth(DateTimePath<LocalDateTime> transactionDatetime,
+        int year, int month) {
+        LocalDateTime monthStart = LocalDate.of(year, month, 1).atStartOfDay();
+        return transactionDatetime.goe(monthStart)
+            .and(transactionDatetime.lt(monthStart.plusMonths(1)));
+    }
+
+    // (거래 일시, id) 내림차순에서 커서 위치보다 뒤의 거래만, 커서가 없으면 조건 없음
+    private static BooleanExpression before(QShBankTransaction transaction,
+        LocalDateTime beforeDate, Long beforeId) {
+        if (beforeDate == null) {
+            return null;
+        }
+        return transaction.transactionDatetime.lt(beforeDate)
+            .or(transaction.transactionDatetime.eq(beforeDate).and(transaction.id.lt(beforeId)));
+    }
 }
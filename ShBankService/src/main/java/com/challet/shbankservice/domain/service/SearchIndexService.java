@@ -0,0 +1,10 @@
+package com.challet.shbankservice.domain.service;
+
+import com.challet.shbankservice.domain.dto.response.SearchIndexLagDTO;
+
+public interface SearchIndexService {
+
+    int indexPending();
+
+    SearchIndexLagDTO getLag();
+}
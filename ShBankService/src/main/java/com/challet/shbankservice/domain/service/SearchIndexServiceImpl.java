@@ -0,0 +1,118 @@
+package com.challet.shbankservice.domain.service;
+
+import com.challet.shbankservice.domain.dto.response.SearchIndexLagDTO;
+import com.challet.shbankservice.domain.elasticsearch.repository.SearchedTransactionRepository;
+import com.challet.shbankservice.domain.entity.ShBankTransaction;
+import com.challet.shbankservice.domain.entity.SearchIndexOutbox;
+import com.challet.shbankservice.domain.entity.SearchedTransaction;
+import com.challet.shbankservice.domain.repository.ShBankTransactionRepository;
+import com.challet.shbankservice.domain.repository.SearchIndexOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 아웃박스에 쌓인 거래를 모아 검색 색인에 한 번의 bulk 요청으로 반영한다.
+ * 문서 id 가 거래 id 이므로 같은 거래를 다시 색인해도 결과가 같고, 실패한 거래만 남겨서 나중에 다시 시도한다.
+ */
+@Slf4j
+@Service
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    private final SearchIndexOutboxRepository searchIndexOutboxRepository;
+    private final ShBankTransactionRepository shBankTransactionRepository;
+    private final SearchedTransactionRepository searchedTransactionRepository;
+    private final int batchSize;
+
+    public SearchIndexServiceImpl(SearchIndexOutboxRepository searchIndexOutboxRepository,
+        ShBankTransactionRepository shBankTransactionRepository,
+        SearchedTransactionRepository searchedTransactionRepository,
+        @Value("${search.index.batch-size:500}") int batchSize) {
+        this.searchIndexOutboxRepository = searchIndexOutboxRepository;
+        this.shBankTransactionRepository = shBankTransactionRepository;
+        this.searchedTransactionRepository = searchedTransactionRepository;
+        this.batchSize = batchSize;
+    }
+
+    // 한 묶음을 색인하고 가져온 건수를 반환 (0 이면 대기 중인 거래 없음)
+    @Override
+    @Transactional
+    public int indexPending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<SearchIndexOutbox> pending = searchIndexOutboxRepository.findReady(now, batchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, ShBankTransaction> transactions = shBankTransactionRepository.findAllById(
+                pending.stream().map(SearchIndexOutbox::getTransactionId).toList())
+            .stream()
+            .collect(Collectors.toMap(ShBankTransaction::getId, Function.identity()));
+
+        // 거래가 지워졌으면 색인할 것이 없으므로 아웃박스에서만 제거
+        List<SearchedTransaction> documents = new ArrayList<>();
+        for (SearchIndexOutbox entry : pending) {
+            ShBankTransaction transaction = transactions.get(entry.getTransactionId());
+            if (transaction != null) {
+                documents.add(SearchedTransaction.fromAccountIdAndShBankTransaction(entry.getAccountId(),
+                    transaction));
+            }
+        }
+
+        Set<String> failedIds = bulkIndex(documents);
+
+        List<Long> indexedIds = new ArrayList<>();
+        for (SearchIndexOutbox entry : pending) {
+            if (failedIds.contains(String.valueOf(entry.getTransactionId()))) {
+                entry.retryLater(now);
+            } else {
+                indexedIds.add(entry.getId());
+            }
+        }
+        if (!indexedIds.isEmpty()) {
+            searchIndexOutboxRepository.deleteByIds(indexedIds);
+        }
+        return pending.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchIndexLagDTO getLag() {
+        LocalDateTime oldest = searchIndexOutboxRepository.findOldestCreateDateTime();
+        return SearchIndexLagDTO.builder()
+            .pending(searchIndexOutboxRepository.count())
+            .oldestAgeMillis(oldest == null ? 0
+                : Duration.between(oldest, LocalDateTime.now()).toMillis())
+            .build();
+    }
+
+    // saveAll 은 _bulk 요청 한 번으로 색인됨, 실패한 문서 id 를 반환
+    private Set<String> bulkIndex(List<SearchedTransaction> documents) {
+        if (documents.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            searchedTransactionRepository.saveAll(documents);
+            return Set.of();
+        } catch (BulkFailureException e) {
+            log.warn("검색 색인 일부 실패: {}건", e.getFailedDocuments().size());
+            return e.getFailedDocuments().keySet();
+        } catch (RuntimeException e) {
+            // 색인 서버에 연결할 수 없으면 묶음 전체를 다시 시도
+            log.warn("검색 색인 실패: {}", e.getMessage());
+            return documents.stream()
+                .map(SearchedTransaction::transactionId)
+                .collect(Collectors.toSet());
+        }
+    }
+}
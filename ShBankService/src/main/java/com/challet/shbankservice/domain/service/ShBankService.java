@@ -1,14 +1,21 @@
 package com.challet.shbankservice.domain.service;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 import com.challet.shbankservice.domain.dto.request.AccountTransferRequestDTO;
+import com.challet.shbankservice.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.shbankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.shbankservice.domain.dto.request.CohortMembershipRequestDTO;
 import com.challet.shbankservice.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.shbankservice.domain.dto.request.PaymentRequestDTO;
 import com.challet.shbankservice.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.shbankservice.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.shbankservice.domain.dto.response.AnalysisBundleResponseDTO;
 import com.challet.shbankservice.domain.dto.response.BankTransferResponseDTO;
+import com.challet.shbankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.shbankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.shbankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.shbankservice.domain.dto.response.PaymentResponseDTO;
 import com.challet.shbankservice.domain.dto.response.SearchedTransactionResponseDTO;
@@ -30,16 +37,37 @@ public interface ShBankService {
 
     BankTransferResponseDTO addFundsToAccount(AccountTransferRequestDTO requestDTO);
 
+    BankTransferResponseDTO addFundsToAccount(String idempotencyKey,
+        AccountTransferRequestDTO requestDTO);
+
     MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(String tokenHeader,
         MonthlyTransactionRequestDTO requestDTO);
 
+    MonthlyTransactionHistoryListDTO getMonthlyTransactionHistoryPage(String tokenHeader,
+        MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+        int size);
+
     Map<Category, Long> getTransactionByGroupCategory(BankToAnalysisMessageRequestDTO requestDTO);
 
+    List<CategoryAmountResponseDTO> getCohortCategorySpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    List<CohortSpendingDTO> getCohortSpending(
+        BankToAnalysisMessageRequestDTO requestDTO);
+
+    void syncCohortMembership(CohortMembershipRequestDTO requestDTO);
+
+    AnalysisBundleResponseDTO getAnalysisBundle(String tokenHeader,
+        AnalysisBundleRequestDTO requestDTO);
+
     SearchedTransactionResponseDTO searchTransaction(
         SearchTransactionRequestDTO searchTransactionRequestDTO);
 
     PaymentResponseDTO qrPayment(Long accountId, PaymentRequestDTO paymentRequestDTO);
 
+    PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+        PaymentRequestDTO paymentRequestDTO);
+
     Map<Category, Long> getMyTransactionByCategory(String phoneNumber,
         MonthlyTransactionRequestDTO requestDTO);
 }
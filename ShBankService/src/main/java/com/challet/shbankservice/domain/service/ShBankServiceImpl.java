@@ -13,12 +13,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.challet.shbankservice.domain.dto.request.AccountTransferRequestDTO;
+import com.challet.shbankservice.domain.dto.request.AnalysisBundleRequestDTO;
 import com.challet.shbankservice.domain.dto.request.BankToAnalysisMessageRequestDTO;
+import com.challet.shbankservice.domain.dto.request.CohortMembershipRequestDTO;
 import com.challet.shbankservice.domain.dto.request.MonthlyTransactionRequestDTO;
 import com.challet.shbankservice.domain.dto.request.PaymentRequestDTO;
 import com.challet.shbankservice.domain.dto.request.SearchTransactionRequestDTO;
 import com.challet.shbankservice.domain.dto.response.AccountInfoResponseListDTO;
+import com.challet.shbankservice.domain.dto.response.AnalysisBundleResponseDTO;
 import com.challet.shbankservice.domain.dto.response.BankTransferResponseDTO;
+import com.challet.shbankservice.domain.dto.response.CategoryAmountResponseDTO;
+import com.challet.shbankservice.domain.dto.response.CohortSpendingDTO;
 import com.challet.shbankservice.domain.dto.response.MonthlyTransactionHistoryListDTO;
 import com.challet.shbankservice.domain.dto.response.PaymentResponseDTO;
 import com.challet.shbankservice.domain.dto.response.SearchedTransactionResponseDTO;
@@ -26,14 +31,20 @@ import com.challet.shbankservice.domain.dto.response.TransactionDetailResponseDT
 import com.challet.shbankservice.domain.dto.response.TransactionResponseDTO;
 import com.challet.shbankservice.domain.dto.response.TransactionResponseListDTO;
 import com.challet.shbankservice.domain.entity.Category;
+import com.challet.shbankservice.domain.entity.Cohort;
+import com.challet.shbankservice.domain.entity.SearchIndexOutbox;
 import com.challet.shbankservice.domain.entity.SearchedTransaction;
 import com.challet.shbankservice.domain.entity.ShBank;
 import com.challet.shbankservice.domain.entity.ShBankTransaction;
 import com.challet.shbankservice.domain.elasticsearch.repository.SearchedTransactionRepository;
+import com.challet.shbankservice.domain.repository.CohortMemberRepository;
+import com.challet.shbankservice.domain.repository.CohortRepository;
+import com.challet.shbankservice.domain.repository.SearchIndexOutboxRepository;
 import com.challet.shbankservice.domain.repository.ShBankRepository;
 import com.challet.shbankservice.domain.repository.ShBankTransactionRepository;
 import com.challet.shbankservice.global.exception.CustomException;
 import com.challet.shbankservice.global.exception.ExceptionResponse;
+import com.challet.shbankservice.global.idempotency.IdempotentExecutor;
 import com.challet.shbankservice.global.util.JwtUtil;
 
 import jakarta.transaction.Transactional;
@@ -48,7 +59,11 @@ public class ShBankServiceImpl implements ShBankService {
 	private final ShBankRepository shBankRepository;
 	private final ShBankTransactionRepository shBankTransactionRepository;
 	private final SearchedTransactionRepository searchedTransactionRepository;
+	private final SearchIndexOutboxRepository searchIndexOutboxRepository;
 	private final JwtUtil jwtUtil;
+	private final CohortRepository cohortRepository;
+	private final CohortMemberRepository cohortMemberRepository;
+	private final IdempotentExecutor idempotentExecutor;
 
 	@Override
 	public AccountInfoResponseListDTO getAccountsByPhoneNumber(String tokenHeader) {
@@ -110,11 +125,20 @@ public class ShBankServiceImpl implements ShBankService {
 
 		shBank.addTransaction(transaction);
 		ShBankTransaction savedToTransaction = shBankTransactionRepository.save(transaction);
-		searchedTransactionRepository.save(SearchedTransaction.fromAccountTransferByTo(savedToTransaction));
+		searchIndexOutboxRepository.save(SearchIndexOutbox.of(shBank.getId(), savedToTransaction));
 
 		return BankTransferResponseDTO.fromBankTransferResponseDTO(shBank);
 	}
 
+	// 챌렛 은행이 같은 키로 이체를 재시도해도 입금은 한 번만 반영
+	@Override
+	public BankTransferResponseDTO addFundsToAccount(String idempotencyKey,
+		AccountTransferRequestDTO requestDTO) {
+		return idempotentExecutor.execute("transfer", requestDTO.depositAccountNumber(),
+			idempotencyKey, requestDTO, BankTransferResponseDTO.class,
+			() -> addFundsToAccount(requestDTO));
+	}
+
 	@Override
 	public MonthlyTransactionHistoryListDTO getMonthlyTransactionHistory(String tokenHeader,
 		MonthlyTransactionRequestDTO requestDTO) {
@@ -125,12 +149,73 @@ public class ShBankServiceImpl implements ShBankService {
 		return transactions;
 	}
 
+	@Override
+	public MonthlyTransactionHistoryListDTO getMonthlyTransactionHistoryPage(String tokenHeader,
+		MonthlyTransactionRequestDTO requestDTO, LocalDateTime beforeDate, Long beforeId,
+		int size) {
+		String phoneNumber = jwtUtil.getLoginUserPhoneNumber(tokenHeader);
+		return shBankRepository.getTransactionPageByPhoneNumberAndYearMonth(phoneNumber, requestDTO,
+			beforeDate, beforeId, size);
+	}
+
 	@Override
 	public Map<Category, Long> getTransactionByGroupCategory(
 		BankToAnalysisMessageRequestDTO requestDTO) {
 		return shBankRepository.getTransactionByGroupCategory(requestDTO);
 	}
 
+	@Override
+	public List<CategoryAmountResponseDTO> getCohortCategorySpending(
+		BankToAnalysisMessageRequestDTO requestDTO) {
+		return shBankRepository.getCohortCategorySpending(requestDTO);
+	}
+
+	// 분석 화면에 필요한 항목을 한 번의 요청, 하나의 DB 세션으로 조회 (JWT 도 한 번만 해석)
+	@Transactional(readOnly = true)
+	@Override
+	public AnalysisBundleResponseDTO getAnalysisBundle(String tokenHeader,
+		AnalysisBundleRequestDTO requestDTO) {
+		String phoneNumber = requestDTO.includeMonthlyTransactions() || requestDTO.includeMyCategory()
+			? jwtUtil.getLoginUserPhoneNumber(tokenHeader) : null;
+
+		return AnalysisBundleResponseDTO
+			.builder()
+			.monthlyTransactions(requestDTO.includeMonthlyTransactions()
+				? shBankRepository.getTransactionByPhoneNumberAndYearMonth(phoneNumber,
+				requestDTO.requestDTO())
+				: null)
+			.myCategory(requestDTO.includeMyCategory()
+				? shBankRepository.getMyTransactionByCategory(phoneNumber, requestDTO.requestDTO())
+				: null)
+			.groupCategory(requestDTO.groupCategoryMessage() != null
+				? shBankRepository.getTransactionByGroupCategory(requestDTO.groupCategoryMessage())
+				: null)
+			.build();
+	}
+
+	@Override
+	public List<CohortSpendingDTO> getCohortSpending(
+		BankToAnalysisMessageRequestDTO requestDTO) {
+		return shBankRepository.getCohortSpending(requestDTO);
+	}
+
+
+	// 구성원 목록 버전이 같으면 건너뛰고, 바뀌었으면 코호트 구성원을 통째로 교체
+	@Transactional
+	@Override
+	public void syncCohortMembership(CohortMembershipRequestDTO requestDTO) {
+		Cohort cohort = cohortRepository.findById(requestDTO.cohortKey())
+			.orElseGet(() -> Cohort.builder().cohortKey(requestDTO.cohortKey()).build());
+		if (requestDTO.version().equals(cohort.getVersion())) {
+			return;
+		}
+
+		cohortMemberRepository.deleteByCohortKey(requestDTO.cohortKey());
+		cohortMemberRepository.insertMembers(requestDTO.cohortKey(), requestDTO.phoneNumbers());
+		cohort.updateVersion(requestDTO.version());
+		cohortRepository.save(cohort);
+	}
+
 	@Override
 	public SearchedTransactionResponseDTO searchTransaction(
 		final SearchTransactionRequestDTO searchTransactionRequestDTO) {
@@ -177,12 +262,20 @@ public class ShBankServiceImpl implements ShBankService {
 
 		shBankTransactionRepository.save(paymentTransaction);
 
-		searchedTransactionRepository.save(
-			SearchedTransaction.fromAccountIdAndShBankTransaction(accountId, paymentTransaction));
+		searchIndexOutboxRepository.save(SearchIndexOutbox.of(accountId, paymentTransaction));
 
 		return PaymentResponseDTO.fromPaymentResponseDTO(paymentTransaction);
 	}
 
+	// 같은 키로 다시 들어온 결제는 계좌를 건드리지 않고 처음 응답을 그대로 돌려줌
+	@Override
+	public PaymentResponseDTO qrPayment(Long accountId, String idempotencyKey,
+		PaymentRequestDTO paymentRequestDTO) {
+		return idempotentExecutor.execute("payment", accountId, idempotencyKey,
+			paymentRequestDTO, PaymentResponseDTO.class,
+			() -> qrPayment(accountId, paymentRequestDTO));
+	}
+
 	private long calculateTransactionBalance(ShBank shBank, long transactionAmount) {
 		long transactionBalance = shBank.getAccountBalance() - transactionAmount;
 		if (transactionBalance < 0) {
@@ -0,0 +1,185 @@
+-- 거래 테이블 월별 조회용 인덱스와 (선택) 월별 RANGE 파티셔닝
+-- 은행마다 자기 DB 에서 해당 구역만 실행 (ch-bank, kb-bank, nh-bank, sh-bank)
+--
+-- 1) 인덱스: 엔티티의 @Index 와 같은 이름이라 ddl-auto 로 이미 만들어졌으면 건너뜀
+--    월별 조회는 transaction_datetime 을 [월초, 다음 달 월초) 범위로 거르므로
+--    (전화번호) -> (계좌, 거래 일시) / (카테고리, 거래 일시) 인덱스 범위 탐색으로 끝남
+-- 2) 파티셔닝은 선택: MySQL 파티션 테이블은 외래 키를 쓸 수 없고 모든 유니크 키에 파티션 컬럼이
+--    들어가야 하므로 계좌 FK 를 지우고 PK 를 (id, transaction_datetime) 으로 바꿈
+--    (계좌 존재는 서비스에서 확인하고 계좌는 지우지 않으므로 FK 가 없어도 됨).
+--    이 구역을 적용한 DB 에서는 hibernate ddl-auto 를 update 로 두지 말 것 (FK 를 다시 만들려고 함).
+--    매달 말에 pmax 를 나눠 다음 달 파티션을 미리 만듦:
+--    ALTER TABLE ch_transaction REORGANIZE PARTITION pmax INTO (
+--        PARTITION p202701 VALUES LESS THAN ('2027-02-01'), PARTITION pmax VALUES LESS THAN (MAXVALUE));
+
+-- ===== ch-bank =====
+
+ALTER TABLE `ch_bank` ADD INDEX `idx_ch_bank_phone_number` (`phone_number`);
+
+ALTER TABLE `ch_transaction`
+    ADD INDEX `idx_ch_transaction_bank_datetime` (`ch_bank_id`, `transaction_datetime`),
+    ADD INDEX `idx_ch_transaction_category_datetime` (`category`, `transaction_datetime`);
+
+-- (선택) 월별 파티셔닝
+ALTER TABLE `ch_transaction` DROP FOREIGN KEY `FKouhky0n0vsweecv155yq6oc8o`;
+ALTER TABLE `ch_transaction` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `transaction_datetime`);
+ALTER TABLE `ch_transaction` PARTITION BY RANGE COLUMNS (`transaction_datetime`) (
+    PARTITION p202409 VALUES LESS THAN ('2024-10-01'),
+    PARTITION p202410 VALUES LESS THAN ('2024-11-01'),
+    PARTITION p202411 VALUES LESS THAN ('2024-12-01'),
+    PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- ===== kb-bank =====
+
+ALTER TABLE `kb_bank` ADD INDEX `idx_kb_bank_phone_number` (`phone_number`);
+
+ALTER TABLE `kb_transaction`
+    ADD INDEX `idx_kb_transaction_bank_datetime` (`kb_bank_id`, `transaction_datetime`),
+    ADD INDEX `idx_kb_transaction_category_datetime` (`category`, `transaction_datetime`);
+
+-- (선택) 월별 파티셔닝
+ALTER TABLE `kb_transaction` DROP FOREIGN KEY `FK9vq7f611vehbunknqj7kjyols`;
+ALTER TABLE `kb_transaction` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `transaction_datetime`);
+ALTER TABLE `kb_transaction` PARTITION BY RANGE COLUMNS (`transaction_datetime`) (
+    PARTITION p202409 VALUES LESS THAN ('2024-10-01'),
+    PARTITION p202410 VALUES LESS THAN ('2024-11-01'),
+    PARTITION p202411 VALUES LESS THAN ('2024-12-01'),
+    PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- ===== nh-bank =====
+
+ALTER TABLE `nh_bank` ADD INDEX `idx_nh_bank_phone_number` (`phone_number`);
+
+ALTER TABLE `nh_transaction`
+    ADD INDEX `idx_nh_transaction_bank_datetime` (`nh_bank_id`, `transaction_datetime`),
+    ADD INDEX `idx_nh_transaction_category_datetime` (`category`, `transaction_datetime`);
+
+-- (선택) 월별 파티셔닝
+ALTER TABLE `nh_transaction` DROP FOREIGN KEY `FKm18l3k42h1atm8g0k3xu12iw8`;
+ALTER TABLE `nh_transaction` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `transaction_datetime`);
+ALTER TABLE `nh_transaction` PARTITION BY RANGE COLUMNS (`transaction_datetime`) (
+    PARTITION p202409 VALUES LESS THAN ('2024-10-01'),
+    PARTITION p202410 VALUES LESS THAN ('2024-11-01'),
+    PARTITION p202411 VALUES LESS THAN ('2024-12-01'),
+    PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- ===== sh-bank =====
+
+ALTER TABLE `sh_bank` ADD INDEX `idx_sh_bank_phone_number` (`phone_number`);
+
+ALTER TABLE `sh_transaction`
+    ADD INDEX `idx_sh_transaction_bank_datetime` (`sh_bank_id`, `transaction_datetime`),
+    ADD INDEX `idx_sh_transaction_category_datetime` (`category`, `transaction_datetime`);
+
+-- (선택) 월별 파티셔닝
+ALTER TABLE `sh_transaction` DROP FOREIGN KEY `FK28trqx2765yk2mtqvy6cti1c`;
+ALTER TABLE `sh_transaction` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `transaction_datetime`);
+ALTER TABLE `sh_transaction` PARTITION BY RANGE COLUMNS (`transaction_datetime`) (
+    PARTITION p202409 VALUES LESS THAN ('2024-10-01'),
+    PARTITION p202410 VALUES LESS THAN ('2024-11-01'),
+    PARTITION p202411 VALUES LESS THAN ('2024-12-01'),
+    PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);